@@ -0,0 +1,158 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import olcum.PerformansOlcumu;
+
+/**
+ * JMH ölçümlerinin (olcum.PerformansOlcumu) uygulama tarafı: varsayılan paketteki sınıflara yalnızca
+ * buradan erişilir. Ölçülen döngüler burada, JMH durumu ve zamanlaması PerformansOlcumu'ndadır.
+ */
+public class OlcumOrtami implements PerformansOlcumu.Ortam {
+    private static final String[] SEHIRLER = {"İstanbul", "Ankara", "İzmir", "Bursa", "Antalya", "Konya", "Trabzon", "Samsun"};
+    private static final int PARTI = PerformansOlcumu.PARTI;
+
+    private RezervasyonSistemi sistem;
+    private Sefer[] seferler;
+    private String[] kimlikler;
+    private int kapasite;
+    private final AnalizMotoru analizMotoru = new AnalizMotoru();
+    private final PrintStream hic = new PrintStream(OutputStream.nullOutputStream());
+    private final AtomicInteger ipSayaci = new AtomicInteger();
+
+    /** Seferleri oluşturur ve her seferin koltuklarının doluluk kadarını rastgele doldurur */
+    @Override
+    public void hazirla(int seferSayisi, int kapasite, double doluluk, boolean metrik) throws IOException {
+        SplittableRandom r = new SplittableRandom(2024);
+        LocalDateTime bugun = LocalDateTime.now().withNano(0);
+        this.kapasite = kapasite;
+        sistem = new RezervasyonSistemi();
+        seferler = new Sefer[seferSayisi];
+        List<String> kimlikListesi = new ArrayList<>();
+        int dolu = Math.max(1, (int) Math.round(kapasite * doluluk));
+        int[] sira = new int[kapasite];
+        for (int i = 0; i < seferSayisi; i++) {
+            int k = r.nextInt(SEHIRLER.length);
+            int v = (k + 1 + r.nextInt(SEHIRLER.length - 1)) % SEHIRLER.length;
+            Sefer s = sistem.yeniSefer(String.format("OLC%07d", i), SEHIRLER[k], SEHIRLER[v],
+                    bugun.plusMinutes(r.nextInt(30 * 24 * 60)), kapasite, 100 + r.nextInt(900));
+            seferler[i] = s;
+            for (int j = 0; j < kapasite; j++) sira[j] = j + 1;
+            for (int j = kapasite - 1; j > 0; j--) {
+                int x = r.nextInt(j + 1);
+                int g = sira[j];
+                sira[j] = sira[x];
+                sira[x] = g;
+            }
+            for (int j = 0; j < dolu; j++) {
+                kimlikListesi.add(s.koltukRezerveEt(sira[j], "Yolcu " + i + "-" + j, "555" + j).getRezervasyonKimlik());
+            }
+        }
+        kimlikler = kimlikListesi.toArray(new String[0]);
+        sistem.getMetrikler().setEtkin(metrik);
+    }
+
+    @Override
+    public void kapat() throws IOException {
+        sistem.kapat();
+    }
+
+    /** Kapasite PARTI'den küçükse iş parçacığına birden fazla sefer açılır */
+    @Override
+    public PerformansOlcumu.Koltuklar koltuklariAyir() throws IOException {
+        int ip = ipSayaci.getAndIncrement();
+        Sefer[] kendi = new Sefer[(PARTI + kapasite - 1) / kapasite];
+        for (int i = 0; i < kendi.length; i++) {
+            kendi[i] = sistem.yeniSefer("OLCIP" + ip + "-" + i, "Ankara", "İzmir",
+                    LocalDateTime.now().plusDays(1).withNano(0), kapasite, 300);
+        }
+        return new KendiKoltuklari(kendi);
+    }
+
+    @Override
+    public int kimlikSayisi() { return kimlikler.length; }
+
+    @Override
+    public Object kimlikIleBul(int i) {
+        return sistem.rezervasyonBul(kimlikler[i]);
+    }
+
+    @Override
+    public double doluluk(int sefer) {
+        return seferler[sefer].getDolulukOrani();
+    }
+
+    @Override
+    public long toplamGelir() {
+        return sistem.getIstatistikler().getToplamGelir();
+    }
+
+    @Override
+    public int[] koltukSec(int sefer, int tercihEdilenKoltuk) {
+        return seferler[sefer].enIyiBosKoltuklar(4, tercihEdilenKoltuk);
+    }
+
+    @Override
+    public void rapor() {
+        sistem.raporYaz(hic, false);
+    }
+
+    @Override
+    public long analiz() {
+        AnalizMotoru.Kesit kesit = sistem.analizKesiti();
+        long gelir = 0;
+        for (AnalizMotoru.Gruplama g : AnalizMotoru.Gruplama.values()) gelir += analizMotoru.grupla(kesit, g).getGenel().getGelir();
+        return gelir;
+    }
+
+    private final class KendiKoltuklari implements PerformansOlcumu.Koltuklar {
+        private final Sefer[] sefer = new Sefer[PARTI];
+        private final int[] no = new int[PARTI];
+        private final Koltuk[] alinan = new Koltuk[PARTI];
+        private final String[] kimlik = new String[PARTI];
+
+        KendiKoltuklari(Sefer[] kendi) {
+            for (int j = 0; j < PARTI; j++) {
+                sefer[j] = kendi[j / kapasite];
+                no[j] = j % kapasite + 1;
+            }
+        }
+
+        @Override
+        public int rezerveEt() {
+            int n = 0;
+            for (int j = 0; j < PARTI; j++) {
+                Koltuk k = sistem.koltukRezerveEt(sefer[j], no[j], "Ölçüm Yolcusu", "5550000000");
+                alinan[j] = k;
+                if (k != null) n++;
+            }
+            return n;
+        }
+
+        @Override
+        public void bosalt() {
+            for (int j = 0; j < PARTI; j++) {
+                if (alinan[j] != null) alinan[j].iptalEt();
+                alinan[j] = null;
+            }
+        }
+
+        @Override
+        public void doldur() {
+            for (int j = 0; j < PARTI; j++) {
+                kimlik[j] = sefer[j].koltukRezerveEt(no[j], "Ölçüm Yolcusu", "5550000000").getRezervasyonKimlik();
+            }
+        }
+
+        @Override
+        public int iptalEt() {
+            int n = 0;
+            for (int j = 0; j < PARTI; j++) if (sistem.rezervasyonIptalEt(kimlik[j]) != null) n++;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package olcum;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Defaults;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Rezervasyon, iptal, kimlikle arama, doluluk ve raporlama sıcak yollarının JMH ölçümleri.
+ *
+ * Derleme ve çalıştırma (otobus_rezervasyon_sistemi dizininden; ölçümler uygulama yapıtına bağımlı
+ * benchmarks modülündedir, uygulama önce yerel depoya kurulur):
+ *
+ *   mvn -DskipTests install && mvn -f benchmarks package
+ *   java -jar benchmarks/target/benchmarks.jar                           # tüm ölçümler, varsayılan parametreler
+ *   java -jar benchmarks/target/benchmarks.jar rezerve iptal -p kapasite=40,1000 -p isParcacigi=1,4,8
+ *   java -jar benchmarks/target/benchmarks.jar rezerve -p metrik=acik,kapali   # servis metriklerinin maliyeti
+ *   java -jar benchmarks/target/benchmarks.jar -prof gc                  # işlem başına ayrılan bellek
+ *
+ * Parametreler (@Param; -p ad=a,b ile birden fazla değer verilirse tüm kombinasyonlar ölçülür):
+ *   seferSayisi   sefer sayısı
+ *   kapasite      sefer başına koltuk
+ *   doluluk       ölçüm öncesi doldurulan koltuk oranı, (0, 1]
+ *   metrik        servis metrikleri (RezervasyonMetrikleri) acik/kapali
+ *   isParcacigi   eşzamanlı iş parçacığı
+ *
+ * JMH iş parçacığı sayısını bir çalıştırma boyunca sabit tutar ve @Param'dan almaz; bu yüzden main her
+ * isParcacigi değeri için JMH'yi o sayıda iş parçacığıyla ayrı çalıştırır ve sonuçları tek tabloda
+ * birleştirir (-t yerine -p isParcacigi kullanılır). Diğer JMH seçenekleri olduğu gibi geçer.
+ *
+ * JMH, varsayılan paketteki sınıflar için kod üretmez; uygulama sınıfları ise varsayılan pakette ve
+ * paket dışına kapalıdır. Ölçümler bu yüzden uygulamaya Ortam arayüzü üzerinden erişir; arayüzü
+ * varsayılan paketteki OlcumOrtami uygular (ölçülen döngüler oradadır). Çağrılar tek gerçekleştirimli
+ * olduğundan JIT tarafından satır içine alınır.
+ *
+ * Her parametre kombinasyonu taze bir RezervasyonSistemi üzerinde çalışır. Rezervasyon ve iptal
+ * ölçümlerinde her iş parçacığının kendi boş seferleri vardır; koltukları bir sonraki çağrı için boşaltan
+ * iptaller (ya da iptal edilecek rezervasyonlar) çağrı başına @Setup(Level.Invocation) içinde, zamanlama
+ * dışında yapılır. Bu düzeneğin zaman damgası maliyeti PARTI işleme bölünür.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PerformansOlcumu {
+    public static final int PARTI = 64; // rezerve/iptal ölçümlerinde çağrı başına işlem
+
+    /** Ölçülen sistem (OlcumOrtami); yöntemler ölçülen işlemleri yapar ve sonuçlarını döner */
+    public interface Ortam {
+        void hazirla(int seferSayisi, int kapasite, double doluluk, boolean metrik) throws IOException;
+        void kapat() throws IOException;
+        /** Çağıran iş parçacığına ait, kendi boş seferlerinde PARTI koltuk */
+        Koltuklar koltuklariAyir() throws IOException;
+        int kimlikSayisi();
+        /** i. ölçüm öncesi rezervasyonun koltuğu (RezervasyonSistemi.rezervasyonBul) */
+        Object kimlikIleBul(int i);
+        double doluluk(int sefer);
+        long toplamGelir();
+        /** 4 kişilik grup için tercih edilen koltuğa en yakın bitişik blok (Sefer.enIyiBosKoltuklar) */
+        int[] koltukSec(int sefer, int tercihEdilenKoltuk);
+        void rapor();
+        long analiz();
+    }
+
+    /** Bir iş parçacığının PARTI koltuğu */
+    public interface Koltuklar {
+        /** Koltukların hepsini rezerve eder (RezervasyonSistemi.koltukRezerveEt); başarılı sayısı */
+        int rezerveEt();
+        /** rezerveEt ile alınanları iptal eder (zamanlama dışı) */
+        void bosalt();
+        /** Koltukların hepsini rezerve eder ve kimliklerini saklar (zamanlama dışı) */
+        void doldur();
+        /** doldur ile yapılan rezervasyonları kimlikle iptal eder (RezervasyonSistemi.rezervasyonIptalEt) */
+        int iptalEt();
+    }
+
+    @Param({"1000"})
+    public int seferSayisi;
+
+    @Param({"40", "1000"})
+    public int kapasite;
+
+    @Param({"0.5"})
+    public double doluluk;
+
+    @Param({"acik"})
+    public String metrik;
+
+    @Param({"1", "4"})
+    public int isParcacigi;
+
+    Ortam ortam;
+    final AtomicInteger ipSayaci = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void hazirla(BenchmarkParams parametreler) throws Exception {
+        if (parametreler.getThreads() != isParcacigi) {
+            throw new IllegalStateException("İş parçacığı sayısı -t ile değil -p isParcacigi ile verilmeli "
+                    + "(JMH " + parametreler.getThreads() + ", isParcacigi " + isParcacigi + ").");
+        }
+        if (seferSayisi <= 0 || kapasite <= 0 || doluluk <= 0 || doluluk > 1) {
+            throw new IllegalArgumentException("Geçersiz ölçüm parametresi.");
+        }
+        ortam = (Ortam) Class.forName("OlcumOrtami").getConstructor().newInstance();
+        ortam.hazirla(seferSayisi, kapasite, doluluk, metrik.equals("acik"));
+    }
+
+    @TearDown(Level.Trial)
+    public void kapat() throws IOException {
+        ortam.kapat();
+    }
+
+    /** İş parçacığının rastgele sayı üreteci (okuma ölçümlerinde sefer ve kimlik seçimi) */
+    @State(Scope.Thread)
+    public static class Rastgele {
+        SplittableRandom r;
+
+        @Setup(Level.Trial)
+        public void hazirla(PerformansOlcumu o) {
+            r = new SplittableRandom(31L * o.ipSayaci.getAndIncrement() + 7);
+        }
+    }
+
+    /** rezerve: her çağrıdan önce önceki çağrının rezervasyonları iptal edilir */
+    @State(Scope.Thread)
+    public static class RezerveTuru {
+        Koltuklar koltuklar;
+
+        @Setup(Level.Trial)
+        public void hazirla(PerformansOlcumu o) throws IOException {
+            koltuklar = o.ortam.koltuklariAyir();
+        }
+
+        @Setup(Level.Invocation)
+        public void bosalt() {
+            koltuklar.bosalt();
+        }
+    }
+
+    /** iptal: her çağrıdan önce iptal edilecek rezervasyonlar yapılır */
+    @State(Scope.Thread)
+    public static class IptalTuru {
+        Koltuklar koltuklar;
+
+        @Setup(Level.Trial)
+        public void hazirla(PerformansOlcumu o) throws IOException {
+            koltuklar = o.ortam.koltuklariAyir();
+        }
+
+        @Setup(Level.Invocation)
+        public void doldur() {
+            koltuklar.doldur();
+        }
+    }
+
+    /* ---------- Ölçümler ---------- */
+
+    /** Tek koltuk rezervasyonu, iş parçacığı başına çekişmesiz (ortak yapılar: istatistikler, dizinler) */
+    @Benchmark
+    @OperationsPerInvocation(PARTI)
+    public int rezerve(RezerveTuru t) {
+        return t.koltuklar.rezerveEt();
+    }
+
+    /** Rezervasyon kimliği ile iptal */
+    @Benchmark
+    @OperationsPerInvocation(PARTI)
+    public int iptal(IptalTuru t) {
+        return t.koltuklar.iptalEt();
+    }
+
+    /** Rezervasyon kimliğinden koltuk */
+    @Benchmark
+    public Object kimlikIleBul(Rastgele t) {
+        return ortam.kimlikIleBul(t.r.nextInt(ortam.kimlikSayisi()));
+    }
+
+    /** Sefer.getDolulukOrani */
+    @Benchmark
+    public double doluluk(Rastgele t) {
+        return ortam.doluluk(t.r.nextInt(seferSayisi));
+    }
+
+    /** Artımlı istatistiklerden toplam gelir */
+    @Benchmark
+    public long toplamGelir() {
+        return ortam.toplamGelir();
+    }
+
+    @Benchmark
+    public int[] koltukSec(Rastgele t) {
+        return ortam.koltukSec(t.r.nextInt(seferSayisi), 1 + t.r.nextInt(kapasite));
+    }
+
+    /** Tam rapor (genel, güzergah, gün ve sefer bazlı); çıktı atılır */
+    @Benchmark
+    public void rapor() {
+        ortam.rapor();
+    }
+
+    /** Sütun kesiti + güzergah, gün ve saat gruplaması (AnalizMotoru); işlem başına tek kesit, üç rapor */
+    @Benchmark
+    public long analiz() {
+        return ortam.analiz();
+    }
+
+    /* ---------- Çalıştırıcı ---------- */
+
+    /**
+     * JMH komut satırı seçeneklerini alır; her isParcacigi değeri için JMH'yi o kadar iş parçacığıyla
+     * çalıştırır ve tüm sonuçları birlikte yazar.
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions komut = new CommandLineOptions(args);
+        if (komut.shouldHelp() || komut.shouldList() || komut.shouldListWithParams()
+                || komut.shouldListProfilers() || komut.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        if (komut.getThreads().hasValue()) {
+            throw new IllegalArgumentException("İş parçacığı sayısı -t ile değil -p isParcacigi=1,4,... ile verilir.");
+        }
+        Collection<String> ipler = komut.getParameter("isParcacigi").orElse(Arrays.asList(
+                PerformansOlcumu.class.getField("isParcacigi").getAnnotation(Param.class).value()));
+        List<RunResult> sonuclar = new ArrayList<>();
+        for (String ip : ipler) {
+            int n = Integer.parseInt(ip.trim());
+            sonuclar.addAll(new Runner(new OptionsBuilder().parent(komut)
+                    .threads(n).param("isParcacigi", String.valueOf(n)).build()).run());
+        }
+        if (ipler.size() < 2) return;
+        System.out.println();
+        System.out.println("Tüm iş parçacığı sayıları:");
+        ResultFormatFactory.getInstance(ResultFormatType.TEXT, System.out).writeOut(sonuclar);
+        if (komut.getResult().hasValue() || komut.getResultFormat().hasValue()) {
+            // Her çalıştırma sonuç dosyasını yeniden yazar; dosyada tüm çalıştırmalar olsun
+            ResultFormatType tip = komut.getResultFormat().orElse(Defaults.RESULT_FORMAT);
+            String dosya = komut.getResult().orElse(Defaults.RESULT_FILE_PREFIX + "." + tip.toString().toLowerCase());
+            ResultFormatFactory.getInstance(tip, dosya).writeOut(sonuclar);
+        }
+    }
+}
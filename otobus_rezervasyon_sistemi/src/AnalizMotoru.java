@@ -0,0 +1,288 @@
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Güzergah, kalkış günü ya da kalkış saatine göre gruplanmış gelir ve doluluk (yük faktörü) analizleri.
+ *
+ * Analiz canlı seferler üzerinde değil, sütun düzeninde bir kesit (Kesit) üzerinde çalışır: her seferin
+ * güzergah numarası, kalkış günü ve saati, kapasitesi, rezerve sayısı ve geliri ilkel dizilere
+ * kopyalanır. Kesit alınırken kilit tutulmaz; seferin sayaçları tek tek okunur, bu yüzden eşzamanlı
+ * rezervasyonlar beklemez ve her sefer okunduğu andaki haliyle yansır. Arşivlenmiş seferler özetlerinden
+ * eklenir, böylece raporlar geçmişi de kapsar.
+ *
+ * Gruplama ForkJoin ile yapılır: kesit aralıklara bölünür, her görev kendi aralığı için grup numarasıyla
+ * (güzergah numarası, ilk günden uzaklık ya da saat) indekslenen yoğun toplam dizisini doldurur ve
+ * sonuçlar dizi toplamıyla birleştirilir. Satır başına nesne ya da harita ayrılmaz.
+ */
+final class AnalizMotoru {
+    private static final int ESIK = 1 << 14;  // bu kadar seferden küçük aralıklar bölünmeden işlenir
+    private static final int ALAN = 4;        // grup başına toplamlar: sefer, kapasite, rezervasyon, gelir
+    private static final String CSV_BASLIK = "grup,seferSayisi,kapasite,rezervasyon,gelir,dolulukOrani\n";
+
+    /** Gruplama boyutu */
+    enum Gruplama {
+        GUZERGAH("guzergah"), GUN("gun"), SAAT("saat");
+
+        final String ad;
+
+        Gruplama(String ad) {
+            this.ad = ad;
+        }
+
+        /** Ada göre gruplama (büyük/küçük harf duyarsız); bilinmiyorsa null */
+        static Gruplama bul(String ad) {
+            for (Gruplama g : values()) if (g.ad.equalsIgnoreCase(ad)) return g;
+            return null;
+        }
+    }
+
+    /**
+     * Seferlerin sütun düzeninde, salt okunur kesiti. Sütunlar aynı indeksle aynı seferi gösterir.
+     */
+    static final class Kesit {
+        private final String[] guzergahAdlari; // güzergah numarası -> "kalkış → varış"
+        private final int[] guzergah;
+        private final int[] gun;               // kalkış günü (LocalDate.toEpochDay)
+        private final byte[] saat;             // kalkış saati 0..23
+        private final int[] kapasite, rezerve;
+        private final long[] gelir;            // kısmi rezervasyonlar bacak ücretiyle sayılır
+        private final int ilkGun, sonGun;
+        private final LocalDateTime zaman;
+
+        private Kesit(String[] guzergahAdlari, int[] guzergah, int[] gun, byte[] saat, int[] kapasite, int[] rezerve,
+                      long[] gelir, LocalDateTime zaman) {
+            this.guzergahAdlari = guzergahAdlari;
+            this.guzergah = guzergah;
+            this.gun = gun;
+            this.saat = saat;
+            this.kapasite = kapasite;
+            this.rezerve = rezerve;
+            this.gelir = gelir;
+            this.zaman = zaman;
+            int ilk = Integer.MAX_VALUE, son = Integer.MIN_VALUE;
+            for (int g : gun) {
+                ilk = Math.min(ilk, g);
+                son = Math.max(son, g);
+            }
+            this.ilkGun = gun.length == 0 ? 0 : ilk;
+            this.sonGun = gun.length == 0 ? -1 : son;
+        }
+
+        /**
+         * Canlı seferlerden ve arşiv özetlerinden kesit alır. Sütunlar paralel doldurulur; güzergah adları
+         * eşzamanlı bir sözlükle numaralanır (numaralar kesitten kesite değişebilir).
+         */
+        static Kesit al(Collection<Sefer> canli, Collection<SeferArsivi.ArsivSeferi> arsiv) {
+            Sefer[] seferler = canli.toArray(new Sefer[0]);
+            SeferArsivi.ArsivSeferi[] arsivlenen = arsiv.toArray(new SeferArsivi.ArsivSeferi[0]);
+            int n = seferler.length + arsivlenen.length;
+            int[] guzergah = new int[n], gun = new int[n], kapasite = new int[n], rezerve = new int[n];
+            long[] gelir = new long[n];
+            byte[] saat = new byte[n];
+            Map<String, Integer> sozluk = new ConcurrentHashMap<>();
+            AtomicInteger sonraki = new AtomicInteger();
+            IntStream.range(0, n).parallel().forEach(i -> {
+                LocalDateTime kalkis;
+                String ad;
+                if (i < seferler.length) {
+                    Sefer s = seferler[i];
+                    ad = s.getGuzergah();
+                    kalkis = s.getKalkisZamani();
+                    kapasite[i] = s.getKapasite();
+                    rezerve[i] = s.getRezerveSayisi();
+                    gelir[i] = s.getGelir();
+                } else {
+                    SeferArsivi.ArsivSeferi a = arsivlenen[i - seferler.length];
+                    ad = a.getKalkisYeri() + " → " + a.getVarisYeri();
+                    kalkis = a.getKalkisZamani();
+                    kapasite[i] = a.getKapasite();
+                    rezerve[i] = a.getRezerveSayisi();
+                    gelir[i] = a.getGelir();
+                }
+                guzergah[i] = sozluk.computeIfAbsent(ad, x -> sonraki.getAndIncrement());
+                gun[i] = (int) kalkis.toLocalDate().toEpochDay();
+                saat[i] = (byte) kalkis.getHour();
+            });
+            String[] adlar = new String[sonraki.get()];
+            for (Map.Entry<String, Integer> e : sozluk.entrySet()) adlar[e.getValue()] = e.getKey();
+            return new Kesit(adlar, guzergah, gun, saat, kapasite, rezerve, gelir, LocalDateTime.now());
+        }
+
+        public int getSeferSayisi() { return kapasite.length; }
+        public LocalDateTime getZaman() { return zaman; }
+
+        private int grupSayisi(Gruplama g) {
+            switch (g) {
+                case GUZERGAH: return guzergahAdlari.length;
+                case GUN: return sonGun - ilkGun + 1;
+                default: return 24;
+            }
+        }
+
+        private int grup(Gruplama g, int i) {
+            switch (g) {
+                case GUZERGAH: return guzergah[i];
+                case GUN: return gun[i] - ilkGun;
+                default: return saat[i];
+            }
+        }
+
+        private String grupAdi(Gruplama g, int grup) {
+            switch (g) {
+                case GUZERGAH: return guzergahAdlari[grup];
+                case GUN: return LocalDate.ofEpochDay((long) ilkGun + grup).toString();
+                default: return String.format("%02d:00", grup);
+            }
+        }
+    }
+
+    /** Bir grubun toplamları */
+    static final class Satir {
+        private final String grup;
+        private final long seferSayisi, kapasite, rezervasyon, gelir;
+
+        Satir(String grup, long seferSayisi, long kapasite, long rezervasyon, long gelir) {
+            this.grup = grup;
+            this.seferSayisi = seferSayisi;
+            this.kapasite = kapasite;
+            this.rezervasyon = rezervasyon;
+            this.gelir = gelir;
+        }
+
+        public String getGrup() { return grup; }
+        public long getSeferSayisi() { return seferSayisi; }
+        public long getKapasite() { return kapasite; }
+        public long getRezervasyon() { return rezervasyon; }
+        public long getGelir() { return gelir; }
+
+        public double getDolulukOrani() {
+            return kapasite == 0 ? 0.0 : (rezervasyon / (double) kapasite) * 100.0;
+        }
+    }
+
+    /** Gruplanmış analiz sonucu; satırlar grup anahtarına göre sıralıdır (güzergah adı, gün, saat) */
+    static final class Rapor {
+        private final Gruplama gruplama;
+        private final List<Satir> satirlar;
+        private final Satir genel;
+        private final LocalDateTime kesitZamani;
+
+        Rapor(Gruplama gruplama, List<Satir> satirlar, Satir genel, LocalDateTime kesitZamani) {
+            this.gruplama = gruplama;
+            this.satirlar = satirlar;
+            this.genel = genel;
+            this.kesitZamani = kesitZamani;
+        }
+
+        public Gruplama getGruplama() { return gruplama; }
+        public List<Satir> getSatirlar() { return satirlar; }
+        public Satir getGenel() { return genel; }
+        public LocalDateTime getKesitZamani() { return kesitZamani; }
+
+        /**
+         * Raporu satır satır CSV olarak yazar (başlık dahil, genel toplam yazılmaz). Çıkış tamponlu
+         * değilse çağıran tamponlamalıdır; rapor bir kez daha bellekte biçimlenmez.
+         */
+        void csvYaz(Appendable cikis) throws IOException {
+            cikis.append(CSV_BASLIK);
+            for (Satir s : satirlar) {
+                csvAlan(cikis, s.grup);
+                cikis.append(',').append(Long.toString(s.seferSayisi))
+                        .append(',').append(Long.toString(s.kapasite))
+                        .append(',').append(Long.toString(s.rezervasyon))
+                        .append(',').append(Long.toString(s.gelir))
+                        .append(',').append(String.format(Locale.ROOT, "%.2f", s.getDolulukOrani()))
+                        .append('\n');
+            }
+        }
+    }
+
+    private final ForkJoinPool havuz;
+
+    /** Ortak ForkJoin havuzunu kullanan motor */
+    AnalizMotoru() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    AnalizMotoru(ForkJoinPool havuz) {
+        this.havuz = havuz;
+    }
+
+    /** Kesiti verilen boyuta göre gruplar; boş gruplar (seferi olmayan gün/saat) rapora girmez */
+    Rapor grupla(Kesit kesit, Gruplama gruplama) {
+        int grupSayisi = kesit.grupSayisi(gruplama);
+        long[] toplam = havuz.invoke(new Toplayici(kesit, gruplama, grupSayisi, 0, kesit.getSeferSayisi()));
+        List<Satir> satirlar = new ArrayList<>();
+        long[] genel = new long[ALAN];
+        for (int g = 0; g < grupSayisi; g++) {
+            int o = g * ALAN;
+            if (toplam[o] == 0) continue;
+            satirlar.add(new Satir(kesit.grupAdi(gruplama, g), toplam[o], toplam[o + 1], toplam[o + 2], toplam[o + 3]));
+            for (int j = 0; j < ALAN; j++) genel[j] += toplam[o + j];
+        }
+        // Gün ve saat numaraları zaten sıralı; güzergah numaraları sözlüğe giriş sırasıdır
+        if (gruplama == Gruplama.GUZERGAH) satirlar.sort((a, b) -> a.grup.compareTo(b.grup));
+        return new Rapor(gruplama, Collections.unmodifiableList(satirlar),
+                new Satir("TOPLAM", genel[0], genel[1], genel[2], genel[3]), kesit.getZaman());
+    }
+
+    /** Bir kesit aralığının grup toplamları; büyük aralıklar ikiye bölünür */
+    private static final class Toplayici extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+        private final transient Kesit kesit;
+        private final Gruplama gruplama;
+        private final int grupSayisi, bas, son;
+
+        Toplayici(Kesit kesit, Gruplama gruplama, int grupSayisi, int bas, int son) {
+            this.kesit = kesit;
+            this.gruplama = gruplama;
+            this.grupSayisi = grupSayisi;
+            this.bas = bas;
+            this.son = son;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (son - bas <= ESIK) {
+                long[] t = new long[grupSayisi * ALAN];
+                int[] kap = kesit.kapasite, rez = kesit.rezerve;
+                long[] gel = kesit.gelir;
+                for (int i = bas; i < son; i++) {
+                    int o = kesit.grup(gruplama, i) * ALAN;
+                    t[o]++;
+                    t[o + 1] += kap[i];
+                    t[o + 2] += rez[i];
+                    t[o + 3] += gel[i];
+                }
+                return t;
+            }
+            int orta = (bas + son) >>> 1;
+            Toplayici sag = new Toplayici(kesit, gruplama, grupSayisi, orta, son);
+            sag.fork();
+            long[] t = new Toplayici(kesit, gruplama, grupSayisi, bas, orta).compute();
+            long[] s = sag.join();
+            for (int j = 0; j < t.length; j++) t[j] += s[j];
+            return t;
+        }
+    }
+
+    private static void csvAlan(Appendable cikis, String alan) throws IOException {
+        if (alan.indexOf(',') < 0 && alan.indexOf('"') < 0 && alan.indexOf('\n') < 0) {
+            cikis.append(alan);
+            return;
+        }
+        cikis.append('"').append(alan.replace("\"", "\"\"")).append('"');
+    }
+}
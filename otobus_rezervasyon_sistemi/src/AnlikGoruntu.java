@@ -0,0 +1,86 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.TreeMap;
+
+/**
+ * Sistemin kompakt ikili anlık görüntüsü (seferler + aktif rezervasyonlar).
+ *
+ * "anlik-NNNNNNNNNN.bin" dosyasındaki numara, görüntüden sonra yeniden oynatılacak ilk günlük bölümüdür.
+ * Dosya önce geçici adla yazılıp fsync edilir, sonra atomik olarak yeniden adlandırılır; yarım kalmış
+ * bir görüntü hiçbir zaman geçerli görüntü olarak okunmaz. Kayıtlar günlükle aynı biçimi kullanır.
+ */
+final class AnlikGoruntu {
+    private static final int SIHIRLI_SAYI = 0x4F52534E; // "ORSN"
+    private static final int SURUM = 1;
+    private static final String ONEK = "anlik-";
+    private static final String UZANTI = ".bin";
+
+    private AnlikGoruntu() {}
+
+    /**
+     * Seferleri ve aktif rezervasyonlarını yazar; eski görüntüleri siler.
+     * bolum, bu görüntüden sonra oynatılacak ilk günlük bölümüdür.
+     */
+    static void yaz(Path dizin, long bolum, Iterable<Sefer> seferler) throws IOException {
+        Path hedef = yol(dizin, bolum);
+        Path gecici = dizin.resolve(hedef.getFileName() + ".tmp");
+        RezervasyonGunlugu.Kodlayici kodlayici = new RezervasyonGunlugu.Kodlayici();
+        try (FileOutputStream dosya = new FileOutputStream(gecici.toFile());
+             DataOutputStream cikis = new DataOutputStream(new BufferedOutputStream(dosya, 1 << 16))) {
+            cikis.writeInt(SIHIRLI_SAYI);
+            cikis.writeInt(SURUM);
+            cikis.writeLong(bolum);
+            for (Sefer s : seferler) {
+                kodlayici.sefer(cikis, s);
+                for (Koltuk k : s.getRezerveKoltuklar()) kodlayici.rezerve(cikis, k);
+            }
+            cikis.flush();
+            dosya.getChannel().force(true);
+        }
+        Files.move(gecici, hedef, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        for (Path eski : goruntuler(dizin).headMap(bolum, false).values()) Files.deleteIfExists(eski);
+    }
+
+    /**
+     * En güncel anlık görüntüyü uygular ve ondan sonra oynatılacak ilk günlük bölümünü döner
+     * (görüntü yoksa 1).
+     */
+    static long oku(Path dizin, RezervasyonGunlugu.Uygulayici uygulayici) throws IOException {
+        TreeMap<Long, Path> hepsi = goruntuler(dizin);
+        if (hepsi.isEmpty()) return 1;
+        try (InputStream giris = new BufferedInputStream(Files.newInputStream(hepsi.lastEntry().getValue()), 1 << 16)) {
+            DataInputStream in = new DataInputStream(giris);
+            if (in.readInt() != SIHIRLI_SAYI || in.readInt() != SURUM) {
+                throw new IOException("Tanınmayan anlık görüntü: " + hepsi.lastEntry().getValue());
+            }
+            long bolum = in.readLong();
+            RezervasyonGunlugu.oku(in, uygulayici);
+            return bolum;
+        }
+    }
+
+    private static TreeMap<Long, Path> goruntuler(Path dizin) throws IOException {
+        TreeMap<Long, Path> sonuc = new TreeMap<>();
+        if (!Files.isDirectory(dizin)) return sonuc;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dizin, ONEK + "*" + UZANTI)) {
+            for (Path p : ds) {
+                String ad = p.getFileName().toString();
+                sonuc.put(Long.parseLong(ad.substring(ONEK.length(), ad.length() - UZANTI.length())), p);
+            }
+        }
+        return sonuc;
+    }
+
+    private static Path yol(Path dizin, long bolum) {
+        return dizin.resolve(String.format("%s%010d%s", ONEK, bolum, UZANTI));
+    }
+}
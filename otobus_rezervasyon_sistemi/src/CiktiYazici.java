@@ -0,0 +1,218 @@
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Liste, rapor ve bilet fişi çıktısı için tamponlu yazıcı.
+ *
+ * Satırlar yeniden kullanılan tek bir StringBuilder'da kurulur ve tampon TAMPON karakteri geçince hedefe
+ * (konsol ya da dosya) tek parça halinde aktarılır; satır başına printf çağrısı, biçim dizgesi ayrıştırma
+ * ve ara String yoktur. Sayılar, sıfır dolgulu alanlar ve ondalıklar doğrudan tampona eklenir (ondalık
+ * ayırıcı printf gibi varsayılan yerel ayardan alınır). Tarih-saat "dd/MM/yyyy HH:mm" biçiminde, dakika
+ * anahtarlı küçük bir önbellekten yazılır: aynı dakikaya düşen satırlar (ör. bir grup rezervasyonu ya da
+ * aynı seferin kalkışı) tarihi yeniden biçimlendirmez.
+ *
+ * Bellek kullanımı tampon boyutuyla sınırlıdır; satır sayısından bağımsızdır. İş parçacığı güvenli değildir.
+ * Hedefe yazarken oluşan G/Ç hatası UncheckedIOException olarak fırlatılır.
+ */
+final class CiktiYazici implements Appendable, Flushable, Closeable {
+    private static final int TAMPON = 64 * 1024;
+    private static final int ONBELLEK = 256; // dakika anahtarlı tarih önbelleği (doğrudan eşlemeli)
+    private static final int TARIH_UZUNLUGU = 16; // dd/MM/yyyy HH:mm
+    private static final String SATIR_SONU = System.lineSeparator();
+    private static final long[] ONDALIK_CARPAN = {1, 10, 100, 1000, 10000, 100000, 1000000};
+
+    private final Appendable hedef;
+    private final boolean hedefiKapat;
+    private final StringBuilder tampon = new StringBuilder(TAMPON + 1024);
+    private final long[] onbellekDakika = new long[ONBELLEK];
+    private final char[] onbellekMetin = new char[ONBELLEK * TARIH_UZUNLUGU];
+    private final char ondalikAyirici =
+            DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT)).getDecimalSeparator();
+
+    private CiktiYazici(Appendable hedef, boolean hedefiKapat) {
+        this.hedef = hedef;
+        this.hedefiKapat = hedefiKapat;
+        Arrays.fill(onbellekDakika, Long.MIN_VALUE);
+    }
+
+    /** Konsola (ya da verilen akışa) yazan yazıcı; close akışı kapatmaz, yalnızca boşaltır */
+    static CiktiYazici akis(PrintStream cikis) {
+        return new CiktiYazici(cikis, false);
+    }
+
+    /** Dosyaya yazan yazıcı (UTF-8, dosya yoksa oluşturulur, varsa üzerine yazılır); close dosyayı kapatır */
+    static CiktiYazici dosya(Path dosya) throws IOException {
+        return new CiktiYazici(Files.newBufferedWriter(dosya), true);
+    }
+
+    /** Verilen Writer'a yazan yazıcı; close Writer'ı kapatmaz */
+    static CiktiYazici yazici(Writer w) {
+        return new CiktiYazici(w, false);
+    }
+
+    public CiktiYazici yaz(String s) {
+        tampon.append(s == null ? "null" : s);
+        return this;
+    }
+
+    public CiktiYazici yaz(char c) {
+        tampon.append(c);
+        return this;
+    }
+
+    public CiktiYazici sayi(long deger) {
+        tampon.append(deger);
+        return this;
+    }
+
+    /** printf("%0Nd") karşılığı: en az genislik basamak, solu sıfırla doldurulur */
+    public CiktiYazici sifirDolgulu(int deger, int genislik) {
+        if (deger < 0) {
+            tampon.append('-');
+            deger = -deger;
+        }
+        for (int b = basamakSayisi(deger); b < genislik; b++) tampon.append('0');
+        tampon.append(deger);
+        return this;
+    }
+
+    /**
+     * printf("%G.Bf") karşılığı: basamak kadar ondalık (en fazla 6, yarım yukarı yuvarlanır), toplam
+     * genislik karakterden kısaysa solu boşlukla doldurulur.
+     */
+    public CiktiYazici ondalik(double deger, int basamak, int genislik) {
+        if (Double.isNaN(deger) || Double.isInfinite(deger)) return sagaYasla(Double.toString(deger), genislik);
+        long carpan = ONDALIK_CARPAN[basamak];
+        long olcekli = Math.round(Math.abs(deger) * carpan);
+        long tam = olcekli / carpan, kesir = olcekli % carpan;
+        boolean negatif = deger < 0 && olcekli != 0;
+        int uzunluk = (negatif ? 1 : 0) + basamakSayisi(tam) + (basamak > 0 ? basamak + 1 : 0);
+        for (int i = uzunluk; i < genislik; i++) tampon.append(' ');
+        if (negatif) tampon.append('-');
+        tampon.append(tam);
+        if (basamak > 0) {
+            tampon.append(ondalikAyirici);
+            for (int b = basamakSayisi(kesir); b < basamak; b++) tampon.append('0');
+            tampon.append(kesir);
+        }
+        return this;
+    }
+
+    /** Tarih-saati "dd/MM/yyyy HH:mm" olarak yazar (guzelTarihFormat ile aynı çıktı) */
+    public CiktiYazici tarih(LocalDateTime zaman) {
+        long dakika = zaman.toLocalDate().toEpochDay() * 1440 + zaman.getHour() * 60 + zaman.getMinute();
+        int yuva = (int) (dakika & (ONBELLEK - 1));
+        int o = yuva * TARIH_UZUNLUGU;
+        if (onbellekDakika[yuva] != dakika) {
+            iki(o, zaman.getDayOfMonth());
+            onbellekMetin[o + 2] = '/';
+            iki(o + 3, zaman.getMonthValue());
+            onbellekMetin[o + 5] = '/';
+            int yil = zaman.getYear();
+            iki(o + 6, yil / 100 % 100);
+            iki(o + 8, yil % 100);
+            onbellekMetin[o + 10] = ' ';
+            iki(o + 11, zaman.getHour());
+            onbellekMetin[o + 13] = ':';
+            iki(o + 14, zaman.getMinute());
+            onbellekDakika[yuva] = dakika;
+        }
+        tampon.append(onbellekMetin, o, TARIH_UZUNLUGU);
+        return this;
+    }
+
+    /** Satırı bitirir; tampon dolduysa hedefe aktarılır */
+    public CiktiYazici satir() {
+        tampon.append(SATIR_SONU);
+        if (tampon.length() >= TAMPON) bosalt();
+        return this;
+    }
+
+    /** Metni yazar ve satırı bitirir */
+    public CiktiYazici satir(String s) {
+        return yaz(s).satir();
+    }
+
+    @Override
+    public CiktiYazici append(CharSequence csq) {
+        tampon.append(csq);
+        if (tampon.length() >= TAMPON) bosalt();
+        return this;
+    }
+
+    @Override
+    public CiktiYazici append(CharSequence csq, int bas, int son) {
+        tampon.append(csq, bas, son);
+        if (tampon.length() >= TAMPON) bosalt();
+        return this;
+    }
+
+    @Override
+    public CiktiYazici append(char c) {
+        tampon.append(c);
+        return this;
+    }
+
+    /** Tampondakileri hedefe aktarır ve hedefi boşaltır (ör. kullanıcıdan girdi beklemeden önce) */
+    @Override
+    public void flush() {
+        bosalt();
+        if (hedef instanceof Flushable) {
+            try {
+                ((Flushable) hedef).flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (hedefiKapat && hedef instanceof Closeable) ((Closeable) hedef).close();
+        }
+    }
+
+    private void bosalt() {
+        if (tampon.length() == 0) return;
+        try {
+            hedef.append(tampon);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            tampon.setLength(0);
+        }
+    }
+
+    private CiktiYazici sagaYasla(String s, int genislik) {
+        for (int i = s.length(); i < genislik; i++) tampon.append(' ');
+        tampon.append(s);
+        return this;
+    }
+
+    private void iki(int o, int deger) {
+        onbellekMetin[o] = (char) ('0' + deger / 10);
+        onbellekMetin[o + 1] = (char) ('0' + deger % 10);
+    }
+
+    private static int basamakSayisi(long deger) {
+        int n = 1;
+        while (deger >= 10) {
+            deger /= 10;
+            n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,255 @@
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Koltuk envanterini yığın dışında, bellek eşlemeli (memory-mapped) dosyalarda tutar.
+ *
+ * Her "envanter-NNNN.dat" dosyası sabit boyutludur ve art arda sefer bölgeleri içerir. Bir bölge; sefer
+ * bilgilerini, doluluk bit kümesini, rezerve sayacını ve koltuk başına sabit genişlikte rezervasyon kaydını
+ * taşır. Bitler ve sayaç doğrudan eşlenmiş bellekte CAS ile güncellendiğinden GC bu veriyi hiç görmez ve
+ * süreç yeniden başladığında dosya olduğu gibi eşlenip kullanılır. Yığında kalan, seferin kapasite kadar
+ * referans dizisi ve yalnızca dolu koltuklar için birer Koltuk nesnesidir: iptal CAS'ı, tutma çarkı ve yolcu
+ * dizini rezervasyon başına tek bir Koltuk kimliğine dayandığından kayıt her erişimde yeniden kurulmaz; boş
+ * koltuklar ve bit kümesi yığına hiç girmez. Sayfalar işletim sistemi tarafından diske yazılır; süreç çökmesinde veri
+ * kaybolmaz, işletim sistemi çökmesine karşı close() / kalıcılık günlüğü kullanılmalıdır.
+ *
+ * Metin alanları sabit genişliktedir; sığmayan sefer ya da rezervasyon bilgisi kesilmez, sefer veya
+ * rezervasyon oluşturulurken IllegalArgumentException ile reddedilir.
+ */
+final class EslenmisEnvanter implements AutoCloseable {
+    private static final int DOSYA_BOYUTU = 64 << 20;
+    private static final int SIHIRLI_SAYI = 0x4F525345; // "ORSE"
+    private static final int SURUM = 2;
+    private static final String ONEK = "envanter-";
+    private static final String UZANTI = ".dat";
+
+    // Dosya başlığı: [sihirli sayı][sürüm][kullanılan bayt sayısı (long)]
+    private static final int DOSYA_SONU = 8;
+    private static final int DOSYA_BASLIK = 64;
+
+    // Bölge başlığı
+    private static final int B_BOYUT = 0, B_KAPASITE = 4, B_FIYAT = 8, B_REZERVE = 12, B_KALKIS = 16;
+    private static final int B_KIMLIK = 24, B_SIRA = 84, B_KALKIS_YERI = 88, B_VARIS_YERI = 184, B_BITLER = 280;
+    private static final int KIMLIK_GENISLIGI = 60, YER_GENISLIGI = 96; // sefer sırası kimlik alanının son 4 baytında
+
+    // Koltuk kaydı; zaman alanı (epoch saniyesi) 0 ise kayıt geçersizdir ve en son yazılır. Saniye altı
+    // nanosaniye ayrı alandadır (günlükteki gibi); kayıt boyutu long alanlar hizalı kalsın diye 8'in katıdır.
+    private static final int K_ZAMAN = 0, K_REZ_KIMLIK = 8, K_AD = 56, K_TELEFON = 152, K_NANO = 192, KAYIT_BOYUTU = 200;
+    private static final int REZ_KIMLIK_GENISLIGI = 48, AD_GENISLIGI = 96, TELEFON_GENISLIGI = 40;
+
+    static final ByteOrder SIRA = ByteOrder.LITTLE_ENDIAN;
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, SIRA);
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, SIRA);
+
+    private final Path dizin;
+    private final List<FileChannel> kanallar = new ArrayList<>();
+    private final List<MappedByteBuffer> dosyalar = new ArrayList<>();
+
+    EslenmisEnvanter(Path dizin) throws IOException {
+        this.dizin = dizin;
+        Files.createDirectories(dizin);
+        TreeMap<Integer, Path> mevcut = new TreeMap<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dizin, ONEK + "*" + UZANTI)) {
+            for (Path p : ds) {
+                String ad = p.getFileName().toString();
+                mevcut.put(Integer.parseInt(ad.substring(ONEK.length(), ad.length() - UZANTI.length())), p);
+            }
+        }
+        for (Path p : mevcut.values()) dosyaEsle(p, false);
+    }
+
+    /**
+     * Dosyalardaki tüm seferleri, depoları eşlenmiş bölgeye bakan Sefer nesneleri olarak döner.
+     */
+    List<Sefer> seferleriYukle() {
+        List<Sefer> sonuc = new ArrayList<>();
+        for (MappedByteBuffer buf : dosyalar) {
+            long son = (long) LONG.getVolatile(buf, DOSYA_SONU);
+            for (int taban = DOSYA_BASLIK; taban < son; taban += buf.getInt(taban + B_BOYUT)) {
+                LocalDateTime kalkis = LocalDateTime.ofEpochSecond(buf.getLong(taban + B_KALKIS), 0, ZoneOffset.UTC);
+                int kapasite = buf.getInt(taban + B_KAPASITE);
+                Sefer s = new Sefer(metinOku(buf, taban + B_KIMLIK), metinOku(buf, taban + B_KALKIS_YERI),
+                        metinOku(buf, taban + B_VARIS_YERI), kalkis, kapasite, buf.getInt(taban + B_FIYAT),
+                        new Depo(buf, taban, kapasite));
+                s.kayitlariYukle();
+                sonuc.add(s);
+            }
+        }
+        return sonuc;
+    }
+
+    /**
+     * Yeni bir sefer bölgesi ayırır ve bu bölgeyi kullanan Sefer'i döner.
+     */
+    synchronized Sefer seferOlustur(String seferKimlik, String kalkisYeri, String varisYeri, LocalDateTime kalkisZamani,
+                                    int kapasite, int biletFiyati) throws IOException {
+        if (kapasite <= 0) throw new IllegalArgumentException("Kapasite pozitif olmalı.");
+        int kelimeSayisi = (kapasite + 63) >>> 6;
+        int boyut = B_BITLER + kelimeSayisi * 8 + kapasite * KAYIT_BOYUTU;
+        if (boyut > DOSYA_BOYUTU - DOSYA_BASLIK) throw new IllegalArgumentException("Kapasite envanter için çok büyük.");
+        sigdir("Sefer kimliği", seferKimlik, KIMLIK_GENISLIGI);
+        sigdir("Kalkış yeri", kalkisYeri, YER_GENISLIGI);
+        sigdir("Varış yeri", varisYeri, YER_GENISLIGI);
+
+        MappedByteBuffer buf = dosyalar.isEmpty() ? null : dosyalar.get(dosyalar.size() - 1);
+        if (buf == null || (long) LONG.getVolatile(buf, DOSYA_SONU) + boyut > DOSYA_BOYUTU) {
+            buf = dosyaEsle(dizin.resolve(String.format("%s%04d%s", ONEK, dosyalar.size() + 1, UZANTI)), true);
+        }
+        int taban = (int) (long) LONG.getVolatile(buf, DOSYA_SONU);
+        buf.putInt(taban + B_BOYUT, boyut);
+        buf.putInt(taban + B_KAPASITE, kapasite);
+        buf.putInt(taban + B_FIYAT, biletFiyati);
+        buf.putInt(taban + B_REZERVE, 0);
+        buf.putLong(taban + B_KALKIS, kalkisZamani.toEpochSecond(ZoneOffset.UTC));
+        metinYaz(buf, taban + B_KIMLIK, KIMLIK_GENISLIGI, seferKimlik);
+        metinYaz(buf, taban + B_KALKIS_YERI, YER_GENISLIGI, kalkisYeri);
+        metinYaz(buf, taban + B_VARIS_YERI, YER_GENISLIGI, varisYeri);
+        // Bölge, başlığı tamamen yazıldıktan sonra dosya sonunun ilerletilmesiyle görünür olur
+        LONG.setRelease(buf, DOSYA_SONU, (long) taban + boyut);
+        return new Sefer(seferKimlik, kalkisYeri, varisYeri, kalkisZamani, kapasite, biletFiyati,
+                new Depo(buf, taban, kapasite));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (MappedByteBuffer buf : dosyalar) buf.force();
+        for (FileChannel k : kanallar) k.close();
+    }
+
+    private MappedByteBuffer dosyaEsle(Path yol, boolean yeni) throws IOException {
+        FileChannel kanal = FileChannel.open(yol, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buf = kanal.map(FileChannel.MapMode.READ_WRITE, 0, DOSYA_BOYUTU);
+        buf.order(SIRA);
+        if (yeni) {
+            buf.putInt(0, SIHIRLI_SAYI);
+            buf.putInt(4, SURUM);
+            LONG.setRelease(buf, DOSYA_SONU, (long) DOSYA_BASLIK);
+        } else if (buf.getInt(0) != SIHIRLI_SAYI || buf.getInt(4) != SURUM) {
+            kanal.close();
+            throw new IOException("Tanınmayan envanter dosyası: " + yol);
+        }
+        kanallar.add(kanal);
+        dosyalar.add(buf);
+        return buf;
+    }
+
+    /* ---------- Sabit genişlikli metin alanları: [uzunluk (short)][UTF-8 baytları] ---------- */
+
+    /**
+     * Metin genislik baytlık alana sığmıyorsa IllegalArgumentException; değer kesilip yazılmaz. Karakter
+     * başına en fazla 3 UTF-8 baytı olduğundan kısa metinler kodlanmadan geçer.
+     */
+    private static void sigdir(String alan, String metin, int genislik) {
+        if (metin == null || metin.length() * 3 <= genislik - 2) return;
+        if (metin.getBytes(StandardCharsets.UTF_8).length > genislik - 2) {
+            throw new IllegalArgumentException(alan + " çok uzun (envanterde en fazla " + (genislik - 2) + " bayt).");
+        }
+    }
+
+    private static void metinYaz(MappedByteBuffer buf, int ofset, int genislik, String metin) {
+        byte[] b = metin == null ? new byte[0] : metin.getBytes(StandardCharsets.UTF_8);
+        if (b.length > genislik - 2) throw new IllegalArgumentException("Envanter alanına sığmayan değer: " + metin);
+        buf.putShort(ofset, (short) b.length);
+        buf.put(ofset + 2, b);
+    }
+
+    private static String metinOku(MappedByteBuffer buf, int ofset) {
+        byte[] b = new byte[buf.getShort(ofset)];
+        buf.get(ofset + 2, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /** Bir sefer bölgesine bakan koltuk deposu; bit ve sayaç işlemleri eşlenmiş bellekte atomiktir */
+    private static final class Depo implements KoltukDeposu {
+        private final MappedByteBuffer buf;
+        private final int taban;
+        private final int kelimeSayisi;
+        private final int kayitTabani;
+
+        Depo(MappedByteBuffer buf, int taban, int kapasite) {
+            this.buf = buf;
+            this.taban = taban;
+            this.kelimeSayisi = (kapasite + 63) >>> 6;
+            this.kayitTabani = taban + B_BITLER + kelimeSayisi * 8;
+        }
+
+        @Override public int kelimeSayisi() { return kelimeSayisi; }
+
+        @Override
+        public long kelime(int w) {
+            return (long) LONG.getVolatile(buf, taban + B_BITLER + (w << 3));
+        }
+
+        @Override
+        public boolean kelimeCas(int w, long beklenen, long yeni) {
+            return LONG.compareAndSet(buf, taban + B_BITLER + (w << 3), beklenen, yeni);
+        }
+
+        @Override
+        public int rezerveSayisi() {
+            return (int) INT.getVolatile(buf, taban + B_REZERVE);
+        }
+
+        @Override
+        public void rezerveSayisiEkle(int fark) {
+            INT.getAndAdd(buf, taban + B_REZERVE, fark);
+        }
+
+        @Override
+        public int siraOku() {
+            return buf.getInt(taban + B_SIRA);
+        }
+
+        @Override
+        public void siraYaz(int sira) {
+            buf.putInt(taban + B_SIRA, sira);
+        }
+
+        @Override
+        public void kayitDenetle(String rezervasyonKimlik, String yolcuAdi, String yolcuTelefonu) {
+            sigdir("Rezervasyon kimliği", rezervasyonKimlik, REZ_KIMLIK_GENISLIGI);
+            sigdir("Yolcu adı", yolcuAdi, AD_GENISLIGI);
+            sigdir("Yolcu telefonu", yolcuTelefonu, TELEFON_GENISLIGI);
+        }
+
+        @Override
+        public void kayitYaz(int i, Koltuk k) {
+            int ofset = kayitTabani + i * KAYIT_BOYUTU;
+            metinYaz(buf, ofset + K_REZ_KIMLIK, REZ_KIMLIK_GENISLIGI, k.getRezervasyonKimlik());
+            metinYaz(buf, ofset + K_AD, AD_GENISLIGI, k.getYolcuAdi());
+            metinYaz(buf, ofset + K_TELEFON, TELEFON_GENISLIGI, k.getYolcuTelefonu());
+            buf.putInt(ofset + K_NANO, k.getRezervasyonZamani().getNano());
+            LONG.setRelease(buf, ofset + K_ZAMAN, k.getRezervasyonZamani().toEpochSecond(ZoneOffset.UTC));
+        }
+
+        @Override
+        public void kayitSil(int i) {
+            LONG.setRelease(buf, kayitTabani + i * KAYIT_BOYUTU + K_ZAMAN, 0L);
+        }
+
+        @Override
+        public Koltuk kayitOku(int i, Sefer sefer) {
+            int ofset = kayitTabani + i * KAYIT_BOYUTU;
+            long zaman = (long) LONG.getAcquire(buf, ofset + K_ZAMAN);
+            if (zaman == 0) return null;
+            String tel = metinOku(buf, ofset + K_TELEFON);
+            return new Koltuk(i + 1, sefer, metinOku(buf, ofset + K_AD), tel.isEmpty() ? null : tel,
+                    LocalDateTime.ofEpochSecond(zaman, buf.getInt(ofset + K_NANO), ZoneOffset.UTC),
+                    metinOku(buf, ofset + K_REZ_KIMLIK));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Nanosaniye cinsinden gecikmeler için log-doğrusal histogram.
+ *
+ * Her ikinin kuvveti aralığı 64 alt kovaya bölünür; kaydedilen değer en fazla ~%1,6 hatayla saklanır ve
+ * bellek kullanımı değer aralığından bağımsız olarak sabittir (3712 kova). Kayıt kilitsizdir, birden fazla
+ * iş parçacığı aynı histograma yazabilir; yüksek hızda her iş parçacığına ayrı histogram verip sonunda
+ * ekle() ile birleştirmek çekişmeyi ortadan kaldırır.
+ */
+final class GecikmeHistogrami {
+    private static final int ALT_KOVA_BITLERI = 6;
+    private static final int ALT_KOVA = 1 << ALT_KOVA_BITLERI;
+    private static final int KOVA_SAYISI = ALT_KOVA * (64 - ALT_KOVA_BITLERI);
+
+    private final AtomicLongArray kovalar = new AtomicLongArray(KOVA_SAYISI);
+
+    /** Bir gecikme kaydeder; negatif değerler 0 sayılır */
+    void kaydet(long ns) {
+        kovalar.getAndIncrement(kovaIndeksi(Math.max(0, ns)));
+    }
+
+    /** Diğer histogramın kayıtlarını bu histograma ekler */
+    void ekle(GecikmeHistogrami diger) {
+        for (int i = 0; i < KOVA_SAYISI; i++) {
+            long n = diger.kovalar.get(i);
+            if (n != 0) kovalar.getAndAdd(i, n);
+        }
+    }
+
+    /** Tüm kayıtları siler; eşzamanlı kayıtlarla birlikte çağrılırsa bazı kayıtlar kaybolabilir */
+    void sifirla() {
+        for (int i = 0; i < KOVA_SAYISI; i++) kovalar.set(i, 0);
+    }
+
+    long sayi() {
+        long n = 0;
+        for (int i = 0; i < KOVA_SAYISI; i++) n += kovalar.get(i);
+        return n;
+    }
+
+    /**
+     * Kayıtların yuzde'lik kısmının altında kaldığı değeri (kovasının üst sınırı) döner; kayıt yoksa 0.
+     * yuzde 0..100 aralığındadır (örn. 99.9).
+     */
+    long yuzdelik(double yuzde) {
+        long[] anlik = new long[KOVA_SAYISI];
+        long toplam = 0;
+        for (int i = 0; i < KOVA_SAYISI; i++) toplam += anlik[i] = kovalar.get(i);
+        if (toplam == 0) return 0;
+        long hedef = Math.max(1, (long) Math.ceil(toplam * Math.min(100.0, Math.max(0.0, yuzde)) / 100.0));
+        long birikmis = 0;
+        for (int i = 0; i < KOVA_SAYISI; i++) {
+            birikmis += anlik[i];
+            if (birikmis >= hedef) return ustSinir(i);
+        }
+        return ustSinir(KOVA_SAYISI - 1);
+    }
+
+    /** En büyük kaydın kovasının üst sınırı; kayıt yoksa 0 */
+    long enBuyuk() {
+        for (int i = KOVA_SAYISI - 1; i >= 0; i--) {
+            if (kovalar.get(i) != 0) return ustSinir(i);
+        }
+        return 0;
+    }
+
+    private static int kovaIndeksi(long v) {
+        int kaydirma = Math.max(0, 63 - Long.numberOfLeadingZeros(v) - ALT_KOVA_BITLERI);
+        return kaydirma == 0 ? (int) v : (kaydirma + 1) * ALT_KOVA + (int) (v >>> kaydirma) - ALT_KOVA;
+    }
+
+    private static long ustSinir(int indeks) {
+        if (indeks < 2 * ALT_KOVA) return indeks;
+        int kaydirma = indeks / ALT_KOVA - 1;
+        long ust = (indeks % ALT_KOVA) + ALT_KOVA;
+        return ((ust + 1) << kaydirma) - 1;
+    }
+}
@@ -0,0 +1,166 @@
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Tek bir koltuğu temsil eder.
+ * Dolu koltuklar için Sefer tarafından saklanır; boş koltuklar yalnızca istendiğinde geçici olarak oluşturulur.
+ * Her nesne tek bir rezervasyonu taşır: durum BOŞ -> REZERVE -> İPTAL yönünde CAS ile ilerler,
+ * böylece aynı kayıt üzerindeki eşzamanlı rezervasyon/iptal çağrılarından yalnızca biri kazanır.
+ *
+ * Geçici tutma (ödeme beklenirken): Sefer.koltukTut TUTULU durumda bir kayıt oluşturur. Tutma
+ * TUTULU -> REZERVE (onayla) ya da TUTULU -> BIRAKILDI (birak, süre dolumu) yönünde yine tek CAS ile
+ * ilerler; onay ile süre dolumu aynı anda olursa yalnızca biri kazanır.
+ *
+ * Çok duraklı seferde bir rezervasyon güzergahın yalnızca bir bölümünü (biniş -> iniş durağı) kapsayabilir
+ * (Sefer.bacakRezerveEt); aynı koltuğun örtüşmeyen bölümleri ayrı rezervasyonlardır.
+ */
+class Koltuk {
+    private static final int BOS = 0, REZERVE = 1, IPTAL = 2, TUTULU = 3, BIRAKILDI = 4;
+    private static final AtomicIntegerFieldUpdater<Koltuk> DURUM =
+            AtomicIntegerFieldUpdater.newUpdater(Koltuk.class, "durum");
+
+    private final int koltukNumarasi; // 1..N
+    private final Sefer sefer; // koltuğun ait olduğu sefer
+    private volatile int durum = BOS;
+    private String yolcuAdi;
+    private String yolcuTelefonu;
+    private LocalDateTime rezervasyonZamani;
+    private String rezervasyonKimlik; // kompakt kimlik (RezervasyonKimligi) ya da eski kayıtlarda UUID
+    private long tutmaBitisNs;        // TUTULU kayıtta sürenin dolduğu an (System.nanoTime)
+    private byte binis, inis;         // kısmi rezervasyonda biniş ve iniş durağı (< EN_FAZLA_DURAK); inis 0 ise tüm güzergah
+    Koltuk carkSonraki;               // TutmaCarki yuvasındaki sonraki tutma (yalnızca çark kullanır)
+    Koltuk yolcuSonraki;              // YolcuDizini bekleyenler yığınındaki sonraki koltuk
+    volatile int yolcuBekliyor;       // 1: YolcuDizini'ne uygulanmayı bekliyor
+
+    public Koltuk(int koltukNumarasi, Sefer sefer) {
+        this.koltukNumarasi = koltukNumarasi;
+        this.sefer = sefer;
+    }
+
+    /**
+     * Sefer.koltukTut için TUTULU durumda kayıt; kimlik onaylanınca rezervasyon kimliği olur.
+     */
+    Koltuk(int koltukNumarasi, Sefer sefer, String kimlik, long tutmaBitisNs) {
+        this(koltukNumarasi, sefer);
+        this.rezervasyonKimlik = kimlik;
+        this.tutmaBitisNs = tutmaBitisNs;
+        this.durum = TUTULU;
+    }
+
+    /**
+     * Kalıcı depodaki bir kayıttan, zaten rezerve durumda olan koltuk oluşturur (bit kümesine dokunmaz).
+     */
+    Koltuk(int koltukNumarasi, Sefer sefer, String yolcuAdi, String yolcuTelefonu,
+           LocalDateTime rezervasyonZamani, String rezervasyonKimlik) {
+        this(koltukNumarasi, sefer);
+        this.yolcuAdi = yolcuAdi;
+        this.yolcuTelefonu = yolcuTelefonu;
+        this.rezervasyonZamani = rezervasyonZamani;
+        this.rezervasyonKimlik = rezervasyonKimlik;
+        this.durum = REZERVE;
+    }
+
+    /**
+     * Sefer.bacakRezerveEt için güzergahın binis -> inis bölümünü kapsayan, rezerve durumda kayıt
+     * (bacak bitleri sefer tarafından zaten alınmıştır).
+     */
+    Koltuk(int koltukNumarasi, Sefer sefer, String yolcuAdi, String yolcuTelefonu,
+           LocalDateTime rezervasyonZamani, String rezervasyonKimlik, int binis, int inis) {
+        this(koltukNumarasi, sefer, yolcuAdi, yolcuTelefonu, rezervasyonZamani, rezervasyonKimlik);
+        this.binis = (byte) binis;
+        this.inis = (byte) inis;
+    }
+
+    public int getKoltukNumarasi() { return koltukNumarasi; }
+    public Sefer getSefer() { return sefer; }
+    public boolean isRezerveEdildi() { return durum == REZERVE; }
+    public boolean isTutuluyor() { return durum == TUTULU; }
+    long getTutmaBitisNs() { return tutmaBitisNs; }
+
+    /** Tutmanın dolmasına kalan süre (ms); tutulmuyorsa 0 */
+    public long getTutmaKalanMs() {
+        return durum == TUTULU ? Math.max(0, (tutmaBitisNs - System.nanoTime()) / 1_000_000) : 0;
+    }
+    public String getYolcuAdi() { return yolcuAdi; }
+    public String getYolcuTelefonu() { return yolcuTelefonu; }
+    public LocalDateTime getRezervasyonZamani() { return rezervasyonZamani; }
+    public String getRezervasyonKimlik() { return rezervasyonKimlik; }
+    /** Güzergahın yalnızca bir bölümünü kapsayan rezervasyon mu */
+    public boolean isKismi() { return inis != 0; }
+    public int getBinisDuragi() { return binis; }
+    public int getInisDuragi() { return inis != 0 ? inis : sefer.getDurakSayisi() - 1; }
+    /** Rezervasyonun ücreti: tüm güzergahta bilet fiyatı, kısmi rezervasyonda kapsanan bacakların toplamı */
+    public int getUcret() { return inis != 0 ? sefer.ucret(binis, inis) : sefer.getBiletFiyati(); }
+
+    /**
+     * Rezervasyon yapar. rezervasyonKimlik sefer sırası ve koltuk numarasını taşıyan kompakt kimlik olarak atanır.
+     * Koltuk seferde başka bir rezervasyonla doluysa hiçbir şey değişmez.
+     * İptal edilmiş bir kayıt yeniden kullanılamaz; yeni rezervasyon için Sefer.koltukRezerveEt kullanılır.
+     */
+    public void rezerveEt(String yolcuAdi, String yolcuTelefonu) {
+        rezerveEt(yolcuAdi, yolcuTelefonu, LocalDateTime.now(), sefer.rezervasyonKimligiUret(koltukNumarasi));
+    }
+
+    /**
+     * Kalıcı kayıttan geri yükleme: rezervasyon zamanı ve kimliği kayıttaki değerlerle korunur.
+     */
+    void geriYukle(String yolcuAdi, String yolcuTelefonu, LocalDateTime rezervasyonZamani, String rezervasyonKimlik) {
+        rezerveEt(yolcuAdi, yolcuTelefonu, rezervasyonZamani, rezervasyonKimlik);
+    }
+
+    private void rezerveEt(String yolcuAdi, String yolcuTelefonu, LocalDateTime rezervasyonZamani, String rezervasyonKimlik) {
+        sefer.kayitDenetle(rezervasyonKimlik, yolcuAdi, yolcuTelefonu);
+        if (!DURUM.compareAndSet(this, BOS, REZERVE)) return;
+        this.yolcuAdi = yolcuAdi;
+        this.yolcuTelefonu = yolcuTelefonu;
+        this.rezervasyonZamani = rezervasyonZamani;
+        this.rezervasyonKimlik = rezervasyonKimlik;
+        if (!sefer.rezervasyonEklendi(this)) {
+            this.yolcuAdi = null;
+            this.yolcuTelefonu = null;
+            this.rezervasyonZamani = null;
+            this.rezervasyonKimlik = null;
+            this.durum = BOS;
+        }
+    }
+
+    /**
+     * Rezervasyon iptal eder. Yolcu bilgileri geçmiş için kayıtta kalır.
+     * İptali bu çağrı yaptıysa true, kayıt zaten iptal edilmişse ya da hiç rezerve edilmemişse false döner.
+     */
+    public boolean iptalEt() {
+        if (!DURUM.compareAndSet(this, REZERVE, IPTAL)) return false;
+        sefer.rezervasyonKaldirildi(this);
+        return true;
+    }
+
+    /**
+     * Tutulan koltuğu yolcu adına rezerve eder; kimlik tutmanın kimliğidir. Tutma bırakılmış, süresi
+     * dolmuş ya da zaten onaylanmışsa false döner (süresi dolmuş ama çark henüz işlememişse burada bırakılır).
+     */
+    public boolean onayla(String yolcuAdi, String yolcuTelefonu) {
+        sefer.kayitDenetle(rezervasyonKimlik, yolcuAdi, yolcuTelefonu);
+        if (System.nanoTime() - tutmaBitisNs >= 0) {
+            birak();
+            return false;
+        }
+        if (!DURUM.compareAndSet(this, TUTULU, REZERVE)) return false;
+        this.yolcuAdi = yolcuAdi;
+        this.yolcuTelefonu = yolcuTelefonu;
+        this.rezervasyonZamani = LocalDateTime.now();
+        sefer.tutmaOnaylandi(this);
+        return true;
+    }
+
+    /** Tutmayı bırakır; koltuk yeniden boşalır. Bu çağrı bıraktıysa true döner. */
+    public boolean birak() {
+        if (!DURUM.compareAndSet(this, TUTULU, BIRAKILDI)) return false;
+        sefer.tutmaKaldirildi(this);
+        return true;
+    }
+
+    /** TutmaCarki: süre dolumunu kazanırsa true; koltuk çağıran tarafından (toplu olarak) bırakılır */
+    boolean suresiDoldu() {
+        return DURUM.compareAndSet(this, TUTULU, BIRAKILDI);
+    }
+}
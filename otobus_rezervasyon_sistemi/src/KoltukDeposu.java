@@ -0,0 +1,38 @@
+/**
+ * Bir seferin koltuk doluluk bitlerini, rezerve sayacını ve (varsa) kalıcı rezervasyon kayıtlarını saklayan katman.
+ * Sefer eşzamanlılık kurallarını (bit CAS ile sahiplenme, önce kayıt sonra bit bırakma) bu arayüz üzerinden uygular;
+ * depo yalnızca saklama biçimini belirler (yığın içi diziler ya da bellek eşlemeli dosya).
+ */
+interface KoltukDeposu {
+    int kelimeSayisi();
+
+    /** w numaralı 64 bitlik doluluk kelimesi (bit i -> koltuk 64*w+i+1) */
+    long kelime(int w);
+
+    boolean kelimeCas(int w, long beklenen, long yeni);
+
+    int rezerveSayisi();
+
+    void rezerveSayisiEkle(int fark);
+
+    /**
+     * Rezervasyon kaydı depoda saklanabilir mi; sabit genişlikli alanlara sığmayan değerler için
+     * IllegalArgumentException. Koltuk sahiplenilmeden önce çağrılır (kimlik null ise sefer üretecektir).
+     */
+    default void kayitDenetle(String rezervasyonKimlik, String yolcuAdi, String yolcuTelefonu) {}
+
+    /** Koltuk sahiplenildikten sonra rezervasyon kaydını saklar (yığın deposunda işlem yapmaz) */
+    default void kayitYaz(int koltukIndeksi, Koltuk koltuk) {}
+
+    /** Koltuk biti bırakılmadan önce kaydı geçersiz kılar (yığın deposunda işlem yapmaz) */
+    default void kayitSil(int koltukIndeksi) {}
+
+    /** Saklanan kayıttan bir Koltuk oluşturur; kalıcı kayıt yoksa null */
+    default Koltuk kayitOku(int koltukIndeksi, Sefer sefer) { return null; }
+
+    /** Kalıcı depoda saklanan sefer sırası (rezervasyon kimliklerinde kullanılır); yoksa 0 */
+    default int siraOku() { return 0; }
+
+    /** Sefer sırasını kalıcı depoya yazar (yığın deposunda işlem yapmaz) */
+    default void siraYaz(int sira) {}
+}
@@ -0,0 +1,328 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seferleri parçalara bölen tek yazarlı (single-writer) yürütme modu.
+ *
+ * Seferler seferKimlik özetine göre N parçaya dağıtılır. Her parçanın tek bir iş parçacığı ve sınırlı bir
+ * komut kuyruğu vardır; bir seferin rezervasyon ve iptalleri yalnızca sahibi olan parçanın iş parçacığında
+ * çalışır. Böylece aynı seferin koltuk bitleri için iş parçacıkları yarışmaz (CAS hep ilk denemede tutar),
+ * farklı parçalar ise ortak bir kilit ya da sayaç paylaşmaz; verim, yük seferlere yayıldığı ölçüde
+ * çekirdek sayısıyla artar. Parça iş parçacığı kuyrukta biriken komutları tek seferde alıp (drainTo)
+ * parti halinde işler. Kuyruk doluysa gönderen iş parçacığı bekler (geri basınç).
+ *
+ * Kalıcı modda parça, partideki komutların hepsini çalıştırdıktan sonra günlük kayıtlarının fsync
+ * edilmesini bir kez bekler ve sonuçları ancak ondan sonra verir; onaylanan her işlem diskte olur, parti
+ * tek bir grup yazımını paylaşır. Günlük yazılamazsa partinin komutları bu hatayla tamamlanır.
+ *
+ * Her parça kendi sahip olduğu seferlerin toplamlarını (sefer, kapasite, rezervasyon, gelir) yalnızca
+ * kendisi yazdığı için sade long alanlarda tutar. Genel rapor (ozet) her parçaya bir okuma komutu gönderir
+ * ve parçaların sonuçlarını toplar; her parçanın katkısı o parçanın komut sırasında tutarlı bir andır.
+ *
+ * Toplamlar yalnızca bu yürütücü üzerinden yapılan işlemleri izler. Yürütücü kurulduktan sonra doğrudan
+ * RezervasyonSistemi ile eklenen bir sefer, ona gelen ilk komutta sahibi olan parçaca o anki durumuyla
+ * (kapasite, rezervasyon, gelir) sahiplenilir; o zamana kadar özete girmez. Sahiplenildikten sonraki
+ * yürütücü dışı değişiklikler (doğrudan rezervasyon, süresi dolan tutmalar) seferlerin kendi sayaçlarına
+ * yansır, parça toplamlarına yansımaz.
+ */
+final class ParcaliYurutucu implements AutoCloseable {
+    static final int VARSAYILAN_KUYRUK = 4096;
+    private static final int PARTI = 256; // bir turda kuyruktan alınan en fazla komut
+
+    /** Parçaların toplamlarından birleştirilmiş genel özet */
+    static final class Ozet {
+        private final long seferSayisi, kapasite, rezervasyon, gelir, islenen, basarisiz;
+
+        Ozet(long seferSayisi, long kapasite, long rezervasyon, long gelir, long islenen, long basarisiz) {
+            this.seferSayisi = seferSayisi;
+            this.kapasite = kapasite;
+            this.rezervasyon = rezervasyon;
+            this.gelir = gelir;
+            this.islenen = islenen;
+            this.basarisiz = basarisiz;
+        }
+
+        public long getSeferSayisi() { return seferSayisi; }
+        public long getKapasite() { return kapasite; }
+        public long getRezervasyon() { return rezervasyon; }
+        public long getGelir() { return gelir; }
+        /** Parçaların işlediği rezervasyon/iptal komutları */
+        public long getIslenen() { return islenen; }
+        /** Koltuk dolu, numara hatalı ya da kimlik bulunamadığı için başarısız komutlar */
+        public long getBasarisiz() { return basarisiz; }
+
+        public double getDolulukOrani() {
+            return kapasite == 0 ? 0.0 : (rezervasyon / (double) kapasite) * 100.0;
+        }
+
+        Ozet topla(Ozet o) {
+            return new Ozet(seferSayisi + o.seferSayisi, kapasite + o.kapasite, rezervasyon + o.rezervasyon,
+                    gelir + o.gelir, islenen + o.islenen, basarisiz + o.basarisiz);
+        }
+    }
+
+    /** Parça iş parçacığında çalışan komut; sonucu kendisi taşır (ayrı bir Future nesnesi ayrılmaz) */
+    private abstract static class Komut<T> extends CompletableFuture<T> {
+        private T sonuc;          // yalnızca parça iş parçacığı yazar ve okur
+        private RuntimeException hata;
+
+        abstract T calistir(Parca p);
+
+        /** Komutu çalıştırır; sonuç parti günlüğe yazılınca bitir ile verilir */
+        final void yurut(Parca p) {
+            try {
+                sonuc = calistir(p);
+            } catch (RuntimeException e) {
+                hata = e;
+            }
+        }
+
+        final void bitir(RuntimeException gunlukHatasi) {
+            if (hata != null) completeExceptionally(hata);
+            else if (gunlukHatasi != null) completeExceptionally(gunlukHatasi);
+            else complete(sonuc);
+        }
+    }
+
+    private final RezervasyonSistemi sistem;
+    private final Parca[] parcalar;
+    private volatile boolean kapali;
+
+    /**
+     * @param parcaSayisi parça (ve iş parçacığı) sayısı; genellikle çekirdek sayısı
+     * @param kuyrukKapasitesi parça başına bekleyebilecek en fazla komut
+     */
+    ParcaliYurutucu(RezervasyonSistemi sistem, int parcaSayisi, int kuyrukKapasitesi) {
+        if (parcaSayisi <= 0 || kuyrukKapasitesi <= 0) throw new IllegalArgumentException("Parça ve kuyruk sayısı pozitif olmalı.");
+        this.sistem = sistem;
+        this.parcalar = new Parca[parcaSayisi];
+        for (int i = 0; i < parcaSayisi; i++) parcalar[i] = new Parca(i, kuyrukKapasitesi);
+        // Mevcut seferler iş parçacıkları başlamadan sahiplerine yazılır (start öncesi yazılar görünürdür)
+        for (Sefer s : sistem.getSeferler()) parcalar[parcaIndeksi(s.getSeferKimlik())].sahiplen(s);
+        for (Parca p : parcalar) p.isParcacigi.start();
+    }
+
+    ParcaliYurutucu(RezervasyonSistemi sistem, int parcaSayisi) {
+        this(sistem, parcaSayisi, VARSAYILAN_KUYRUK);
+    }
+
+    int getParcaSayisi() { return parcalar.length; }
+
+    /** Seferin sahibi olan parça */
+    int parcaIndeksi(String seferKimlik) {
+        int h = seferKimlik.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), parcalar.length);
+    }
+
+    /* ---------- Komutlar ---------- */
+
+    /** Yeni seferi sahibi olan parçada oluşturur; kimlik zaten varsa sonuç null */
+    CompletableFuture<Sefer> seferEkle(String seferKimlik, String kalkisYeri, String varisYeri, LocalDateTime kalkisZamani,
+                                       int kapasite, int biletFiyati) {
+        return gonder(seferKimlik, new Komut<Sefer>() {
+            @Override
+            Sefer calistir(Parca p) {
+                try {
+                    Sefer s = sistem.yeniSefer(seferKimlik, kalkisYeri, varisYeri, kalkisZamani, kapasite, biletFiyati);
+                    if (s != null) p.sahiplen(s);
+                    return s;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    /** Tek koltuk rezervasyonu; koltuk dolu ya da numara hatalıysa sonuç null */
+    CompletableFuture<Koltuk> rezerveEt(Sefer s, int koltukNumarasi, String yolcuAdi, String yolcuTelefonu) {
+        return gonder(s.getSeferKimlik(), new RezerveKomutu(s, koltukNumarasi, yolcuAdi, yolcuTelefonu));
+    }
+
+    CompletableFuture<Koltuk> rezerveEt(String seferKimlik, int koltukNumarasi, String yolcuAdi, String yolcuTelefonu) {
+        Sefer s = sistem.seferBul(seferKimlik);
+        if (s == null) return CompletableFuture.completedFuture(sistem.koltukRezerveEt(seferKimlik, koltukNumarasi, yolcuAdi, yolcuTelefonu));
+        return rezerveEt(s, koltukNumarasi, yolcuAdi, yolcuTelefonu);
+    }
+
+    /** Rezervasyon kimliği ile iptal; kimlik bulunamazsa sonuç null */
+    CompletableFuture<Koltuk> iptalEt(String rezervasyonKimlik) {
+        Sefer s = sistem.rezervasyonSeferi(rezervasyonKimlik);
+        // Sefer çözülemiyorsa rezervasyon yoktur; başarısızlık sistem metriklerine sayılsın diye doğrudan çağrılır
+        if (s == null) return CompletableFuture.completedFuture(sistem.rezervasyonIptalEt(rezervasyonKimlik));
+        return gonder(s.getSeferKimlik(), new IptalKomutu(s, rezervasyonKimlik));
+    }
+
+    /** Tüm parçaların toplamlarını toplar */
+    CompletableFuture<Ozet> ozet() {
+        List<CompletableFuture<Ozet>> parcaOzetleri = new ArrayList<>(parcalar.length);
+        for (int i = 0; i < parcalar.length; i++) parcaOzetleri.add(parcaOzeti(i));
+        return CompletableFuture.allOf(parcaOzetleri.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            Ozet toplam = new Ozet(0, 0, 0, 0, 0, 0);
+            for (CompletableFuture<Ozet> o : parcaOzetleri) toplam = toplam.topla(o.join());
+            return toplam;
+        });
+    }
+
+    /** Tek parçanın yalnızca kendi sahip olduğu seferlerden oluşan toplamları */
+    CompletableFuture<Ozet> parcaOzeti(int parca) {
+        return parcalar[parca].gonder(new Komut<Ozet>() {
+            @Override
+            Ozet calistir(Parca p) {
+                return p.ozet();
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> gonder(String seferKimlik, Komut<T> komut) {
+        return parcalar[parcaIndeksi(seferKimlik)].gonder(komut);
+    }
+
+    /**
+     * Kuyruklarda bekleyen komutları işletip parça iş parçacıklarını durdurur; sonradan gönderilen
+     * komutlar IllegalStateException ile tamamlanır.
+     */
+    @Override
+    public void close() {
+        kapali = true;
+        for (Parca p : parcalar) {
+            try {
+                p.isParcacigi.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            p.kalanlariReddet();
+        }
+    }
+
+    private final class RezerveKomutu extends Komut<Koltuk> {
+        final Sefer sefer;
+        final int no;
+        final String ad, tel;
+
+        RezerveKomutu(Sefer sefer, int no, String ad, String tel) {
+            this.sefer = sefer;
+            this.no = no;
+            this.ad = ad;
+            this.tel = tel;
+        }
+
+        @Override
+        Koltuk calistir(Parca p) {
+            p.sahiplen(sefer);
+            Koltuk k = sistem.koltukRezerveEt(sefer, no, ad, tel, false);
+            p.sonuc(k, 1);
+            return k;
+        }
+    }
+
+    private final class IptalKomutu extends Komut<Koltuk> {
+        final Sefer sefer;
+        final String kimlik;
+
+        IptalKomutu(Sefer sefer, String kimlik) {
+            this.sefer = sefer;
+            this.kimlik = kimlik;
+        }
+
+        @Override
+        Koltuk calistir(Parca p) {
+            p.sahiplen(sefer);
+            Koltuk k = sistem.rezervasyonIptalEt(kimlik, false);
+            p.sonuc(k, -1);
+            return k;
+        }
+    }
+
+    /* ---------- Parça ---------- */
+
+    /** Bir parçanın kuyruğu, iş parçacığı ve toplamları; toplamları yalnızca parçanın iş parçacığı yazar */
+    private final class Parca {
+        final BlockingQueue<Komut<?>> kuyruk;
+        final Thread isParcacigi;
+        final Set<Sefer> seferler = Collections.newSetFromMap(new IdentityHashMap<>()); // sahip olunanlar
+        long seferSayisi, kapasite, rezervasyon, gelir, islenen, basarisiz;
+
+        Parca(int no, int kuyrukKapasitesi) {
+            this.kuyruk = new ArrayBlockingQueue<>(kuyrukKapasitesi);
+            this.isParcacigi = new Thread(this::calis, "parca-" + no);
+            this.isParcacigi.setDaemon(true);
+        }
+
+        <T> CompletableFuture<T> gonder(Komut<T> komut) {
+            if (kapali) throw new IllegalStateException("Parçalı yürütücü kapalı.");
+            try {
+                kuyruk.put(komut);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                komut.completeExceptionally(e);
+                return komut;
+            }
+            // Kapanışla yarışıldıysa komut ya işlenmiş ya da kalanlariReddet ile reddedilmiştir; değilse burada geri alınır
+            if (kapali && kuyruk.remove(komut)) komut.completeExceptionally(new IllegalStateException("Parçalı yürütücü kapalı."));
+            return komut;
+        }
+
+        /** Seferi o anki durumuyla toplamlara ekler; zaten sahip olunan sefer için bir şey yapmaz */
+        void sahiplen(Sefer s) {
+            if (!seferler.add(s)) return;
+            seferSayisi++;
+            kapasite += s.getKapasite();
+            rezervasyon += s.getRezerveSayisi();
+            gelir += s.getGelir();
+        }
+
+        /** Rezervasyon (+1) ya da iptal (-1) sonucunu toplamlara işler */
+        void sonuc(Koltuk k, int yon) {
+            islenen++;
+            if (k == null) {
+                basarisiz++;
+                return;
+            }
+            rezervasyon += yon;
+            gelir += (long) yon * k.getUcret();
+        }
+
+        Ozet ozet() {
+            return new Ozet(seferSayisi, kapasite, rezervasyon, gelir, islenen, basarisiz);
+        }
+
+        private void calis() {
+            List<Komut<?>> parti = new ArrayList<>(PARTI);
+            while (!kapali || !kuyruk.isEmpty()) {
+                try {
+                    Komut<?> ilk = kapali ? kuyruk.poll() : kuyruk.poll(100, TimeUnit.MILLISECONDS);
+                    if (ilk == null) continue;
+                    parti.add(ilk);
+                    kuyruk.drainTo(parti, PARTI - 1);
+                    for (Komut<?> k : parti) k.yurut(this);
+                    RuntimeException gunlukHatasi = null;
+                    try {
+                        sistem.gunlugeYazilmasiniBekle(); // partinin olayları tek fsync ile onaylanır
+                    } catch (RuntimeException e) {
+                        gunlukHatasi = e;
+                    }
+                    for (Komut<?> k : parti) k.bitir(gunlukHatasi);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    parti.clear();
+                }
+            }
+        }
+
+        void kalanlariReddet() {
+            for (Komut<?> k; (k = kuyruk.poll()) != null; ) k.completeExceptionally(new IllegalStateException("Parçalı yürütücü kapalı."));
+        }
+    }
+}
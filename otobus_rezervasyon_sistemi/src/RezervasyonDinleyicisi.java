@@ -0,0 +1,38 @@
+import java.util.List;
+
+/**
+ * Sefer ve koltuk olaylarını dinleyen bileşenler için arayüz (dizin, istatistik vb.).
+ *
+ * rezerveEdildi, kayıt seferde yayımlandıktan sonra; iptalEdildi ise kayıt kaldırıldıktan sonra
+ * fakat koltuk biti bırakılmadan önce çağrılır. Böylece aynı koltuğa ait olaylar her dinleyiciye
+ * gerçekleştikleri sırayla ulaşır.
+ *
+ * rezerveEdilecek, koltuk alınmış fakat kayıt henüz yayımlanmamışken çağrılır. Kayıt bu anda kimlikle
+ * bulunamadığından aynı rezervasyonun iptali bu olaydan önce bildirilemez; olayların kesin sırasını
+ * kaydetmesi gereken günlük bunu kullanır.
+ */
+interface RezervasyonDinleyicisi {
+    default void seferEklendi(Sefer sefer) {}
+
+    default void rezerveEdilecek(Koltuk koltuk) {}
+
+    /** Yayımlanmak üzere olan hepsi-ya-hiç grup; varsayılan olarak tek tek bildirir */
+    default void topluRezerveEdilecek(List<Koltuk> koltuklar) {
+        for (Koltuk k : koltuklar) rezerveEdilecek(k);
+    }
+
+    default void rezerveEdildi(Koltuk koltuk) {}
+
+    /** Aynı seferde hepsi-ya-hiç yapılmış bir grup rezervasyon; varsayılan olarak tek tek bildirir */
+    default void topluRezerveEdildi(List<Koltuk> koltuklar) {
+        for (Koltuk k : koltuklar) rezerveEdildi(k);
+    }
+
+    default void iptalEdildi(Koltuk koltuk) {}
+
+    /**
+     * Sefer arşivlenip canlı kümeden çıkarıldı; rezerveKoltuklar arşive yazılan rezervasyonlardır.
+     * Toplamlar (gelir, rezervasyon) geçmiş için korunur, yalnızca canlı dizinler seferi bırakır.
+     */
+    default void seferKaldirildi(Sefer sefer, List<Koltuk> rezerveKoltuklar) {}
+}
@@ -0,0 +1,40 @@
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Eski biçimli (UUID) rezervasyon kimliği -> Koltuk eşlemesi.
+ * Kompakt kimlikler (RezervasyonKimligi) sefer ve koltuğu zaten taşıdığından dizine alınmaz; dizin yalnızca
+ * önceki sürümlerden geri yüklenen ya da sırası kodlanamayan seferlerdeki rezervasyonları tutar.
+ * Kayıtlar rezervasyon/iptal olaylarıyla güncel tutulur; eşzamanlı erişime açıktır.
+ */
+class RezervasyonDizini implements RezervasyonDinleyicisi {
+    private final Map<String, Koltuk> kayitlar = new ConcurrentHashMap<>(); // RezervasyonKimligi.anahtar -> Koltuk
+
+    @Override
+    public void rezerveEdildi(Koltuk koltuk) {
+        if (RezervasyonKimligi.coz(koltuk.getRezervasyonKimlik()) != -1) return;
+        kayitlar.put(RezervasyonKimligi.anahtar(koltuk.getRezervasyonKimlik()), koltuk);
+    }
+
+    @Override
+    public void iptalEdildi(Koltuk koltuk) {
+        if (RezervasyonKimligi.coz(koltuk.getRezervasyonKimlik()) != -1) return;
+        kayitlar.remove(RezervasyonKimligi.anahtar(koltuk.getRezervasyonKimlik()), koltuk);
+    }
+
+    @Override
+    public void seferKaldirildi(Sefer sefer, List<Koltuk> rezerveKoltuklar) {
+        for (Koltuk k : rezerveKoltuklar) iptalEdildi(k);
+    }
+
+    /**
+     * Rezervasyon kimliğine ait koltuğu döner (bulunamazsa null); büyük/küçük harf gözetilmez.
+     */
+    public Koltuk bul(String rezervasyonKimlik) {
+        if (rezervasyonKimlik == null) return null;
+        return kayitlar.get(RezervasyonKimligi.anahtar(rezervasyonKimlik));
+    }
+
+    public int boyut() { return kayitlar.size(); }
+}
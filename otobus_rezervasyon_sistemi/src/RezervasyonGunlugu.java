@@ -0,0 +1,486 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Sıralı, yalnızca eklenen (append-only) olay günlüğü.
+ *
+ * Rezervasyon yapan iş parçacıkları olayları kuyruğa bırakır; tek bir yazıcı iş parçacığı kuyrukta
+ * biriken olayları tek seferde kodlar, dosyaya yazar ve grup başına bir kez fsync yapar (group commit).
+ * İşlemi yapan taraf sonucu döndürmeden önce kaliciOlmasiniBekle ile kendi olayını kapsayan grubun fsync
+ * edilmesini bekler: başarıyla dönen (onaylanan) bir rezervasyon ya da iptal çökmede kaybolmaz. Aynı anda
+ * bekleyen işlemler tek fsync'i paylaşır; tek bir işlemin gecikmesine en fazla bir grup yazımı eklenir.
+ *
+ * Rezervasyonlar kayıt seferde yayımlanmadan önce kuyruğa girer (rezerveEdilecek); bir rezervasyonun
+ * iptali ancak kayıt yayımlandıktan sonra yapılabildiği için günlükte REZERVE her zaman İPTAL'den önce gelir.
+ *
+ * Günlük "gunluk-NNNNNNNNNN.log" bölümlerinden oluşur. Anlık görüntü alınırken yeni bir bölüme geçilir;
+ * görüntü tamamlanınca daha eski bölümler silinir. Her kayıt [uzunluk][crc32][veri] biçimindedir,
+ * yarım yazılmış son kayıt okuma sırasında CRC ile tespit edilip atlanır. Rezervasyon zamanı saniye ve
+ * saniye altı (nanosaniye) olarak yazılır; yeniden oynatılan zaman canlı değerle birebir aynıdır. Saniye
+ * altı alanı olmayan eski kayıtlar tam saniye olarak okunur.
+ *
+ * Bir grup yazılamazsa dosya son sağlam konuma kadar kesilip grup yeniden yazılır; denemeler de başarısız
+ * olursa günlük bozuk duruma geçer, yazıcı durur ve denetle() bundan sonraki her işlemi reddeder.
+ * Yazılamayan olaylar sessizce atılıp yeni olaylar kabul edilmeye devam edilmez.
+ */
+class RezervasyonGunlugu implements RezervasyonDinleyicisi, AutoCloseable {
+    static final byte SEFER = 1, REZERVE = 2, IPTAL = 3;
+
+    private static final String BOLUM_ONEKI = "gunluk-";
+    private static final String BOLUM_UZANTISI = ".log";
+    private static final int GRUP_BOYUTU = 4096; // bir fsync ile yazılacak en fazla olay
+    private static final int YAZMA_DENEMESI = 3; // bir grup için, günlük bozuk sayılmadan önce
+
+    /** Günlükten ya da anlık görüntüden okunan olayları sisteme uygulayan taraf */
+    interface Uygulayici {
+        /**
+         * sira 0 ise kayıtta sefer sırası yoktur (eski biçim); sistem yeni sıra atar.
+         * araDuraklar kalkış ile varış arasındaki duraklardır (yoksa boş liste).
+         */
+        void seferOlusturuldu(String seferKimlik, String kalkisYeri, String varisYeri, LocalDateTime kalkisZamani,
+                              int kapasite, int biletFiyati, int sira, List<String> araDuraklar);
+
+        /** binis ve inis durak indeksleridir; inis 0 ise rezervasyon tüm güzergahı kapsar */
+        void koltukRezerveEdildi(String seferKimlik, int koltukNumarasi, String yolcuAdi, String yolcuTelefonu,
+                                 LocalDateTime rezervasyonZamani, String rezervasyonKimlik, int binis, int inis);
+
+        void rezervasyonIptalEdildi(String seferKimlik, int koltukNumarasi, String rezervasyonKimlik);
+    }
+
+    /** Kuyruktaki tek bir olay; kodlama yazıcı iş parçacığında yapılır */
+    private static final class Olay {
+        final byte tip;
+        final Sefer sefer;
+        final Koltuk koltuk;
+        final List<Koltuk> grup; // toplu rezervasyonda tüm koltuklar (tek kuyruk girişi)
+
+        Olay(byte tip, Sefer sefer, Koltuk koltuk, List<Koltuk> grup) {
+            this.tip = tip;
+            this.sefer = sefer;
+            this.koltuk = koltuk;
+            this.grup = grup;
+        }
+    }
+
+    /** Yazıcıdan yeni bölüme geçmesini isteyen işaret; tamamlanınca yeni bölüm numarasını döner */
+    private static final class BolumDegistir {
+        final CompletableFuture<Long> sonuc = new CompletableFuture<>();
+    }
+
+    private final Path dizin;
+    private final BlockingQueue<Object> kuyruk = new LinkedBlockingQueue<>();
+    private final Thread yazici;
+    private final ByteArrayOutputStream tampon = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream tamponCikis = new DataOutputStream(tampon);
+    private final Kodlayici kodlayici = new Kodlayici(); // yalnızca yazıcı iş parçacığı kullanır
+    private FileChannel kanal;
+    private long bolum;
+    private long sonKonum; // bölümde fsync edilmiş son grubun bittiği yer
+    private volatile boolean calisiyor = true;
+    private volatile IOException hata; // günlük yazılamaz duruma geçtiyse nedeni
+    private long eklenen; // kuyruğa giren toplam giriş (this ile korunur; kuyruk sırasıyla aynı)
+    private volatile long kalici; // fsync edilmiş (ya da işlenmiş) toplam giriş; yalnızca yazıcı yazar
+    private final Object kaliciKilidi = new Object();
+
+    /**
+     * dizin içinde ilkBolum numaralı yeni bir bölüm açar ve yazıcı iş parçacığını başlatır.
+     */
+    RezervasyonGunlugu(Path dizin, long ilkBolum) throws IOException {
+        this.dizin = dizin;
+        Files.createDirectories(dizin);
+        bolumAc(ilkBolum);
+        this.yazici = new Thread(this::yaz, "rezervasyon-gunlugu");
+        this.yazici.setDaemon(true);
+        this.yazici.start();
+    }
+
+    long getBolum() { return bolum; }
+
+    /**
+     * Günlük yazılamaz duruma geçtiyse UncheckedIOException fırlatır; rezervasyon değiştiren işlemler
+     * başlamadan önce çağrılır, böylece diske yazılamayacak olaylar kabul edilmez.
+     */
+    void denetle() {
+        IOException e = hata;
+        if (e != null) throw new UncheckedIOException("Rezervasyon günlüğü yazılamıyor; işlem reddedildi.", e);
+    }
+
+    @Override
+    public void seferEklendi(Sefer sefer) {
+        kuyrugaEkle(new Olay(SEFER, sefer, null, null));
+    }
+
+    @Override
+    public void rezerveEdilecek(Koltuk koltuk) {
+        kuyrugaEkle(new Olay(REZERVE, koltuk.getSefer(), koltuk, null));
+    }
+
+    @Override
+    public void topluRezerveEdilecek(List<Koltuk> koltuklar) {
+        if (!koltuklar.isEmpty()) kuyrugaEkle(new Olay(REZERVE, koltuklar.get(0).getSefer(), null, koltuklar));
+    }
+
+    @Override
+    public void iptalEdildi(Koltuk koltuk) {
+        kuyrugaEkle(new Olay(IPTAL, koltuk.getSefer(), koltuk, null));
+    }
+
+    private synchronized void kuyrugaEkle(Object o) {
+        kuyruk.add(o);
+        eklenen++;
+    }
+
+    /**
+     * Bu çağrıdan önce kuyruğa girmiş tüm olaylar dosyaya yazılıp fsync edilene kadar bekler. Rezervasyon
+     * ve iptal yapan işlemler sonucu döndürmeden önce çağırır; böylece onaylanan işlem diskte olur
+     * (write-ahead). Günlük yazılamaz duruma geçerse ya da kapatılırsa UncheckedIOException fırlatır.
+     */
+    void kaliciOlmasiniBekle() {
+        long hedef;
+        synchronized (this) {
+            hedef = eklenen;
+        }
+        if (kalici >= hedef) return;
+        boolean kesildi = false;
+        synchronized (kaliciKilidi) {
+            while (kalici < hedef) {
+                denetle();
+                if (!yazici.isAlive()) throw new UncheckedIOException(new IOException("Rezervasyon günlüğü kapatıldı."));
+                try {
+                    kaliciKilidi.wait(100);
+                } catch (InterruptedException e) {
+                    kesildi = true; // kalıcılık beklemesi yarıda bırakılmaz
+                }
+            }
+        }
+        if (kesildi) Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Kuyruktaki tüm olaylar yazıldıktan sonra yeni bölüme geçer ve yeni bölümün numarasını döner.
+     * Rezervasyonlar yayımlanmadan önce kuyruğa girdiğinden, bu çağrıdan önce kuyruğa girmiş bir
+     * rezervasyon döndüğünde henüz bellekte görünmüyor olabilir (bkz. RezervasyonSistemi.anlikGoruntuAl).
+     */
+    long yeniBolumeGec() throws IOException {
+        BolumDegistir istek = new BolumDegistir();
+        kuyrugaEkle(istek);
+        IOException e = hata;
+        if (e != null) istek.sonuc.completeExceptionally(e); // yazıcı durmuş; istek işlenmeyecek
+        try {
+            return istek.sonuc.join();
+        } catch (CompletionException ce) {
+            throw new IOException("Günlük bölümü değiştirilemedi.", ce.getCause());
+        }
+    }
+
+    /**
+     * numara'dan küçük bölümleri siler (anlık görüntü bu bölümleri kapsadıktan sonra).
+     */
+    void eskiBolumleriSil(long numara) throws IOException {
+        for (long b : bolumler(dizin).keySet()) {
+            if (b < numara) Files.deleteIfExists(bolumYolu(dizin, b));
+        }
+    }
+
+    /**
+     * Kuyrukta kalan olayları yazıp günlüğü kapatır. Yazıcı, kanal kapanmasın diye kesilmez (interrupt);
+     * en fazla bir bekleme aralığı içinde kendiliğinden durur.
+     */
+    @Override
+    public void close() {
+        calisiyor = false;
+        try {
+            yazici.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* ---------- Yazıcı iş parçacığı ---------- */
+
+    private void yaz() {
+        List<Object> grup = new ArrayList<>(GRUP_BOYUTU);
+        while ((calisiyor || !kuyruk.isEmpty()) && hata == null) {
+            try {
+                Object ilk = calisiyor ? kuyruk.poll(100, TimeUnit.MILLISECONDS) : kuyruk.poll();
+                if (ilk == null) continue;
+                grup.add(ilk);
+                kuyruk.drainTo(grup, GRUP_BOYUTU - 1);
+                for (Object o : grup) {
+                    if (o instanceof Olay) {
+                        olayKodla((Olay) o);
+                    } else {
+                        diskeYaz();
+                        bolumAc(bolum + 1);
+                        ((BolumDegistir) o).sonuc.complete(bolum);
+                    }
+                }
+                diskeYaz();
+                kaliciIlerlet(grup.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                calisiyor = false;
+            } catch (IOException e) {
+                hata = e;
+                System.err.println("Rezervasyon günlüğü yazılamadı, yeni işlemler reddedilecek: " + e.getMessage());
+                for (Object o : grup) {
+                    if (o instanceof BolumDegistir) ((BolumDegistir) o).sonuc.completeExceptionally(e);
+                }
+                kaliciIlerlet(0); // bekleyenler uyanıp hatayı görür
+            } finally {
+                grup.clear();
+            }
+        }
+        if (hata != null) {
+            for (Object o : kuyruk) {
+                if (o instanceof BolumDegistir) ((BolumDegistir) o).sonuc.completeExceptionally(hata);
+            }
+        }
+        try {
+            kanal.close();
+        } catch (IOException e) {
+            System.err.println("Rezervasyon günlüğü kapatılamadı: " + e.getMessage());
+        }
+        kaliciIlerlet(0); // yazıcı durdu; hâlâ bekleyen varsa uyanıp günlüğün kapandığını görür
+    }
+
+    private void kaliciIlerlet(int adet) {
+        synchronized (kaliciKilidi) {
+            kalici += adet;
+            kaliciKilidi.notifyAll();
+        }
+    }
+
+    private void olayKodla(Olay o) throws IOException {
+        switch (o.tip) {
+            case SEFER: kodlayici.sefer(tamponCikis, o.sefer); break;
+            case REZERVE:
+                if (o.grup == null) {
+                    kodlayici.rezerve(tamponCikis, o.koltuk);
+                } else {
+                    for (Koltuk k : o.grup) kodlayici.rezerve(tamponCikis, k);
+                }
+                break;
+            case IPTAL: kodlayici.iptal(tamponCikis, o.koltuk); break;
+            default: throw new IllegalStateException("Bilinmeyen olay: " + o.tip);
+        }
+    }
+
+    /**
+     * Tampondaki grubu yazar ve fsync yapar. Yazma ya da fsync başarısız olursa bölüm son sağlam konuma
+     * kadar kesilir (yarım kayıt, sonraki kayıtların okunmasını engellemesin) ve grup yeniden yazılır.
+     */
+    private void diskeYaz() throws IOException {
+        if (tampon.size() == 0) return;
+        byte[] veri = tampon.toByteArray();
+        for (int deneme = 1; ; deneme++) {
+            try {
+                ByteBuffer bb = ByteBuffer.wrap(veri);
+                while (bb.hasRemaining()) kanal.write(bb);
+                kanal.force(false);
+                break;
+            } catch (IOException e) {
+                try {
+                    kanal.truncate(sonKonum);
+                } catch (IOException k) {
+                    e.addSuppressed(k);
+                    throw e;
+                }
+                if (deneme == YAZMA_DENEMESI) throw e;
+            }
+        }
+        sonKonum += veri.length;
+        tampon.reset();
+    }
+
+    private void bolumAc(long numara) throws IOException {
+        if (kanal != null) kanal.close();
+        kanal = FileChannel.open(bolumYolu(dizin, numara),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        sonKonum = kanal.size();
+        bolum = numara;
+    }
+
+    /* ---------- Kayıt biçimi (günlük ve anlık görüntü ortak) ---------- */
+
+    /** Kayıtları [uzunluk][crc32][veri] olarak kodlar; iş parçacığı güvenli değildir */
+    static final class Kodlayici {
+        private final ByteArrayOutputStream kayitTamponu = new ByteArrayOutputStream(256);
+        private final DataOutputStream kayitCikis = new DataOutputStream(kayitTamponu);
+        private final CRC32 crc = new CRC32();
+
+        void sefer(DataOutputStream cikis, Sefer s) throws IOException {
+            kayitCikis.writeByte(SEFER);
+            kayitCikis.writeUTF(s.getSeferKimlik());
+            kayitCikis.writeUTF(s.getKalkisYeri());
+            kayitCikis.writeUTF(s.getVarisYeri());
+            kayitCikis.writeLong(s.getKalkisZamani().toEpochSecond(ZoneOffset.UTC));
+            kayitCikis.writeInt(s.getKapasite());
+            kayitCikis.writeInt(s.getBiletFiyati());
+            kayitCikis.writeInt(s.getSira());
+            if (s.isCokDurakli()) { // ara duraklar yalnızca çok duraklı seferde yazılır
+                kayitCikis.writeByte(s.getDurakSayisi() - 2);
+                for (int i = 1; i < s.getDurakSayisi() - 1; i++) kayitCikis.writeUTF(s.getDurak(i));
+            }
+            bitir(cikis);
+        }
+
+        void rezerve(DataOutputStream cikis, Koltuk k) throws IOException {
+            kayitCikis.writeByte(REZERVE);
+            kayitCikis.writeUTF(k.getSefer().getSeferKimlik());
+            kayitCikis.writeInt(k.getKoltukNumarasi());
+            kayitCikis.writeUTF(k.getYolcuAdi() == null ? "" : k.getYolcuAdi());
+            kayitCikis.writeUTF(k.getYolcuTelefonu() == null ? "" : k.getYolcuTelefonu());
+            kayitCikis.writeLong(k.getRezervasyonZamani().toEpochSecond(ZoneOffset.UTC));
+            kayitCikis.writeUTF(k.getRezervasyonKimlik());
+            // Bacak alanları (tüm güzergahta 0, 0) ve saniye altı kısım; eski kayıtlarda ikisi de olmayabilir
+            kayitCikis.writeByte(k.isKismi() ? k.getBinisDuragi() : 0);
+            kayitCikis.writeByte(k.isKismi() ? k.getInisDuragi() : 0);
+            kayitCikis.writeInt(k.getRezervasyonZamani().getNano());
+            bitir(cikis);
+        }
+
+        void iptal(DataOutputStream cikis, Koltuk k) throws IOException {
+            kayitCikis.writeByte(IPTAL);
+            kayitCikis.writeUTF(k.getSefer().getSeferKimlik());
+            kayitCikis.writeInt(k.getKoltukNumarasi());
+            kayitCikis.writeUTF(k.getRezervasyonKimlik());
+            bitir(cikis);
+        }
+
+        private void bitir(DataOutputStream cikis) throws IOException {
+            crc.reset();
+            crc.update(kayitTamponu.toByteArray(), 0, kayitTamponu.size());
+            cikis.writeInt(kayitTamponu.size());
+            cikis.writeInt((int) crc.getValue());
+            kayitTamponu.writeTo(cikis);
+            kayitTamponu.reset();
+        }
+    }
+
+    /**
+     * Akıştaki kayıtları sırayla uygular; yarım ya da bozuk bir kayıtta durur.
+     * Okunan geçerli kayıt sayısını döner.
+     */
+    static long oku(InputStream giris, Uygulayici uygulayici) throws IOException {
+        DataInputStream in = new DataInputStream(giris);
+        CRC32 kontrol = new CRC32();
+        long sayac = 0;
+        byte[] veri = new byte[256];
+        while (true) {
+            int uzunluk;
+            int beklenenCrc;
+            try {
+                uzunluk = in.readInt();
+                beklenenCrc = in.readInt();
+                if (uzunluk <= 0 || uzunluk > (1 << 20)) return sayac;
+                if (veri.length < uzunluk) veri = new byte[uzunluk];
+                in.readFully(veri, 0, uzunluk);
+            } catch (EOFException e) {
+                return sayac;
+            }
+            kontrol.reset();
+            kontrol.update(veri, 0, uzunluk);
+            if ((int) kontrol.getValue() != beklenenCrc) return sayac;
+            kayitUygula(new DataInputStream(new ByteArrayInputStream(veri, 0, uzunluk)), uygulayici);
+            sayac++;
+        }
+    }
+
+    private static void kayitUygula(DataInputStream in, Uygulayici u) throws IOException {
+        byte tip = in.readByte();
+        switch (tip) {
+            case SEFER: {
+                String kimlik = in.readUTF(), kalkis = in.readUTF(), varis = in.readUTF();
+                LocalDateTime zaman = LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC);
+                int kapasite = in.readInt(), fiyat = in.readInt();
+                int sira = in.available() >= 4 ? in.readInt() : 0;
+                List<String> araDuraklar = new ArrayList<>();
+                if (in.available() > 0) {
+                    for (int i = in.readUnsignedByte(); i > 0; i--) araDuraklar.add(in.readUTF());
+                }
+                u.seferOlusturuldu(kimlik, kalkis, varis, zaman, kapasite, fiyat, sira, araDuraklar);
+                break;
+            }
+            case REZERVE: {
+                String sefer = in.readUTF();
+                int no = in.readInt();
+                String ad = in.readUTF();
+                String tel = in.readUTF();
+                long saniye = in.readLong();
+                String kimlik = in.readUTF();
+                int binis = 0, inis = 0, nano = 0;
+                if (in.available() >= 2) {
+                    binis = in.readUnsignedByte();
+                    inis = in.readUnsignedByte();
+                }
+                if (in.available() >= 4) nano = in.readInt();
+                LocalDateTime zaman = LocalDateTime.ofEpochSecond(saniye, nano, ZoneOffset.UTC);
+                u.koltukRezerveEdildi(sefer, no, ad, tel.isEmpty() ? null : tel, zaman, kimlik, binis, inis);
+                break;
+            }
+            case IPTAL:
+                u.rezervasyonIptalEdildi(in.readUTF(), in.readInt(), in.readUTF());
+                break;
+            default:
+                throw new IOException("Bilinmeyen kayıt tipi: " + tip);
+        }
+    }
+
+    /**
+     * dizindeki ilkBolum ve sonraki bölümleri sırayla uygular; son bölüm numarasını döner (yoksa ilkBolum - 1).
+     */
+    static long bolumleriOku(Path dizin, long ilkBolum, Uygulayici uygulayici) throws IOException {
+        long son = ilkBolum - 1;
+        for (Path yol : bolumler(dizin).tailMap(ilkBolum, true).values()) {
+            try (InputStream giris = new BufferedInputStream(Files.newInputStream(yol), 1 << 16)) {
+                oku(giris, uygulayici);
+            }
+            son = bolumNumarasi(yol);
+        }
+        return son;
+    }
+
+    /** Dizindeki günlük bölümleri (numara -> yol) */
+    static TreeMap<Long, Path> bolumler(Path dizin) throws IOException {
+        TreeMap<Long, Path> sonuc = new TreeMap<>();
+        if (!Files.isDirectory(dizin)) return sonuc;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dizin, BOLUM_ONEKI + "*" + BOLUM_UZANTISI)) {
+            for (Path p : ds) sonuc.put(bolumNumarasi(p), p);
+        }
+        return sonuc;
+    }
+
+    private static long bolumNumarasi(Path yol) {
+        String ad = yol.getFileName().toString();
+        return Long.parseLong(ad.substring(BOLUM_ONEKI.length(), ad.length() - BOLUM_UZANTISI.length()));
+    }
+
+    private static Path bolumYolu(Path dizin, long numara) {
+        return dizin.resolve(String.format("%s%010d%s", BOLUM_ONEKI, numara, BOLUM_UZANTISI));
+    }
+}
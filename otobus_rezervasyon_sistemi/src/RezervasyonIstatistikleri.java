@@ -0,0 +1,134 @@
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gelir ve doluluk toplamlarını her rezervasyon/iptal olayında artımlı olarak günceller.
+ * Raporlar seferleri dolaşmadan O(1) okunur; sayaçlar LongAdder olduğundan yoğun
+ * eşzamanlı rezervasyonlarda tek bir önbellek satırında çekişme oluşmaz.
+ */
+class RezervasyonIstatistikleri implements RezervasyonDinleyicisi {
+
+    /** Bir grup (güzergah veya gün) için toplamlar */
+    static class Toplam {
+        private final LongAdder seferSayisi = new LongAdder();
+        private final LongAdder kapasite = new LongAdder();
+        private final LongAdder rezervasyon = new LongAdder();
+        private final LongAdder gelir = new LongAdder();
+
+        public long getSeferSayisi() { return seferSayisi.sum(); }
+        public long getKapasite() { return kapasite.sum(); }
+        public long getRezervasyon() { return rezervasyon.sum(); }
+        public long getGelir() { return gelir.sum(); }
+
+        public double getDolulukOrani() {
+            long kap = kapasite.sum();
+            return kap == 0 ? 0.0 : (rezervasyon.sum() / (double) kap) * 100.0;
+        }
+    }
+
+    private final Toplam genel = new Toplam();
+    private final Map<String, Toplam> guzergahBazli = new ConcurrentHashMap<>(); // Sefer.getGuzergah() -> Toplam
+    private final Map<LocalDate, Toplam> gunBazli = new ConcurrentHashMap<>();   // kalkış günü -> Toplam
+
+    public long getToplamGelir() { return genel.getGelir(); }
+    public long getToplamRezervasyon() { return genel.getRezervasyon(); }
+    public Toplam getGenel() { return genel; }
+
+    public Toplam guzergahToplami(String guzergah) {
+        return guzergahBazli.get(guzergah);
+    }
+
+    public Toplam gunToplami(LocalDate gun) {
+        return gunBazli.get(gun);
+    }
+
+    /** Güzergah toplamlarının anahtara göre sıralı bir kopyası (raporlama için) */
+    public SortedMap<String, Toplam> getGuzergahBazli() {
+        return new TreeMap<>(guzergahBazli);
+    }
+
+    /** Gün toplamlarının tarihe göre sıralı bir kopyası (raporlama için) */
+    public SortedMap<LocalDate, Toplam> getGunBazli() {
+        return new TreeMap<>(gunBazli);
+    }
+
+    @Override
+    public void seferEklendi(Sefer s) {
+        long kap = s.getKapasite();
+        for (Toplam t : new Toplam[]{genel, guzergah(s), gun(s)}) {
+            t.seferSayisi.increment();
+            t.kapasite.add(kap);
+        }
+    }
+
+    @Override
+    public void rezerveEdildi(Koltuk k) {
+        ekle(guzergah(k.getSefer()), gun(k.getSefer()), 1, k.getUcret());
+    }
+
+    @Override
+    public void topluRezerveEdildi(List<Koltuk> koltuklar) {
+        if (!koltuklar.isEmpty()) ekle(koltuklar.get(0).getSefer(), koltuklar.size());
+    }
+
+    @Override
+    public void iptalEdildi(Koltuk k) {
+        ekle(guzergah(k.getSefer()), gun(k.getSefer()), -1, -k.getUcret());
+    }
+
+    /**
+     * Açılışta diskteki arşivden yüklenen seferin toplamlarını ekler; arşivlenmiş seferlerin olayları
+     * yeniden oynatılmadığından geçmiş gelir ve doluluk böylece korunur.
+     */
+    void arsivSeferiEkle(SeferArsivi.ArsivSeferi a) {
+        Toplam g = guzergahBazli.computeIfAbsent(a.getKalkisYeri() + " → " + a.getVarisYeri(), x -> new Toplam());
+        Toplam d = gunBazli.computeIfAbsent(a.getKalkisZamani().toLocalDate(), x -> new Toplam());
+        for (Toplam t : new Toplam[]{genel, g, d}) {
+            t.seferSayisi.increment();
+            t.kapasite.add(a.getKapasite());
+        }
+        ekle(g, d, a.getRezerveSayisi(), a.getGelir());
+    }
+
+    /**
+     * Canlı olarak sayılmış seferin katkısını (sefer, kapasite ve verilen rezervasyonlar) geri alır; açılışta
+     * envanterden yeniden yüklenen bir seferin arşivde olduğu anlaşıldığında kullanılır, sefer toplamlara
+     * arsivSeferiEkle ile yeniden girer.
+     */
+    void seferCikar(Sefer s, List<Koltuk> rezerveKoltuklar) {
+        long kap = s.getKapasite();
+        for (Toplam t : new Toplam[]{genel, guzergah(s), gun(s)}) {
+            t.seferSayisi.decrement();
+            t.kapasite.add(-kap);
+        }
+        long tutar = 0;
+        for (Koltuk k : rezerveKoltuklar) tutar += k.getUcret();
+        ekle(guzergah(s), gun(s), -rezerveKoltuklar.size(), -tutar);
+    }
+
+    private void ekle(Sefer s, int adet) {
+        ekle(guzergah(s), gun(s), adet, (long) adet * s.getBiletFiyati());
+    }
+
+    private void ekle(Toplam g, Toplam d, int adet, long tutar) {
+        genel.rezervasyon.add(adet);
+        genel.gelir.add(tutar);
+        g.rezervasyon.add(adet);
+        g.gelir.add(tutar);
+        d.rezervasyon.add(adet);
+        d.gelir.add(tutar);
+    }
+
+    private Toplam guzergah(Sefer s) {
+        return guzergahBazli.computeIfAbsent(s.getGuzergah(), x -> new Toplam());
+    }
+
+    private Toplam gun(Sefer s) {
+        return gunBazli.computeIfAbsent(s.getKalkisZamani().toLocalDate(), x -> new Toplam());
+    }
+}
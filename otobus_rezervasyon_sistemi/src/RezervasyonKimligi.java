@@ -0,0 +1,135 @@
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kompakt, zamana göre sıralı rezervasyon kimlikleri.
+ *
+ * Kimlik 100 bittir ve 20 karakterlik Crockford base32 metin olarak yazılır (en anlamlı bit önce):
+ *
+ *   [zaman damgası 42 bit: 2024-01-01'den beri ms][nesil 8 bit][düğüm 10 bit][sefer sırası 24 bit][koltuk 16 bit]
+ *
+ * Zaman + nesil alanı (damga) her sefer için kesin artan tutulur (Sefer.rezervasyonKimligiUret); aynı milisaniyede aynı
+ * seferde birden fazla rezervasyon nesil alanını artırır. Böylece aynı düğümde (sefer, koltuk, damga) üçlüsü
+ * tekrarlanmaz, düğüm alanı da farklı düğümlerin kimliklerini ayırır. Üretim ortak bir sayaç ya da
+ * SecureRandom kullanmaz; yalnızca aynı seferde aynı anda rezervasyon yapanlar seferin damgası için yarışır.
+ *
+ * Sefer sırası ve koltuk numarası kimlikten doğrudan çözülür; arama ve iptal dizin taraması gerektirmez.
+ * Bu biçime uymayan eski (UUID) kimlikler RezervasyonDizini üzerinden çözülmeye devam eder. Sefer sırası
+ * 24 bite (EN_BUYUK_SIRA) sığmayan seferlerde de UUID verilir; bu durum ilk kez olduğunda uyarı yazılır
+ * ve her seferinde sayılır (getUuidKimlikSayisi, otobus_kimlik_uuid_toplam).
+ *
+ * Kimlikler her yerde büyük/küçük harf gözetilmeden karşılaştırılır (ayni); çözümleme de harf duyarsızdır.
+ * Kimliğe göre anahtarlanan dizinler anahtar() biçimini kullanır.
+ */
+final class RezervasyonKimligi {
+    static final int UZUNLUK = 20;
+    static final int EN_BUYUK_SIRA = (1 << 24) - 1;
+    static final int EN_BUYUK_KOLTUK = (1 << 16) - 2; // 0xFFFF kullanılmaz: tüm alanlar en büyükken alt bitler -1 olurdu
+    static final int EN_BUYUK_DUGUM = (1 << 10) - 1;
+
+    private static final long DEVIR_MS = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+    private static final char[] ALFABE = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] DEGERLER = new byte[128];
+
+    static {
+        java.util.Arrays.fill(DEGERLER, (byte) -1);
+        for (int i = 0; i < ALFABE.length; i++) {
+            DEGERLER[ALFABE[i]] = (byte) i;
+            DEGERLER[Character.toLowerCase(ALFABE[i])] = (byte) i;
+        }
+    }
+
+    private static volatile int dugum;
+    private static final LongAdder UUID_KIMLIK = new LongAdder(); // sıra/koltuk sığmadığı için verilen UUID'ler
+    private static final AtomicBoolean UUID_UYARISI = new AtomicBoolean();
+
+    private RezervasyonKimligi() {
+    }
+
+    /** Bu sürecin düğüm numarasını ayarlar (0..1023); birden fazla düğüm çalışıyorsa her biri farklı olmalı */
+    static void dugumAyarla(int no) {
+        if (no < 0 || no > EN_BUYUK_DUGUM) throw new IllegalArgumentException("Düğüm numarası 0.." + EN_BUYUK_DUGUM + " olmalı.");
+        dugum = no;
+    }
+
+    static int getDugum() { return dugum; }
+
+    /** Şimdiki zamanın damga karşılığı (nesil alanı 0); Sefer.rezervasyonKimligiUret bunu en küçük değer olarak kullanır */
+    static long simdikiDamga() {
+        return (System.currentTimeMillis() - DEVIR_MS) << 8;
+    }
+
+    /** Sefer sırası ya da koltuk numarası kompakt biçime sığmadığı için UUID verilen kimlik sayısı */
+    static long getUuidKimlikSayisi() { return UUID_KIMLIK.sum(); }
+
+    /**
+     * Yeni kimlik oluşturur. Sefer sırası kodlanamıyorsa (sıra atanmamış ya da 24 biti aşıyor) UUID döner;
+     * 24 biti aşan sıralar sayılır.
+     */
+    static String olustur(long damga, int seferSirasi, int koltukNumarasi) {
+        if (seferSirasi <= 0 || koltukNumarasi <= 0) return UUID.randomUUID().toString(); // sisteme eklenmemiş sefer
+        if (seferSirasi > EN_BUYUK_SIRA || koltukNumarasi > EN_BUYUK_KOLTUK) {
+            UUID_KIMLIK.increment();
+            if (UUID_UYARISI.compareAndSet(false, true)) {
+                System.err.println("Uyarı: sefer sırası " + seferSirasi + " / koltuk " + koltukNumarasi
+                        + " kompakt rezervasyon kimliğine sığmıyor (en fazla " + EN_BUYUK_SIRA + " / " + EN_BUYUK_KOLTUK
+                        + "); bu rezervasyonlara UUID kimlik veriliyor (sayaç: otobus_kimlik_uuid_toplam).");
+            }
+            return UUID.randomUUID().toString();
+        }
+        long ust = damga >>> 14;                                   // damganın üst 36 biti
+        long alt = (damga & 0x3FFF) << 50 | (long) dugum << 40 | (long) seferSirasi << 16 | koltukNumarasi;
+        char[] c = new char[UZUNLUK];
+        for (int i = 0; i < UZUNLUK; i++) c[i] = ALFABE[besBit(ust, alt, 95 - 5 * i)];
+        return new String(c);
+    }
+
+    /** Kompakt biçimdeyse kimliğin alt 64 bitini, değilse -1 döner (geçerli kimliklerde alt bitler asla -1 olmaz) */
+    static long coz(String kimlik) {
+        if (kimlik == null || kimlik.length() != UZUNLUK) return -1;
+        long ust = 0, alt = 0;
+        for (int i = 0; i < UZUNLUK; i++) {
+            char ch = kimlik.charAt(i);
+            int v = ch < 128 ? DEGERLER[ch] : -1;
+            if (v < 0) return -1;
+            ust = ust << 5 | alt >>> 59;
+            alt = alt << 5 | v;
+        }
+        if ((ust >>> 36) != 0) return -1;
+        long sira = seferSirasi(alt), no = koltukNumarasi(alt);
+        return sira == 0 || no == 0 ? -1 : alt;
+    }
+
+    /** Kompakt kimliğin damgası (zaman << 8 | nesil); kompakt biçimde değilse -1 */
+    static long damga(String kimlik) {
+        long alt = coz(kimlik);
+        if (alt == -1) return -1;
+        long ust = 0;
+        for (int i = 0; i < 8; i++) ust = ust << 5 | DEGERLER[kimlik.charAt(i)]; // ilk 40 bit: damganın üst 36 biti + 4 bit
+        return (ust >>> 4) << 14 | alt >>> 50;
+    }
+
+    /** Aranan kimlik kayıttaki kimlikle aynı mı (büyük/küçük harf gözetilmez) */
+    static boolean ayni(String aranan, String kimlik) {
+        return aranan != null && aranan.equalsIgnoreCase(kimlik);
+    }
+
+    /** Kimliğe göre anahtarlanan dizinlerde (eski UUID, kısmi rezervasyon) kullanılan biçim */
+    static String anahtar(String kimlik) {
+        return kimlik.toUpperCase(Locale.ROOT);
+    }
+
+    static int seferSirasi(long alt) { return (int) (alt >>> 16) & EN_BUYUK_SIRA; }
+
+    static int koltukNumarasi(long alt) { return (int) alt & 0xFFFF; }
+
+    static int dugum(long alt) { return (int) (alt >>> 40) & EN_BUYUK_DUGUM; }
+
+    private static int besBit(long ust, long alt, int ofset) {
+        if (ofset >= 64) return (int) (ust >>> (ofset - 64)) & 31;
+        if (ofset + 5 <= 64) return (int) (alt >>> ofset) & 31;
+        return (int) ((ust << (64 - ofset)) | (alt >>> ofset)) & 31;
+    }
+}
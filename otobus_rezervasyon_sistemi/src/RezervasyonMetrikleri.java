@@ -0,0 +1,314 @@
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Servis işlemlerinin (rezerve, iptal, bul, listele, ara, rapor, tut, onayla, birak, analiz, yolcu) gecikme ve sonuç metrikleri.
+ *
+ * Sıcak yolda bellek ayırmaz. Her işlem bir LongAdder artırımıyla sayılır; sıcak işlemlerin (rezerve,
+ * iptal, bul, tut, onayla, birak) süresi ise varsayılan olarak 16 işlemden birinde (rastgele örnekleme) ölçülür, çünkü iki System.nanoTime okuması sanal makinelerde
+ * rezervasyonun kendisi kadar sürebilir. Örneklenen işlemin süresi bir histogram kovasına ve toplam
+ * süreye eklenir. Histogramlar iş parçacığı kimliğine göre işlemci sayısı kadar şeride bölünür; eşzamanlı
+ * iş parçacıkları çoğunlukla farklı şeritlere yazar ve aynı önbellek satırı için yarışmaz. Şeritler
+ * yalnızca okunurken birleştirilir.
+ * Sefer bazlı çekişme (dolu koltuğa deneme, kaybedilen CAS) seferlerin kendi sayaçlarından okunur.
+ *
+ * Metrikler JMX (RezervasyonMetrikleriMBean) ve Prometheus metin biçiminde (metinDokumu, GET /metrikler)
+ * sunulur. setOrneklemeAraligi(1) her işlemi zamanlar; setEtkin(false) ölçümü tamamen kapatır, böylece
+ * ölçüm maliyeti PerformansOlcumu'nun metrik parametresiyle (-p metrik=acik,kapali) görülebilir.
+ */
+final class RezervasyonMetrikleri implements RezervasyonMetrikleriMBean {
+    static final String JMX_ADI = "OtobusRezervasyon:type=Metrikler";
+    private static final long KAPALI = Long.MIN_VALUE;        // ölçüm kapalı: hiçbir şey kaydedilmez
+    private static final long ZAMANSIZ = Long.MIN_VALUE + 1;  // örneklenmedi: yalnızca sayılır
+    private static final int EN_COK_CEKISEN = 10;
+    private static final double[] YUZDELIKLER = {50, 90, 99, 99.9, 100};
+    private static final String[] YUZDELIK_ETIKETLERI = {"0.5", "0.9", "0.99", "0.999", "1"};
+
+    /** Ölçülen servis işlemleri; örnekli olmayanlar nanoTime maliyetine göre yavaş olduğu için her seferinde zamanlanır */
+    enum Islem {
+        REZERVE("rezerve", true), TOPLU_REZERVE("topluRezerve", false), IPTAL("iptal", true), BUL("bul", true),
+        LISTELE("listele", false), ARA("ara", false), RAPOR("rapor", false), TUT("tut", true), ONAYLA("onayla", true),
+        BIRAK("birak", true), ANALIZ("analiz", false), YOLCU("yolcu", false);
+
+        final String ad;
+        final boolean ornekli;
+
+        Islem(String ad, boolean ornekli) {
+            this.ad = ad;
+            this.ornekli = ornekli;
+        }
+    }
+
+    /** Bir işlemin sayaçları ve şeritli gecikme histogramı */
+    private static final class Olcum {
+        final GecikmeHistogrami[] seritler;
+        final LongAdder basarili = new LongAdder();
+        final LongAdder basarisiz = new LongAdder(); // numara/kimlik hatalı, bulunamadı
+        final LongAdder cakisma = new LongAdder();   // başka bir çağrı koltuğu/rezervasyonu önce aldı
+        final LongAdder toplamNs = new LongAdder();
+
+        Olcum(int seritSayisi) {
+            seritler = new GecikmeHistogrami[seritSayisi];
+            for (int i = 0; i < seritSayisi; i++) seritler[i] = new GecikmeHistogrami();
+        }
+
+        GecikmeHistogrami birlesik() {
+            GecikmeHistogrami h = new GecikmeHistogrami();
+            for (GecikmeHistogrami serit : seritler) h.ekle(serit);
+            return h;
+        }
+
+        long sayi() { return basarili.sum() + basarisiz.sum() + cakisma.sum(); }
+    }
+
+    private final Supplier<? extends Iterable<Sefer>> seferler;
+    private final TutmaCarki tutmaCarki;
+    private final Olcum[] olcumler = new Olcum[Islem.values().length];
+    private final int seritMaskesi;
+    private final long baslangicNs = System.nanoTime();
+    private volatile boolean etkin = true;
+    private volatile int orneklemeMaskesi = 15; // süre, (rastgele & maske) == 0 olan işlemlerde ölçülür
+
+    /**
+     * @param seferler sefer bazlı çekişme ve tutma sayaçlarını okumak için seferlerin güncel görünümü
+     * @param tutmaCarki süresi dolan tutma sayısı için
+     */
+    RezervasyonMetrikleri(Supplier<? extends Iterable<Sefer>> seferler, TutmaCarki tutmaCarki) {
+        this.seferler = seferler;
+        this.tutmaCarki = tutmaCarki;
+        int serit = Integer.highestOneBit(Math.min(16, Math.max(1, Runtime.getRuntime().availableProcessors())) * 2 - 1);
+        this.seritMaskesi = serit - 1;
+        for (Islem i : Islem.values()) olcumler[i.ordinal()] = new Olcum(serit);
+    }
+
+    /** Platform MBean sunucusuna JMX_ADI ile kaydeder; aynı adla kayıtlı eski nesnenin yerini alır */
+    void jmxKaydet() throws JMException {
+        MBeanServer sunucu = ManagementFactory.getPlatformMBeanServer();
+        ObjectName ad = new ObjectName(JMX_ADI);
+        if (sunucu.isRegistered(ad)) sunucu.unregisterMBean(ad);
+        sunucu.registerMBean(this, ad);
+    }
+
+    /* ---------- Sıcak yol ---------- */
+
+    /** İşlemin başlangıç zamanı; işlem örneklenmediyse ya da ölçüm kapalıysa bir işaret döner */
+    long baslangic(Islem islem) {
+        if (!etkin) return KAPALI;
+        if (islem.ornekli && (ThreadLocalRandom.current().nextInt() & orneklemeMaskesi) != 0) return ZAMANSIZ;
+        return System.nanoTime();
+    }
+
+    void basarili(Islem islem, long t0) {
+        if (t0 == KAPALI) return;
+        kaydet(islem, t0).basarili.increment();
+    }
+
+    /**
+     * Başarısız işlemi kaydeder. cakisma: koltuk/rezervasyon başka bir çağrı tarafından alınmıştı;
+     * değilse istek hatalıydı (sefer yok, numara geçersiz, kimlik bulunamadı).
+     */
+    void basarisiz(Islem islem, long t0, boolean cakisma) {
+        if (t0 == KAPALI) return;
+        Olcum o = kaydet(islem, t0);
+        (cakisma ? o.cakisma : o.basarisiz).increment();
+    }
+
+    private Olcum kaydet(Islem islem, long t0) {
+        Olcum o = olcumler[islem.ordinal()];
+        if (t0 != ZAMANSIZ) {
+            long ns = System.nanoTime() - t0;
+            o.seritler[(int) Thread.currentThread().getId() & seritMaskesi].kaydet(ns);
+            o.toplamNs.add(ns);
+        }
+        return o;
+    }
+
+    /* ---------- Okuma ---------- */
+
+    @Override public boolean isEtkin() { return etkin; }
+    @Override public void setEtkin(boolean etkin) { this.etkin = etkin; }
+    @Override public int getOrneklemeAraligi() { return orneklemeMaskesi + 1; }
+
+    @Override
+    public void setOrneklemeAraligi(int aralik) {
+        if (aralik < 1 || Integer.bitCount(aralik) != 1) throw new IllegalArgumentException("Örnekleme aralığı ikinin kuvveti olmalı.");
+        orneklemeMaskesi = aralik - 1;
+    }
+
+    @Override
+    public long getCalismaSuresiSn() { return (System.nanoTime() - baslangicNs) / 1_000_000_000L; }
+
+    @Override
+    public String[] getIslemler() {
+        Islem[] hepsi = Islem.values();
+        String[] adlar = new String[hepsi.length];
+        for (int i = 0; i < hepsi.length; i++) adlar[i] = hepsi[i].ad;
+        return adlar;
+    }
+
+    @Override public long getRezervasyonBasarili() { return olcum(Islem.REZERVE).basarili.sum(); }
+    @Override public long getRezervasyonCakisma() { return olcum(Islem.REZERVE).cakisma.sum(); }
+    @Override public long getRezervasyonHatali() { return olcum(Islem.REZERVE).basarisiz.sum(); }
+    @Override public long getIptalBasarili() { return olcum(Islem.IPTAL).basarili.sum(); }
+    @Override public long getIptalBulunamadi() { return olcum(Islem.IPTAL).basarisiz.sum() + olcum(Islem.IPTAL).cakisma.sum(); }
+    @Override public long getRezervasyonP99Ns() { return olcum(Islem.REZERVE).birlesik().yuzdelik(99); }
+    @Override public long getIptalP99Ns() { return olcum(Islem.IPTAL).birlesik().yuzdelik(99); }
+
+    @Override
+    public long getSeferCakismaToplami() {
+        long n = 0;
+        for (Sefer s : seferler.get()) n += s.getCakismaSayisi();
+        return n;
+    }
+
+    @Override
+    public long getTutulanKoltukSayisi() {
+        long n = 0;
+        for (Sefer s : seferler.get()) n += s.getTutulanKoltukSayisi();
+        return n;
+    }
+
+    @Override public long getSuresiDolanTutma() { return tutmaCarki.getSuresiDolan(); }
+
+    @Override public long getUuidKimlikSayisi() { return RezervasyonKimligi.getUuidKimlikSayisi(); }
+
+    @Override
+    public long getCasTekrarToplami() {
+        long n = 0;
+        for (Sefer s : seferler.get()) n += s.getCasTekrarSayisi();
+        return n;
+    }
+
+    @Override public long islemSayisi(String islem) { return olcum(islemBul(islem)).sayi(); }
+
+    @Override
+    public long basarisizSayisi(String islem) {
+        Olcum o = olcum(islemBul(islem));
+        return o.basarisiz.sum() + o.cakisma.sum();
+    }
+
+    @Override public long yuzdelikNs(String islem, double yuzde) { return olcum(islemBul(islem)).birlesik().yuzdelik(yuzde); }
+
+    /** Sayaçları, histogramları ve sefer çekişme sayaçlarını sıfırlar */
+    @Override
+    public void sifirla() {
+        for (Olcum o : olcumler) {
+            for (GecikmeHistogrami h : o.seritler) h.sifirla();
+            o.basarili.reset();
+            o.basarisiz.reset();
+            o.cakisma.reset();
+            o.toplamNs.reset();
+        }
+        for (Sefer s : seferler.get()) s.cekismeSifirla();
+    }
+
+    /**
+     * Prometheus metin biçiminde (0.0.4) döküm: işlem sonuç sayaçları, gecikme yüzdelikleri (özet),
+     * toplam sefer çekişmesi ve en çok çekişen seferler.
+     */
+    @Override
+    public String metinDokumu() {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("# HELP otobus_islem_toplam Tamamlanan servis işlemleri; sonuc: basarili, basarisiz (hatalı istek/bulunamadı), cakisma\n");
+        sb.append("# TYPE otobus_islem_toplam counter\n");
+        for (Islem i : Islem.values()) {
+            Olcum o = olcum(i);
+            sayacSatiri(sb, i, "basarili", o.basarili.sum());
+            sayacSatiri(sb, i, "basarisiz", o.basarisiz.sum());
+            sayacSatiri(sb, i, "cakisma", o.cakisma.sum());
+        }
+
+        sb.append("# HELP otobus_islem_gecikme_ns Servis işlemi gecikmesi (nanosaniye, kovanın üst sınırı); rezerve/iptal/bul/tut/onayla/birak ")
+                .append(orneklemeMaskesi + 1).append(" işlemde bir örneklenir, _count örnek sayısıdır\n");
+        sb.append("# TYPE otobus_islem_gecikme_ns summary\n");
+        for (Islem i : Islem.values()) {
+            Olcum o = olcum(i);
+            GecikmeHistogrami h = o.birlesik();
+            for (int y = 0; y < YUZDELIKLER.length; y++) {
+                sb.append("otobus_islem_gecikme_ns{islem=\"").append(i.ad).append("\",quantile=\"").append(YUZDELIK_ETIKETLERI[y])
+                        .append("\"} ").append(h.yuzdelik(YUZDELIKLER[y])).append('\n');
+            }
+            sb.append("otobus_islem_gecikme_ns_sum{islem=\"").append(i.ad).append("\"} ").append(o.toplamNs.sum()).append('\n');
+            sb.append("otobus_islem_gecikme_ns_count{islem=\"").append(i.ad).append("\"} ").append(h.sayi()).append('\n');
+        }
+
+        long cakisma = 0, casTekrari = 0, tutulan = 0;
+        PriorityQueue<Sefer> enCok = new PriorityQueue<>(EN_COK_CEKISEN + 1, Comparator.comparingLong(RezervasyonMetrikleri::cekisme));
+        for (Sefer s : seferler.get()) {
+            cakisma += s.getCakismaSayisi();
+            casTekrari += s.getCasTekrarSayisi();
+            tutulan += s.getTutulanKoltukSayisi();
+            if (cekisme(s) == 0) continue;
+            enCok.add(s);
+            if (enCok.size() > EN_COK_CEKISEN) enCok.poll();
+        }
+        sb.append("# HELP otobus_sefer_cakisma_toplam Dolu koltuğa yapılan rezervasyon denemeleri (tüm seferler)\n");
+        sb.append("# TYPE otobus_sefer_cakisma_toplam counter\n");
+        sb.append("otobus_sefer_cakisma_toplam ").append(cakisma).append('\n');
+        sb.append("# HELP otobus_sefer_cas_tekrari_toplam Koltuk bitlerinde kaybedilip yeniden denenen CAS (tüm seferler)\n");
+        sb.append("# TYPE otobus_sefer_cas_tekrari_toplam counter\n");
+        sb.append("otobus_sefer_cas_tekrari_toplam ").append(casTekrari).append('\n');
+        sb.append("# HELP otobus_sefer_cekisme En çok çekişen ").append(EN_COK_CEKISEN).append(" seferin sayaçları\n");
+        sb.append("# TYPE otobus_sefer_cekisme gauge\n");
+        List<Sefer> sirali = new ArrayList<>(enCok);
+        sirali.sort(Comparator.comparingLong(RezervasyonMetrikleri::cekisme).reversed());
+        for (Sefer s : sirali) {
+            seferSatiri(sb, s, "cakisma", s.getCakismaSayisi());
+            seferSatiri(sb, s, "cas_tekrari", s.getCasTekrarSayisi());
+        }
+
+        sb.append("# HELP otobus_tutulan_koltuk Geçici tutmadaki koltuklar (tüm seferler)\n");
+        sb.append("# TYPE otobus_tutulan_koltuk gauge\n");
+        sb.append("otobus_tutulan_koltuk ").append(tutulan).append('\n');
+        sb.append("# HELP otobus_tutma_suresi_dolan_toplam Süresi dolduğu için çarkın bıraktığı tutmalar\n");
+        sb.append("# TYPE otobus_tutma_suresi_dolan_toplam counter\n");
+        sb.append("otobus_tutma_suresi_dolan_toplam ").append(tutmaCarki.getSuresiDolan()).append('\n');
+        sb.append("# HELP otobus_kimlik_uuid_toplam Sefer sırası kompakt kimliğe sığmadığı için UUID verilen rezervasyonlar\n");
+        sb.append("# TYPE otobus_kimlik_uuid_toplam counter\n");
+        sb.append("otobus_kimlik_uuid_toplam ").append(RezervasyonKimligi.getUuidKimlikSayisi()).append('\n');
+        sb.append("# TYPE otobus_calisma_suresi_saniye gauge\n");
+        sb.append("otobus_calisma_suresi_saniye ").append(getCalismaSuresiSn()).append('\n');
+        sb.append("# TYPE otobus_metrik_ornekleme_araligi gauge\n");
+        sb.append("otobus_metrik_ornekleme_araligi ").append(orneklemeMaskesi + 1).append('\n');
+        sb.append("# TYPE otobus_metrik_etkin gauge\n");
+        sb.append("otobus_metrik_etkin ").append(etkin ? 1 : 0).append('\n');
+        return sb.toString();
+    }
+
+    private Olcum olcum(Islem islem) { return olcumler[islem.ordinal()]; }
+
+    private static Islem islemBul(String ad) {
+        for (Islem i : Islem.values()) if (i.ad.equalsIgnoreCase(ad)) return i;
+        throw new IllegalArgumentException("Bilinmeyen işlem: " + ad);
+    }
+
+    private static long cekisme(Sefer s) {
+        return (long) s.getCakismaSayisi() + s.getCasTekrarSayisi();
+    }
+
+    private static void sayacSatiri(StringBuilder sb, Islem i, String sonuc, long deger) {
+        sb.append("otobus_islem_toplam{islem=\"").append(i.ad).append("\",sonuc=\"").append(sonuc).append("\"} ")
+                .append(deger).append('\n');
+    }
+
+    private static void seferSatiri(StringBuilder sb, Sefer s, String tur, long deger) {
+        sb.append("otobus_sefer_cekisme{sefer=\"");
+        String k = s.getSeferKimlik();
+        for (int i = 0; i < k.length(); i++) {
+            char c = k.charAt(i);
+            if (c == '\\' || c == '"') sb.append('\\').append(c);
+            else if (c == '\n') sb.append("\\n");
+            else sb.append(c);
+        }
+        sb.append("\",tur=\"").append(tur).append("\"} ").append(deger).append('\n');
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * RezervasyonMetrikleri'nin JMX arayüzü (jconsole, VisualVM ya da herhangi bir JMX istemcisiyle okunur).
+ *
+ * Nesne adı: OtobusRezervasyon:type=Metrikler. Gecikmeler nanosaniyedir; işlem adları getIslemler()
+ * ile listelenir (rezerve, topluRezerve, iptal, bul, listele, ara, rapor, tut, onayla, birak,
+ * analiz, yolcu).
+ */
+public interface RezervasyonMetrikleriMBean {
+    boolean isEtkin();
+
+    void setEtkin(boolean etkin);
+
+    /** Süresi ölçülen işlem aralığı (1 = her işlem, 16 = yaklaşık her 16 işlemden biri); ikinin kuvveti */
+    int getOrneklemeAraligi();
+
+    void setOrneklemeAraligi(int aralik);
+
+    long getCalismaSuresiSn();
+
+    String[] getIslemler();
+
+    long getRezervasyonBasarili();
+
+    /** Koltuk dolu olduğu için başarısız rezervasyonlar */
+    long getRezervasyonCakisma();
+
+    /** Sefer ya da koltuk numarası hatalı olduğu için başarısız rezervasyonlar */
+    long getRezervasyonHatali();
+
+    long getIptalBasarili();
+
+    /** Kimliği bulunamayan ya da aynı anda başka bir çağrının iptal ettiği rezervasyonlar */
+    long getIptalBulunamadi();
+
+    long getRezervasyonP99Ns();
+
+    long getIptalP99Ns();
+
+    /** Tüm seferlerde dolu koltuğa yapılan rezervasyon denemeleri */
+    long getSeferCakismaToplami();
+
+    /** Şu anda geçici tutmadaki koltuklar (tüm seferler) */
+    long getTutulanKoltukSayisi();
+
+    /** Süresi dolduğu için bırakılan tutmalar */
+    long getSuresiDolanTutma();
+
+    /** Sefer sırası kompakt kimliğe sığmadığı için UUID kimlik verilen rezervasyonlar */
+    long getUuidKimlikSayisi();
+
+    /** Tüm seferlerde kaybedilip yeniden denenen koltuk biti CAS'ları */
+    long getCasTekrarToplami();
+
+    long islemSayisi(String islem);
+
+    long basarisizSayisi(String islem);
+
+    long yuzdelikNs(String islem, double yuzde);
+
+    /** Prometheus metin biçiminde tam döküm (GET /metrikler ile aynı) */
+    String metinDokumu();
+
+    void sifirla();
+}
@@ -0,0 +1,48 @@
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Olayları kayıtlı tüm dinleyicilere sırayla dağıtır. Seferler yalnızca bu nesneyi tanır.
+ */
+class RezervasyonOlaylari implements RezervasyonDinleyicisi {
+    private final List<RezervasyonDinleyicisi> dinleyiciler = new CopyOnWriteArrayList<>();
+
+    void ekle(RezervasyonDinleyicisi dinleyici) {
+        dinleyiciler.add(dinleyici);
+    }
+
+    @Override
+    public void seferEklendi(Sefer sefer) {
+        for (RezervasyonDinleyicisi d : dinleyiciler) d.seferEklendi(sefer);
+    }
+
+    @Override
+    public void rezerveEdilecek(Koltuk koltuk) {
+        for (RezervasyonDinleyicisi d : dinleyiciler) d.rezerveEdilecek(koltuk);
+    }
+
+    @Override
+    public void topluRezerveEdilecek(List<Koltuk> koltuklar) {
+        for (RezervasyonDinleyicisi d : dinleyiciler) d.topluRezerveEdilecek(koltuklar);
+    }
+
+    @Override
+    public void rezerveEdildi(Koltuk koltuk) {
+        for (RezervasyonDinleyicisi d : dinleyiciler) d.rezerveEdildi(koltuk);
+    }
+
+    @Override
+    public void topluRezerveEdildi(List<Koltuk> koltuklar) {
+        for (RezervasyonDinleyicisi d : dinleyiciler) d.topluRezerveEdildi(koltuklar);
+    }
+
+    @Override
+    public void iptalEdildi(Koltuk koltuk) {
+        for (RezervasyonDinleyicisi d : dinleyiciler) d.iptalEdildi(koltuk);
+    }
+
+    @Override
+    public void seferKaldirildi(Sefer sefer, List<Koltuk> rezerveKoltuklar) {
+        for (RezervasyonDinleyicisi d : dinleyiciler) d.seferKaldirildi(sefer, rezerveKoltuklar);
+    }
+}
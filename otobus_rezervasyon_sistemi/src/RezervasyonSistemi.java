@@ -0,0 +1,1433 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+class RezervasyonSistemi {
+    private final ConcurrentSkipListMap<String, Sefer> seferler; // seferKimlik -> Sefer (eşzamanlı, kimliğe göre sıralı)
+    private final RezervasyonDizini rezervasyonDizini = new RezervasyonDizini(); // eski (UUID) kimlik -> Koltuk
+    private final YolcuDizini yolcuDizini = new YolcuDizini(); // normalize telefon / ad -> canlı rezervasyonlar
+    private final Object seferEklemeKilidi = new Object();
+    private int sonSira; // verilen en büyük sefer sırası (seferEklemeKilidi ile korunur)
+    private volatile AtomicReferenceArray<Sefer> siraIndeksi = new AtomicReferenceArray<>(1024); // sira -> Sefer
+    private final RezervasyonIstatistikleri istatistikler = new RezervasyonIstatistikleri();
+    private final SeferArama seferArama = new SeferArama();
+    private final AnalizMotoru analizMotoru = new AnalizMotoru(); // güzergah/gün/saat bazlı paralel gelir ve doluluk raporları
+    private final RezervasyonOlaylari olaylar = new RezervasyonOlaylari();
+    private final RezervasyonMetrikleri metrikler; // servis işlemlerinin gecikme ve sonuç sayaçları
+    private final TutmaCarki tutmaCarki = new TutmaCarki(); // geçici koltuk tutmalarının süre dolumu
+    private volatile Duration tutmaSuresi = Duration.ofMinutes(10);
+    private static final long ANLIK_GORUNTU_ARALIGI_SN = 300;
+    private Path veriDizini;                  // kalıcı modda günlük ve anlık görüntü dizini
+    private volatile RezervasyonGunlugu gunluk; // kalıcı mod kapalıysa null
+    private EslenmisEnvanter envanter;        // bellek eşlemeli envanter kapalıysa null (seferler yığında)
+    private ScheduledExecutorService anlikGoruntuZamanlayici;
+    private volatile SeferArsivi arsiv = new SeferArsivi(); // kalkışı geçmiş seferler; kalıcı modda diskte
+    private ScheduledExecutorService arsivZamanlayici;
+    private final Scanner tarayici;
+    private final DateTimeFormatter tarihFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private final DateTimeFormatter guzelTarihFormat = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private final DateTimeFormatter gunFormat = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int ARAMA_SAYFA_BOYUTU = 10;
+    private static final int YOLCU_ARAMA_LIMITI = 50;
+    private static final int LISTE_SAYFA_BOYUTU = 50;     // konsolda sayfa başına satır
+    private static final int DOSYA_SAYFA_BOYUTU = 4096;   // dosyaya aktarımda imleç adımı
+    private final CiktiYazici konsol = CiktiYazici.akis(System.out); // CLI listeleri ve fişler için tamponlu çıktı
+
+    public RezervasyonSistemi() {
+        this.seferler = new ConcurrentSkipListMap<>();
+        this.metrikler = new RezervasyonMetrikleri(seferler::values, tutmaCarki);
+        this.tarayici = new Scanner(System.in);
+        olaylar.ekle(rezervasyonDizini);
+        olaylar.ekle(istatistikler);
+        olaylar.ekle(seferArama);
+        olaylar.ekle(yolcuDizini);
+    }
+
+    public RezervasyonIstatistikleri getIstatistikler() { return istatistikler; }
+    public RezervasyonMetrikleri getMetrikler() { return metrikler; }
+    public SeferArsivi getArsiv() { return arsiv; }
+
+    /**
+     * Güzergah ve kalkış aralığına göre, en az minBosKoltuk boş koltuğu olan seferleri sayfa sayfa arar.
+     */
+    public SeferArama.Sayfa seferAra(String kalkisYeri, String varisYeri, LocalDateTime baslangic, LocalDateTime bitis,
+                                     int minBosKoltuk, SeferArama.Imlec imlec, int sayfaBoyutu) {
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.ARA);
+        SeferArama.Sayfa sayfa = seferArama.ara(kalkisYeri, varisYeri, baslangic, bitis, minBosKoltuk, imlec, sayfaBoyutu);
+        metrikler.basarili(RezervasyonMetrikleri.Islem.ARA, t0);
+        return sayfa;
+    }
+
+    /**
+     * Canlı ve arşivlenmiş seferlerin güzergah, kalkış günü ya da saatine göre gelir ve doluluk toplamları.
+     * Her çağrı kilitsiz yeni bir sütun kesiti alır ve paralel gruplar (bkz. AnalizMotoru).
+     */
+    public AnalizMotoru.Rapor analiz(AnalizMotoru.Gruplama gruplama) {
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.ANALIZ);
+        AnalizMotoru.Rapor rapor = analizMotoru.grupla(analizKesiti(), gruplama);
+        metrikler.basarili(RezervasyonMetrikleri.Islem.ANALIZ, t0);
+        return rapor;
+    }
+
+    /**
+     * Telefon numarasına ait tüm canlı rezervasyonlar (limit uygulanmaz); numara herhangi bir yazımla
+     * verilebilir (0533..., +90 533..., boşluklu).
+     */
+    public List<Koltuk> yolcuTelefonla(String telefon) {
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.YOLCU);
+        List<Koltuk> sonuc = yolcuDizini.telefonla(telefon);
+        metrikler.basarili(RezervasyonMetrikleri.Islem.YOLCU, t0);
+        return sonuc;
+    }
+
+    /** Adı (büyük/küçük harf ve boşluk farkı gözetmeden) verilen önekle başlayan yolcuların rezervasyonları */
+    public List<Koltuk> yolcuAdla(String adOnEki, int limit) {
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.YOLCU);
+        List<Koltuk> sonuc = yolcuDizini.adOnEkiyle(adOnEki, limit);
+        metrikler.basarili(RezervasyonMetrikleri.Islem.YOLCU, t0);
+        return sonuc;
+    }
+
+    /** Aynı kesit üzerinde birden fazla gruplama için: tek kesit, her gruplama analizMotoru ile */
+    AnalizMotoru.Kesit analizKesiti() {
+        return AnalizMotoru.Kesit.al(seferler.values(), arsiv.seferler());
+    }
+
+    /* ---------- Servis arayüzü (CLI ve HTTP sunucusu ortak kullanır; eşzamanlı çağrılabilir) ---------- */
+
+    /** Seferler kimlik sırasıyla; salt okunur canlı görünüm */
+    public Collection<Sefer> getSeferler() { return Collections.unmodifiableCollection(seferler.values()); }
+
+    /**
+     * Kimlik sırasıyla, sonrakiKimlik'ten (hariç; null ise baştan) sonraki en fazla limit sefer.
+     */
+    public List<Sefer> seferleriListele(String sonrakiKimlik, int limit) {
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.LISTELE);
+        Collection<Sefer> kalan = sonrakiKimlik == null ? seferler.values()
+                : seferler.tailMap(sonrakiKimlik, false).values();
+        List<Sefer> sayfa = new ArrayList<>(Math.min(limit, 64));
+        for (Sefer s : kalan) {
+            if (sayfa.size() == limit) break;
+            sayfa.add(s);
+        }
+        metrikler.basarili(RezervasyonMetrikleri.Islem.LISTELE, t0);
+        return sayfa;
+    }
+
+    /** Rezervasyon listesinde kalınan yer: son verilen rezervasyonun seferi ve sefer içindeki sıra anahtarı */
+    static final class RezervasyonImleci {
+        private final String seferKimlik;
+        private final long sira;
+
+        RezervasyonImleci(String seferKimlik, long sira) {
+            this.seferKimlik = seferKimlik;
+            this.sira = sira;
+        }
+
+        /** Sefer.getRezerveKoltuklar sırası: önce tam seferlik koltuklar, sonra bacak rezervasyonları (koltuk, biniş) */
+        static long siraAnahtari(Koltuk k) {
+            return (k.isKismi() ? 1L << 40 : 0) | (long) k.getKoltukNumarasi() << 8 | k.getBinisDuragi();
+        }
+    }
+
+    static final class RezervasyonSayfasi {
+        private final List<Koltuk> rezervasyonlar;
+        private final RezervasyonImleci sonraki;
+
+        RezervasyonSayfasi(List<Koltuk> rezervasyonlar, RezervasyonImleci sonraki) {
+            this.rezervasyonlar = rezervasyonlar;
+            this.sonraki = sonraki;
+        }
+
+        public List<Koltuk> getRezervasyonlar() { return rezervasyonlar; }
+        /** Sonraki sayfanın imleci; son sayfada null */
+        public RezervasyonImleci getSonraki() { return sonraki; }
+    }
+
+    /**
+     * Sefer kimliği ve sefer içi koltuk sırasıyla, imleçten (hariç; null ise baştan) sonraki en fazla limit
+     * rezervasyon. Sayfalar arasında yapılan rezervasyon ve iptaller satır kaydırmaz: imleç konuma değil
+     * anahtara bağlıdır. Bellek kullanımı sayfa boyutuyla (ve tek seferin kapasitesiyle) sınırlıdır.
+     */
+    public RezervasyonSayfasi rezervasyonlariListele(RezervasyonImleci imlec, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Sayfa boyutu en az 1 olmalı: " + limit);
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.LISTELE);
+        Collection<Sefer> kalan = imlec == null ? seferler.values()
+                : seferler.tailMap(imlec.seferKimlik, true).values();
+        List<Koltuk> sayfa = new ArrayList<>(Math.min(limit, 256));
+        RezervasyonImleci sonraki = null;
+        String sonSefer = null;
+        tarama:
+        for (Sefer s : kalan) {
+            boolean imlecSeferi = imlec != null && s.getSeferKimlik().equals(imlec.seferKimlik);
+            for (Koltuk k : s.getRezerveKoltuklar()) {
+                if (imlecSeferi && RezervasyonImleci.siraAnahtari(k) <= imlec.sira) continue;
+                if (sayfa.size() == limit) {
+                    sonraki = new RezervasyonImleci(sonSefer, RezervasyonImleci.siraAnahtari(sayfa.get(limit - 1)));
+                    break tarama;
+                }
+                sayfa.add(k);
+                sonSefer = s.getSeferKimlik();
+            }
+        }
+        metrikler.basarili(RezervasyonMetrikleri.Islem.LISTELE, t0);
+        return new RezervasyonSayfasi(sayfa, sonraki);
+    }
+
+    /**
+     * Yeni sefer oluşturup sisteme ekler; aynı kimlikte (canlı ya da arşivlenmiş) sefer varsa null döner.
+     * Envanter açıksa sefer bellek eşlemeli depoda oluşturulur.
+     */
+    public Sefer yeniSefer(String seferKimlik, String kalkisYeri, String varisYeri, LocalDateTime kalkisZamani,
+                           int kapasite, int biletFiyati) throws IOException {
+        return yeniSefer(seferKimlik, List.of(kalkisYeri, varisYeri), kalkisZamani, kapasite, biletFiyati);
+    }
+
+    /**
+     * Duraklar (kalkış, ara duraklar, varış) üzerinden sefer oluşturur; ara duraklı seferin bacakları
+     * ayrı satılabilir (bkz. Sefer.bacakRezerveEt). Ara duraklı sefer envanter açık olsa da yığında tutulur.
+     */
+    public Sefer yeniSefer(String seferKimlik, List<String> duraklar, LocalDateTime kalkisZamani,
+                           int kapasite, int biletFiyati) throws IOException {
+        gunlukDenetle();
+        if (seferler.containsKey(seferKimlik) || arsiv.iceriyor(seferKimlik)) return null;
+        Sefer s = seferOlustur(seferKimlik, duraklar, kalkisZamani, kapasite, biletFiyati);
+        if (!seferEkle(s)) return null;
+        gunlugeYazilmasiniBekle();
+        return s;
+    }
+
+    /** Kimliği verilen sefer (bulunamazsa null) */
+    public Sefer seferBul(String seferKimlik) {
+        return seferKimlik == null ? null : seferler.get(seferKimlik);
+    }
+
+    /**
+     * Rezervasyon kimliğine ait koltuk (bulunamazsa null). Kompakt kimliklerde sefer ve koltuk kimlikten
+     * çözülür; eski UUID kimlikler rezervasyon dizininden bulunur.
+     */
+    public Koltuk rezervasyonBul(String rezervasyonKimlik) {
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.BUL);
+        Koltuk k = kimlikleBul(rezervasyonKimlik);
+        if (k == null) k = arsivdenBul(rezervasyonKimlik);
+        if (k != null) metrikler.basarili(RezervasyonMetrikleri.Islem.BUL, t0);
+        else metrikler.basarisiz(RezervasyonMetrikleri.Islem.BUL, t0, false);
+        return k;
+    }
+
+    private Koltuk kimlikleBul(String rezervasyonKimlik) {
+        long cozulen = RezervasyonKimligi.coz(rezervasyonKimlik);
+        if (cozulen == -1) return rezervasyonDizini.bul(rezervasyonKimlik);
+        Sefer s = siradanSefer(RezervasyonKimligi.seferSirasi(cozulen));
+        if (s == null) return null;
+        Koltuk k = s.rezervasyonKaydi(RezervasyonKimligi.koltukNumarasi(cozulen));
+        return k != null && RezervasyonKimligi.ayni(rezervasyonKimlik, k.getRezervasyonKimlik()) ? k : s.bacakKaydi(rezervasyonKimlik);
+    }
+
+    /** Arşivlenmiş seferdeki rezervasyon; dönen kayıt salt okunurdur, hiçbir sefere bağlı değildir */
+    private Koltuk arsivdenBul(String rezervasyonKimlik) {
+        SeferArsivi a = arsiv;
+        if (a.getSeferSayisi() == 0) return null;
+        try {
+            return a.rezervasyonBul(rezervasyonKimlik);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Rezervasyon kimliğinin ait olduğu sefer (kimlik çözülemez ya da bulunamazsa null); parçalı yönlendirme için */
+    Sefer rezervasyonSeferi(String rezervasyonKimlik) {
+        long cozulen = RezervasyonKimligi.coz(rezervasyonKimlik);
+        if (cozulen != -1) return siradanSefer(RezervasyonKimligi.seferSirasi(cozulen));
+        Koltuk k = rezervasyonDizini.bul(rezervasyonKimlik);
+        return k == null ? null : k.getSefer();
+    }
+
+    private Sefer siradanSefer(int sira) {
+        AtomicReferenceArray<Sefer> indeks = siraIndeksi;
+        return sira < indeks.length() ? indeks.get(sira) : null;
+    }
+
+    /**
+     * Koltuk rezerve eder. Sefer yoksa, koltuk doluysa ya da numara hatalıysa null döner.
+     */
+    public Koltuk koltukRezerveEt(String seferKimlik, int koltukNumarasi, String yolcuAdi, String yolcuTelefonu) {
+        Sefer s = seferBul(seferKimlik);
+        if (s != null) return koltukRezerveEt(s, koltukNumarasi, yolcuAdi, yolcuTelefonu);
+        metrikler.basarisiz(RezervasyonMetrikleri.Islem.REZERVE,
+                metrikler.baslangic(RezervasyonMetrikleri.Islem.REZERVE), false); // sefer yok
+        return null;
+    }
+
+    /** Bulunmuş seferde koltuk rezerve eder (CLI ve HTTP sunucusu seferi zaten bulduğunda) */
+    public Koltuk koltukRezerveEt(Sefer s, int koltukNumarasi, String yolcuAdi, String yolcuTelefonu) {
+        return koltukRezerveEt(s, koltukNumarasi, yolcuAdi, yolcuTelefonu, true);
+    }
+
+    /**
+     * kaliciBekle false ise günlük kaydının fsync edilmesi beklenmez; çağıran, sonucu vermeden önce
+     * gunlugeYazilmasiniBekle'yi kendisi çağırır (parçalı yürütücü bir partiyi tek beklemeyle onaylar).
+     */
+    Koltuk koltukRezerveEt(Sefer s, int koltukNumarasi, String yolcuAdi, String yolcuTelefonu, boolean kaliciBekle) {
+        gunlukDenetle();
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.REZERVE);
+        Koltuk k = s.koltukRezerveEt(koltukNumarasi, yolcuAdi, yolcuTelefonu);
+        if (k != null && kaliciBekle) gunlugeYazilmasiniBekle();
+        if (k != null) metrikler.basarili(RezervasyonMetrikleri.Islem.REZERVE, t0);
+        else metrikler.basarisiz(RezervasyonMetrikleri.Islem.REZERVE, t0, s.gecerliNumara(koltukNumarasi)); // numara geçerliyse koltuk doluydu
+        return k;
+    }
+
+    /**
+     * Koltuğu seferin binis -> inis bölümü (durak indeksleri) için rezerve eder; koltukNumarasi 0 ise
+     * koltuk seçilir (bkz. Sefer.bacakOtomatikRezerveEt). Bölümde koltuk doluysa ya da aralık hatalıysa null.
+     */
+    public Koltuk bacakRezerveEt(Sefer s, int koltukNumarasi, int binis, int inis, String yolcuAdi, String yolcuTelefonu) {
+        gunlukDenetle();
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.REZERVE);
+        Koltuk k = koltukNumarasi == 0
+                ? s.bacakOtomatikRezerveEt(binis, inis, yolcuAdi, yolcuTelefonu)
+                : s.bacakRezerveEt(koltukNumarasi, binis, inis, yolcuAdi, yolcuTelefonu);
+        if (k != null) {
+            gunlugeYazilmasiniBekle();
+            metrikler.basarili(RezervasyonMetrikleri.Islem.REZERVE, t0);
+        } else {
+            boolean gecerli = s.gecerliAralik(binis, inis) && (koltukNumarasi == 0 || s.gecerliNumara(koltukNumarasi));
+            metrikler.basarisiz(RezervasyonMetrikleri.Islem.REZERVE, t0, gecerli);
+        }
+        return k;
+    }
+
+    /**
+     * Rezervasyonu iptal eder ve iptal edilen koltuğu döner. Rezervasyon bulunamazsa ya da aynı anda
+     * başka bir çağrı tarafından iptal edildiyse null döner.
+     */
+    public Koltuk rezervasyonIptalEt(String rezervasyonKimlik) {
+        return rezervasyonIptalEt(rezervasyonKimlik, true);
+    }
+
+    /** kaliciBekle için bkz. koltukRezerveEt(Sefer, int, String, String, boolean) */
+    Koltuk rezervasyonIptalEt(String rezervasyonKimlik, boolean kaliciBekle) {
+        gunlukDenetle();
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.IPTAL);
+        Koltuk k = kimlikleBul(rezervasyonKimlik);
+        if (k != null && k.iptalEt()) {
+            if (kaliciBekle) gunlugeYazilmasiniBekle();
+            metrikler.basarili(RezervasyonMetrikleri.Islem.IPTAL, t0);
+            return k;
+        }
+        metrikler.basarisiz(RezervasyonMetrikleri.Islem.IPTAL, t0, k != null); // bulundu ama başka çağrı önce iptal etti
+        return null;
+    }
+
+    /**
+     * Aynı seferde birden fazla koltuğu tek işlemde rezerve eder: ya hepsi ya hiçbiri.
+     * Sefer yoksa ya da koltuklardan biri dolu/geçersizse null döner.
+     */
+    public List<Koltuk> topluRezerveEt(String seferKimlik, List<RezervasyonTalebi> talepler) {
+        Sefer s = seferBul(seferKimlik);
+        if (s != null) return topluRezerveEt(s, talepler);
+        metrikler.basarisiz(RezervasyonMetrikleri.Islem.TOPLU_REZERVE,
+                metrikler.baslangic(RezervasyonMetrikleri.Islem.TOPLU_REZERVE), false); // sefer yok
+        return null;
+    }
+
+    /** Bulunmuş seferde hepsi-ya-hiç grup rezervasyonu */
+    public List<Koltuk> topluRezerveEt(Sefer s, List<RezervasyonTalebi> talepler) {
+        gunlukDenetle();
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.TOPLU_REZERVE);
+        List<Koltuk> koltuklar = s.koltuklariRezerveEt(talepler);
+        if (koltuklar != null) {
+            gunlugeYazilmasiniBekle();
+            metrikler.basarili(RezervasyonMetrikleri.Islem.TOPLU_REZERVE, t0);
+        } else {
+            boolean gecerli = true;
+            for (RezervasyonTalebi t : talepler) gecerli &= s.gecerliNumara(t.getKoltukNumarasi());
+            metrikler.basarisiz(RezervasyonMetrikleri.Islem.TOPLU_REZERVE, t0, gecerli);
+        }
+        return koltuklar;
+    }
+
+    /**
+     * Seçime göre adet boş koltuğu bulup hepsi-ya-hiç rezerve eder (bkz. Sefer.otomatikRezerveEt).
+     * İstenen düzende yeterli boş koltuk yoksa null döner.
+     */
+    public List<Koltuk> otomatikRezerveEt(Sefer s, int adet, String yolcuAdi, String yolcuTelefonu,
+                                          Sefer.KoltukSecimi secim, int tercihEdilenKoltuk) {
+        gunlukDenetle();
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.TOPLU_REZERVE);
+        List<Koltuk> koltuklar = s.otomatikRezerveEt(adet, yolcuAdi, yolcuTelefonu, secim, tercihEdilenKoltuk);
+        if (koltuklar != null) {
+            gunlugeYazilmasiniBekle();
+            metrikler.basarili(RezervasyonMetrikleri.Islem.TOPLU_REZERVE, t0);
+        } else {
+            metrikler.basarisiz(RezervasyonMetrikleri.Islem.TOPLU_REZERVE, t0, adet >= 1 && adet <= s.getKapasite());
+        }
+        return koltuklar;
+    }
+
+    /** Yeni tutmaların süresi (varsayılan 10 dakika); mevcut tutmaları etkilemez */
+    public void setTutmaSuresi(Duration sure) {
+        if (sure.isNegative() || sure.isZero()) throw new IllegalArgumentException("Tutma süresi pozitif olmalı.");
+        this.tutmaSuresi = sure;
+    }
+
+    public Duration getTutmaSuresi() { return tutmaSuresi; }
+
+    /**
+     * Koltuğu tutma süresi kadar tutar (ödeme beklenirken). Dönen kaydın kimliği onay ve bırakma için
+     * kullanılır, onaylanınca rezervasyon kimliği olur. Koltuk dolu/tutuluysa ya da numara hatalıysa null.
+     */
+    public Koltuk koltukTut(Sefer s, int koltukNumarasi) {
+        gunlukDenetle();
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.TUT);
+        Koltuk k = s.koltukTut(koltukNumarasi, tutmaSuresi);
+        if (k != null) metrikler.basarili(RezervasyonMetrikleri.Islem.TUT, t0);
+        else metrikler.basarisiz(RezervasyonMetrikleri.Islem.TUT, t0, s.gecerliNumara(koltukNumarasi));
+        return k;
+    }
+
+    /** Kimliği verilen, hâlâ geçerli tutma (bulunamazsa, onaylandıysa ya da süresi dolduysa null) */
+    public Koltuk tutmaBul(String tutmaKimlik) {
+        long cozulen = RezervasyonKimligi.coz(tutmaKimlik);
+        if (cozulen == -1) return null;
+        Sefer s = siradanSefer(RezervasyonKimligi.seferSirasi(cozulen));
+        Koltuk k = s == null ? null : s.tutmaKaydi(RezervasyonKimligi.koltukNumarasi(cozulen));
+        return k != null && k.isTutuluyor() && RezervasyonKimligi.ayni(tutmaKimlik, k.getRezervasyonKimlik()) ? k : null;
+    }
+
+    /**
+     * Tutmayı yolcu adına rezervasyona çevirir ve rezerve koltuğu döner. Tutma bulunamazsa, süresi
+     * dolduysa ya da aynı anda bırakıldıysa null döner.
+     */
+    public Koltuk tutmaOnayla(String tutmaKimlik, String yolcuAdi, String yolcuTelefonu) {
+        gunlukDenetle();
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.ONAYLA);
+        Koltuk k = tutmaBul(tutmaKimlik);
+        if (k != null && k.onayla(yolcuAdi, yolcuTelefonu)) {
+            gunlugeYazilmasiniBekle();
+            metrikler.basarili(RezervasyonMetrikleri.Islem.ONAYLA, t0);
+            return k;
+        }
+        metrikler.basarisiz(RezervasyonMetrikleri.Islem.ONAYLA, t0, k != null); // bulundu ama süre doldu/bırakıldı
+        return null;
+    }
+
+    /** Tutmayı bırakır; tutma bulunamazsa ya da zaten sonlandıysa null, aksi halde bırakılan kayıt */
+    public Koltuk tutmaBirak(String tutmaKimlik) {
+        gunlukDenetle();
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.BIRAK);
+        Koltuk k = tutmaBul(tutmaKimlik);
+        if (k != null && k.birak()) {
+            metrikler.basarili(RezervasyonMetrikleri.Islem.BIRAK, t0);
+            return k;
+        }
+        metrikler.basarisiz(RezervasyonMetrikleri.Islem.BIRAK, t0, k != null); // bulundu ama aynı anda onaylandı/süresi doldu
+        return null;
+    }
+
+    /**
+     * "seferKimlik;koltukNo;yolcuAdi;telefon" satırlarından oluşan dosyayı akış halinde içe aktarır.
+     */
+    public TopluIceAktarici.Sonuc topluIceAktar(Path dosya) throws IOException {
+        gunlukDenetle();
+        TopluIceAktarici.Sonuc sonuc = new TopluIceAktarici(seferler::get).aktar(dosya);
+        gunlugeYazilmasiniBekle(); // aktarım sırasında günlük bozulduysa sonuç başarı sayılmaz
+        return sonuc;
+    }
+
+    // CLI ana döngüsü
+    public void cliCalistir() {
+        boolean calisiyor = true;
+        while (calisiyor) {
+            anaMenuyuYazdir();
+            if (!tarayici.hasNextLine()) break; // standart giriş kapandı
+            String secim = tarayici.nextLine().trim();
+            switch (secim) {
+                case "1": seferOlusturCLI(); break;
+                case "2": seferleriListeleCLI(); break;
+                case "3": seferDetaylariGosterCLI(); break;
+                case "4": koltukRezerveEtCLI(); break;
+                case "5": rezervasyonIptalEtCLI(); break;
+                case "6": dolulukGosterCLI(); break;
+                case "7": tumRezervasyonlariListeleCLI(); break;
+                case "8": ozetGosterCLI(); break;
+                case "9": fisTekrarYazdirCLI(); break;
+                case "10": seferAraCLI(); break;
+                case "11": grupRezervasyonuCLI(); break;
+                case "12": topluIceAktarCLI(); break;
+                case "13": metrikleriGosterCLI(); break;
+                case "14": analizCLI(); break;
+                case "15": yolcuAraCLI(); break;
+                case "0":
+                    System.out.println("Çıkılıyor. İyi günler! 👋");
+                    calisiyor = false;
+                    break;
+                default:
+                    System.out.println("Geçersiz seçim. Tekrar deneyin.");
+            }
+            System.out.println();
+        }
+    }
+
+    private void anaMenuyuYazdir() {
+        System.out.println("=== Otobüs Rezervasyon Simülasyonu ===");
+        System.out.println("1) Yeni sefer oluştur");
+        System.out.println("2) Seferleri listele");
+        System.out.println("3) Sefer detaylarını göster");
+        System.out.println("4) Koltuk rezervasyonu yap");
+        System.out.println("5) Rezervasyon iptal et (Rezervasyon ID ile)");
+        System.out.println("6) Doluluk durumunu göster");
+        System.out.println("7) Tüm rezervasyonları listele");
+        System.out.println("8) Rapor: Toplam sefer sayısı ve gelir");
+        System.out.println("9) Bilet fişini tekrar yazdır (Rezervasyon ID ile)");
+        System.out.println("10) Sefer ara (güzergah ve tarih aralığı)");
+        System.out.println("11) Grup rezervasyonu (birden fazla koltuk)");
+        System.out.println("12) Toplu rezervasyon içe aktar (dosyadan)");
+        System.out.println("13) Performans metrikleri");
+        System.out.println("14) Analiz: güzergah/gün/saat bazlı gelir ve doluluk (CSV)");
+        System.out.println("15) Yolcu rezervasyonları (telefon veya ad ile)");
+        System.out.println("0) Çıkış");
+        System.out.print("Seçiminiz: ");
+    }
+
+    /* ---------- CLI İşlevleri ---------- */
+
+    private void seferOlusturCLI() {
+        System.out.println("--- Yeni Sefer Oluştur ---");
+        System.out.print("Sefer ID (örnek: SFR1001): ");
+        String kimlik = tarayici.nextLine().trim();
+        if (kimlik.isEmpty() || seferler.containsKey(kimlik)) {
+            System.out.println("Geçersiz veya mevcut ID.");
+            return;
+        }
+        System.out.print("Kalkış yeri: ");
+        String kalkis = tarayici.nextLine().trim();
+        System.out.print("Varış yeri: ");
+        String varis = tarayici.nextLine().trim();
+        System.out.print("Ara duraklar (virgülle ayırın; yoksa boş bırakın): ");
+        List<String> duraklar = new ArrayList<>();
+        duraklar.add(kalkis);
+        for (String d : tarayici.nextLine().split(",")) {
+            if (!d.trim().isEmpty()) duraklar.add(d.trim());
+        }
+        duraklar.add(varis);
+        System.out.print("Kalkış tarihi-saat (YYYY-MM-DD HH:mm): ");
+        String tarihStr = tarayici.nextLine().trim();
+        LocalDateTime tarih;
+        try {
+            tarih = LocalDateTime.parse(tarihStr, tarihFormat);
+        } catch (Exception e) {
+            System.out.println("Tarih formatı hatalı. Örnek: 2025-11-01 13:30");
+            return;
+        }
+
+        // Kapasite 10 olarak sabitlendi.
+        int kap = 10;
+        System.out.println("Kapasite: " + kap + " (Otobüs kapasitesi 10 olarak sabitlenmiştir.)");
+
+        System.out.print("Bilet Fiyatı (TL): ");
+        int fiyat;
+        try {
+            fiyat = Integer.parseInt(tarayici.nextLine().trim());
+            if (fiyat <= 0) {
+                System.out.println("Bilet fiyatı pozitif olmalı.");
+                return;
+            }
+        } catch (Exception e) {
+            System.out.println("Hatalı bilet fiyatı.");
+            return;
+        }
+
+        try {
+            if (yeniSefer(kimlik, duraklar, tarih, kap, fiyat) == null) {
+                System.out.println("Geçersiz veya mevcut ID.");
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return;
+        } catch (IOException e) {
+            System.out.println("Sefer envantere yazılamadı: " + e.getMessage());
+            return;
+        }
+        System.out.println("✅ Sefer oluşturuldu: " + kimlik);
+    }
+
+    private void seferleriListeleCLI() {
+        if (seferler.isEmpty()) {
+            System.out.println("Henüz sefer yok.");
+            return;
+        }
+        konsol.satir("--- Seferler ---");
+        String imlec = null;
+        while (true) {
+            // Bir fazlası istenir: sonraki sayfa olup olmadığı ek sorgu olmadan anlaşılır
+            List<Sefer> sayfa = seferleriListele(imlec, LISTE_SAYFA_BOYUTU + 1);
+            boolean devamVar = sayfa.size() > LISTE_SAYFA_BOYUTU;
+            if (devamVar) sayfa = sayfa.subList(0, LISTE_SAYFA_BOYUTU);
+            for (Sefer s : sayfa) seferSatiriYaz(konsol, s);
+            if (!devamVar || !sonrakiSayfa()) break;
+            imlec = sayfa.get(sayfa.size() - 1).getSeferKimlik();
+        }
+        konsol.flush();
+    }
+
+    /** Sefer listesinin bir satırı */
+    void seferSatiriYaz(CiktiYazici c, Sefer s) {
+        c.yaz(s.getSeferKimlik()).yaz(" | ").yaz(s.getKalkisYeri()).yaz(" → ").yaz(s.getVarisYeri())
+                .yaz(" | Kalkış: ").tarih(s.getKalkisZamani())
+                .yaz(" | Kap: ").sayi(s.getKapasite())
+                .yaz(" | Dolu: ").sayi(s.getRezerveSayisi())
+                .yaz(" | Doluluk: ").ondalik(s.getDolulukOrani(), 1, 4)
+                .yaz("% | Fiyat: ").sayi(s.getBiletFiyati()).yaz(" TL").satir();
+    }
+
+    /** Sayfa sonunda sorar; Enter sonraki sayfa, q (ya da kapanan giriş) listeyi bitirir */
+    private boolean sonrakiSayfa() {
+        konsol.yaz("-- Devamı için Enter, çıkmak için q: ");
+        konsol.flush();
+        return tarayici.hasNextLine() && !tarayici.nextLine().trim().equalsIgnoreCase("q");
+    }
+
+    private void seferDetaylariGosterCLI() {
+        System.out.print("Sefer ID: ");
+        String kimlik = tarayici.nextLine().trim();
+        Sefer s = seferBul(kimlik);
+        if (s == null) {
+            System.out.println("Sefer bulunamadı.");
+            return;
+        }
+        System.out.printf("Sefer %s (%s → %s) - Bilet: %d TL\n", s.getSeferKimlik(), s.getKalkisYeri(), s.getVarisYeri(), s.getBiletFiyati());
+        if (s.isCokDurakli()) System.out.println("Duraklar: " + String.join(" → ", s.getDuraklar()));
+        System.out.printf("Kalkış: %s | Kapasite: %d | Doluluk: %d (%%%.2f)\n",
+                s.getKalkisZamani().format(guzelTarihFormat),
+                s.getKapasite(),
+                s.getRezerveSayisi(),
+                s.getDolulukOrani());
+        System.out.println("Koltuk listesi (No : Durum [RezID kısa] - Yolcu):");
+        for (Koltuk k : s.getTumKoltuklar()) {
+            String durum = k.isRezerveEdildi() ? ("DOLU [" + kisaRezKimlik(k.getRezervasyonKimlik()) + "] - " + k.getYolcuAdi())
+                    : s.doluMu(k.getKoltukNumarasi()) ? "KISMİ" : "BOŞ";
+            System.out.printf("%02d : %s\n", k.getKoltukNumarasi(), durum);
+        }
+        if (!s.isCokDurakli()) return;
+        System.out.println("Bacaklar (Biniş → İniş : Dolu/Kap | Ücret | Gelir):");
+        for (Sefer.BacakDurumu b : s.getBacakDurumlari()) {
+            System.out.printf("%s → %s : %d/%d | %d TL | %d TL\n", b.getBinis(), b.getInis(),
+                    b.getDoluKoltuk(), b.getKapasite(), b.getUcret(), b.getGelir());
+        }
+        for (Koltuk k : s.getRezerveKoltuklar()) {
+            if (!k.isKismi()) continue;
+            System.out.printf("%02d : %s → %s [%s] - %s\n", k.getKoltukNumarasi(), s.getDurak(k.getBinisDuragi()),
+                    s.getDurak(k.getInisDuragi()), kisaRezKimlik(k.getRezervasyonKimlik()), k.getYolcuAdi());
+        }
+    }
+
+    private void koltukRezerveEtCLI() {
+        System.out.print("Sefer ID: ");
+        String kimlik = tarayici.nextLine().trim();
+        Sefer s = seferBul(kimlik);
+        if (s == null) {
+            System.out.println("Sefer bulunamadı.");
+            return;
+        }
+        System.out.printf("Sefer: %s (%s → %s) | Bilet Fiyatı: %d TL%n", s.getSeferKimlik(), s.getKalkisYeri(), s.getVarisYeri(), s.getBiletFiyati());
+        int binis = 0, inis = s.getDurakSayisi() - 1;
+        if (s.isCokDurakli()) {
+            for (int i = 0; i < s.getDurakSayisi(); i++) System.out.printf("  %d) %s%n", i, s.getDurak(i));
+            binis = durakSor(s, "Biniş durağı (ad ya da no; boş: " + s.getKalkisYeri() + "): ", binis);
+            if (binis < 0) return;
+            inis = durakSor(s, "İniş durağı (ad ya da no; boş: " + s.getVarisYeri() + "): ", inis);
+            if (inis < 0) return;
+            if (!s.gecerliAralik(binis, inis)) {
+                System.out.println("İniş durağı binişten sonra olmalı.");
+                return;
+            }
+            System.out.printf("%s → %s | Ücret: %d TL | Boş koltuklar: %s%n", s.getDurak(binis), s.getDurak(inis),
+                    s.ucret(binis, inis), koltukListesiFormatla(s.bosKoltuklar(binis, inis)));
+        }
+        System.out.print("Koltuk numarası (1.." + s.getKapasite() + "): ");
+        int koltukNo;
+        try {
+            koltukNo = Integer.parseInt(tarayici.nextLine().trim());
+        } catch (Exception e) {
+            System.out.println("Geçersiz koltuk numarası.");
+            return;
+        }
+        System.out.print("Yolcu adı: ");
+        String ad = tarayici.nextLine().trim();
+        System.out.print("Telefon: ");
+        String telefon = tarayici.nextLine().trim();
+
+        Koltuk koltuk = s.isCokDurakli()
+                ? bacakRezerveEt(s, koltukNo, binis, inis, ad, telefon)
+                : koltukRezerveEt(s, koltukNo, ad, telefon);
+        if (koltuk == null) {
+            System.out.println("Rezervasyon başarısız (koltuk dolu veya numara hatalı).");
+            return;
+        }
+        System.out.println("✅ Rezervasyon tamamlandı! RezID: " + koltuk.getRezervasyonKimlik());
+        // Fiş yazdır
+        fisYazdir(s, koltuk);
+    }
+
+    /** Durak adı ya da numarası sorar; boş yanıtta varsayılan, geçersizse -1 */
+    private int durakSor(Sefer s, String soru, int varsayilan) {
+        System.out.print(soru);
+        String yanit = tarayici.nextLine().trim();
+        if (yanit.isEmpty()) return varsayilan;
+        int i = s.durakIndeksi(yanit);
+        if (i < 0) {
+            try {
+                i = Integer.parseInt(yanit);
+            } catch (NumberFormatException e) {
+                i = -1;
+            }
+        }
+        if (i < 0 || i >= s.getDurakSayisi()) {
+            System.out.println("Durak bulunamadı: " + yanit);
+            return -1;
+        }
+        return i;
+    }
+
+    private void grupRezervasyonuCLI() {
+        System.out.print("Sefer ID: ");
+        String kimlik = tarayici.nextLine().trim();
+        Sefer s = seferBul(kimlik);
+        if (s == null) {
+            System.out.println("Sefer bulunamadı.");
+            return;
+        }
+        System.out.printf("Sefer: %s (%s → %s) | Bilet Fiyatı: %d TL | Boş: %d%n", s.getSeferKimlik(), s.getKalkisYeri(),
+                s.getVarisYeri(), s.getBiletFiyati(), s.getBosKoltukSayisi());
+        System.out.print("Koltuk numaraları (virgülle, örn. 3,4,5; yan yana otomatik atama için boş bırakın): ");
+        String satir = tarayici.nextLine().trim();
+        int adet = 0;
+        if (satir.isEmpty()) {
+            System.out.print("Kişi sayısı: ");
+            try {
+                adet = Integer.parseInt(tarayici.nextLine().trim());
+            } catch (NumberFormatException e) {
+                System.out.println("Geçersiz kişi sayısı.");
+                return;
+            }
+            System.out.println("Önerilen koltuklar: " + koltukListesiFormatla(s.enIyiBosKoltuklar(adet, 1)));
+        }
+        System.out.print("Yolcu adı: ");
+        String ad = tarayici.nextLine().trim();
+        System.out.print("Telefon: ");
+        String telefon = tarayici.nextLine().trim();
+
+        List<Koltuk> koltuklar;
+        if (adet > 0) {
+            // Öneri anlık bir görüntüdür; koltuklar atama sırasında yeniden seçilir
+            koltuklar = otomatikRezerveEt(s, adet, ad, telefon, Sefer.KoltukSecimi.EN_IYI, 1);
+        } else {
+            String[] parcalar = satir.split(",");
+            List<RezervasyonTalebi> talepler = new ArrayList<>(parcalar.length);
+            try {
+                for (String p : parcalar) talepler.add(new RezervasyonTalebi(Integer.parseInt(p.trim()), ad, telefon));
+            } catch (NumberFormatException e) {
+                System.out.println("Geçersiz koltuk numarası.");
+                return;
+            }
+            koltuklar = topluRezerveEt(s, talepler);
+        }
+        if (koltuklar == null) {
+            System.out.println("Grup rezervasyonu başarısız (koltuklardan biri dolu, tekrarlı veya numara hatalı); hiçbir koltuk ayrılmadı.");
+            return;
+        }
+        System.out.printf("✅ %d koltuk rezerve edildi. Toplam: %d TL%n", koltuklar.size(), (long) koltuklar.size() * s.getBiletFiyati());
+        fisleriYazdir(s, koltuklar);
+    }
+
+    private void topluIceAktarCLI() {
+        System.out.print("Dosya yolu (satır biçimi: seferKimlik;koltukNo;yolcuAdi;telefon): ");
+        Path dosya = Paths.get(tarayici.nextLine().trim());
+        if (!Files.isRegularFile(dosya)) {
+            System.out.println("Dosya bulunamadı.");
+            return;
+        }
+        try {
+            System.out.println(topluIceAktar(dosya));
+        } catch (IOException e) {
+            System.out.println("İçe aktarma başarısız: " + e.getMessage());
+        }
+    }
+
+    private void rezervasyonIptalEtCLI() {
+        System.out.print("Rezervasyon ID girin: ");
+        String rezKimlik = tarayici.nextLine().trim();
+        Koltuk k = rezervasyonIptalEt(rezKimlik);
+        if (k == null) {
+            System.out.println("❌ Rezervasyon ID bulunamadı.");
+            return;
+        }
+        System.out.printf("İptal edildi: Sefer %s | Koltuk %d | Yolcu %s%n",
+                k.getSefer().getSeferKimlik(), k.getKoltukNumarasi(), k.getYolcuAdi());
+        System.out.println("✅ Rezervasyon iptal edildi.");
+    }
+
+    private void fisTekrarYazdirCLI() {
+        System.out.print("Rezervasyon ID girin: ");
+        String rezKimlik = tarayici.nextLine().trim();
+        Koltuk k = rezervasyonBul(rezKimlik);
+        if (k == null) {
+            System.out.println("❌ Rezervasyon ID bulunamadı.");
+            return;
+        }
+        fisYazdir(k.getSefer(), k);
+    }
+
+    private void seferAraCLI() {
+        System.out.print("Kalkış yeri: ");
+        String kalkis = tarayici.nextLine().trim();
+        System.out.print("Varış yeri: ");
+        String varis = tarayici.nextLine().trim();
+        LocalDateTime bas, bit;
+        try {
+            System.out.print("En erken kalkış (YYYY-MM-DD HH:mm, boş = şimdi): ");
+            String basStr = tarayici.nextLine().trim();
+            bas = basStr.isEmpty() ? LocalDateTime.now() : LocalDateTime.parse(basStr, tarihFormat);
+            System.out.print("En geç kalkış (YYYY-MM-DD HH:mm, boş = 30 gün sonrası): ");
+            String bitStr = tarayici.nextLine().trim();
+            bit = bitStr.isEmpty() ? bas.plusDays(30) : LocalDateTime.parse(bitStr, tarihFormat);
+        } catch (Exception e) {
+            System.out.println("Tarih formatı hatalı. Örnek: 2025-11-01 13:30");
+            return;
+        }
+        System.out.print("En az boş koltuk (boş = 1): ");
+        int minBos;
+        try {
+            String minStr = tarayici.nextLine().trim();
+            minBos = minStr.isEmpty() ? 1 : Integer.parseInt(minStr);
+        } catch (Exception e) {
+            System.out.println("Geçersiz sayı.");
+            return;
+        }
+
+        System.out.println("--- Arama Sonuçları ---");
+        SeferArama.Imlec imlec = null;
+        boolean bulundu = false;
+        do {
+            SeferArama.Sayfa sayfa = seferAra(kalkis, varis, bas, bit, minBos, imlec, ARAMA_SAYFA_BOYUTU);
+            for (Sefer s : sayfa.getSeferler()) {
+                bulundu = true;
+                System.out.printf("%s | %s | Kalkış: %s | Boş: %d/%d | Fiyat: %d TL%n",
+                        s.getSeferKimlik(), s.getGuzergah(), s.getKalkisZamani().format(guzelTarihFormat),
+                        s.getBosKoltukSayisi(), s.getKapasite(), s.getBiletFiyati());
+            }
+            imlec = sayfa.getSonraki();
+            if (imlec != null) {
+                System.out.print("Devam etmek için Enter, çıkmak için 'q': ");
+                if (tarayici.nextLine().trim().equalsIgnoreCase("q")) break;
+            }
+        } while (imlec != null);
+        if (!bulundu) System.out.println("Uygun sefer bulunamadı.");
+    }
+
+    private void dolulukGosterCLI() {
+        System.out.print("Sefer ID (tüm seferler için boş bırak): ");
+        String kimlik = tarayici.nextLine().trim();
+        System.out.println("--- Doluluk Durumu ve Gelir ---");
+        if (kimlik.isEmpty()) {
+            for (Sefer s : seferler.values()) {
+                System.out.printf("%s | %s → %s | Fiyat: %d TL | Doluluk: %d/%d (%%%.2f) | Tahmini Gelir: %d TL%n",
+                        s.getSeferKimlik(), s.getKalkisYeri(), s.getVarisYeri(), s.getBiletFiyati(),
+                        s.getRezerveSayisi(), s.getKapasite(),
+                        s.getDolulukOrani(),
+                        s.getGelir());
+            }
+            RezervasyonIstatistikleri.Toplam t = istatistikler.getGenel();
+            System.out.printf("TOPLAM | Doluluk: %d/%d (%%%.2f) | Tahmini Gelir: %d TL%n",
+                    t.getRezervasyon(), t.getKapasite(), t.getDolulukOrani(), t.getGelir());
+            return;
+        }
+        Sefer s = seferBul(kimlik);
+        if (s == null) {
+            System.out.println("Sefer bulunamadı.");
+            return;
+        }
+        System.out.printf("Sefer %s | Fiyat: %d TL | Doluluk: %d/%d (%%%.2f) | Tahmini Gelir: %d TL%n",
+                s.getSeferKimlik(), s.getBiletFiyati(),
+                s.getRezerveSayisi(),
+                s.getKapasite(),
+                s.getDolulukOrani(),
+                s.getGelir());
+        System.out.println("Boş koltuklar: " + koltukListesiFormatla(s.getBosKoltukNumaralari()));
+        System.out.println("Dolu koltuklar: " + koltukListesiFormatla(s.getDoluKoltukNumaralari()));
+    }
+
+    private void tumRezervasyonlariListeleCLI() {
+        System.out.print("Dosya (boş = ekrana sayfa sayfa yaz): ");
+        String dosya = tarayici.nextLine().trim();
+        if (dosya.isEmpty()) {
+            konsol.satir("--- Tüm Rezervasyonlar ---");
+            boolean varMi = false;
+            RezervasyonImleci imlec = null;
+            do {
+                RezervasyonSayfasi sayfa = rezervasyonlariListele(imlec, LISTE_SAYFA_BOYUTU);
+                for (Koltuk k : sayfa.getRezervasyonlar()) rezervasyonSatiriYaz(konsol, k);
+                varMi |= !sayfa.getRezervasyonlar().isEmpty();
+                imlec = sayfa.getSonraki();
+            } while (imlec != null && sonrakiSayfa());
+            if (!varMi) konsol.satir("Hiç rezervasyon yok.");
+            konsol.flush();
+            return;
+        }
+        // Dosyaya tüm satırlar sayfa sayfa akıtılır; bellekte en fazla bir sayfa ve yazıcı tamponu tutulur
+        long satirSayisi = 0;
+        try (CiktiYazici c = CiktiYazici.dosya(Paths.get(dosya))) {
+            RezervasyonImleci imlec = null;
+            do {
+                RezervasyonSayfasi sayfa = rezervasyonlariListele(imlec, DOSYA_SAYFA_BOYUTU);
+                for (Koltuk k : sayfa.getRezervasyonlar()) rezervasyonSatiriYaz(c, k);
+                satirSayisi += sayfa.getRezervasyonlar().size();
+                imlec = sayfa.getSonraki();
+            } while (imlec != null);
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Dosya yazılamadı: " + e.getMessage());
+            return;
+        }
+        System.out.println("✅ " + satirSayisi + " rezervasyon yazıldı: " + dosya);
+    }
+
+    private void rezervasyonSatiriYaz(CiktiYazici c, Koltuk k) {
+        c.yaz("Sefer ").yaz(k.getSefer().getSeferKimlik())
+                .yaz(" | Koltuk ").sifirDolgulu(k.getKoltukNumarasi(), 2)
+                .yaz(" | Fiyat: ").sayi(k.getUcret())
+                .yaz(" TL | RezID: ").yaz(k.getRezervasyonKimlik())
+                .yaz(" | Yolcu: ").yaz(k.getYolcuAdi())
+                .yaz(" | Tel: ").yaz(k.getYolcuTelefonu() == null ? "(bilgi yok)" : k.getYolcuTelefonu())
+                .yaz(" | Zaman: ");
+        if (k.getRezervasyonZamani() == null) c.yaz("(bilgi yok)");
+        else c.tarih(k.getRezervasyonZamani());
+        c.satir();
+    }
+
+    private void ozetGosterCLI() {
+        System.out.print("Sefer bazlı detaylar da yazılsın mı? (e/h): ");
+        raporYaz(System.out, tarayici.nextLine().trim().equalsIgnoreCase("e"));
+    }
+
+    /**
+     * Genel, güzergah ve gün bazlı raporu verilen akışa yazar. Toplamlar RezervasyonIstatistikleri'nden
+     * okunur (sefer sayısıyla orantılı iş yoktur); seferler yalnızca seferDetayi istenirse dolaşılır.
+     */
+    void raporYaz(PrintStream cikis, boolean seferDetayi) {
+        long t0 = metrikler.baslangic(RezervasyonMetrikleri.Islem.RAPOR);
+        RezervasyonIstatistikleri.Toplam genel = istatistikler.getGenel();
+        cikis.println("=== RAPOR ===");
+        cikis.println("Toplam Sefer Sayısı: " + genel.getSeferSayisi());
+        cikis.println("Toplam Gelir: " + genel.getGelir() + " TL");
+        cikis.println("Toplam Rezervasyon: " + genel.getRezervasyon());
+        SeferArsivi a = arsiv;
+        if (a.getSeferSayisi() > 0) {
+            cikis.printf("Arşiv (kalkışı geçmiş, toplamlara dahil): %d sefer | %d rezervasyon | %d TL%n",
+                    a.getSeferSayisi(), a.getRezervasyonSayisi(), a.getGelir());
+        }
+        cikis.println("Güzergah Bazlı:");
+        for (Map.Entry<String, RezervasyonIstatistikleri.Toplam> e : istatistikler.getGuzergahBazli().entrySet()) {
+            RezervasyonIstatistikleri.Toplam t = e.getValue();
+            cikis.printf("%s | Sefer: %d | Rezerve: %d/%d | Doluluk: %4.1f%% | Gelir: %d TL%n",
+                    e.getKey(), t.getSeferSayisi(), t.getRezervasyon(), t.getKapasite(), t.getDolulukOrani(), t.getGelir());
+        }
+        cikis.println("Gün Bazlı (kalkış günü):");
+        for (Map.Entry<LocalDate, RezervasyonIstatistikleri.Toplam> e : istatistikler.getGunBazli().entrySet()) {
+            RezervasyonIstatistikleri.Toplam t = e.getValue();
+            cikis.printf("%s | Sefer: %d | Rezerve: %d/%d | Doluluk: %4.1f%% | Gelir: %d TL%n",
+                    e.getKey().format(gunFormat), t.getSeferSayisi(), t.getRezervasyon(), t.getKapasite(), t.getDolulukOrani(), t.getGelir());
+        }
+        if (seferDetayi) {
+            cikis.println("Sefer Bazlı Detaylar:");
+            for (Sefer s : seferler.values()) {
+                cikis.printf("%s | %s → %s | Fiyat: %d TL | Rezerve: %d | Kap: %d | Doluluk: %4.1f%% | Gelir: %d TL%n",
+                        s.getSeferKimlik(), s.getKalkisYeri(), s.getVarisYeri(), s.getBiletFiyati(),
+                        s.getRezerveSayisi(), s.getKapasite(),
+                        s.getDolulukOrani(),
+                        s.getGelir());
+            }
+        }
+        metrikler.basarili(RezervasyonMetrikleri.Islem.RAPOR, t0);
+    }
+
+    private void yolcuAraCLI() {
+        System.out.print("Telefon ya da ad (ad için önek de olabilir): ");
+        String giris = tarayici.nextLine().trim();
+        if (giris.isEmpty()) {
+            System.out.println("Arama metni boş.");
+            return;
+        }
+        // Rakamla ya da + ile başlayan giriş telefon sayılır
+        boolean telefon = giris.charAt(0) == '+' || Character.isDigit(giris.charAt(0));
+        List<Koltuk> sonuc = telefon ? yolcuTelefonla(giris) : yolcuAdla(giris, YOLCU_ARAMA_LIMITI);
+        if (sonuc.isEmpty()) {
+            System.out.println("Eşleşen rezervasyon yok.");
+            return;
+        }
+        System.out.println("--- Yolcu Rezervasyonları ---");
+        for (Koltuk k : sonuc) {
+            Sefer s = k.getSefer();
+            System.out.printf("%s | Tel: %s | Sefer %s | %s | Kalkış: %s | Koltuk %02d | RezID: %s%n",
+                    k.getYolcuAdi(), k.getYolcuTelefonu() == null ? "(bilgi yok)" : k.getYolcuTelefonu(),
+                    s.getSeferKimlik(), s.getGuzergah(), s.getKalkisZamani().format(guzelTarihFormat),
+                    k.getKoltukNumarasi(), k.getRezervasyonKimlik());
+        }
+        if (!telefon && sonuc.size() == YOLCU_ARAMA_LIMITI) System.out.println("(İlk " + YOLCU_ARAMA_LIMITI + " sonuç gösterildi.)");
+    }
+
+    private void analizCLI() {
+        System.out.print("Gruplama (guzergah, gun, saat; boş = guzergah): ");
+        String secim = tarayici.nextLine().trim();
+        AnalizMotoru.Gruplama g = secim.isEmpty() ? AnalizMotoru.Gruplama.GUZERGAH : AnalizMotoru.Gruplama.bul(secim);
+        if (g == null) {
+            System.out.println("Geçersiz gruplama.");
+            return;
+        }
+        System.out.print("CSV dosyası (boş = ekrana yaz): ");
+        String dosya = tarayici.nextLine().trim();
+        AnalizMotoru.Rapor rapor = analiz(g);
+        try {
+            if (dosya.isEmpty()) {
+                rapor.csvYaz(System.out);
+            } else {
+                try (Writer w = Files.newBufferedWriter(Paths.get(dosya))) {
+                    rapor.csvYaz(w);
+                }
+                System.out.println("✅ " + rapor.getSatirlar().size() + " satır yazıldı: " + dosya);
+            }
+        } catch (IOException e) {
+            System.out.println("CSV yazılamadı: " + e.getMessage());
+            return;
+        }
+        AnalizMotoru.Satir t = rapor.getGenel();
+        System.out.printf("TOPLAM | Sefer: %d | Rezerve: %d/%d | Doluluk: %4.1f%% | Gelir: %d TL%n",
+                t.getSeferSayisi(), t.getRezervasyon(), t.getKapasite(), t.getDolulukOrani(), t.getGelir());
+    }
+
+    private void metrikleriGosterCLI() {
+        System.out.println("--- Performans Metrikleri (Prometheus metin biçimi) ---");
+        System.out.print(metrikler.metinDokumu());
+    }
+
+    /* ---------- Kalıcılık ---------- */
+
+    /**
+     * Sefer arşivini açar, son anlık görüntüyü yükler, ardından yalnızca sonrasındaki günlük bölümlerini
+     * yeniden oynatır ve bundan sonraki tüm olayları günlüğe yazmaya başlar. Anlık görüntü periyodik olarak yenilenir.
+     * Herhangi bir veri yüklendiyse true döner.
+     */
+    public boolean kaliciligiBaslat(Path dizin) throws IOException {
+        if (gunluk != null) throw new IllegalStateException("Kalıcılık zaten başlatıldı.");
+        // Arşiv önce açılır: arşivlenmiş seferlerin günlükte kalan olayları yeniden canlandırılmaz
+        arsiv = new SeferArsivi(dizin.resolve("arsiv"));
+        for (SeferArsivi.ArsivSeferi a : arsiv.seferler()) {
+            // Bellek eşlemeli envanter arşivlenmiş seferleri de yeniden yükler; canlı kümeden ve toplamlardan
+            // çıkarılırlar, toplamlara arşivdeki halleriyle bir kez girerler
+            Sefer canli = seferler.get(a.getSeferKimlik());
+            if (canli != null) {
+                List<Koltuk> rezerve = canli.muhurle(); // açılışta yayımlanmamış rezervasyon yoktur
+                if (rezerve == null) rezerve = canli.getRezerveKoltuklar();
+                canliKumedenCikar(canli, rezerve);
+                istatistikler.seferCikar(canli, rezerve);
+            }
+            istatistikler.arsivSeferiEkle(a);
+        }
+        synchronized (seferEklemeKilidi) {
+            sonSira = Math.max(sonSira, arsiv.getEnBuyukSira()); // arşivdeki sıralar yeni seferlere verilmez
+        }
+        GeriYukleyici geriYukleyici = new GeriYukleyici();
+        long ilkBolum = AnlikGoruntu.oku(dizin, geriYukleyici);
+        long sonBolum = RezervasyonGunlugu.bolumleriOku(dizin, ilkBolum, geriYukleyici);
+
+        // Yarım kalmış olabilecek son bölüme eklenmez; her açılış yeni bir bölümle başlar
+        this.veriDizini = dizin;
+        this.gunluk = new RezervasyonGunlugu(dizin, Math.max(ilkBolum, sonBolum + 1));
+        olaylar.ekle(gunluk);
+
+        anlikGoruntuZamanlayici = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "anlik-goruntu");
+            t.setDaemon(true);
+            return t;
+        });
+        anlikGoruntuZamanlayici.scheduleWithFixedDelay(() -> {
+            try {
+                anlikGoruntuAl();
+            } catch (IOException e) {
+                System.err.println("Anlık görüntü alınamadı: " + e.getMessage());
+            }
+        }, ANLIK_GORUNTU_ARALIGI_SN, ANLIK_GORUNTU_ARALIGI_SN, TimeUnit.SECONDS);
+        return !seferler.isEmpty();
+    }
+
+    /**
+     * Yeni bir günlük bölümüne geçip o ana kadarki durumu anlık görüntü olarak yazar ve kapanan bölümden
+     * eski bölümleri siler.
+     * Görüntü alınırken rezervasyonlar durdurulmaz; görüntüye girip girmediği belirsiz olan olaylar kapanan
+     * ya da yeni bölümde bulunduğundan geri yüklemede tekrar uygulanır (uygulama idempotenttir).
+     */
+    public synchronized void anlikGoruntuAl() throws IOException {
+        if (gunluk == null) return;
+        long bolum = gunluk.yeniBolumeGec();
+        // Kapanan bölüm de korunur ve görüntüden sonra yeniden oynatılır: rezervasyonlar yayımlanmadan önce
+        // günlüğe girdiğinden, o bölümdeki bir rezervasyon görüntü alınırken henüz bellekte görünmüyor olabilir
+        AnlikGoruntu.yaz(veriDizini, bolum - 1, seferler.values());
+        gunluk.eskiBolumleriSil(bolum - 1);
+    }
+
+    /** Kalıcı modda günlük yazılamaz duruma geçtiyse rezervasyon değiştiren işlemleri reddeder */
+    private void gunlukDenetle() {
+        RezervasyonGunlugu g = gunluk;
+        if (g != null) g.denetle();
+    }
+
+    /**
+     * Kalıcı modda, o ana kadar günlüğe bırakılan olaylar (çağıranınki dahil) fsync edilene kadar bekler;
+     * rezervasyon ve iptaller ancak bundan sonra başarılı döner. Günlük yazılamazsa UncheckedIOException.
+     */
+    void gunlugeYazilmasiniBekle() {
+        RezervasyonGunlugu g = gunluk;
+        if (g != null) g.kaliciOlmasiniBekle();
+    }
+
+    /**
+     * Koltuk envanterini dizindeki bellek eşlemeli dosyalarda tutmaya başlar. Dosyalarda kayıtlı seferler
+     * seri durumdan çözme (deserialization) olmadan doğrudan eşlenerek sisteme eklenir; bundan sonra
+     * oluşturulan seferler de envantere yazılır. Herhangi bir sefer yüklendiyse true döner.
+     */
+    public boolean envanteriAc(Path dizin) throws IOException {
+        if (envanter != null) throw new IllegalStateException("Envanter zaten açık.");
+        envanter = new EslenmisEnvanter(dizin);
+        List<Sefer> yuklenen = envanter.seferleriYukle();
+        for (Sefer s : yuklenen) seferEkle(s);
+        return !yuklenen.isEmpty();
+    }
+
+    /**
+     * Kalkışı geçmiş seferleri arka planda periyodik olarak arşive taşır (ilk tarama hemen yapılır).
+     * Kalkıştan en az gecikme kadar süre geçmiş seferler arşivlenir.
+     */
+    public void arsivlemeyiBaslat(Duration aralik, Duration gecikme) {
+        if (arsivZamanlayici != null) throw new IllegalStateException("Arşivleme zaten başlatıldı.");
+        arsivZamanlayici = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sefer-arsivi");
+            t.setDaemon(true);
+            return t;
+        });
+        arsivZamanlayici.scheduleWithFixedDelay(() -> {
+            try {
+                seferleriArsivle(LocalDateTime.now().minus(gecikme));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Seferler arşivlenemedi: " + e);
+            }
+        }, 0, aralik.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Kalkışı sinir'den önce olan seferleri arşive yazar ve canlı kümeden çıkarır; arşivlenen sefer
+     * sayısını döner. Seferler önce mühürlenip arşive (kalıcı modda diske) yazılır, sonra sefer ve sıra
+     * dizinlerinden kaldırılır; böylece bir rezervasyon hiçbir an ne canlı kümede ne arşivde bulunmaz
+     * durumda kalmaz. Gelir ve rezervasyon toplamları geçmiş için korunur. Mühürlenemeyen (yayımlanmamış
+     * rezervasyonu süren) seferler canlı kalır ve sonraki çağrıda yeniden denenir.
+     */
+    public synchronized int seferleriArsivle(LocalDateTime sinir) throws IOException {
+        List<Sefer> gidenler = seferArama.kalkisiGecenler(sinir);
+        if (gidenler.isEmpty()) return 0;
+        List<List<Koltuk>> rezervasyonlar = arsiv.ekle(gidenler);
+        int arsivlenen = 0;
+        for (int i = 0; i < gidenler.size(); i++) {
+            Sefer s = gidenler.get(i);
+            if (rezervasyonlar.get(i) == null) continue;
+            arsivlenen++;
+            canliKumedenCikar(s, rezervasyonlar.get(i));
+        }
+        return arsivlenen;
+    }
+
+    /** Mühürlenmiş seferi canlı kümeden ve sıra dizininden çıkarır; dinleyiciler seferi bırakır */
+    private void canliKumedenCikar(Sefer s, List<Koltuk> rezerveKoltuklar) {
+        synchronized (seferEklemeKilidi) {
+            seferler.remove(s.getSeferKimlik(), s);
+            AtomicReferenceArray<Sefer> indeks = siraIndeksi;
+            if (s.getSira() < indeks.length()) indeks.compareAndSet(s.getSira(), s, null);
+        }
+        olaylar.seferKaldirildi(s, rezerveKoltuklar);
+    }
+
+    /**
+     * Kalıcı moddaysa son anlık görüntüyü alır ve günlüğü kapatır; envanter açıksa diske yazar.
+     */
+    public void kapat() throws IOException {
+        if (arsivZamanlayici != null) {
+            arsivZamanlayici.shutdown();
+            try {
+                arsivZamanlayici.awaitTermination(30, TimeUnit.SECONDS); // süren arşivleme yarıda kesilmez
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        tutmaCarki.close();
+        yolcuDizini.close();
+        if (gunluk != null) {
+            anlikGoruntuZamanlayici.shutdownNow();
+            anlikGoruntuAl();
+            gunluk.close();
+        }
+        if (envanter != null) envanter.close();
+        arsiv.close();
+    }
+
+    /** Anlık görüntü ve günlük kayıtlarını idempotent biçimde sisteme uygular */
+    private class GeriYukleyici implements RezervasyonGunlugu.Uygulayici {
+        @Override
+        public void seferOlusturuldu(String seferKimlik, String kalkisYeri, String varisYeri, LocalDateTime kalkisZamani,
+                                     int kapasite, int biletFiyati, int sira, List<String> araDuraklar) {
+            if (seferler.containsKey(seferKimlik) || arsiv.iceriyor(seferKimlik)) return;
+            try {
+                Sefer s = seferOlustur(seferKimlik, durakListesi(kalkisYeri, araDuraklar, varisYeri),
+                        kalkisZamani, kapasite, biletFiyati);
+                if (sira > 0) s.siraAta(sira);
+                seferEkle(s);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void koltukRezerveEdildi(String seferKimlik, int koltukNumarasi, String yolcuAdi, String yolcuTelefonu,
+                                        LocalDateTime rezervasyonZamani, String rezervasyonKimlik, int binis, int inis) {
+            Sefer s = seferler.get(seferKimlik);
+            if (s == null) return;
+            if (inis != 0) s.bacakGeriYukle(koltukNumarasi, binis, inis, yolcuAdi, yolcuTelefonu, rezervasyonZamani, rezervasyonKimlik);
+            else s.koltukGeriYukle(koltukNumarasi, yolcuAdi, yolcuTelefonu, rezervasyonZamani, rezervasyonKimlik);
+        }
+
+        @Override
+        public void rezervasyonIptalEdildi(String seferKimlik, int koltukNumarasi, String rezervasyonKimlik) {
+            Sefer s = seferler.get(seferKimlik);
+            if (s == null) return;
+            Koltuk k = s.rezervasyonKaydi(koltukNumarasi);
+            if (k == null || !RezervasyonKimligi.ayni(rezervasyonKimlik, k.getRezervasyonKimlik())) k = s.bacakKaydi(rezervasyonKimlik);
+            if (k != null) k.iptalEt();
+        }
+    }
+
+    /* ---------- Yardımcı metotlar ---------- */
+
+    /**
+     * Envanter açıksa seferi bellek eşlemeli depoda, değilse yığında oluşturur (henüz sisteme eklemez).
+     */
+    private Sefer seferOlustur(String kimlik, String kalkis, String varis, LocalDateTime zaman, int kapasite, int fiyat)
+            throws IOException {
+        if (envanter != null) return envanter.seferOlustur(kimlik, kalkis, varis, zaman, kapasite, fiyat);
+        return new Sefer(kimlik, kalkis, varis, zaman, kapasite, fiyat);
+    }
+
+    /**
+     * Ara duraklı sefer her zaman yığında oluşturulur: bellek eşlemeli envanter bacak maskelerini
+     * taşımaz, bu seferler günlük ve anlık görüntüyle kalıcıdır.
+     */
+    private Sefer seferOlustur(String kimlik, List<String> duraklar, LocalDateTime zaman, int kapasite, int fiyat)
+            throws IOException {
+        if (duraklar.size() == 2) return seferOlustur(kimlik, duraklar.get(0), duraklar.get(1), zaman, kapasite, fiyat);
+        return new Sefer(kimlik, duraklar, zaman, kapasite, fiyat);
+    }
+
+    private static List<String> durakListesi(String kalkis, List<String> araDuraklar, String varis) {
+        List<String> duraklar = new ArrayList<>(araDuraklar.size() + 2);
+        duraklar.add(kalkis);
+        duraklar.addAll(araDuraklar);
+        duraklar.add(varis);
+        return duraklar;
+    }
+
+    /**
+     * Seferi sisteme ekler ve rezervasyon dizinine bağlar; aynı kimlikte sefer varsa false döner.
+     * Sırası olmayan sefere yeni sıra atanır; sefer, sıra indeksine görünür olmadan önce yazılır ki
+     * üzerinde yapılan ilk rezervasyonun kimliği de hemen çözülebilsin.
+     */
+    private boolean seferEkle(Sefer s) {
+        synchronized (seferEklemeKilidi) {
+            if (seferler.containsKey(s.getSeferKimlik())) return false;
+            if (s.getSira() == 0) s.siraAta(sonSira + 1);
+            sonSira = Math.max(sonSira, s.getSira());
+            AtomicReferenceArray<Sefer> indeks = siraIndeksi;
+            if (s.getSira() >= indeks.length()) {
+                AtomicReferenceArray<Sefer> yeni = new AtomicReferenceArray<>(Math.max(indeks.length() * 2, s.getSira() + 1));
+                for (int i = 0; i < indeks.length(); i++) yeni.set(i, indeks.get(i));
+                siraIndeksi = indeks = yeni;
+            }
+            indeks.set(s.getSira(), s);
+            s.tutmaCarkiBagla(tutmaCarki);
+            s.dizinBagla(rezervasyonDizini);
+            seferler.put(s.getSeferKimlik(), s);
+        }
+        s.dinleyiciBagla(olaylar);
+        return true;
+    }
+
+    private String kisaRezKimlik(String rezKimlik) {
+        if (rezKimlik == null) return "(yok)";
+        // Kompakt kimliklerin başı zaman damgasıdır, kısaltılırsa ayırt edilemez; tamamı zaten kısa
+        if (rezKimlik.length() <= 8 || RezervasyonKimligi.coz(rezKimlik) != -1) return rezKimlik;
+        return rezKimlik.substring(0, 8);
+    }
+
+    private String koltukListesiFormatla(int[] koltukNumaralari) {
+        if (koltukNumaralari.length == 0) return "(yok)";
+        StringBuilder sb = new StringBuilder();
+        for (int no : koltukNumaralari) {
+            sb.append(no).append(", ");
+        }
+        if (sb.length() >= 2) sb.setLength(sb.length() - 2);
+        return sb.toString();
+    }
+
+    /**
+     * Konsola bilet fişi yazar (zengin, okunaklı format).
+     */
+    private void fisYazdir(Sefer s, Koltuk k) {
+        fisYaz(konsol, s, k);
+        konsol.flush();
+    }
+
+    /**
+     * Toplu rezervasyonun fişlerini tek tamponda art arda yazar; konsola satır satır değil, tampon doldukça aktarılır.
+     */
+    private void fisleriYazdir(Sefer s, List<Koltuk> koltuklar) {
+        for (Koltuk k : koltuklar) fisYaz(konsol, s, k);
+        konsol.flush();
+    }
+
+    /**
+     * Bilet fişini verilen yazıcıya ekler (boşaltmaz).
+     */
+    void fisYaz(CiktiYazici c, Sefer s, Koltuk k) {
+        c.satir().satir("=====================================");
+        c.satir("           BİLET FİŞİ / TICKET       ");
+        c.satir("=====================================");
+        c.yaz("Rezervasyon ID : ").satir(k.getRezervasyonKimlik());
+        c.yaz("Yolcu          : ").satir(k.getYolcuAdi());
+        c.yaz("Telefon        : ").satir(k.getYolcuTelefonu() == null ? "(yok)" : k.getYolcuTelefonu());
+        c.yaz("Sefer ID       : ").satir(s.getSeferKimlik());
+        c.yaz("Güzergah       : ").yaz(s.getDurak(k.getBinisDuragi())).yaz(" → ").satir(s.getDurak(k.getInisDuragi()));
+        c.yaz("Kalkış         : ").tarih(s.getKalkisZamani()).satir();
+        c.yaz("Koltuk No      : ").sifirDolgulu(k.getKoltukNumarasi(), 2).satir();
+        c.yaz("Bilet Fiyatı   : ").sayi(k.getUcret()).satir(" TL");
+        c.yaz("Rezervasyon Zamanı: ");
+        if (k.getRezervasyonZamani() == null) c.yaz("(bilgi yok)");
+        else c.tarih(k.getRezervasyonZamani());
+        c.satir();
+        c.satir("-------------------------------------");
+        c.satir("NOT: Rezervasyon ID'nizi saklayınız. İptal için bu ID gereklidir.");
+        c.satir("=====================================").satir();
+    }
+
+    /**
+     * Toplam geliri döner (tüm seferler). Artımlı istatistiklerden O(1) okunur.
+     */
+    private long toplamGeliriHesapla() {
+        return istatistikler.getToplamGelir();
+    }
+
+    /**
+     * Toplam rezerve koltuk sayısını döner. Artımlı istatistiklerden O(1) okunur.
+     */
+    private long toplamRezervasyonlariHesapla() {
+        return istatistikler.getToplamRezervasyon();
+    }
+
+    /* ---------- Örnek/seed verisi oluşturma ---------- */
+
+    public void ornekVerileriYukle() throws IOException {
+        // Otobüs kapasitesi 10 olarak sabitlendi.
+        final int KAPASITE = 10;
+
+        // 1) Seferleri oluştur (kapasite 10, her birinin fiyatı farklı)
+        Sefer s1 = seferOlustur("SFR1001", "İstanbul", "Ankara",
+                LocalDateTime.now().plusDays(2).withHour(9).withMinute(0), KAPASITE, 550);
+
+        Sefer s2 = seferOlustur("SFR1002", "İzmir", "Bursa",
+                LocalDateTime.now().plusDays(1).withHour(14).withMinute(0), KAPASITE, 450);
+
+        Sefer s3 = seferOlustur("SFR1003", "Antalya", "Konya",
+                LocalDateTime.now().plusDays(3).withHour(10).withMinute(30), KAPASITE, 380);
+
+        Sefer s4 = seferOlustur("SFR1004", "Kırklareli", "İstanbul",
+                LocalDateTime.now().plusDays(1).withHour(8).withMinute(15), KAPASITE, 290);
+
+        Sefer s5 = seferOlustur("SFR1005", "Trabzon", "Samsun",
+                LocalDateTime.now().plusDays(2).withHour(7).withMinute(45), KAPASITE, 420);
+
+        // Map'e ekle
+        seferEkle(s1);
+        seferEkle(s2);
+        seferEkle(s3);
+        seferEkle(s4);
+        seferEkle(s5);
+
+        // 2) Yolcular (10 kişi)
+        String[] yolcular = {
+                "Ali Yılmaz", "Zeynep Demir", "Ahmet Kaya", "Ece Yalçın", "Mehmet Aksoy",
+                "Furkan Çelik", "Selin Öztürk", "Caner Yücel", "Deniz Şahin", "Gizem Kılıç"
+        };
+        String[] telefonlar = {
+                "05330001111", "05330002222", "05330003333", "05330004444", "05330005555",
+                "05330006666", "05330007777", "05330008888", "05330009999", "05330000000"
+        };
+
+        // 3) Rezervasyonlar: Toplam 10 rezervasyon (her yolcuya bir koltuk)
+        // Sefer 1 (İstanbul-Ankara): 3 kişi rezerve
+        Koltuk r1_1 = s1.koltukRezerveEt(1, yolcular[0], telefonlar[0]); if (r1_1 != null) fisYazdir(s1, r1_1);
+        Koltuk r1_2 = s1.koltukRezerveEt(2, yolcular[1], telefonlar[1]); if (r1_2 != null) fisYazdir(s1, r1_2);
+        Koltuk r1_3 = s1.koltukRezerveEt(3, yolcular[2], telefonlar[2]); if (r1_3 != null) fisYazdir(s1, r1_3);
+
+        // Sefer 2 (İzmir-Bursa): 2 kişi rezerve
+        Koltuk r2_1 = s2.koltukRezerveEt(5, yolcular[3], telefonlar[3]); if (r2_1 != null) fisYazdir(s2, r2_1);
+        Koltuk r2_2 = s2.koltukRezerveEt(6, yolcular[4], telefonlar[4]); if (r2_2 != null) fisYazdir(s2, r2_2);
+
+        // Sefer 3 (Antalya-Konya): 2 kişi rezerve
+        Koltuk r3_1 = s3.koltukRezerveEt(1, yolcular[5], telefonlar[5]); if (r3_1 != null) fisYazdir(s3, r3_1);
+        Koltuk r3_2 = s3.koltukRezerveEt(2, yolcular[6], telefonlar[6]); if (r3_2 != null) fisYazdir(s3, r3_2);
+
+        // Sefer 4 (Kırklareli-İstanbul): 2 kişi rezerve
+        Koltuk r4_1 = s4.koltukRezerveEt(3, yolcular[7], telefonlar[7]); if (r4_1 != null) fisYazdir(s4, r4_1);
+        Koltuk r4_2 = s4.koltukRezerveEt(4, yolcular[8], telefonlar[8]); if (r4_2 != null) fisYazdir(s4, r4_2);
+
+        // Sefer 5 (Trabzon-Samsun): 1 kişi rezerve
+        Koltuk r5_1 = s5.koltukRezerveEt(10, yolcular[9], telefonlar[9]); if (r5_1 != null) fisYazdir(s5, r5_1);
+
+        // 4) Başlangıç raporu: toplam sefer sayısı, sefer bazlı doluluk ve gelir
+        System.out.println("\n----------------- Başlangıç (Örnek Veri) Raporu -----------------");
+        System.out.println("Toplam sefer sayısı: " + seferler.size());
+        System.out.println("Toplam yolcu sayısı (örnek veri): " + toplamRezervasyonlariHesapla());
+
+        long toplamGelir = toplamGeliriHesapla();
+        System.out.println("Toplam gelir (örnek veri): " + toplamGelir + " TL");
+        System.out.println("Sefer detayları:");
+        for (Sefer s : seferler.values()) {
+            System.out.printf("%s | %s → %s | Fiyat: %d TL | Rezerve: %d | Kap: %d | Doluluk: %4.1f%% | Gelir: %d TL%n",
+                    s.getSeferKimlik(), s.getKalkisYeri(), s.getVarisYeri(), s.getBiletFiyati(),
+                    s.getRezerveSayisi(), s.getKapasite(),
+                    s.getDolulukOrani(),
+                    s.getGelir());
+        }
+        System.out.println("-------------------------------------------------------------------\n");
+    }
+}
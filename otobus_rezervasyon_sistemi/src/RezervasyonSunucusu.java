@@ -0,0 +1,703 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rezervasyon sisteminin HTTP arayüzü; JDK'nın yerleşik sunucusunu (com.sun.net.httpserver) kullanır.
+ *
+ *   GET    /seferler                          tüm seferler; kalkis ve varis verilirse arama
+ *                                             (baslangic, bitis, minBos, limit, imlec)
+ *   GET    /seferler/{id}                     sefer bilgisi ve dolu koltuklar; kalkışı geçip arşivlenmiş
+ *                                             seferler de okunur (arsivlendi: true), değiştirilemez (409)
+ *   GET    /seferler/{id}/koltuklar           koltuk haritası (dolu / boş numaralar); adet verilirse
+ *                                             koltuk önerisi (secim: ilk, bitisik, eniyi; tercih); binis
+ *                                             ve/veya inis (durak adı ya da indeksi) verilirse o bölüm için
+ *   GET    /seferler/{id}/bacaklar            ara duraklı seferde bacak başına doluluk ve gelir
+ *   POST   /seferler/{id}/rezervasyonlar      koltuk=3 (ya da 3,4,5), ad, telefon (form gövdesi); koltuk
+ *                                             yerine adet (secim, tercih) ile otomatik atama; binis/inis
+ *                                             verilirse tek koltuk o bölüm için (koltuk yoksa seçilir)
+ *   POST   /seferler/{id}/tutmalar            koltuk=3; koltuğu tutma süresi kadar geçici tutar
+ *   GET    /rezervasyonlar/{rezId}            rezervasyon (bilet) bilgisi
+ *   DELETE /rezervasyonlar/{rezId}            iptal
+ *   GET    /tutmalar/{tutmaId}                tutma bilgisi ve kalan süre
+ *   POST   /tutmalar/{tutmaId}/onay           ad, telefon; tutmayı rezervasyona çevirir
+ *   DELETE /tutmalar/{tutmaId}                tutmayı bırakır
+ *   GET    /yolcular                          telefon (tam eşleşme) ya da ad (önek, limit) ile yolcunun canlı
+ *                                             rezervasyonları
+ *   GET    /rapor                             genel, güzergah ve gün bazlı toplamlar; arşiv özeti
+ *   GET    /metrikler                         gecikme ve sonuç metrikleri (Prometheus metin biçimi)
+ *   GET    /analiz                            grup (guzergah, gun, saat) bazlı gelir ve doluluk; bicim=csv
+ *                                             verilirse CSV olarak akış halinde yazılır
+ *
+ * /metrikler ve CSV analiz dışındaki yanıtlar JSON'dur; hatalar {"hata": "..."} gövdesi ve uygun durum koduyla (400/404/405/409) döner.
+ * Her istek kendi sanal iş parçacığında işlenir (Java 21+); sanal iş parçacığı olmayan JVM'lerde sabit
+ * boyutlu bir havuza düşülür. İşleyiciler kilit beklemediği için havuz da binlerce istemciyi kaldırır.
+ * Sunucu varsayılan olarak yalnızca loopback adresine bağlanır.
+ */
+final class RezervasyonSunucusu implements AutoCloseable {
+    private static final int BEKLEME_KUYRUGU = 1024;
+    private static final int VARSAYILAN_LIMIT = 50;
+    private static final int GOVDE_SINIRI = 64 * 1024;
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String PROMETHEUS_METIN = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String CSV = "text/csv; charset=utf-8";
+
+    private final RezervasyonSistemi sistem;
+    private final HttpServer sunucu;
+    private final ExecutorService yurutucu;
+
+    RezervasyonSunucusu(RezervasyonSistemi sistem, InetSocketAddress adres) throws IOException {
+        this.sistem = sistem;
+        this.yurutucu = yurutucuOlustur();
+        this.sunucu = HttpServer.create(adres, BEKLEME_KUYRUGU);
+        this.sunucu.createContext("/", this::isle);
+        this.sunucu.setExecutor(yurutucu);
+    }
+
+    /** Yalnızca loopback adresinde dinleyen sunucu; port 0 ise boş bir port seçilir */
+    static RezervasyonSunucusu yerel(RezervasyonSistemi sistem, int port) throws IOException {
+        return new RezervasyonSunucusu(sistem, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    void baslat() { sunucu.start(); }
+
+    int getPort() { return sunucu.getAddress().getPort(); }
+
+    @Override
+    public void close() {
+        sunucu.stop(1);
+        yurutucu.shutdown();
+    }
+
+    private static ExecutorService yurutucuOlustur() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger sayac = new AtomicInteger();
+            int boyut = Math.max(64, Runtime.getRuntime().availableProcessors() * 16);
+            return Executors.newFixedThreadPool(boyut, r -> {
+                Thread t = new Thread(r, "rezervasyon-http-" + sayac.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    /* ---------- Yönlendirme ---------- */
+
+    /** İstemciye dönülecek hata; durum kodunu taşır */
+    private static final class IstekHatasi extends Exception {
+        private static final long serialVersionUID = 1L;
+        final int durum;
+
+        IstekHatasi(int durum, String mesaj) {
+            super(mesaj, null, false, false);
+            this.durum = durum;
+        }
+    }
+
+    private void isle(HttpExchange ex) throws IOException {
+        try {
+            int durum = 200;
+            String yanit;
+            String icerikTuru = JSON;
+            try {
+                String[] yol = yolParcalari(ex.getRequestURI().getRawPath());
+                String yontem = ex.getRequestMethod();
+                if (yol.length >= 1 && yol[0].equals("seferler")) {
+                    if (yol.length == 1) {
+                        yontemBekle(yontem, "GET");
+                        yanit = seferleriListele(sorguParametreleri(ex.getRequestURI().getRawQuery()));
+                    } else {
+                        Sefer s = sistem.seferBul(yol[1]);
+                        boolean arsivli = false;
+                        if (s == null) {
+                            s = sistem.getArsiv().seferAc(yol[1]);
+                            if (s == null) throw new IstekHatasi(404, "Sefer bulunamadı.");
+                            arsivli = true;
+                            if (!yontem.equals("GET")) throw new IstekHatasi(409, "Sefer kalkmış ve arşivlenmiş.");
+                        }
+                        if (yol.length == 2) {
+                            yontemBekle(yontem, "GET");
+                            yanit = seferDetay(s, arsivli);
+                        } else if (yol.length == 3 && yol[2].equals("koltuklar")) {
+                            yontemBekle(yontem, "GET");
+                            yanit = koltukHaritasi(s, sorguParametreleri(ex.getRequestURI().getRawQuery()));
+                        } else if (yol.length == 3 && yol[2].equals("bacaklar")) {
+                            yontemBekle(yontem, "GET");
+                            yanit = bacaklarJson(s);
+                        } else if (yol.length == 3 && yol[2].equals("rezervasyonlar")) {
+                            yontemBekle(yontem, "POST");
+                            yanit = rezervasyonYap(s, sorguParametreleri(govdeOku(ex)));
+                            durum = 201;
+                        } else if (yol.length == 3 && yol[2].equals("tutmalar")) {
+                            yontemBekle(yontem, "POST");
+                            yanit = koltukTut(s, sorguParametreleri(govdeOku(ex)));
+                            durum = 201;
+                        } else {
+                            throw new IstekHatasi(404, "Kaynak bulunamadı.");
+                        }
+                    }
+                } else if (yol.length == 2 && yol[0].equals("rezervasyonlar")) {
+                    if (yontem.equals("DELETE")) {
+                        Koltuk k = sistem.rezervasyonIptalEt(yol[1]);
+                        if (k == null) throw new IstekHatasi(404, "Rezervasyon ID bulunamadı.");
+                        yanit = rezervasyonJson(new StringBuilder(), k).toString();
+                    } else {
+                        yontemBekle(yontem, "GET");
+                        Koltuk k = sistem.rezervasyonBul(yol[1]);
+                        if (k == null) throw new IstekHatasi(404, "Rezervasyon ID bulunamadı.");
+                        yanit = rezervasyonJson(new StringBuilder(), k).toString();
+                    }
+                } else if (yol.length == 2 && yol[0].equals("tutmalar")) {
+                    if (yontem.equals("DELETE")) {
+                        Koltuk k = sistem.tutmaBirak(yol[1]);
+                        if (k == null) throw new IstekHatasi(404, "Tutma bulunamadı veya süresi doldu.");
+                        yanit = tutmaJson(new StringBuilder(), k).toString();
+                    } else {
+                        yontemBekle(yontem, "GET");
+                        Koltuk k = sistem.tutmaBul(yol[1]);
+                        if (k == null) throw new IstekHatasi(404, "Tutma bulunamadı veya süresi doldu.");
+                        yanit = tutmaJson(new StringBuilder(), k).toString();
+                    }
+                } else if (yol.length == 3 && yol[0].equals("tutmalar") && yol[2].equals("onay")) {
+                    yontemBekle(yontem, "POST");
+                    yanit = tutmaOnayla(yol[1], sorguParametreleri(govdeOku(ex)));
+                    durum = 201;
+                } else if (yol.length == 1 && yol[0].equals("yolcular")) {
+                    yontemBekle(yontem, "GET");
+                    yanit = yolcuAra(sorguParametreleri(ex.getRequestURI().getRawQuery()));
+                } else if (yol.length == 1 && yol[0].equals("rapor")) {
+                    yontemBekle(yontem, "GET");
+                    yanit = rapor();
+                } else if (yol.length == 1 && yol[0].equals("analiz")) {
+                    yontemBekle(yontem, "GET");
+                    Map<String, String> p = sorguParametreleri(ex.getRequestURI().getRawQuery());
+                    AnalizMotoru.Rapor r = sistem.analiz(gruplama(p));
+                    if (p.getOrDefault("bicim", "json").equals("csv")) {
+                        csvGonder(ex, r);
+                        return;
+                    }
+                    yanit = analizJson(r);
+                } else if (yol.length == 1 && yol[0].equals("metrikler")) {
+                    yontemBekle(yontem, "GET");
+                    yanit = sistem.getMetrikler().metinDokumu();
+                    icerikTuru = PROMETHEUS_METIN;
+                } else {
+                    throw new IstekHatasi(404, "Kaynak bulunamadı.");
+                }
+            } catch (IstekHatasi e) {
+                durum = e.durum;
+                yanit = hataJson(e.getMessage());
+                icerikTuru = JSON;
+            } catch (IllegalArgumentException e) { // ör. envanter alanına sığmayan yolcu adı
+                durum = 400;
+                yanit = hataJson(e.getMessage());
+                icerikTuru = JSON;
+            } catch (RuntimeException e) {
+                // Ayrıntı yalnızca sunucu tarafında; istemci iç durum (sınıf adı, mesaj) görmez
+                System.err.println("İstek işlenemedi: " + ex.getRequestMethod() + " " + ex.getRequestURI());
+                e.printStackTrace();
+                durum = 500;
+                yanit = hataJson("Sunucu hatası.");
+                icerikTuru = JSON;
+            }
+            yanitGonder(ex, durum, icerikTuru, yanit);
+        } finally {
+            ex.close();
+        }
+    }
+
+    private static void yontemBekle(String yontem, String beklenen) throws IstekHatasi {
+        if (!yontem.equals(beklenen)) throw new IstekHatasi(405, "Desteklenmeyen yöntem; beklenen: " + beklenen);
+    }
+
+    /* ---------- İşlemler ---------- */
+
+    private String seferleriListele(Map<String, String> p) throws IstekHatasi {
+        int limit = tamSayi(p, "limit", VARSAYILAN_LIMIT);
+        if (limit <= 0) throw new IstekHatasi(400, "limit pozitif olmalı.");
+        StringBuilder sb = new StringBuilder(256).append("{\"seferler\":[");
+        String sonraki = null;
+        if (p.containsKey("kalkis") && p.containsKey("varis")) {
+            SeferArama.Imlec imlec = null;
+            String belirtec = p.get("imlec");
+            if (belirtec != null) {
+                int ayrac = belirtec.indexOf('_');
+                if (ayrac < 0) throw new IstekHatasi(400, "Geçersiz imleç.");
+                imlec = new SeferArama.Imlec(zaman(belirtec.substring(0, ayrac)), belirtec.substring(ayrac + 1));
+            }
+            LocalDateTime baslangic = p.containsKey("baslangic") ? zaman(p.get("baslangic")) : LocalDateTime.MIN;
+            LocalDateTime bitis = p.containsKey("bitis") ? zaman(p.get("bitis")) : LocalDateTime.MAX;
+            SeferArama.Sayfa sayfa = sistem.seferAra(p.get("kalkis"), p.get("varis"), baslangic, bitis,
+                    tamSayi(p, "minBos", 0), imlec, limit);
+            seferListesi(sb, sayfa.getSeferler());
+            if (sayfa.getSonraki() != null) {
+                Sefer son = sayfa.getSeferler().get(sayfa.getSeferler().size() - 1);
+                sonraki = son.getKalkisZamani() + "_" + son.getSeferKimlik();
+            }
+        } else {
+            List<Sefer> sayfa = sistem.seferleriListele(p.get("imlec"), Math.min(limit, Integer.MAX_VALUE - 1) + 1);
+            if (sayfa.size() > limit) {
+                sayfa = sayfa.subList(0, limit);
+                sonraki = sayfa.get(limit - 1).getSeferKimlik();
+            }
+            seferListesi(sb, sayfa);
+        }
+        sb.append("],\"sonraki\":");
+        metin(sb, sonraki);
+        return sb.append('}').toString();
+    }
+
+    private static String seferDetay(Sefer s, boolean arsivli) {
+        StringBuilder sb = new StringBuilder(256);
+        seferJson(sb, s);
+        sb.setLength(sb.length() - 1);
+        sb.append(",\"arsivlendi\":").append(arsivli).append(",\"doluKoltuklar\":");
+        sayilar(sb, s.getDoluKoltukNumaralari());
+        return sb.append('}').toString();
+    }
+
+    private static String koltukHaritasi(Sefer s, Map<String, String> p) throws IstekHatasi {
+        StringBuilder sb = new StringBuilder(128 + s.getKapasite() * 4);
+        sb.append("{\"seferKimlik\":");
+        metin(sb, s.getSeferKimlik());
+        sb.append(",\"kapasite\":").append(s.getKapasite());
+        if (p.containsKey("binis") || p.containsKey("inis")) {
+            int binis = durak(s, p, "binis", 0), inis = durak(s, p, "inis", s.getDurakSayisi() - 1);
+            aralikBekle(s, binis, inis);
+            int[] bos = s.bosKoltuklar(binis, inis);
+            sb.append(",\"binis\":");
+            metin(sb, s.getDurak(binis));
+            sb.append(",\"inis\":");
+            metin(sb, s.getDurak(inis));
+            sb.append(",\"dolu\":");
+            sayilar(sb, tumleyen(bos, s.getKapasite()));
+            sb.append(",\"bos\":");
+            sayilar(sb, bos);
+            return sb.append('}').toString();
+        }
+        sb.append(",\"dolu\":");
+        sayilar(sb, s.getDoluKoltukNumaralari());
+        sb.append(",\"bos\":");
+        sayilar(sb, s.getBosKoltukNumaralari());
+        if (p.containsKey("adet")) {
+            // Koltuk önerisi; koltuklar ayrılmaz
+            sb.append(",\"oneri\":");
+            sayilar(sb, s.bosKoltuklariSec(tamSayi(p, "adet", 1), secim(p), tamSayi(p, "tercih", 1)));
+        }
+        return sb.append('}').toString();
+    }
+
+    private String rezervasyonYap(Sefer s, Map<String, String> p) throws IstekHatasi {
+        String koltukDegeri = p.get("koltuk");
+        String ad = p.get("ad");
+        boolean bolum = p.containsKey("binis") || p.containsKey("inis");
+        if ((koltukDegeri == null && !p.containsKey("adet") && !bolum) || ad == null || ad.trim().isEmpty()) {
+            throw new IstekHatasi(400, "koltuk (ya da adet) ve ad alanları zorunlu.");
+        }
+        String telefon = p.get("telefon");
+        if (bolum) {
+            // Bölüm rezervasyonu: tek koltuk; numara verilmezse en sıkı oturan boş koltuk seçilir
+            int binis = durak(s, p, "binis", 0), inis = durak(s, p, "inis", s.getDurakSayisi() - 1);
+            aralikBekle(s, binis, inis);
+            int no = koltukDegeri == null ? 0 : tamSayi(p, "koltuk", 0);
+            if (koltukDegeri != null && !s.gecerliNumara(no)) throw new IstekHatasi(400, "Geçersiz koltuk numarası.");
+            Koltuk k = sistem.bacakRezerveEt(s, no, binis, inis, ad.trim(), telefon);
+            if (k == null) throw new IstekHatasi(409, "Bu bölümde koltuk dolu.");
+            return rezervasyonlarJson(List.of(k));
+        }
+        if (koltukDegeri == null) {
+            // Otomatik atama: koltuklar seçim ve tercihe göre bulunup tek işlemde ayrılır
+            int adet = tamSayi(p, "adet", 1);
+            if (adet < 1 || adet > s.getKapasite()) throw new IstekHatasi(400, "Geçersiz adet: " + adet);
+            List<Koltuk> koltuklar = sistem.otomatikRezerveEt(s, adet, ad.trim(), telefon, secim(p), tamSayi(p, "tercih", 1));
+            if (koltuklar == null) throw new IstekHatasi(409, "İstenen düzende yeterli boş koltuk yok.");
+            return rezervasyonlarJson(koltuklar);
+        }
+        String[] numaralar = koltukDegeri.split(",");
+        List<RezervasyonTalebi> talepler = new ArrayList<>(numaralar.length);
+        try {
+            for (String n : numaralar) talepler.add(new RezervasyonTalebi(Integer.parseInt(n.trim()), ad.trim(), telefon));
+        } catch (NumberFormatException e) {
+            throw new IstekHatasi(400, "Geçersiz koltuk numarası.");
+        }
+        for (RezervasyonTalebi t : talepler) {
+            if (!s.gecerliNumara(t.getKoltukNumarasi())) throw new IstekHatasi(400, "Geçersiz koltuk numarası.");
+        }
+
+        List<Koltuk> koltuklar;
+        if (talepler.size() == 1) {
+            Koltuk k = sistem.koltukRezerveEt(s, talepler.get(0).getKoltukNumarasi(), ad.trim(), telefon);
+            koltuklar = k == null ? null : List.of(k);
+        } else {
+            koltuklar = sistem.topluRezerveEt(s, talepler);
+        }
+        if (koltuklar == null) throw new IstekHatasi(409, "Koltuk dolu.");
+        return rezervasyonlarJson(koltuklar);
+    }
+
+    private static String rezervasyonlarJson(List<Koltuk> koltuklar) {
+        StringBuilder sb = new StringBuilder(256 * koltuklar.size()).append("{\"rezervasyonlar\":[");
+        for (int i = 0; i < koltuklar.size(); i++) {
+            if (i > 0) sb.append(',');
+            rezervasyonJson(sb, koltuklar.get(i));
+        }
+        return sb.append("]}").toString();
+    }
+
+    private String koltukTut(Sefer s, Map<String, String> p) throws IstekHatasi {
+        int no = tamSayi(p, "koltuk", -1);
+        Koltuk k = sistem.koltukTut(s, no);
+        if (k == null) throw new IstekHatasi(409, "Koltuk dolu/tutulu veya numara hatalı.");
+        return tutmaJson(new StringBuilder(128), k).toString();
+    }
+
+    private String tutmaOnayla(String tutmaKimlik, Map<String, String> p) throws IstekHatasi {
+        String ad = p.get("ad");
+        if (ad == null || ad.trim().isEmpty()) throw new IstekHatasi(400, "ad alanı zorunlu.");
+        Koltuk k = sistem.tutmaOnayla(tutmaKimlik, ad.trim(), p.get("telefon"));
+        if (k == null) throw new IstekHatasi(404, "Tutma bulunamadı veya süresi doldu.");
+        return rezervasyonJson(new StringBuilder(256), k).toString();
+    }
+
+    private String yolcuAra(Map<String, String> p) throws IstekHatasi {
+        int limit = tamSayi(p, "limit", VARSAYILAN_LIMIT);
+        if (limit <= 0) throw new IstekHatasi(400, "limit pozitif olmalı.");
+        List<Koltuk> koltuklar;
+        if (p.containsKey("telefon")) {
+            koltuklar = sistem.yolcuTelefonla(p.get("telefon"));
+        } else if (p.containsKey("ad")) {
+            koltuklar = sistem.yolcuAdla(p.get("ad"), limit);
+        } else {
+            throw new IstekHatasi(400, "telefon ya da ad parametresi zorunlu.");
+        }
+        return rezervasyonlarJson(koltuklar);
+    }
+
+    private String rapor() {
+        long t0 = sistem.getMetrikler().baslangic(RezervasyonMetrikleri.Islem.RAPOR);
+        RezervasyonIstatistikleri ist = sistem.getIstatistikler();
+        StringBuilder sb = new StringBuilder(1024).append("{\"genel\":");
+        toplamJson(sb, ist.getGenel());
+        sb.append(",\"guzergahlar\":{");
+        boolean ilk = true;
+        for (Map.Entry<String, RezervasyonIstatistikleri.Toplam> e : ist.getGuzergahBazli().entrySet()) {
+            if (!ilk) sb.append(',');
+            ilk = false;
+            metin(sb, e.getKey());
+            sb.append(':');
+            toplamJson(sb, e.getValue());
+        }
+        sb.append("},\"gunler\":{");
+        ilk = true;
+        for (Map.Entry<LocalDate, RezervasyonIstatistikleri.Toplam> e : ist.getGunBazli().entrySet()) {
+            if (!ilk) sb.append(',');
+            ilk = false;
+            metin(sb, e.getKey().toString());
+            sb.append(':');
+            toplamJson(sb, e.getValue());
+        }
+        SeferArsivi arsiv = sistem.getArsiv();
+        sb.append("},\"arsiv\":{\"seferSayisi\":").append(arsiv.getSeferSayisi())
+                .append(",\"rezervasyonSayisi\":").append(arsiv.getRezervasyonSayisi())
+                .append(",\"gelir\":").append(arsiv.getGelir())
+                .append(",\"sikistirilmisBayt\":").append(arsiv.getSikistirilmisBayt());
+        sb.append("}}");
+        sistem.getMetrikler().basarili(RezervasyonMetrikleri.Islem.RAPOR, t0);
+        return sb.toString();
+    }
+
+    private static String analizJson(AnalizMotoru.Rapor r) {
+        StringBuilder sb = new StringBuilder(128 + 128 * r.getSatirlar().size()).append("{\"gruplama\":");
+        metin(sb, r.getGruplama().ad);
+        sb.append(",\"kesitZamani\":");
+        metin(sb, r.getKesitZamani().toString());
+        sb.append(",\"genel\":");
+        analizSatiriJson(sb, r.getGenel());
+        sb.append(",\"gruplar\":[");
+        for (int i = 0; i < r.getSatirlar().size(); i++) {
+            if (i > 0) sb.append(',');
+            analizSatiriJson(sb, r.getSatirlar().get(i));
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static String bacaklarJson(Sefer s) {
+        List<Sefer.BacakDurumu> bacaklar = s.getBacakDurumlari();
+        StringBuilder sb = new StringBuilder(64 + 128 * bacaklar.size()).append("{\"seferKimlik\":");
+        metin(sb, s.getSeferKimlik());
+        sb.append(",\"bacaklar\":[");
+        for (int i = 0; i < bacaklar.size(); i++) {
+            Sefer.BacakDurumu b = bacaklar.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"binis\":");
+            metin(sb, b.getBinis());
+            sb.append(",\"inis\":");
+            metin(sb, b.getInis());
+            sb.append(",\"doluKoltuk\":").append(b.getDoluKoltuk())
+                    .append(",\"kapasite\":").append(b.getKapasite())
+                    .append(",\"ucret\":").append(b.getUcret())
+                    .append(",\"gelir\":").append(b.getGelir())
+                    .append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    /* ---------- JSON ---------- */
+
+    private static void seferListesi(StringBuilder sb, List<Sefer> seferler) {
+        for (int i = 0; i < seferler.size(); i++) {
+            if (i > 0) sb.append(',');
+            seferJson(sb, seferler.get(i));
+        }
+    }
+
+    private static StringBuilder seferJson(StringBuilder sb, Sefer s) {
+        sb.append("{\"seferKimlik\":");
+        metin(sb, s.getSeferKimlik());
+        sb.append(",\"kalkisYeri\":");
+        metin(sb, s.getKalkisYeri());
+        sb.append(",\"varisYeri\":");
+        metin(sb, s.getVarisYeri());
+        sb.append(",\"kalkisZamani\":");
+        metin(sb, s.getKalkisZamani().toString());
+        sb.append(",\"duraklar\":[");
+        for (int i = 0; i < s.getDurakSayisi(); i++) {
+            if (i > 0) sb.append(',');
+            metin(sb, s.getDurak(i));
+        }
+        return sb.append("],\"kapasite\":").append(s.getKapasite())
+                .append(",\"biletFiyati\":").append(s.getBiletFiyati())
+                .append(",\"rezerveSayisi\":").append(s.getRezerveSayisi())
+                .append(",\"tutulanKoltukSayisi\":").append(s.getTutulanKoltukSayisi())
+                .append(",\"bosKoltukSayisi\":").append(s.getBosKoltukSayisi())
+                .append(",\"gelir\":").append(s.getGelir())
+                .append('}');
+    }
+
+    private static StringBuilder rezervasyonJson(StringBuilder sb, Koltuk k) {
+        sb.append("{\"rezervasyonKimlik\":");
+        metin(sb, k.getRezervasyonKimlik());
+        sb.append(",\"seferKimlik\":");
+        metin(sb, k.getSefer().getSeferKimlik());
+        sb.append(",\"koltukNumarasi\":").append(k.getKoltukNumarasi()).append(",\"yolcuAdi\":");
+        metin(sb, k.getYolcuAdi());
+        sb.append(",\"yolcuTelefonu\":");
+        metin(sb, k.getYolcuTelefonu());
+        sb.append(",\"rezervasyonZamani\":");
+        metin(sb, k.getRezervasyonZamani() == null ? null : k.getRezervasyonZamani().toString());
+        sb.append(",\"binis\":");
+        metin(sb, k.getSefer().getDurak(k.getBinisDuragi()));
+        sb.append(",\"inis\":");
+        metin(sb, k.getSefer().getDurak(k.getInisDuragi()));
+        return sb.append(",\"iptal\":").append(!k.isRezerveEdildi())
+                .append(",\"ucret\":").append(k.getUcret())
+                .append('}');
+    }
+
+    private static StringBuilder tutmaJson(StringBuilder sb, Koltuk k) {
+        sb.append("{\"tutmaKimlik\":");
+        metin(sb, k.getRezervasyonKimlik());
+        sb.append(",\"seferKimlik\":");
+        metin(sb, k.getSefer().getSeferKimlik());
+        return sb.append(",\"koltukNumarasi\":").append(k.getKoltukNumarasi())
+                .append(",\"tutuluyor\":").append(k.isTutuluyor())
+                .append(",\"kalanMs\":").append(k.getTutmaKalanMs())
+                .append('}');
+    }
+
+    private static void toplamJson(StringBuilder sb, RezervasyonIstatistikleri.Toplam t) {
+        sb.append("{\"seferSayisi\":").append(t.getSeferSayisi())
+                .append(",\"kapasite\":").append(t.getKapasite())
+                .append(",\"rezervasyon\":").append(t.getRezervasyon())
+                .append(",\"gelir\":").append(t.getGelir())
+                .append(",\"dolulukOrani\":").append(Math.round(t.getDolulukOrani() * 10) / 10.0)
+                .append('}');
+    }
+
+    private static void analizSatiriJson(StringBuilder sb, AnalizMotoru.Satir t) {
+        sb.append("{\"grup\":");
+        metin(sb, t.getGrup());
+        sb.append(",\"seferSayisi\":").append(t.getSeferSayisi())
+                .append(",\"kapasite\":").append(t.getKapasite())
+                .append(",\"rezervasyon\":").append(t.getRezervasyon())
+                .append(",\"gelir\":").append(t.getGelir())
+                .append(",\"dolulukOrani\":").append(Math.round(t.getDolulukOrani() * 10) / 10.0)
+                .append('}');
+    }
+
+    private static void sayilar(StringBuilder sb, int[] dizi) {
+        sb.append('[');
+        for (int i = 0; i < dizi.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(dizi[i]);
+        }
+        sb.append(']');
+    }
+
+    private static void metin(StringBuilder sb, String s) {
+        if (s == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    private static String hataJson(String mesaj) {
+        StringBuilder sb = new StringBuilder(64).append("{\"hata\":");
+        metin(sb, mesaj);
+        return sb.append('}').toString();
+    }
+
+    /* ---------- İstek / yanıt yardımcıları ---------- */
+
+    private static void yanitGonder(HttpExchange ex, int durum, String icerikTuru, String govde) throws IOException {
+        byte[] b = govde.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", icerikTuru);
+        ex.sendResponseHeaders(durum, b.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(b);
+        }
+    }
+
+    /** Raporu parçalı aktarımla (chunked) satır satır yazar; yanıt bellekte birikmez */
+    private static void csvGonder(HttpExchange ex, AnalizMotoru.Rapor r) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", CSV);
+        ex.sendResponseHeaders(200, 0);
+        try (Writer w = new BufferedWriter(new OutputStreamWriter(ex.getResponseBody(), StandardCharsets.UTF_8))) {
+            r.csvYaz(w);
+        }
+    }
+
+    private static String govdeOku(HttpExchange ex) throws IOException, IstekHatasi {
+        try (InputStream in = ex.getRequestBody()) {
+            byte[] b = in.readNBytes(GOVDE_SINIRI + 1);
+            if (b.length > GOVDE_SINIRI) throw new IstekHatasi(400, "İstek gövdesi çok büyük.");
+            return new String(b, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String[] yolParcalari(String hamYol) {
+        List<String> parcalar = new ArrayList<>(4);
+        for (String p : hamYol.split("/")) {
+            if (!p.isEmpty()) parcalar.add(URLDecoder.decode(p.replace("+", "%2B"), StandardCharsets.UTF_8));
+        }
+        return parcalar.toArray(new String[0]);
+    }
+
+    /** application/x-www-form-urlencoded biçimindeki sorgu ya da gövdeyi çözer */
+    private static Map<String, String> sorguParametreleri(String ham) {
+        Map<String, String> sonuc = new HashMap<>();
+        if (ham == null || ham.isEmpty()) return sonuc;
+        for (String cift : ham.split("&")) {
+            if (cift.isEmpty()) continue;
+            int esit = cift.indexOf('=');
+            String ad = URLDecoder.decode(esit < 0 ? cift : cift.substring(0, esit), StandardCharsets.UTF_8);
+            String deger = esit < 0 ? "" : URLDecoder.decode(cift.substring(esit + 1), StandardCharsets.UTF_8);
+            sonuc.putIfAbsent(ad, deger);
+        }
+        return sonuc;
+    }
+
+    private static int tamSayi(Map<String, String> p, String ad, int varsayilan) throws IstekHatasi {
+        String d = p.get(ad);
+        if (d == null) return varsayilan;
+        try {
+            return Integer.parseInt(d.trim());
+        } catch (NumberFormatException e) {
+            throw new IstekHatasi(400, "Geçersiz " + ad + ": " + d);
+        }
+    }
+
+    /** Durak parametresi: durak adı ya da 0 tabanlı indeks; verilmezse varsayılan indeks */
+    private static int durak(Sefer s, Map<String, String> p, String ad, int varsayilan) throws IstekHatasi {
+        String d = p.get(ad);
+        if (d == null) return varsayilan;
+        int i = s.durakIndeksi(d);
+        if (i >= 0) return i;
+        try {
+            i = Integer.parseInt(d.trim());
+        } catch (NumberFormatException e) {
+            throw new IstekHatasi(400, "Durak bulunamadı: " + d);
+        }
+        if (i < 0 || i >= s.getDurakSayisi()) throw new IstekHatasi(400, "Geçersiz durak indeksi: " + d);
+        return i;
+    }
+
+    private static void aralikBekle(Sefer s, int binis, int inis) throws IstekHatasi {
+        if (!s.gecerliAralik(binis, inis)) throw new IstekHatasi(400, "İniş durağı binişten sonra olmalı.");
+    }
+
+    /** 1..kapasite içinde sirali dizide olmayan numaralar */
+    private static int[] tumleyen(int[] sirali, int kapasite) {
+        int[] sonuc = new int[kapasite - sirali.length];
+        int j = 0, k = 0;
+        for (int no = 1; no <= kapasite; no++) {
+            if (j < sirali.length && sirali[j] == no) j++;
+            else sonuc[k++] = no;
+        }
+        return sonuc;
+    }
+
+    /** secim parametresi: ilk, bitisik ya da eniyi (varsayılan) */
+    private static Sefer.KoltukSecimi secim(Map<String, String> p) throws IstekHatasi {
+        String d = p.getOrDefault("secim", "eniyi").trim();
+        switch (d) {
+            case "ilk": return Sefer.KoltukSecimi.ILK_BOS;
+            case "bitisik": return Sefer.KoltukSecimi.BITISIK;
+            case "eniyi": return Sefer.KoltukSecimi.EN_IYI;
+            default: throw new IstekHatasi(400, "Geçersiz secim: " + d);
+        }
+    }
+
+    /** grup parametresi: guzergah (varsayılan), gun ya da saat */
+    private static AnalizMotoru.Gruplama gruplama(Map<String, String> p) throws IstekHatasi {
+        String d = p.getOrDefault("grup", "guzergah").trim();
+        AnalizMotoru.Gruplama g = AnalizMotoru.Gruplama.bul(d);
+        if (g == null) throw new IstekHatasi(400, "Geçersiz grup: " + d);
+        return g;
+    }
+
+    private static LocalDateTime zaman(String d) throws IstekHatasi {
+        try {
+            return LocalDateTime.parse(d.trim());
+        } catch (DateTimeParseException e) {
+            throw new IstekHatasi(400, "Geçersiz tarih (yyyy-MM-ddTHH:mm bekleniyor): " + d);
+        }
+    }
+}
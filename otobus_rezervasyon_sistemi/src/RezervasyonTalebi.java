@@ -0,0 +1,18 @@
+/**
+ * Toplu rezervasyonda tek bir koltuk isteği (koltuk numarası + yolcu bilgileri).
+ */
+final class RezervasyonTalebi {
+    private final int koltukNumarasi;
+    private final String yolcuAdi;
+    private final String yolcuTelefonu;
+
+    RezervasyonTalebi(int koltukNumarasi, String yolcuAdi, String yolcuTelefonu) {
+        this.koltukNumarasi = koltukNumarasi;
+        this.yolcuAdi = yolcuAdi;
+        this.yolcuTelefonu = yolcuTelefonu;
+    }
+
+    public int getKoltukNumarasi() { return koltukNumarasi; }
+    public String getYolcuAdi() { return yolcuAdi; }
+    public String getYolcuTelefonu() { return yolcuTelefonu; }
+}
@@ -0,0 +1,1086 @@
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bir sefer temsil eder.
+ * Koltuk doluluğu ilkel bir bit kümesinde (bit i -> koltuk i+1) tutulur; rezerve koltuk sayısı
+ * sayaçla izlendiği için doluluk ve gelir sorguları sabit zamanlıdır ve bellek ayırmaz.
+ *
+ * Eşzamanlılık: bir koltuk yalnızca bit kümesindeki bitini compare-and-set ile 0'dan 1'e çeviren
+ * iş parçacığına ait olur, bu yüzden aynı koltuk iki kez satılamaz. İptalde önce kayıt kaldırılır,
+ * bit en son bırakılır; bit boşalmadan aynı koltuğa yeni rezervasyon başlayamaz.
+ *
+ * Bit kümesi ve sayaç bir KoltukDeposu'nda saklanır: varsayılan olarak yığında, isteğe bağlı olarak
+ * bellek eşlemeli bir dosyada (EslenmisEnvanter).
+ *
+ * Çekişme sayaçları (dolu koltuğa deneme, kaybedilen CAS) yalnızca başarısız yolda artar; çekişmesiz
+ * rezervasyon bunlara hiç dokunmaz. Sayaçlar RezervasyonMetrikleri tarafından okunur.
+ *
+ * Geçici tutmalar da koltuk bitini alır; boş koltuk sayısı rezerve ve tutulan koltukları düşer.
+ * Tutma kayıtları ayrı bir dizide (ilk tutmada oluşturulur) durur, rezervasyon sayılmaz ve kalıcı
+ * kayda yazılmaz; süre dolumu TutmaCarki ile toplu işlenir.
+ *
+ * Çok duraklı seferde koltuklar bacak bacak da satılır; bacak b, b. duraktan b+1. durağa giden kısımdır.
+ * Her koltuğun satılmış bacakları tek bir long maskede tutulur (en fazla 64 bacak): "koltuk i -> j
+ * arasında boş mu" tek bir AND, "i -> j için boş koltuklar" koltuk başına birkaç bit işlemidir. Kısmi
+ * rezervasyon kapsadığı bacakların bitlerini tek CAS ile alır ve bırakır. Tüm güzergahı kapsayan
+ * rezervasyon, tutma ve mühür koltuk bitini kullanmaya devam eder; iki taraf önce kendi bitini alıp sonra
+ * diğerini okur, diğeri doluysa aldığını geri bırakır. Böylece bir bacak iki kez satılamaz. Ara durağı
+ * olmayan seferde bacak maskeleri hiç oluşturulmaz. Bacak ücretleri bilet fiyatının bacaklara eşit
+ * paylaştırılmasıyla bulunur; kısmi rezervasyonun ücreti kapsadığı bacakların toplamıdır.
+ */
+class Sefer {
+    private final String seferKimlik; // benzersiz sefer kimliği
+    private final String kalkisYeri;
+    private final String varisYeri;
+    private final String guzergah; // "kalkış → varış"
+    private final String[] duraklar; // kalkış, ara duraklar, varış
+    private final int[] kumulatifUcret; // durak indeksi -> kalkıştan o durağa kadarki bacakların ücreti
+    private final AtomicLongArray bacaklar; // koltukNumarasi-1 -> kısmi rezervasyonlarla satılmış bacaklar (bit b = bacak b); ara durak yoksa null
+    private final ConcurrentHashMap<String, Koltuk> kismiKayitlar; // RezervasyonKimligi.anahtar -> kısmi rezervasyon; ara durak yoksa null
+    private final LocalDateTime kalkisZamani;
+    private final int kapasite; // toplam koltuk sayısı
+    private final KoltukDeposu depo; // doluluk bitleri (1 = dolu) ve rezerve sayacı
+    private final AtomicReferenceArray<Koltuk> doluKoltuklar; // koltukNumarasi-1 -> Koltuk (boş koltuklar için null)
+    private volatile RezervasyonDinleyicisi dinleyici; // sisteme eklenince bağlanır (null olabilir)
+    private int sira; // sistem içindeki sefer sırası (rezervasyon kimliklerine gömülür); 0 = atanmamış
+    private volatile long damga; // son verilen kimlik damgası (zaman << 8 | nesil), kesin artan
+    private volatile int cakismaSayisi; // dolu koltuğa yapılan rezervasyon denemeleri
+    private volatile int casTekrarSayisi; // koltuk bitlerinde kaybedilip yeniden denenen CAS yarışları
+    private volatile int tutulanSayisi; // geçici tutmadaki koltuklar (bitleri alınmış, rezerve sayılmaz)
+    private volatile AtomicReferenceArray<Koltuk> tutmalar; // koltukNumarasi-1 -> TUTULU kayıt; ilk tutmada oluşturulur
+    private volatile TutmaCarki tutmaCarki; // sisteme eklenince bağlanır; süre dolumlarını işler
+    private volatile RezervasyonDizini dizin; // sisteme eklenince bağlanır; eski (UUID) kimliklerin O(1) araması
+    private volatile boolean muhurlu; // arşive alınmak üzere mühürlendi; rezervasyon yapılamaz
+    private volatile int kismiSayisi; // yayımlanmış kısmi rezervasyonlar
+    private volatile long kismiGelir; // kısmi rezervasyonların ücret toplamı
+    private volatile int yayimlanmamisKismi; // bacak bitleri alınıyor/alınmış, kaydı henüz yayımlanmamış kısmi rezervasyonlar
+    private volatile int kismiDoluKoltuk; // bacak maskesi 0 olmayan koltuklar (bacakAl/bacakBirak 0 <-> 0 dışı geçişlerinde)
+    private volatile int kismiBacak; // tüm koltuklarda alınmış bacak bitleri
+
+    private static final AtomicLongFieldUpdater<Sefer> DAMGA = AtomicLongFieldUpdater.newUpdater(Sefer.class, "damga");
+    private static final AtomicIntegerFieldUpdater<Sefer> CAKISMA = AtomicIntegerFieldUpdater.newUpdater(Sefer.class, "cakismaSayisi");
+    private static final AtomicIntegerFieldUpdater<Sefer> CAS_TEKRARI = AtomicIntegerFieldUpdater.newUpdater(Sefer.class, "casTekrarSayisi");
+    private static final AtomicIntegerFieldUpdater<Sefer> TUTULAN = AtomicIntegerFieldUpdater.newUpdater(Sefer.class, "tutulanSayisi");
+    private static final AtomicIntegerFieldUpdater<Sefer> KISMI = AtomicIntegerFieldUpdater.newUpdater(Sefer.class, "kismiSayisi");
+    private static final AtomicLongFieldUpdater<Sefer> KISMI_GELIR = AtomicLongFieldUpdater.newUpdater(Sefer.class, "kismiGelir");
+    private static final AtomicIntegerFieldUpdater<Sefer> YAYIMLANMAMIS_KISMI =
+            AtomicIntegerFieldUpdater.newUpdater(Sefer.class, "yayimlanmamisKismi");
+    private static final AtomicIntegerFieldUpdater<Sefer> KISMI_DOLU = AtomicIntegerFieldUpdater.newUpdater(Sefer.class, "kismiDoluKoltuk");
+    private static final AtomicIntegerFieldUpdater<Sefer> KISMI_BACAK = AtomicIntegerFieldUpdater.newUpdater(Sefer.class, "kismiBacak");
+    static final int EN_FAZLA_DURAK = 65; // 64 bacak: koltuk başına tek long maske
+    private static final int OTOMATIK_DENEME = 8; // seçilen koltuklar CAS'tan önce kapılırsa yeniden seçim sayısı
+    private static final long MUHUR_BEKLEME_NS = TimeUnit.SECONDS.toNanos(5); // muhurle: yoldaki işlemler için üst sınır
+
+    /** Otomatik koltuk seçimi */
+    public enum KoltukSecimi {
+        ILK_BOS,  // en küçük numaralı boş koltuklar, yan yana olmaları gerekmez
+        BITISIK,  // yan yana koltuklardan oluşan ilk blok; yoksa seçim yapılmaz
+        EN_IYI    // tercih edilen koltuğa en yakın bitişik blok; yoksa tercih edilen koltuğa en yakın boş koltuklar
+    }
+
+    // Her sefer için farklı bilet fiyatı
+    private final int biletFiyati;
+
+    public Sefer(String seferKimlik, String kalkisYeri, String varisYeri, LocalDateTime kalkisZamani, int kapasite, int biletFiyati) {
+        this(seferKimlik, kalkisYeri, varisYeri, kalkisZamani, kapasite, biletFiyati,
+                kapasite > 0 ? new YiginKoltukDeposu(kapasite) : null);
+    }
+
+    /**
+     * Ara duraklı sefer: duraklar kalkış yeri, ara duraklar ve varış yeri sırasıyla (en az 2, en fazla
+     * EN_FAZLA_DURAK). Seferin her bacağı ayrı satılabilir (bkz. bacakRezerveEt).
+     */
+    public Sefer(String seferKimlik, List<String> duraklar, LocalDateTime kalkisZamani, int kapasite, int biletFiyati) {
+        this(seferKimlik, durakDizisi(duraklar), kalkisZamani, kapasite, biletFiyati,
+                kapasite > 0 ? new YiginKoltukDeposu(kapasite) : null);
+    }
+
+    /**
+     * Verilen koltuk deposunu kullanan sefer (depo, kapasite kadar koltuk taşıyabilmelidir).
+     */
+    Sefer(String seferKimlik, String kalkisYeri, String varisYeri, LocalDateTime kalkisZamani, int kapasite, int biletFiyati,
+          KoltukDeposu depo) {
+        this(seferKimlik, new String[]{kalkisYeri, varisYeri}, kalkisZamani, kapasite, biletFiyati, depo);
+    }
+
+    private Sefer(String seferKimlik, String[] duraklar, LocalDateTime kalkisZamani, int kapasite, int biletFiyati,
+                  KoltukDeposu depo) {
+        if (kapasite <= 0) throw new IllegalArgumentException("Kapasite pozitif olmalı.");
+        if (biletFiyati <= 0) throw new IllegalArgumentException("Bilet fiyatı pozitif olmalı.");
+        this.seferKimlik = seferKimlik;
+        this.duraklar = duraklar;
+        this.kalkisYeri = duraklar[0];
+        this.varisYeri = duraklar[duraklar.length - 1];
+        this.guzergah = kalkisYeri + " → " + varisYeri;
+        this.kalkisZamani = kalkisZamani;
+        this.kapasite = kapasite;
+        this.biletFiyati = biletFiyati;
+        this.depo = depo;
+        this.doluKoltuklar = new AtomicReferenceArray<>(kapasite);
+        this.sira = depo.siraOku();
+        int bacak = duraklar.length - 1;
+        this.kumulatifUcret = new int[duraklar.length];
+        for (int b = 0; b < bacak; b++) {
+            kumulatifUcret[b + 1] = kumulatifUcret[b] + biletFiyati / bacak + (b < biletFiyati % bacak ? 1 : 0);
+        }
+        this.bacaklar = bacak > 1 ? new AtomicLongArray(kapasite) : null;
+        this.kismiKayitlar = bacak > 1 ? new ConcurrentHashMap<>() : null;
+    }
+
+    private static String[] durakDizisi(List<String> duraklar) {
+        if (duraklar.size() < 2 || duraklar.size() > EN_FAZLA_DURAK) {
+            throw new IllegalArgumentException("Durak sayısı 2 ile " + EN_FAZLA_DURAK + " arasında olmalı.");
+        }
+        String[] dizi = new String[duraklar.size()];
+        for (int i = 0; i < dizi.length; i++) {
+            String d = duraklar.get(i) == null ? "" : duraklar.get(i).trim();
+            if (d.isEmpty()) throw new IllegalArgumentException("Durak adı boş olamaz.");
+            dizi[i] = d;
+        }
+        return dizi;
+    }
+
+    public String getSeferKimlik() { return seferKimlik; }
+    public String getKalkisYeri() { return kalkisYeri; }
+    public String getVarisYeri() { return varisYeri; }
+    public String getGuzergah() { return guzergah; }
+    public LocalDateTime getKalkisZamani() { return kalkisZamani; }
+    public int getKapasite() { return kapasite; }
+    public int getBiletFiyati() { return biletFiyati; }
+    /** Rezervasyon (bilet) sayısı; kısmi rezervasyonlar dahil */
+    public int getRezerveSayisi() { return depo.rezerveSayisi() + kismiSayisi; }
+    /** Tüm güzergah için boş koltuklar: rezerve, tutulan ve herhangi bir bacağı satılmış koltuklar düşülür */
+    public int getBosKoltukSayisi() {
+        return Math.max(0, kapasite - depo.rezerveSayisi() - tutulanSayisi - kismiDoluKoltuk);
+    }
+    public int getTutulanKoltukSayisi() { return tutulanSayisi; }
+    public long getGelir() { return (long) depo.rezerveSayisi() * biletFiyati + kismiGelir; }
+    public int getSira() { return sira; }
+    public int getCakismaSayisi() { return cakismaSayisi; }
+    public int getCasTekrarSayisi() { return casTekrarSayisi; }
+    boolean isMuhurlu() { return muhurlu; }
+    public int getDurakSayisi() { return duraklar.length; }
+    public String getDurak(int indeks) { return duraklar[indeks]; }
+    public List<String> getDuraklar() { return List.of(duraklar); }
+    /** Ara durağı var mı (bacaklar ayrı satılabilir mi) */
+    public boolean isCokDurakli() { return bacaklar != null; }
+
+    /** Durağın indeksi (sefer aramasıyla aynı normalleştirme: YolcuDizini.adNormalize); seferde yoksa -1 */
+    public int durakIndeksi(String ad) {
+        if (ad == null) return -1;
+        String aranan = YolcuDizini.adNormalize(ad);
+        for (int i = 0; i < duraklar.length; i++) if (YolcuDizini.adNormalize(duraklar[i]).equals(aranan)) return i;
+        return -1;
+    }
+
+    /** binis -> inis bölümünün ücreti (kapsanan bacakların toplamı) */
+    public int ucret(int binis, int inis) {
+        return kumulatifUcret[inis] - kumulatifUcret[binis];
+    }
+
+    boolean gecerliAralik(int binis, int inis) {
+        return binis >= 0 && binis < inis && inis < duraklar.length;
+    }
+
+    /** binis -> inis arasındaki bacakların biti (bit b = bacak b) */
+    private static long aralikMaskesi(int binis, int inis) {
+        return (-1L >>> (64 - (inis - binis))) << binis;
+    }
+
+    /** Çekişme sayaçlarını sıfırlar (RezervasyonMetrikleri.sifirla) */
+    void cekismeSifirla() {
+        cakismaSayisi = 0;
+        casTekrarSayisi = 0;
+    }
+
+    /**
+     * Sefer sırasını atar; sefer sisteme eklenmeden (başka iş parçacıklarına görünmeden) önce çağrılır.
+     */
+    void siraAta(int sira) {
+        this.sira = sira;
+        depo.siraYaz(sira);
+    }
+
+    /**
+     * Bu seferdeki bir koltuk için yeni rezervasyon kimliği üretir. Damga seferin son damgasından kesin
+     * büyük seçilir; CAS yalnızca aynı seferde aynı anda kimlik alan iş parçacıkları arasında yarışır.
+     */
+    String rezervasyonKimligiUret(int koltukNumarasi) {
+        long onceki, yeni;
+        do {
+            onceki = damga;
+            yeni = Math.max(RezervasyonKimligi.simdikiDamga(), onceki + 1);
+        } while (!DAMGA.compareAndSet(this, onceki, yeni));
+        return RezervasyonKimligi.olustur(yeni, sira, koltukNumarasi);
+    }
+
+    /** Koltuğun güncel rezervasyon kaydı (boşsa ya da numara geçersizse null) */
+    Koltuk rezervasyonKaydi(int koltukNumarasi) {
+        return gecerliNumara(koltukNumarasi) ? doluKoltuklar.get(koltukNumarasi - 1) : null;
+    }
+
+    /** Koltuk tüm güzergah için dolu mu: rezerve, tutulan ya da herhangi bir bacağı satılmış */
+    public boolean doluMu(int koltukNumarasi) {
+        int i = koltukNumarasi - 1;
+        return (depo.kelime(i >>> 6) & (1L << i)) != 0 || (bacaklar != null && bacaklar.get(i) != 0);
+    }
+
+    /** Koltuk binis -> inis bölümünde boş mu */
+    public boolean bosMu(int koltukNumarasi, int binis, int inis) {
+        if (!gecerliNumara(koltukNumarasi) || !gecerliAralik(binis, inis)) return false;
+        int i = koltukNumarasi - 1;
+        if ((depo.kelime(i >>> 6) & (1L << i)) != 0) return false;
+        return bacaklar == null || (bacaklar.get(i) & aralikMaskesi(binis, inis)) == 0;
+    }
+
+    /** binis -> inis bölümünde boş koltuk numaraları (artan sırada) */
+    public int[] bosKoltuklar(int binis, int inis) {
+        if (!gecerliAralik(binis, inis)) return new int[0];
+        if (bacaklar == null || (binis == 0 && inis == duraklar.length - 1)) return getBosKoltukNumaralari();
+        long aralik = aralikMaskesi(binis, inis);
+        int[] sonuc = new int[kapasite];
+        int j = 0;
+        for (int w = 0; w < depo.kelimeSayisi(); w++) {
+            for (long bos = ~depo.kelime(w) & gecerliMaske(w); bos != 0; bos &= bos - 1) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(bos);
+                if ((bacaklar.get(i) & aralik) == 0) sonuc[j++] = i + 1;
+            }
+        }
+        return Arrays.copyOf(sonuc, j);
+    }
+
+    public int bosKoltukSayisi(int binis, int inis) {
+        if (bacaklar == null || (binis == 0 && inis == duraklar.length - 1)) {
+            return gecerliAralik(binis, inis) ? getBosKoltukSayisi() : 0;
+        }
+        return bosKoltuklar(binis, inis).length;
+    }
+
+    boolean gecerliNumara(int koltukNumarasi) {
+        return koltukNumarasi >= 1 && koltukNumarasi <= kapasite;
+    }
+
+    /**
+     * Koltuğu döner; boş koltuklar için yolcu bilgisi olmayan geçici bir Koltuk oluşturulur.
+     */
+    public Optional<Koltuk> getKoltuk(int koltukNumarasi) {
+        if (!gecerliNumara(koltukNumarasi)) return Optional.empty();
+        Koltuk k = doluKoltuklar.get(koltukNumarasi - 1);
+        return Optional.of(k != null ? k : new Koltuk(koltukNumarasi, this));
+    }
+
+    public List<Koltuk> getTumKoltuklar() {
+        List<Koltuk> liste = new ArrayList<>(kapasite);
+        for (int no = 1; no <= kapasite; no++) {
+            Koltuk k = doluKoltuklar.get(no - 1);
+            liste.add(k != null ? k : new Koltuk(no, this));
+        }
+        return liste;
+    }
+
+    /** Rezervasyonlar koltuk sırasıyla; kısmi rezervasyonlar sonda, koltuk ve biniş durağına göre sıralı */
+    public List<Koltuk> getRezerveKoltuklar() {
+        // Yayımlanan kayıt sayaç artmadan iptal edilebilir; sayaç bir an için eksiye düşebilir
+        List<Koltuk> rezerveListesi = new ArrayList<>(Math.max(0, depo.rezerveSayisi() + kismiSayisi));
+        for (int w = 0; w < depo.kelimeSayisi(); w++) {
+            for (long bitler = depo.kelime(w); bitler != 0; bitler &= bitler - 1) {
+                // bit alınmış ama kayıt henüz yayımlanmamış olabilir
+                Koltuk k = doluKoltuklar.get((w << 6) + Long.numberOfTrailingZeros(bitler));
+                if (k != null) rezerveListesi.add(k);
+            }
+        }
+        if (kismiKayitlar != null && !kismiKayitlar.isEmpty()) {
+            List<Koltuk> kismiler = new ArrayList<>(kismiKayitlar.values());
+            kismiler.sort(Comparator.comparingInt(Koltuk::getKoltukNumarasi).thenComparingInt(Koltuk::getBinisDuragi));
+            rezerveListesi.addAll(kismiler);
+        }
+        return rezerveListesi;
+    }
+
+    public List<Koltuk> getBosKoltuklar() {
+        List<Koltuk> boslar = new ArrayList<>(getBosKoltukSayisi());
+        for (int no : getBosKoltukNumaralari()) boslar.add(new Koltuk(no, this));
+        return boslar;
+    }
+
+    public int[] getDoluKoltukNumaralari() {
+        return koltukNumaralari(true);
+    }
+
+    public int[] getBosKoltukNumaralari() {
+        return koltukNumaralari(false);
+    }
+
+    private int[] koltukNumaralari(boolean dolu) {
+        int[] sonuc = new int[kapasite];
+        int j = 0;
+        for (int w = 0; w < depo.kelimeSayisi(); w++) {
+            long bos = bosKelime(w);
+            for (long bitler = dolu ? ~bos & gecerliMaske(w) : bos; bitler != 0; bitler &= bitler - 1) {
+                sonuc[j++] = (w << 6) + Long.numberOfTrailingZeros(bitler) + 1;
+            }
+        }
+        return Arrays.copyOf(sonuc, j);
+    }
+
+    /** Çok duraklı seferde satılmış koltuk-bacak oranı, diğerlerinde rezerve koltuk oranı */
+    public double getDolulukOrani() {
+        if (bacaklar == null) return (depo.rezerveSayisi() / (double) kapasite) * 100.0;
+        int bacak = duraklar.length - 1;
+        long dolu = (long) depo.rezerveSayisi() * bacak + kismiBacak;
+        return (dolu / ((double) kapasite * bacak)) * 100.0;
+    }
+
+    /** Bir bacağın (durak -> sonraki durak) doluluk ve gelir özeti */
+    public static final class BacakDurumu {
+        private final String binis, inis;
+        private final int doluKoltuk, kapasite, ucret;
+
+        BacakDurumu(String binis, String inis, int doluKoltuk, int kapasite, int ucret) {
+            this.binis = binis;
+            this.inis = inis;
+            this.doluKoltuk = doluKoltuk;
+            this.kapasite = kapasite;
+            this.ucret = ucret;
+        }
+
+        public String getBinis() { return binis; }
+        public String getInis() { return inis; }
+        public int getDoluKoltuk() { return doluKoltuk; }
+        public int getKapasite() { return kapasite; }
+        /** Bacağın ücret payı */
+        public int getUcret() { return ucret; }
+        public long getGelir() { return (long) doluKoltuk * ucret; }
+        public double getDolulukOrani() { return doluKoltuk * 100.0 / kapasite; }
+    }
+
+    /**
+     * Bacak başına doluluk: tüm güzergah rezervasyonları her bacakta, kısmi rezervasyonlar yalnızca
+     * kapsadıkları bacaklarda sayılır. Koltuk maskeleri tek geçişte bacak sayaçlarına dağıtılır.
+     */
+    public List<BacakDurumu> getBacakDurumlari() {
+        int bacak = duraklar.length - 1;
+        int[] dolu = new int[bacak];
+        Arrays.fill(dolu, depo.rezerveSayisi());
+        if (bacaklar != null) {
+            for (int i = 0; i < kapasite; i++) {
+                for (long m = bacaklar.get(i); m != 0; m &= m - 1) dolu[Long.numberOfTrailingZeros(m)]++;
+            }
+        }
+        List<BacakDurumu> sonuc = new ArrayList<>(bacak);
+        for (int b = 0; b < bacak; b++) {
+            sonuc.add(new BacakDurumu(duraklar[b], duraklar[b + 1], dolu[b], kapasite, ucret(b, b + 1)));
+        }
+        return sonuc;
+    }
+
+    /* ---------- Koltuk seçimi ---------- */
+
+    /** En küçük numaralı adet boş koltuk; o kadar boş koltuk yoksa boş dizi */
+    public int[] ilkBosKoltuklar(int adet) {
+        return bosKoltuklariSec(adet, KoltukSecimi.ILK_BOS, 1);
+    }
+
+    /** Yan yana adet boş koltuktan oluşan ilk blok; böyle bir blok yoksa boş dizi */
+    public int[] bitisikBosKoltuklar(int adet) {
+        return bosKoltuklariSec(adet, KoltukSecimi.BITISIK, 1);
+    }
+
+    /**
+     * Tercih edilen koltuğa en yakın adet boş koltuk: önce ortası tercih edilen koltuğa en yakın bitişik blok,
+     * blok yoksa tercih edilen koltuğa en yakın tek tek boş koltuklar. Yeterli boş koltuk yoksa boş dizi.
+     */
+    public int[] enIyiBosKoltuklar(int adet, int tercihEdilenKoltuk) {
+        return bosKoltuklariSec(adet, KoltukSecimi.EN_IYI, tercihEdilenKoltuk);
+    }
+
+    /**
+     * Seçime göre boş koltuk numaraları (artan sırada); seçim yapılamazsa boş dizi. Koltuklar nesne
+     * dolaşılmadan, doluluk kelimeleri üzerinde bit işlemleriyle bulunur: tamamen dolu kelimeler tek
+     * karşılaştırmayla geçilir, boş koltuk serileri kelime başına birkaç kaydırma ve maskeyle çıkarılır.
+     * Sonuç anlık bir görüntüdür; koltuklar ayrılmaz (bkz. otomatikRezerveEt).
+     */
+    public int[] bosKoltuklariSec(int adet, KoltukSecimi secim, int tercihEdilenKoltuk) {
+        if (adet <= 0 || adet > getBosKoltukSayisi()) return new int[0];
+        switch (secim) {
+            case ILK_BOS:
+                return ilkBoslar(adet);
+            case BITISIK: {
+                int bas = seriBul(adet, -1);
+                return bas < 0 ? new int[0] : ardisik(bas, adet);
+            }
+            default: {
+                int hedef = Math.min(Math.max(tercihEdilenKoltuk, 1), kapasite) - 1;
+                int bas = seriBul(adet, hedef);
+                return bas >= 0 ? ardisik(bas, adet) : enYakinBoslar(adet, hedef);
+            }
+        }
+    }
+
+    /** Kelimedeki boş ve geçerli (kapasite içindeki) koltukların bitleri; bacağı satılmış koltuklar boş sayılmaz */
+    private long bosKelime(int w) {
+        long bos = ~depo.kelime(w) & gecerliMaske(w);
+        if (bacaklar != null && kismiSayisi != 0) {
+            for (long b = bos; b != 0; b &= b - 1) {
+                int i = Long.numberOfTrailingZeros(b);
+                if (bacaklar.get((w << 6) + i) != 0) bos &= ~(1L << i);
+            }
+        }
+        return bos;
+    }
+
+    private long gecerliMaske(int w) {
+        int kalan = kapasite - (w << 6);
+        return kalan >= 64 ? -1L : (1L << kalan) - 1;
+    }
+
+    private int[] ilkBoslar(int adet) {
+        int[] sonuc = new int[adet];
+        int j = 0;
+        for (int w = 0; w < depo.kelimeSayisi() && j < adet; w++) {
+            for (long bos = bosKelime(w); bos != 0 && j < adet; bos &= bos - 1) {
+                sonuc[j++] = (w << 6) + Long.numberOfTrailingZeros(bos) + 1;
+            }
+        }
+        return j == adet ? sonuc : new int[0]; // sayaç ile bitler arasındaki yarışta eksik kalabilir
+    }
+
+    /**
+     * En az adet uzunluktaki boş koltuk serilerinden birinde blok başlangıcı (0 tabanlı); yoksa -1.
+     * hedef < 0 ise ilk uygun seri, değilse bloğun ortası hedefe en yakın olan seçilir. Seri başları
+     * (boş ve öncesi dolu) ve sonları (boş ve sonrası dolu) kelime başına birer kaydırmayla bulunur;
+     * komşu kelimenin kenar biti kaydırmaya taşınır, böylece kelime sınırını aşan seriler de tek seridir.
+     */
+    private int seriBul(int adet, int hedef) {
+        int kelimeSayisi = depo.kelimeSayisi();
+        int enIyi = -1;
+        int enIyiUzaklik = Integer.MAX_VALUE;
+        int seriBas = -1;
+        long onceki = 0, bos = bosKelime(0);
+        for (int w = 0; w < kelimeSayisi; w++) {
+            long sonraki = w + 1 < kelimeSayisi ? bosKelime(w + 1) : 0;
+            long baslar = bos & ~((bos << 1) | (onceki >>> 63));
+            long sonlar = bos & ~((bos >>> 1) | (sonraki << 63));
+            int taban = w << 6;
+            while (sonlar != 0) {
+                if (seriBas < 0) { // açık seri yok: sıradaki olay bir seri başıdır (aynı bit son da olabilir)
+                    seriBas = taban + Long.numberOfTrailingZeros(baslar);
+                    baslar &= baslar - 1;
+                }
+                int son = taban + Long.numberOfTrailingZeros(sonlar);
+                sonlar &= sonlar - 1;
+                if (son - seriBas + 1 >= adet) {
+                    if (hedef < 0) return seriBas;
+                    int bas = Math.min(Math.max(hedef - (adet - 1) / 2, seriBas), son - adet + 1);
+                    int uzaklik = Math.abs(bas + (adet - 1) / 2 - hedef);
+                    if (uzaklik < enIyiUzaklik) {
+                        enIyi = bas;
+                        enIyiUzaklik = uzaklik;
+                    }
+                }
+                seriBas = -1;
+            }
+            if (baslar != 0) seriBas = taban + Long.numberOfTrailingZeros(baslar); // sonraki kelimede biten seri
+            onceki = bos;
+            bos = sonraki;
+        }
+        return enIyi;
+    }
+
+    /** Hedefe en yakın adet boş koltuk (eşit uzaklıkta öndeki koltuk); iki yöne kelime kelime ilerler */
+    private int[] enYakinBoslar(int adet, int hedef) {
+        int[] sonuc = new int[adet];
+        int ust = sonrakiBos(hedef), alt = oncekiBos(hedef - 1);
+        for (int j = 0; j < adet; j++) {
+            if (ust < 0 && alt < 0) return new int[0];
+            if (alt >= 0 && (ust < 0 || hedef - alt <= ust - hedef)) {
+                sonuc[j] = alt + 1;
+                alt = oncekiBos(alt - 1);
+            } else {
+                sonuc[j] = ust + 1;
+                ust = sonrakiBos(ust + 1);
+            }
+        }
+        Arrays.sort(sonuc);
+        return sonuc;
+    }
+
+    /** i ve sonrasındaki ilk boş koltuk indeksi (yoksa -1) */
+    private int sonrakiBos(int i) {
+        if (i >= kapasite) return -1;
+        for (int w = i >>> 6; w < depo.kelimeSayisi(); w++) {
+            long bos = bosKelime(w);
+            if (w == i >>> 6) bos &= -1L << i;
+            if (bos != 0) return (w << 6) + Long.numberOfTrailingZeros(bos);
+        }
+        return -1;
+    }
+
+    /** i ve öncesindeki son boş koltuk indeksi (yoksa -1) */
+    private int oncekiBos(int i) {
+        if (i < 0) return -1;
+        for (int w = i >>> 6; w >= 0; w--) {
+            long bos = bosKelime(w);
+            if (w == i >>> 6) bos &= -1L >>> (63 - (i & 63));
+            if (bos != 0) return (w << 6) + 63 - Long.numberOfLeadingZeros(bos);
+        }
+        return -1;
+    }
+
+    private static int[] ardisik(int bas, int adet) {
+        int[] sonuc = new int[adet];
+        for (int j = 0; j < adet; j++) sonuc[j] = bas + j + 1;
+        return sonuc;
+    }
+
+    public Optional<Koltuk> rezervasyonKimlikIleKoltukBul(String rezervasyonKimlik) {
+        long cozulen = RezervasyonKimligi.coz(rezervasyonKimlik);
+        if (cozulen != -1 && sira != 0) {
+            // Kompakt kimlik koltuğu doğrudan gösterir; tarama gerekmez
+            if (RezervasyonKimligi.seferSirasi(cozulen) != sira) return Optional.empty();
+            Koltuk k = rezervasyonKaydi(RezervasyonKimligi.koltukNumarasi(cozulen));
+            if (k != null && RezervasyonKimligi.ayni(rezervasyonKimlik, k.getRezervasyonKimlik())) return Optional.of(k);
+            return Optional.ofNullable(bacakKaydi(rezervasyonKimlik));
+        }
+        RezervasyonDizini d = dizin;
+        if (d != null) {
+            // Eski (UUID) kimlik: sistem dizininden, koltuk bu seferdeyse
+            Koltuk k = d.bul(rezervasyonKimlik);
+            return k != null && k.getSefer() == this ? Optional.of(k) : Optional.empty();
+        }
+        for (Koltuk k : getRezerveKoltuklar()) { // sisteme eklenmemiş sefer
+            if (RezervasyonKimligi.ayni(rezervasyonKimlik, k.getRezervasyonKimlik())) return Optional.of(k);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Rezervasyon yapar ve rezervasyon yapılan Koltuk'u döner (null ise başarısız).
+     */
+    public Koltuk koltukRezerveEt(int koltukNumarasi, String yolcuAdi, String yolcuTelefonu) {
+        if (!gecerliNumara(koltukNumarasi)) return null;
+        if (doluMu(koltukNumarasi)) {
+            CAKISMA.incrementAndGet(this);
+            return null;
+        }
+        Koltuk k = new Koltuk(koltukNumarasi, this);
+        k.rezerveEt(yolcuAdi, yolcuTelefonu);
+        return k.isRezerveEdildi() ? k : null;
+    }
+
+    /**
+     * Taleplerdeki koltukların hepsini ya da hiçbirini rezerve eder (hepsi-ya-hiç).
+     * Koltuk bitleri kelime başına tek bir CAS ile alınır; herhangi bir koltuk doluysa o ana kadar alınan
+     * kelimeler geri bırakılır ve null döner. Başarılı grup, dinleyicilere tek bir toplu olay olarak bildirilir.
+     */
+    public List<Koltuk> koltuklariRezerveEt(List<RezervasyonTalebi> talepler) {
+        if (talepler.isEmpty()) return Collections.emptyList();
+        long[] maskeler = new long[depo.kelimeSayisi()];
+        for (RezervasyonTalebi t : talepler) {
+            int no = t.getKoltukNumarasi();
+            if (!gecerliNumara(no)) return null;
+            depo.kayitDenetle(null, t.getYolcuAdi(), t.getYolcuTelefonu());
+            int i = no - 1;
+            if ((maskeler[i >>> 6] & (1L << i)) != 0) return null; // aynı koltuk iki kez istenmiş
+            maskeler[i >>> 6] |= 1L << i;
+        }
+        if (!bitleriAl(maskeler)) return null;
+        return topluYayimla(talepler);
+    }
+
+    /**
+     * Seçime göre (bkz. bosKoltuklariSec) adet boş koltuğu bulur ve hepsini tek işlemde, hepsi-ya-hiç
+     * rezerve eder; tüm koltuklar aynı yolcu bilgileriyle yazılır. Seçilen koltuklardan biri bit alınmadan
+     * önce başka bir çağrıya geçerse alınanlar bırakılır ve seçim yeniden yapılır. Seçim yapılamazsa null.
+     */
+    public List<Koltuk> otomatikRezerveEt(int adet, String yolcuAdi, String yolcuTelefonu,
+                                          KoltukSecimi secim, int tercihEdilenKoltuk) {
+        depo.kayitDenetle(null, yolcuAdi, yolcuTelefonu);
+        for (int deneme = 0; deneme < OTOMATIK_DENEME; deneme++) {
+            int[] numaralar = bosKoltuklariSec(adet, secim, tercihEdilenKoltuk);
+            if (numaralar.length == 0) return null;
+            long[] maskeler = new long[depo.kelimeSayisi()];
+            for (int no : numaralar) maskeler[(no - 1) >>> 6] |= 1L << (no - 1);
+            if (!bitleriAl(maskeler)) continue;
+            List<RezervasyonTalebi> talepler = new ArrayList<>(numaralar.length);
+            for (int no : numaralar) talepler.add(new RezervasyonTalebi(no, yolcuAdi, yolcuTelefonu));
+            return topluYayimla(talepler);
+        }
+        return null;
+    }
+
+    /** Bitleri alınmış grup rezervasyonunun kayıtlarını yazar ve tek toplu olayla bildirir */
+    private List<Koltuk> topluYayimla(List<RezervasyonTalebi> talepler) {
+        LocalDateTime zaman = LocalDateTime.now();
+        List<Koltuk> sonuc = new ArrayList<>(talepler.size());
+        for (RezervasyonTalebi t : talepler) {
+            sonuc.add(new Koltuk(t.getKoltukNumarasi(), this, t.getYolcuAdi(), t.getYolcuTelefonu(),
+                    zaman, rezervasyonKimligiUret(t.getKoltukNumarasi())));
+        }
+        RezervasyonDinleyicisi d = dinleyici;
+        if (d != null) d.topluRezerveEdilecek(sonuc);
+        for (Koltuk k : sonuc) {
+            depo.kayitYaz(k.getKoltukNumarasi() - 1, k);
+            doluKoltuklar.set(k.getKoltukNumarasi() - 1, k);
+        }
+        depo.rezerveSayisiEkle(sonuc.size());
+        if (d != null) d.topluRezerveEdildi(sonuc);
+        return sonuc;
+    }
+
+    /* ---------- Bacak (kısmi güzergah) rezervasyonu ---------- */
+
+    /**
+     * Koltuğu güzergahın binis -> inis bölümü (durak indeksleri) için rezerve eder; null ise o bölümde
+     * koltuğun bir bacağı dolu ya da numara/aralık hatalı. Tüm güzergahı kapsayan aralık sıradan
+     * rezervasyondur (koltukRezerveEt).
+     */
+    public Koltuk bacakRezerveEt(int koltukNumarasi, int binis, int inis, String yolcuAdi, String yolcuTelefonu) {
+        if (!gecerliNumara(koltukNumarasi) || !gecerliAralik(binis, inis)) return null;
+        if (binis == 0 && inis == duraklar.length - 1) return koltukRezerveEt(koltukNumarasi, yolcuAdi, yolcuTelefonu);
+        return kismiYayimla(koltukNumarasi, binis, inis, yolcuAdi, yolcuTelefonu, LocalDateTime.now(), null);
+    }
+
+    /**
+     * binis -> inis bölümü için koltuğu kendisi seçer: bölümde boş koltuklardan satılmış bacağı en çok
+     * olan (en sıkı oturan) seçilir, böylece tüm güzergah için boş koltuklar olabildiğince korunur.
+     * Seçilen koltuk bu arada başka bir çağrıya geçerse seçim yeniden yapılır. Boş koltuk yoksa null.
+     */
+    public Koltuk bacakOtomatikRezerveEt(int binis, int inis, String yolcuAdi, String yolcuTelefonu) {
+        if (!gecerliAralik(binis, inis)) return null;
+        for (int deneme = 0; deneme < OTOMATIK_DENEME; deneme++) {
+            int[] bos = bosKoltuklar(binis, inis);
+            if (bos.length == 0) return null;
+            int secilen = bos[0], enCok = -1;
+            if (bacaklar != null) {
+                for (int no : bos) {
+                    int satilmis = Long.bitCount(bacaklar.get(no - 1));
+                    if (satilmis > enCok) {
+                        secilen = no;
+                        enCok = satilmis;
+                    }
+                }
+            }
+            Koltuk k = bacakRezerveEt(secilen, binis, inis, yolcuAdi, yolcuTelefonu);
+            if (k != null) return k;
+        }
+        return null;
+    }
+
+    /**
+     * Kalıcı kayıttaki kısmi rezervasyonu aynı kimlik ve zamanla geri yükler; kimlik zaten yüklüyse ya da
+     * bacaklar doluysa null.
+     */
+    Koltuk bacakGeriYukle(int koltukNumarasi, int binis, int inis, String yolcuAdi, String yolcuTelefonu,
+                          LocalDateTime rezervasyonZamani, String rezervasyonKimlik) {
+        if (bacaklar == null || !gecerliNumara(koltukNumarasi) || !gecerliAralik(binis, inis)) return null;
+        if (kismiKayitlar.containsKey(RezervasyonKimligi.anahtar(rezervasyonKimlik))) return null;
+        return kismiYayimla(koltukNumarasi, binis, inis, yolcuAdi, yolcuTelefonu, rezervasyonZamani, rezervasyonKimlik);
+    }
+
+    /** Kimliği verilen kısmi rezervasyon (büyük/küçük harf gözetilmez); yoksa null */
+    Koltuk bacakKaydi(String rezervasyonKimlik) {
+        if (kismiKayitlar == null || rezervasyonKimlik == null) return null;
+        return kismiKayitlar.get(RezervasyonKimligi.anahtar(rezervasyonKimlik));
+    }
+
+    /**
+     * Bacak bitlerini alır, kısmi rezervasyon kaydını yayımlar ve dinleyiciye bildirir. Bitler alındıktan
+     * kayıt yayımlanana kadar geçen süre sayaçla izlenir; muhurle bu pencerelerin kapanmasını bekler.
+     */
+    private Koltuk kismiYayimla(int koltukNumarasi, int binis, int inis, String yolcuAdi, String yolcuTelefonu,
+                                LocalDateTime zaman, String kimlik) {
+        if (bacaklar == null) return null;
+        int i = koltukNumarasi - 1;
+        long maske = aralikMaskesi(binis, inis);
+        YAYIMLANMAMIS_KISMI.incrementAndGet(this);
+        try {
+            if (!bacakAl(i, maske)) return null;
+            Koltuk k = new Koltuk(koltukNumarasi, this, yolcuAdi, yolcuTelefonu, zaman,
+                    kimlik != null ? kimlik : rezervasyonKimligiUret(koltukNumarasi), binis, inis);
+            RezervasyonDinleyicisi d = dinleyici;
+            if (d != null) d.rezerveEdilecek(k);
+            kismiKayitlar.put(RezervasyonKimligi.anahtar(k.getRezervasyonKimlik()), k);
+            KISMI_GELIR.addAndGet(this, k.getUcret());
+            KISMI.incrementAndGet(this);
+            if (d != null) d.rezerveEdildi(k);
+            return k;
+        } finally {
+            YAYIMLANMAMIS_KISMI.decrementAndGet(this);
+        }
+    }
+
+    /**
+     * Koltuğun maskedeki bacaklarını alır. Bitler alındıktan sonra koltuk biti okunur: tüm güzergah
+     * rezervasyonu, tutma ya da mühür koltuğu almışsa bacaklar geri bırakılır (bkz. bitAl).
+     */
+    private boolean bacakAl(int i, long maske) {
+        for (;;) {
+            long eski = bacaklar.get(i);
+            if ((eski & maske) != 0) {
+                CAKISMA.incrementAndGet(this);
+                return false;
+            }
+            if (bacaklar.compareAndSet(i, eski, eski | maske)) {
+                if (eski == 0) KISMI_DOLU.incrementAndGet(this);
+                KISMI_BACAK.addAndGet(this, Long.bitCount(maske));
+                break;
+            }
+            CAS_TEKRARI.incrementAndGet(this);
+        }
+        if (muhurlu || (depo.kelime(i >>> 6) & (1L << i)) != 0) {
+            bacakBirak(i, maske);
+            CAKISMA.incrementAndGet(this);
+            return false;
+        }
+        return true;
+    }
+
+    /** maske bacakAl ile alınmış olmalı; sayaçlar alınan bitlere göre düşülür */
+    private void bacakBirak(int i, long maske) {
+        for (;;) {
+            long eski = bacaklar.get(i);
+            if (bacaklar.compareAndSet(i, eski, eski & ~maske)) {
+                KISMI_BACAK.addAndGet(this, -Long.bitCount(maske));
+                if (eski != 0 && (eski & ~maske) == 0) KISMI_DOLU.decrementAndGet(this);
+                return;
+            }
+            CAS_TEKRARI.incrementAndGet(this);
+        }
+    }
+
+    /**
+     * Kalıcı kayıttaki bir rezervasyonu aynı kimlik ve zamanla geri yükler (null ise koltuk dolu/geçersiz).
+     */
+    Koltuk koltukGeriYukle(int koltukNumarasi, String yolcuAdi, String yolcuTelefonu,
+                           LocalDateTime rezervasyonZamani, String rezervasyonKimlik) {
+        if (!gecerliNumara(koltukNumarasi) || doluMu(koltukNumarasi)) return null;
+        Koltuk k = new Koltuk(koltukNumarasi, this);
+        k.geriYukle(yolcuAdi, yolcuTelefonu, rezervasyonZamani, rezervasyonKimlik);
+        return k.isRezerveEdildi() ? k : null;
+    }
+
+    /**
+     * Seferi arşive alınmak üzere mühürler ve yayımlanmış rezervasyonlarını döner. Boş koltuk bitleri
+     * alınır; böylece seferi elinde tutan çağıranlar (parçalar, açık HTTP istekleri) artık rezervasyon
+     * yapamaz. Süren tutmalar bırakılır (artık onaylanamaz). Biti alınmış ama kaydı henüz yayımlanmamış
+     * rezervasyonlar ve onaylar bitene kadar beklenir; bu arada boşalan bitler de mühürlenir. MUHUR_BEKLEME_NS
+     * içinde bitmezlerse mühür geri alınır ve null döner: sefer canlı kalır, arşivleme ertelenir.
+     * Mühürlenen bitlerin kaydı yoktur; bellek eşlemeli depoda bir sonraki yüklemede bırakılırlar.
+     */
+    List<Koltuk> muhurle() {
+        muhurlu = true;
+        long[] muhur = new long[depo.kelimeSayisi()];
+        long sinir = System.nanoTime() + MUHUR_BEKLEME_NS;
+        for (int deneme = 0; ; deneme++) {
+            tutmalariBirak();
+            int muhurSayisi = bosBitleriMuhurle(muhur);
+            // Bit, rezervasyon sayacından önce alınır ve ondan sonra bırakılır: fark yoksa yolda işlem yoktur
+            if (tutulanSayisi == 0 && yayimlanmamisKismi == 0 && doluBitSayisi() - muhurSayisi <= depo.rezerveSayisi()) {
+                return getRezerveKoltuklar();
+            }
+            if (System.nanoTime() - sinir >= 0) break;
+            if (deneme < 100) Thread.yield();
+            else LockSupport.parkNanos(this, 100_000);
+        }
+        for (int w = 0; w < muhur.length; w++) if (muhur[w] != 0) bitleriBirak(w, muhur[w]);
+        muhurlu = false;
+        return null;
+    }
+
+    /** Boş koltuk bitlerini alır ve muhur maskelerine ekler; mühürlü bit sayısını döner */
+    private int bosBitleriMuhurle(long[] muhur) {
+        int n = 0;
+        for (int w = 0; w < muhur.length; w++) {
+            long gecerli = gecerliMaske(w);
+            for (;;) {
+                long eski = depo.kelime(w);
+                long bos = ~eski & gecerli;
+                if (bos == 0) break;
+                if (depo.kelimeCas(w, eski, eski | bos)) {
+                    muhur[w] |= bos;
+                    break;
+                }
+                CAS_TEKRARI.incrementAndGet(this);
+            }
+            n += Long.bitCount(muhur[w]);
+        }
+        return n;
+    }
+
+    /** Mühür: süren tutmaları süresi dolmuş gibi toplu bırakır */
+    private void tutmalariBirak() {
+        AtomicReferenceArray<Koltuk> dizi = tutmalar;
+        if (dizi == null || tutulanSayisi == 0) return;
+        Koltuk[] parti = new Koltuk[kapasite];
+        int n = 0;
+        for (int i = 0; i < kapasite; i++) {
+            Koltuk k = dizi.get(i);
+            if (k != null && k.suresiDoldu()) parti[n++] = k;
+        }
+        if (n > 0) suresiDolanTutmalariBirak(parti, n);
+    }
+
+    private int doluBitSayisi() {
+        int n = 0;
+        for (int w = 0; w < depo.kelimeSayisi(); w++) n += Long.bitCount(depo.kelime(w));
+        return n;
+    }
+
+    /**
+     * Kalıcı depoda dolu görünen koltukların kayıtlarını Koltuk nesnesi olarak yükler. Kaydı yazılmadan
+     * kalmış (koltuk alınırken süreç durmuş) bitler bırakılır, sayaç bit kümesine göre düzeltilir.
+     * Sefer paylaşılmadan önce bir kez çağrılır.
+     */
+    void kayitlariYukle() {
+        int dolu = 0;
+        for (int w = 0; w < depo.kelimeSayisi(); w++) {
+            for (long bitler = depo.kelime(w); bitler != 0; bitler &= bitler - 1) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(bitler);
+                Koltuk k = depo.kayitOku(i, this);
+                if (k == null) {
+                    bitBirak(i);
+                } else {
+                    doluKoltuklar.set(i, k);
+                    dolu++;
+                }
+            }
+        }
+        depo.rezerveSayisiEkle(dolu - depo.rezerveSayisi());
+    }
+
+    /**
+     * Seferi sistemin olay dinleyicisine bağlar; mevcut rezervasyonlar dinleyiciye bildirilir.
+     * Sefer sisteme eklenmeden önce eşzamanlı olarak kullanılmamalıdır.
+     */
+    void dinleyiciBagla(RezervasyonDinleyicisi dinleyici) {
+        this.dinleyici = dinleyici;
+        dinleyici.seferEklendi(this);
+        for (Koltuk k : getRezerveKoltuklar()) {
+            dinleyici.rezerveEdilecek(k); // sefer henüz görünmediği için iptal araya giremez
+            dinleyici.rezerveEdildi(k);
+        }
+    }
+
+    /**
+     * Rezervasyon bilgileri seferin deposunda saklanabilir mi; bellek eşlemeli envanterin sabit genişlikli
+     * alanlarına sığmayan değerler için IllegalArgumentException (koltuk alınmadan önce çağrılır).
+     */
+    void kayitDenetle(String rezervasyonKimlik, String yolcuAdi, String yolcuTelefonu) {
+        depo.kayitDenetle(rezervasyonKimlik, yolcuAdi, yolcuTelefonu);
+    }
+
+    /** Seferi sistemin eski (UUID) kimlik dizinine bağlar (sisteme eklenirken) */
+    void dizinBagla(RezervasyonDizini dizin) {
+        this.dizin = dizin;
+    }
+
+    /** Seferi, tutmaların süre dolumunu işleyecek çarka bağlar (sisteme eklenirken) */
+    void tutmaCarkiBagla(TutmaCarki carki) {
+        this.tutmaCarki = carki;
+    }
+
+    /**
+     * Koltuk.rezerveEt tarafından çağrılır; koltuğun biti başka bir iş parçacığında alınmışsa false döner.
+     */
+    boolean rezervasyonEklendi(Koltuk k) {
+        int i = k.getKoltukNumarasi() - 1;
+        if (!bitAl(i)) return false;
+        yayimla(k);
+        return true;
+    }
+
+    /**
+     * Biti alınmış koltuğun rezervasyon kaydını yayımlar ve dinleyiciye bildirir. rezerveEdilecek kayıt
+     * yayımlanmadan önce çağrılır: kayıt görünür olmadan iptal edilemez, böylece günlükte REZERVE her
+     * zaman aynı rezervasyonun İPTAL kaydından önce gelir.
+     */
+    private void yayimla(Koltuk k) {
+        int i = k.getKoltukNumarasi() - 1;
+        RezervasyonDinleyicisi d = dinleyici;
+        if (d != null) d.rezerveEdilecek(k);
+        depo.kayitYaz(i, k);
+        doluKoltuklar.set(i, k);
+        depo.rezerveSayisiEkle(1);
+        if (d != null) d.rezerveEdildi(k);
+    }
+
+    /* ---------- Geçici tutma ---------- */
+
+    /**
+     * Koltuğu süre kadar tutar (ör. ödeme beklenirken): koltuk biti alınır, böylece başka biri rezerve
+     * edemez, ama rezervasyon sayılmaz ve günlüğe yazılmaz. Koltuk dolu ya da numara hatalıysa null döner.
+     * Süresi dolan tutma TutmaCarki tarafından bırakılır; Koltuk.onayla ile rezervasyona çevrilir.
+     */
+    public Koltuk koltukTut(int koltukNumarasi, Duration sure) {
+        TutmaCarki carki = tutmaCarki;
+        if (carki == null) throw new IllegalStateException("Sefer bir rezervasyon sistemine eklenmemiş.");
+        if (!gecerliNumara(koltukNumarasi)) return null;
+        int i = koltukNumarasi - 1;
+        if (doluMu(koltukNumarasi)) {
+            CAKISMA.incrementAndGet(this);
+            return null;
+        }
+        if (!bitAl(i)) return null;
+        Koltuk k = new Koltuk(koltukNumarasi, this, rezervasyonKimligiUret(koltukNumarasi), System.nanoTime() + sure.toNanos());
+        tutmaDizisi().set(i, k);
+        TUTULAN.incrementAndGet(this);
+        carki.ekle(k);
+        return k;
+    }
+
+    /** Koltuğun güncel tutma kaydı (tutulmuyorsa ya da numara geçersizse null) */
+    Koltuk tutmaKaydi(int koltukNumarasi) {
+        AtomicReferenceArray<Koltuk> dizi = tutmalar;
+        return dizi != null && gecerliNumara(koltukNumarasi) ? dizi.get(koltukNumarasi - 1) : null;
+    }
+
+    /**
+     * Koltuk.onayla: bit zaten tutmada; kayıt tutmalardan rezervasyonlara taşınır. Kaydı elinde tutan
+     * başka bir iş parçacığı onaydan hemen sonra iptal ederse iptalEt kaydı henüz bulamaz: yayımdan önce
+     * iptal edilmişse kayıt yayımlanmaz ve bit burada bırakılır, yayım sırasında iptal edilmişse kaldırma
+     * rezervasyonKaldirildi ile tamamlanır (kaydı kim silerse bildirimi o yapar).
+     */
+    void tutmaOnaylandi(Koltuk k) {
+        int i = k.getKoltukNumarasi() - 1;
+        boolean tutmadaydi = tutmalar.compareAndSet(i, k, null);
+        TUTULAN.decrementAndGet(this);
+        if (!tutmadaydi) return; // kayıt başka yoldan bırakılmış: bit artık bu tutmanın değil
+        if (!k.isRezerveEdildi()) {
+            bitBirak(i);
+            return;
+        }
+        yayimla(k);
+        if (!k.isRezerveEdildi()) rezervasyonKaldirildi(k);
+    }
+
+    /** Koltuk.birak: kayıt silinir, bit en son bırakılır */
+    void tutmaKaldirildi(Koltuk k) {
+        int i = k.getKoltukNumarasi() - 1;
+        tutmalar.compareAndSet(i, k, null);
+        TUTULAN.decrementAndGet(this);
+        bitBirak(i);
+    }
+
+    /**
+     * Süresi dolan tutmaları toplu bırakır (TutmaCarki; kayıtlar bu seferin, koltuk numarasına göre
+     * gruplanmış olması gerekmez). Aynı kelimeye düşen ardışık koltukların bitleri tek CAS ile bırakılır.
+     */
+    void suresiDolanTutmalariBirak(Koltuk[] kayitlar, int adet) {
+        AtomicReferenceArray<Koltuk> dizi = tutmalar;
+        int w = -1;
+        long maske = 0;
+        for (int j = 0; j < adet; j++) {
+            int i = kayitlar[j].getKoltukNumarasi() - 1;
+            dizi.compareAndSet(i, kayitlar[j], null);
+            if ((i >>> 6) != w) {
+                if (maske != 0) bitleriBirak(w, maske);
+                w = i >>> 6;
+                maske = 0;
+            }
+            maske |= 1L << i;
+        }
+        TUTULAN.addAndGet(this, -adet);
+        if (maske != 0) bitleriBirak(w, maske);
+    }
+
+    private AtomicReferenceArray<Koltuk> tutmaDizisi() {
+        AtomicReferenceArray<Koltuk> dizi = tutmalar;
+        if (dizi != null) return dizi;
+        synchronized (this) {
+            if (tutmalar == null) tutmalar = new AtomicReferenceArray<>(kapasite);
+            return tutmalar;
+        }
+    }
+
+    void rezervasyonKaldirildi(Koltuk k) {
+        int i = k.getKoltukNumarasi() - 1;
+        if (k.isKismi()) {
+            if (!kismiKayitlar.remove(RezervasyonKimligi.anahtar(k.getRezervasyonKimlik()), k)) return;
+            KISMI.decrementAndGet(this);
+            KISMI_GELIR.addAndGet(this, -k.getUcret());
+            RezervasyonDinleyicisi d = dinleyici;
+            if (d != null) d.iptalEdildi(k);
+            bacakBirak(i, aralikMaskesi(k.getBinisDuragi(), k.getInisDuragi()));
+            return;
+        }
+        if (!doluKoltuklar.compareAndSet(i, k, null)) return;
+        depo.rezerveSayisiEkle(-1);
+        RezervasyonDinleyicisi d = dinleyici;
+        if (d != null) d.iptalEdildi(k);
+        depo.kayitSil(i);
+        bitBirak(i);
+    }
+
+    private boolean bitAl(int i) {
+        int w = i >>> 6;
+        long maske = 1L << i;
+        for (;;) {
+            long eski = depo.kelime(w);
+            if ((eski & maske) != 0) {
+                CAKISMA.incrementAndGet(this);
+                return false;
+            }
+            if (depo.kelimeCas(w, eski, eski | maske)) break;
+            CAS_TEKRARI.incrementAndGet(this);
+        }
+        if (bacaklar != null && bacaklar.get(i) != 0) { // koltuğun bir bacağı kısmi rezervasyonda (bkz. bacakAl)
+            bitBirak(i);
+            CAKISMA.incrementAndGet(this);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Maskelerdeki tüm bitleri alır; biri doluysa alınanları geri bırakıp false döner.
+     */
+    private boolean bitleriAl(long[] maskeler) {
+        for (int w = 0; w < maskeler.length; w++) {
+            long m = maskeler[w];
+            if (m == 0) continue;
+            for (;;) {
+                long eski = depo.kelime(w);
+                if ((eski & m) != 0) {
+                    for (int g = 0; g < w; g++) if (maskeler[g] != 0) bitleriBirak(g, maskeler[g]);
+                    CAKISMA.incrementAndGet(this);
+                    return false;
+                }
+                if (depo.kelimeCas(w, eski, eski | m)) break;
+                CAS_TEKRARI.incrementAndGet(this);
+            }
+        }
+        if (bacaklar != null) {
+            for (int w = 0; w < maskeler.length; w++) {
+                for (long m = maskeler[w]; m != 0; m &= m - 1) {
+                    if (bacaklar.get((w << 6) + Long.numberOfTrailingZeros(m)) == 0) continue;
+                    for (int g = 0; g < maskeler.length; g++) if (maskeler[g] != 0) bitleriBirak(g, maskeler[g]);
+                    CAKISMA.incrementAndGet(this);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void bitleriBirak(int w, long m) {
+        for (;;) {
+            long eski = depo.kelime(w);
+            if (depo.kelimeCas(w, eski, eski & ~m)) return;
+            CAS_TEKRARI.incrementAndGet(this);
+        }
+    }
+
+    private void bitBirak(int i) {
+        bitleriBirak(i >>> 6, 1L << i);
+    }
+}
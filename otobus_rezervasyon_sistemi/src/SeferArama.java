@@ -0,0 +1,142 @@
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Güzergah ve kalkış zamanına göre sefer arama dizini.
+ * Her güzergah ("kalkış|varış", yolcu adlarıyla aynı normalleştirmeyle: YolcuDizini.adNormalize) kalkış
+ * zamanına göre sıralı bir atlamalı listeye eşlenir; "ISTANBUL", "istanbul" ve "İstanbul" aynı güzergahtır.
+ * Tarih aralığının başı O(log n) ile bulunur, sonuçlar imleç ile sayfa sayfa döner.
+ * Ara duraklı sefer, sırası korunan her durak çifti altında dizinlenir; böylece ara duraktan binilen ya
+ * da inilen aramalar da seferi bulur ve boş koltuk o bölüm için sayılır.
+ */
+class SeferArama implements RezervasyonDinleyicisi {
+    /** Sıralama anahtarı ve sayfalama imleci: (kalkış zamanı, sefer kimliği) */
+    static final class Imlec implements Comparable<Imlec> {
+        private final LocalDateTime kalkisZamani;
+        private final String seferKimlik;
+
+        Imlec(LocalDateTime kalkisZamani, String seferKimlik) {
+            this.kalkisZamani = kalkisZamani;
+            this.seferKimlik = seferKimlik;
+        }
+
+        @Override
+        public int compareTo(Imlec o) {
+            int c = kalkisZamani.compareTo(o.kalkisZamani);
+            return c != 0 ? c : seferKimlik.compareTo(o.seferKimlik);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Imlec && compareTo((Imlec) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return kalkisZamani.hashCode() * 31 + seferKimlik.hashCode();
+        }
+    }
+
+    /** Bir arama sayfası; sonraki null ise başka sonuç yoktur */
+    static final class Sayfa {
+        private final List<Sefer> seferler;
+        private final Imlec sonraki;
+
+        Sayfa(List<Sefer> seferler, Imlec sonraki) {
+            this.seferler = seferler;
+            this.sonraki = sonraki;
+        }
+
+        public List<Sefer> getSeferler() { return seferler; }
+        public Imlec getSonraki() { return sonraki; }
+    }
+
+    private final Map<String, NavigableMap<Imlec, Sefer>> guzergahlar = new ConcurrentHashMap<>();
+
+    @Override
+    public void seferEklendi(Sefer s) {
+        Imlec imlec = imlecOf(s);
+        for (String a : anahtarlar(s)) guzergahlar.computeIfAbsent(a, x -> new ConcurrentSkipListMap<>()).put(imlec, s);
+    }
+
+    @Override
+    public void seferKaldirildi(Sefer s, List<Koltuk> rezerveKoltuklar) {
+        Imlec imlec = imlecOf(s);
+        for (String a : anahtarlar(s)) {
+            NavigableMap<Imlec, Sefer> zamanSirali = guzergahlar.get(a);
+            if (zamanSirali != null) zamanSirali.remove(imlec, s);
+        }
+    }
+
+    /** Seferin dizinlendiği güzergah anahtarları: ara durak yoksa yalnızca kalkış|varış */
+    private static List<String> anahtarlar(Sefer s) {
+        if (!s.isCokDurakli()) return Collections.singletonList(anahtar(s.getKalkisYeri(), s.getVarisYeri()));
+        List<String> sonuc = new ArrayList<>();
+        for (int i = 0; i < s.getDurakSayisi(); i++) {
+            for (int j = i + 1; j < s.getDurakSayisi(); j++) sonuc.add(anahtar(s.getDurak(i), s.getDurak(j)));
+        }
+        return sonuc;
+    }
+
+    /**
+     * Kalkış zamanı sinir'den önce olan tüm seferler (arşivleme için). Her güzergahta yalnızca listenin
+     * başı dolaşılır; maliyet güzergah sayısı ve bulunan sefer sayısıyla orantılıdır, sefer sayısıyla değil.
+     * Ara duraklı sefer yalnızca kalkış|varış anahtarında sayılır.
+     */
+    public List<Sefer> kalkisiGecenler(LocalDateTime sinir) {
+        Imlec ust = new Imlec(sinir, "");
+        List<Sefer> sonuc = new ArrayList<>();
+        for (Map.Entry<String, NavigableMap<Imlec, Sefer>> e : guzergahlar.entrySet()) {
+            for (Sefer s : e.getValue().headMap(ust, false).values()) {
+                if (!s.isCokDurakli() || e.getKey().equals(anahtar(s.getKalkisYeri(), s.getVarisYeri()))) sonuc.add(s);
+            }
+        }
+        return sonuc;
+    }
+
+    /**
+     * kalkisYeri -> varisYeri güzergahında [baslangic, bitis] aralığında kalkan ve en az minBosKoltuk
+     * boş koltuğu olan seferleri kalkış sırasıyla döner. imlec null ise baştan başlanır. Ara duraklı
+     * seferde boş koltuklar kalkisYeri -> varisYeri bölümü için sayılır.
+     */
+    public Sayfa ara(String kalkisYeri, String varisYeri, LocalDateTime baslangic, LocalDateTime bitis,
+                     int minBosKoltuk, Imlec imlec, int sayfaBoyutu) {
+        if (sayfaBoyutu <= 0) throw new IllegalArgumentException("Sayfa boyutu pozitif olmalı.");
+        NavigableMap<Imlec, Sefer> zamanSirali = guzergahlar.get(anahtar(kalkisYeri, varisYeri));
+        if (zamanSirali == null || baslangic.isAfter(bitis)) return new Sayfa(Collections.emptyList(), null);
+
+        Imlec alt = new Imlec(baslangic, "");
+        Imlec ust = new Imlec(bitis, "\uffff");
+        if (imlec != null) {
+            if (imlec.compareTo(ust) >= 0) return new Sayfa(Collections.emptyList(), null);
+            if (imlec.compareTo(alt) > 0) alt = imlec;
+        }
+        NavigableMap<Imlec, Sefer> aralik = zamanSirali.subMap(alt, imlec == null || alt != imlec, ust, true);
+
+        List<Sefer> sonuc = new ArrayList<>(Math.min(sayfaBoyutu, 64));
+        for (Map.Entry<Imlec, Sefer> e : aralik.entrySet()) {
+            Sefer s = e.getValue();
+            int bos = s.isCokDurakli()
+                    ? s.bosKoltukSayisi(s.durakIndeksi(kalkisYeri), s.durakIndeksi(varisYeri))
+                    : s.getBosKoltukSayisi();
+            if (bos < minBosKoltuk) continue;
+            if (sonuc.size() == sayfaBoyutu) return new Sayfa(sonuc, imlecOf(sonuc.get(sonuc.size() - 1)));
+            sonuc.add(s);
+        }
+        return new Sayfa(sonuc, null);
+    }
+
+    private static Imlec imlecOf(Sefer s) {
+        return new Imlec(s.getKalkisZamani(), s.getSeferKimlik());
+    }
+
+    private static String anahtar(String kalkisYeri, String varisYeri) {
+        return YolcuDizini.adNormalize(kalkisYeri) + '|' + YolcuDizini.adNormalize(varisYeri);
+    }
+}
@@ -0,0 +1,349 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Kalkışı geçmiş seferlerin salt okunur, sıkıştırılmış arşivi.
+ *
+ * Seferler en fazla BLOK_SEFER seferlik bloklar halinde saklanır. Blok içi sütun düzenindedir: önce
+ * seferlerin alanları, ardından bloktaki tüm rezervasyonların koltuk, zaman, kimlik, ad ve telefon
+ * sütunları ayrı ayrı yazılır ve blok Deflate ile sıkıştırılır (benzer değerler yan yana düştüğü için
+ * satır düzenine göre daha iyi sıkışır). Ara duraklar, kısmi rezervasyonların biniş/iniş durakları ve
+ * rezervasyon zamanlarının saniye altı kısmı bloğun sonuna ek sütunlar olarak yazılır; bu sütunları
+ * taşımayan eski bloklar da okunur. Bellekte yalnızca sıkıştırılmış bloklar ve sefer başına küçük
+ * bir özet (ArsivSeferi) kalır; Sefer nesneleri, koltuk dizileri ve Koltuk kayıtları bırakılır.
+ *
+ * Sefer kimliği, sefer sırası (kompakt rezervasyon kimliklerinden çözülür) ya da eski biçimli rezervasyon
+ * kimliği ile arama O(1) özet bulur; rezervasyon ayrıntısı için yalnızca ilgili blok açılır. Blok boyutu
+ * sınırlı olduğundan arama gecikmesi de sınırlıdır.
+ *
+ * Dizin verildiyse her blok arsiv.bin dosyasına [uzunluk][crc32][sıkıştırılmış blok] olarak eklenir ve
+ * ekleme sonunda diske zorlanır; sefer ancak bundan sonra canlı kümeden çıkarılır. Açılışta dosya okunur,
+ * yarım yazılmış son blok CRC ile tespit edilip atlanır.
+ */
+final class SeferArsivi implements AutoCloseable {
+    static final int BLOK_SEFER = 64;
+    private static final int BLOK_REZERVASYON = 512; // blok bu kadar rezervasyona ulaşınca erken kapanır
+    private static final String DOSYA = "arsiv.bin";
+
+    /** Arşivlenmiş bir seferin bellekte kalan özeti */
+    static final class ArsivSeferi {
+        private final String seferKimlik, kalkisYeri, varisYeri;
+        private final LocalDateTime kalkisZamani;
+        private final int kapasite, biletFiyati, sira, rezerveSayisi;
+        private final long gelir;          // kısmi rezervasyonlarda bilet fiyatından farklıdır
+        private final double dolulukOrani;
+        private final byte[] blok;   // seferin bulunduğu sıkıştırılmış blok (bloktaki seferler paylaşır)
+        private final int blokSirasi; // seferin blok içindeki sırası
+
+        ArsivSeferi(String seferKimlik, String kalkisYeri, String varisYeri, LocalDateTime kalkisZamani, int kapasite,
+                    int biletFiyati, int sira, int rezerveSayisi, long gelir, double dolulukOrani, byte[] blok, int blokSirasi) {
+            this.seferKimlik = seferKimlik;
+            this.kalkisYeri = kalkisYeri;
+            this.varisYeri = varisYeri;
+            this.kalkisZamani = kalkisZamani;
+            this.kapasite = kapasite;
+            this.biletFiyati = biletFiyati;
+            this.sira = sira;
+            this.rezerveSayisi = rezerveSayisi;
+            this.gelir = gelir;
+            this.dolulukOrani = dolulukOrani;
+            this.blok = blok;
+            this.blokSirasi = blokSirasi;
+        }
+
+        public String getSeferKimlik() { return seferKimlik; }
+        public String getKalkisYeri() { return kalkisYeri; }
+        public String getVarisYeri() { return varisYeri; }
+        public LocalDateTime getKalkisZamani() { return kalkisZamani; }
+        public int getKapasite() { return kapasite; }
+        public int getBiletFiyati() { return biletFiyati; }
+        public int getSira() { return sira; }
+        public int getRezerveSayisi() { return rezerveSayisi; }
+        public long getGelir() { return gelir; }
+        public double getDolulukOrani() { return dolulukOrani; }
+    }
+
+    private final Path dosya;        // null: yalnızca bellekte
+    private final FileChannel kanal; // dosya yoksa null
+    private final Map<String, ArsivSeferi> kimlikle = new ConcurrentHashMap<>();
+    private final Map<Integer, ArsivSeferi> sirayla = new ConcurrentHashMap<>();
+    private final Map<String, ArsivSeferi> eskiKimlikler = new ConcurrentHashMap<>(); // UUID rezervasyon kimliği (RezervasyonKimligi.anahtar) -> sefer
+    private volatile long rezervasyonSayisi, gelir, sikistirilmisBayt; // yazan: ekle (synchronized)
+    private int enBuyukSira;
+
+    /** Yalnızca bellekte tutulan arşiv */
+    SeferArsivi() {
+        this.dosya = null;
+        this.kanal = null;
+    }
+
+    /** dizin/arsiv.bin dosyasını okur ve yeni blokları sonuna ekler */
+    SeferArsivi(Path dizin) throws IOException {
+        Files.createDirectories(dizin);
+        this.dosya = dizin.resolve(DOSYA);
+        long gecerliSon = Files.exists(dosya) ? dosyaOku() : 0;
+        this.kanal = FileChannel.open(dosya, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        kanal.truncate(gecerliSon); // yarım kalmış son blok
+        kanal.position(gecerliSon);
+    }
+
+    public int getSeferSayisi() { return kimlikle.size(); }
+    public long getRezervasyonSayisi() { return rezervasyonSayisi; }
+    public long getGelir() { return gelir; }
+    public long getSikistirilmisBayt() { return sikistirilmisBayt; }
+    synchronized int getEnBuyukSira() { return enBuyukSira; }
+
+    boolean iceriyor(String seferKimlik) { return kimlikle.containsKey(seferKimlik); }
+
+    /** Arşivdeki seferlerin özetleri (sıra garantisi yok) */
+    Collection<ArsivSeferi> seferler() { return kimlikle.values(); }
+
+    /** Kimliği verilen arşivlenmiş sefer (yoksa null) */
+    public ArsivSeferi seferBul(String seferKimlik) {
+        return seferKimlik == null ? null : kimlikle.get(seferKimlik);
+    }
+
+    /**
+     * Seferleri mühürleyip (Sefer.muhurle) arşive yazar; dizin varsa bloklar diske zorlanır. Dönen listede
+     * her seferin arşive yazılan rezervasyonları, sefer sırasıyla yer alır. Zaten arşivde olan seferler
+     * yalnızca mühürlenir, yeniden yazılmaz. Yayımlanmamış rezervasyonu bitmediği için mühürlenemeyen
+     * seferlerin yerinde null vardır; bunlar arşive yazılmaz, canlı kalıp sonraki arşivlemeyi bekler.
+     */
+    synchronized List<List<Koltuk>> ekle(List<Sefer> seferler) throws IOException {
+        List<List<Koltuk>> rezervasyonlar = new ArrayList<>(seferler.size());
+        List<Sefer> blok = new ArrayList<>(BLOK_SEFER);
+        List<List<Koltuk>> blokRezervasyonlari = new ArrayList<>(BLOK_SEFER);
+        int blokRezervasyonSayisi = 0;
+        for (Sefer s : seferler) {
+            List<Koltuk> rezerve = s.muhurle();
+            rezervasyonlar.add(rezerve);
+            if (rezerve == null) {
+                System.err.println("Sefer " + s.getSeferKimlik() + " mühürlenemedi (yayımlanmamış rezervasyon var); arşivleme ertelendi.");
+                continue;
+            }
+            if (kimlikle.containsKey(s.getSeferKimlik())) continue; // ör. bellek eşlemeli envanterden yeniden yüklenmiş arşivli sefer
+            blok.add(s);
+            blokRezervasyonlari.add(rezerve);
+            blokRezervasyonSayisi += rezerve.size();
+            if (blok.size() == BLOK_SEFER || blokRezervasyonSayisi >= BLOK_REZERVASYON) {
+                blokYaz(blok, blokRezervasyonlari);
+                blok.clear();
+                blokRezervasyonlari.clear();
+                blokRezervasyonSayisi = 0;
+            }
+        }
+        if (!blok.isEmpty()) blokYaz(blok, blokRezervasyonlari);
+        if (kanal != null) kanal.force(false);
+        return rezervasyonlar;
+    }
+
+    /**
+     * Arşivlenmiş seferi tüm rezervasyonlarıyla, hiçbir sisteme bağlı olmayan salt okunur bir Sefer
+     * olarak açar (bilet fişi ve JSON çıktısı canlı seferlerdeki gibi üretilsin diye). Yoksa null.
+     */
+    public Sefer seferAc(String seferKimlik) throws IOException {
+        ArsivSeferi a = seferBul(seferKimlik);
+        return a == null ? null : blokAc(a.blok).get(a.blokSirasi);
+    }
+
+    /**
+     * Rezervasyon kimliğine ait arşivlenmiş koltuk (yoksa null). Kompakt kimlikte sefer sıradan, eski
+     * kimlikte dizinden bulunur; yalnızca o seferin bloğu açılır.
+     */
+    public Koltuk rezervasyonBul(String rezervasyonKimlik) throws IOException {
+        long cozulen = RezervasyonKimligi.coz(rezervasyonKimlik);
+        ArsivSeferi a = cozulen == -1 ? eskiKimlikler.get(RezervasyonKimligi.anahtar(rezervasyonKimlik))
+                : sirayla.get(RezervasyonKimligi.seferSirasi(cozulen));
+        if (a == null) return null;
+        Sefer s = blokAc(a.blok).get(a.blokSirasi);
+        if (cozulen != -1) {
+            Koltuk k = s.rezervasyonKaydi(RezervasyonKimligi.koltukNumarasi(cozulen));
+            return k != null && RezervasyonKimligi.ayni(rezervasyonKimlik, k.getRezervasyonKimlik()) ? k : s.bacakKaydi(rezervasyonKimlik);
+        }
+        for (Koltuk k : s.getRezerveKoltuklar()) if (RezervasyonKimligi.ayni(rezervasyonKimlik, k.getRezervasyonKimlik())) return k;
+        return null;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (kanal != null) kanal.close();
+    }
+
+    /* ---------- Blok biçimi ---------- */
+
+    private void blokYaz(List<Sefer> seferler, List<List<Koltuk>> rezervasyonlar) throws IOException {
+        ByteArrayOutputStream bayt = new ByteArrayOutputStream(4096);
+        Deflater sikistirici = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bayt, sikistirici))) {
+            int n = seferler.size();
+            out.writeInt(n);
+            for (Sefer s : seferler) out.writeUTF(s.getSeferKimlik());
+            for (Sefer s : seferler) out.writeUTF(s.getKalkisYeri());
+            for (Sefer s : seferler) out.writeUTF(s.getVarisYeri());
+            for (Sefer s : seferler) out.writeLong(s.getKalkisZamani().toEpochSecond(ZoneOffset.UTC));
+            for (Sefer s : seferler) out.writeInt(s.getKapasite());
+            for (Sefer s : seferler) out.writeInt(s.getBiletFiyati());
+            for (Sefer s : seferler) out.writeInt(s.getSira());
+            for (List<Koltuk> r : rezervasyonlar) out.writeInt(r.size());
+            for (List<Koltuk> r : rezervasyonlar) for (Koltuk k : r) out.writeShort(k.getKoltukNumarasi());
+            for (List<Koltuk> r : rezervasyonlar) for (Koltuk k : r) out.writeLong(k.getRezervasyonZamani().toEpochSecond(ZoneOffset.UTC));
+            for (List<Koltuk> r : rezervasyonlar) for (Koltuk k : r) out.writeUTF(k.getRezervasyonKimlik());
+            for (List<Koltuk> r : rezervasyonlar) for (Koltuk k : r) out.writeUTF(k.getYolcuAdi() == null ? "" : k.getYolcuAdi());
+            for (List<Koltuk> r : rezervasyonlar) for (Koltuk k : r) out.writeUTF(k.getYolcuTelefonu() == null ? "" : k.getYolcuTelefonu());
+            for (Sefer s : seferler) {
+                out.writeByte(s.getDurakSayisi() - 2);
+                for (int d = 1; d < s.getDurakSayisi() - 1; d++) out.writeUTF(s.getDurak(d));
+            }
+            for (List<Koltuk> r : rezervasyonlar) for (Koltuk k : r) out.writeByte(k.isKismi() ? k.getBinisDuragi() : 0);
+            for (List<Koltuk> r : rezervasyonlar) for (Koltuk k : r) out.writeByte(k.isKismi() ? k.getInisDuragi() : 0);
+            for (List<Koltuk> r : rezervasyonlar) for (Koltuk k : r) out.writeInt(k.getRezervasyonZamani().getNano());
+        } finally {
+            sikistirici.end();
+        }
+        byte[] blok = bayt.toByteArray();
+        if (kanal != null) {
+            CRC32 crc = new CRC32();
+            crc.update(blok);
+            ByteBuffer bb = ByteBuffer.allocate(8 + blok.length).putInt(blok.length).putInt((int) crc.getValue()).put(blok);
+            bb.flip();
+            while (bb.hasRemaining()) kanal.write(bb);
+        }
+        dizinle(blok, blokAc(blok));
+    }
+
+    /** Blok içindeki seferleri özetler ve arama dizinlerine ekler */
+    private void dizinle(byte[] blok, List<Sefer> seferler) {
+        long rez = 0, gel = 0;
+        for (int i = 0; i < seferler.size(); i++) {
+            Sefer s = seferler.get(i);
+            List<Koltuk> rezerve = s.getRezerveKoltuklar();
+            ArsivSeferi a = new ArsivSeferi(s.getSeferKimlik(), s.getKalkisYeri(), s.getVarisYeri(), s.getKalkisZamani(),
+                    s.getKapasite(), s.getBiletFiyati(), s.getSira(), rezerve.size(), s.getGelir(), s.getDolulukOrani(), blok, i);
+            kimlikle.put(a.seferKimlik, a);
+            if (a.sira > 0) sirayla.put(a.sira, a);
+            enBuyukSira = Math.max(enBuyukSira, a.sira);
+            for (Koltuk k : rezerve) {
+                if (RezervasyonKimligi.coz(k.getRezervasyonKimlik()) == -1) eskiKimlikler.put(RezervasyonKimligi.anahtar(k.getRezervasyonKimlik()), a);
+            }
+            rez += rezerve.size();
+            gel += a.getGelir();
+        }
+        rezervasyonSayisi += rez;
+        gelir += gel;
+        sikistirilmisBayt += blok.length;
+    }
+
+    /** Bloğu açar; seferler sisteme bağlı olmayan, rezervasyonları geri yüklenmiş nesnelerdir */
+    private static List<Sefer> blokAc(byte[] blok) throws IOException {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(blok)))) {
+            int n = in.readInt();
+            String[] kimlik = new String[n], kalkis = new String[n], varis = new String[n];
+            long[] zaman = new long[n];
+            int[] kapasite = new int[n], fiyat = new int[n], sira = new int[n], adet = new int[n];
+            for (int i = 0; i < n; i++) kimlik[i] = in.readUTF();
+            for (int i = 0; i < n; i++) kalkis[i] = in.readUTF();
+            for (int i = 0; i < n; i++) varis[i] = in.readUTF();
+            for (int i = 0; i < n; i++) zaman[i] = in.readLong();
+            for (int i = 0; i < n; i++) kapasite[i] = in.readInt();
+            for (int i = 0; i < n; i++) fiyat[i] = in.readInt();
+            for (int i = 0; i < n; i++) sira[i] = in.readInt();
+            int toplam = 0;
+            for (int i = 0; i < n; i++) toplam += adet[i] = in.readInt();
+            int[] no = new int[toplam];
+            long[] rezZamani = new long[toplam];
+            String[] rezKimlik = new String[toplam], ad = new String[toplam], tel = new String[toplam];
+            for (int j = 0; j < toplam; j++) no[j] = in.readUnsignedShort();
+            for (int j = 0; j < toplam; j++) rezZamani[j] = in.readLong();
+            for (int j = 0; j < toplam; j++) rezKimlik[j] = in.readUTF();
+            for (int j = 0; j < toplam; j++) ad[j] = in.readUTF();
+            for (int j = 0; j < toplam; j++) tel[j] = in.readUTF();
+            List<List<String>> duraklar = new ArrayList<>(n);
+            int[] binis = new int[toplam], inis = new int[toplam];
+            try {
+                for (int i = 0; i < n; i++) {
+                    List<String> d = new ArrayList<>();
+                    d.add(kalkis[i]);
+                    for (int m = in.readUnsignedByte(); m > 0; m--) d.add(in.readUTF());
+                    d.add(varis[i]);
+                    duraklar.add(d);
+                }
+                for (int j = 0; j < toplam; j++) binis[j] = in.readUnsignedByte();
+                for (int j = 0; j < toplam; j++) inis[j] = in.readUnsignedByte();
+            } catch (EOFException e) {
+                duraklar.clear(); // eski biçim: ara durak ve kısmi rezervasyon yok
+            }
+            int[] nano = new int[toplam];
+            try {
+                for (int j = 0; j < toplam; j++) nano[j] = in.readInt();
+            } catch (EOFException e) {
+                // eski biçim: zamanlar saniye çözünürlüğünde
+            }
+
+            List<Sefer> seferler = new ArrayList<>(n);
+            int j = 0;
+            for (int i = 0; i < n; i++) {
+                LocalDateTime kalkisZamani = LocalDateTime.ofEpochSecond(zaman[i], 0, ZoneOffset.UTC);
+                Sefer s = duraklar.isEmpty() || duraklar.get(i).size() == 2
+                        ? new Sefer(kimlik[i], kalkis[i], varis[i], kalkisZamani, kapasite[i], fiyat[i])
+                        : new Sefer(kimlik[i], duraklar.get(i), kalkisZamani, kapasite[i], fiyat[i]);
+                if (sira[i] > 0) s.siraAta(sira[i]);
+                for (int son = j + adet[i]; j < son; j++) {
+                    LocalDateTime z = LocalDateTime.ofEpochSecond(rezZamani[j], nano[j], ZoneOffset.UTC);
+                    String t = tel[j].isEmpty() ? null : tel[j];
+                    if (inis[j] != 0) s.bacakGeriYukle(no[j], binis[j], inis[j], ad[j], t, z, rezKimlik[j]);
+                    else s.koltukGeriYukle(no[j], ad[j], t, z, rezKimlik[j]);
+                }
+                seferler.add(s);
+            }
+            return seferler;
+        }
+    }
+
+    /** Dosyadaki geçerli blokları dizinler; geçerli son konumu döner */
+    private long dosyaOku() throws IOException {
+        long konum = 0;
+        try (InputStream giris = Files.newInputStream(dosya)) {
+            DataInputStream in = new DataInputStream(giris);
+            CRC32 kontrol = new CRC32();
+            while (true) {
+                byte[] blok;
+                int beklenenCrc;
+                try {
+                    int uzunluk = in.readInt();
+                    beklenenCrc = in.readInt();
+                    if (uzunluk <= 0 || uzunluk > (16 << 20)) return konum;
+                    blok = new byte[uzunluk];
+                    in.readFully(blok);
+                } catch (EOFException e) {
+                    return konum;
+                }
+                kontrol.reset();
+                kontrol.update(blok);
+                if ((int) kontrol.getValue() != beklenenCrc) return konum;
+                dizinle(blok, blokAc(blok));
+                konum += 8 + blok.length;
+            }
+        }
+    }
+}
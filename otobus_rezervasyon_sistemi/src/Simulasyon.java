@@ -0,0 +1,403 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kapasite planlaması için sentetik yük üreteci (simülasyon modu).
+ *
+ * Önce gerçekçi dağılımlarla çok sayıda sefer üretilir: güzergahlar şehir nüfuslarının çarpımıyla
+ * ağırlıklandırılır, kalkış saatleri sabah ve akşam/gece yoğunluğu olan bir saat dağılımından seçilir.
+ * Ardından iş parçacıkları açık döngü (open-loop) yük uygular: her iş parçacığı kendi Poisson varış
+ * sürecini izler ve bir işlem geç kalsa bile sonraki varışlar ertelenmez. Gecikme, işlemin planlanan
+ * başlangıç anından ölçülür (yanıt süresi = kuyrukta bekleme + servis), böylece sistem yetişemediğinde
+ * bekleme süreleri de ölçüme girer. Rezervasyonlar Zipf dağılımıyla az sayıda sıcak sefere yığılır.
+ *
+ * İşlem karışımı: rezervasyon, kendi rezervasyonunu iptal, güzergah/gün araması ve özet rapor.
+ *
+ * --parca N verilirse rezervasyon, iptal ve rapor işlemleri ParcaliYurutucu üzerinden N parçanın tek
+ * yazarlı iş parçacıklarında çalıştırılır (yanıt süresine kuyrukta bekleme de girer).
+ */
+final class Simulasyon {
+    static final int REZERVE = 0, IPTAL = 1, ARA = 2, RAPOR = 3;
+    private static final String[] ISLEM_ADLARI = {"rezerve", "iptal", "ara", "rapor"};
+
+    // Şehirler ve yaklaşık nüfusları (milyon); güzergah ağırlığı iki şehrin nüfus çarpımıdır
+    private static final String[] SEHIRLER = {
+            "İstanbul", "Ankara", "İzmir", "Bursa", "Antalya", "Konya", "Adana", "Şanlıurfa", "Gaziantep", "Kocaeli",
+            "Mersin", "Diyarbakır", "Hatay", "Manisa", "Kayseri", "Samsun", "Balıkesir", "Denizli", "Eskişehir", "Trabzon"};
+    private static final double[] NUFUS = {
+            15.9, 5.8, 4.5, 3.2, 2.7, 2.3, 2.3, 2.2, 2.2, 2.1, 1.9, 1.8, 1.7, 1.5, 1.4, 1.4, 1.3, 1.1, 0.9, 0.8};
+    // Kalkış saati ağırlıkları (00:00 .. 23:00); sabah ve akşam/gece otobüsleri yoğun
+    private static final double[] SAAT_AGIRLIGI = {
+            4, 3, 2, 1, 1, 1, 2, 5, 7, 8, 7, 6, 6, 6, 6, 6, 7, 8, 8, 8, 9, 10, 9, 6};
+    private static final String[] ADLAR = {"Ali", "Ayşe", "Mehmet", "Fatma", "Mustafa", "Zeynep", "Ahmet", "Elif", "Can", "Deniz"};
+    private static final String[] SOYADLAR = {"Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Aydın", "Öztürk", "Arslan", "Doğan"};
+
+    /** Simülasyon parametreleri */
+    static final class Ayarlar {
+        int seferSayisi = 200_000;
+        int kapasite = 46;
+        int gunSayisi = 30;
+        double hiz = 20_000;        // hedef varış hızı (işlem/sn, tüm iş parçacıklarının toplamı)
+        int sureSn = 30;
+        int isinmaSn = 5;           // ölçüme alınmayan başlangıç süresi (JIT ısınması)
+        int isParcacigi = Math.max(2, Runtime.getRuntime().availableProcessors());
+        double zipf = 1.1;          // sıcak sefer çarpıklığı; 0 düzgün dağılım
+        int[] karisim = {60, 15, 20, 5}; // rezerve, iptal, ara, rapor ağırlıkları
+        long tohum = 42;
+        int parcaSayisi;            // 0: doğrudan çağrı; > 0: ParcaliYurutucu ile parçalı yürütme
+
+        /**
+         * --seferler, --kapasite, --gun, --hiz, --sure, --isinma, --is-parcacigi, --zipf, --karisim r,i,a,p, --tohum,
+         * --parca
+         * argümanlarını okur; verilmeyenler varsayılan kalır.
+         */
+        static Ayarlar oku(String[] args) {
+            Ayarlar a = new Ayarlar();
+            for (int i = 0; i + 1 < args.length; i++) {
+                String d = args[i + 1];
+                switch (args[i]) {
+                    case "--seferler": a.seferSayisi = Integer.parseInt(d); break;
+                    case "--kapasite": a.kapasite = Integer.parseInt(d); break;
+                    case "--gun": a.gunSayisi = Integer.parseInt(d); break;
+                    case "--hiz": a.hiz = Double.parseDouble(d); break;
+                    case "--sure": a.sureSn = Integer.parseInt(d); break;
+                    case "--isinma": a.isinmaSn = Integer.parseInt(d); break;
+                    case "--is-parcacigi": a.isParcacigi = Integer.parseInt(d); break;
+                    case "--zipf": a.zipf = Double.parseDouble(d); break;
+                    case "--tohum": a.tohum = Long.parseLong(d); break;
+                    case "--parca": a.parcaSayisi = Integer.parseInt(d); break;
+                    case "--karisim": {
+                        String[] p = d.split(",");
+                        if (p.length != 4) throw new IllegalArgumentException("--karisim rezerve,iptal,ara,rapor biçiminde olmalı.");
+                        for (int j = 0; j < 4; j++) a.karisim[j] = Integer.parseInt(p[j].trim());
+                        break;
+                    }
+                    default: continue;
+                }
+                i++;
+            }
+            if (a.seferSayisi <= 0 || a.kapasite <= 0 || a.gunSayisi <= 0 || a.hiz <= 0 || a.sureSn <= 0 || a.isinmaSn < 0
+                    || a.isParcacigi <= 0 || a.zipf < 0 || a.parcaSayisi < 0) {
+                throw new IllegalArgumentException("Geçersiz simülasyon parametresi.");
+            }
+            int toplam = 0;
+            for (int k : a.karisim) {
+                if (k < 0) throw new IllegalArgumentException("Karışım ağırlıkları negatif olamaz.");
+                toplam += k;
+            }
+            if (toplam == 0) throw new IllegalArgumentException("Karışım ağırlıklarından en az biri pozitif olmalı.");
+            return a;
+        }
+    }
+
+    private final RezervasyonSistemi sistem;
+    private final Ayarlar ayarlar;
+    private Sefer[] seferler;
+    private int[] sicaklikSirasi;                 // Zipf sırası -> sefer indeksi
+    private final List<int[]> guzergahlar = new ArrayList<>(); // {kalkış, varış} şehir indeksleri
+    private double[] guzergahKumulatif;
+    private LocalDate ilkGun;
+    private ParcaliYurutucu yurutucu;             // parçalı modda; aksi halde null
+
+    Simulasyon(RezervasyonSistemi sistem, Ayarlar ayarlar) {
+        this.sistem = sistem;
+        this.ayarlar = ayarlar;
+    }
+
+    /**
+     * Seferleri üretir, yükü uygular ve sonuç raporunu yazar.
+     */
+    void calistir(PrintStream cikis) throws IOException, InterruptedException {
+        long t0 = System.nanoTime();
+        seferleriUret();
+        long uretimMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+        cikis.printf(Locale.ROOT, "%,d sefer üretildi (%d güzergah, %d gün, kapasite %d) - %.1f sn%n",
+                seferler.length, guzergahlar.size(), ayarlar.gunSayisi, ayarlar.kapasite, uretimMs / 1000.0);
+        cikis.printf(Locale.ROOT, "Yük: hedef %,.0f işlem/sn, %d sn (+%d sn ısınma), %d iş parçacığı, zipf %.2f, karışım r/i/a/p %d/%d/%d/%d%n",
+                ayarlar.hiz, ayarlar.sureSn, ayarlar.isinmaSn, ayarlar.isParcacigi, ayarlar.zipf,
+                ayarlar.karisim[0], ayarlar.karisim[1], ayarlar.karisim[2], ayarlar.karisim[3]);
+
+        if (ayarlar.parcaSayisi > 0) {
+            yurutucu = new ParcaliYurutucu(sistem, ayarlar.parcaSayisi);
+            cikis.printf("Parçalı yürütme: %d parça (tek yazarlı)%n", ayarlar.parcaSayisi);
+        }
+
+        Isci[] isciler = new Isci[ayarlar.isParcacigi];
+        Thread[] isler = new Thread[isciler.length];
+        long baslangic = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20);
+        long olcumBaslangici = baslangic + TimeUnit.SECONDS.toNanos(ayarlar.isinmaSn);
+        long bitis = olcumBaslangici + TimeUnit.SECONDS.toNanos(ayarlar.sureSn);
+        for (int i = 0; i < isciler.length; i++) {
+            isciler[i] = new Isci(new SplittableRandom(ayarlar.tohum * 7919 + i), baslangic, olcumBaslangici, bitis);
+            isler[i] = new Thread(isciler[i], "simulasyon-" + i);
+            isler[i].start();
+        }
+        for (Thread t : isler) t.join();
+        long gercekSure = System.nanoTime() - olcumBaslangici;
+        sonucYaz(cikis, isciler, gercekSure);
+        if (yurutucu != null) yurutucu.close();
+    }
+
+    /* ---------- Sefer üretimi ---------- */
+
+    private void seferleriUret() throws IOException {
+        SplittableRandom r = new SplittableRandom(ayarlar.tohum);
+        guzergahKumulatif = new double[SEHIRLER.length * (SEHIRLER.length - 1)];
+        double[] guzergahFiyati = new double[guzergahKumulatif.length];
+        double toplam = 0;
+        for (int a = 0; a < SEHIRLER.length; a++) {
+            for (int b = 0; b < SEHIRLER.length; b++) {
+                if (a == b) continue;
+                guzergahFiyati[guzergahlar.size()] = 250 + r.nextInt(950);
+                toplam += NUFUS[a] * NUFUS[b];
+                guzergahKumulatif[guzergahlar.size()] = toplam;
+                guzergahlar.add(new int[]{a, b});
+            }
+        }
+        double[] saatKumulatif = kumulatif(SAAT_AGIRLIGI);
+
+        ilkGun = LocalDate.now().plusDays(1);
+        seferler = new Sefer[ayarlar.seferSayisi];
+        for (int i = 0; i < seferler.length; i++) {
+            int g = agirlikliSec(guzergahKumulatif, r);
+            int[] guz = guzergahlar.get(g);
+            LocalDateTime kalkis = ilkGun.plusDays(r.nextInt(ayarlar.gunSayisi))
+                    .atTime(agirlikliSec(saatKumulatif, r), 15 * r.nextInt(4));
+            int fiyat = (int) Math.round(guzergahFiyati[g] * (0.9 + 0.2 * r.nextDouble()));
+            Sefer s = sistem.yeniSefer(String.format("SIM%08d", i), SEHIRLER[guz[0]], SEHIRLER[guz[1]], kalkis,
+                    ayarlar.kapasite, fiyat);
+            if (s == null) throw new IllegalStateException("Simülasyon sefer kimliği zaten var: SIM" + i);
+            seferler[i] = s;
+        }
+
+        // Sıcak seferler rastgele dağılsın: Zipf sırası karıştırılmış bir permütasyonla sefere eşlenir
+        sicaklikSirasi = new int[seferler.length];
+        for (int i = 0; i < sicaklikSirasi.length; i++) sicaklikSirasi[i] = i;
+        for (int i = sicaklikSirasi.length - 1; i > 0; i--) {
+            int j = r.nextInt(i + 1);
+            int g = sicaklikSirasi[i];
+            sicaklikSirasi[i] = sicaklikSirasi[j];
+            sicaklikSirasi[j] = g;
+        }
+    }
+
+    private static double[] kumulatif(double[] agirliklar) {
+        double[] k = new double[agirliklar.length];
+        double t = 0;
+        for (int i = 0; i < k.length; i++) k[i] = t += agirliklar[i];
+        return k;
+    }
+
+    private static int agirlikliSec(double[] kumulatif, SplittableRandom r) {
+        double u = r.nextDouble() * kumulatif[kumulatif.length - 1];
+        int lo = 0, hi = kumulatif.length - 1;
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (kumulatif[m] > u) hi = m;
+            else lo = m + 1;
+        }
+        return lo;
+    }
+
+    /* ---------- Yük ---------- */
+
+    /** Kendi Poisson varış sürecini izleyen iş parçacığı; sayaç ve histogramları yalnızca kendisi yazar */
+    private final class Isci implements Runnable {
+        final GecikmeHistogrami[] yanit = new GecikmeHistogrami[4];
+        final GecikmeHistogrami[] servis = new GecikmeHistogrami[4];
+        final long[] adet = new long[4];
+        final long[] basarili = new long[4];
+        final SplittableRandom r;
+        final ZipfOrnekleyici zipf;
+        final ArrayList<String> rezervasyonlar = new ArrayList<>();
+        final long baslangic, olcumBaslangici, bitis;
+        final double ortalamaAralikNs;
+        final double[] karisimKumulatif;
+
+        Isci(SplittableRandom r, long baslangic, long olcumBaslangici, long bitis) {
+            for (int i = 0; i < 4; i++) {
+                yanit[i] = new GecikmeHistogrami();
+                servis[i] = new GecikmeHistogrami();
+            }
+            this.r = r;
+            this.zipf = new ZipfOrnekleyici(seferler.length, ayarlar.zipf);
+            this.baslangic = baslangic;
+            this.olcumBaslangici = olcumBaslangici;
+            this.bitis = bitis;
+            this.ortalamaAralikNs = 1e9 * ayarlar.isParcacigi / ayarlar.hiz;
+            double[] k = new double[4];
+            for (int i = 0; i < 4; i++) k[i] = ayarlar.karisim[i];
+            this.karisimKumulatif = kumulatif(k);
+        }
+
+        @Override
+        public void run() {
+            long planlanan = baslangic;
+            while (true) {
+                planlanan += (long) (-Math.log(1 - r.nextDouble()) * ortalamaAralikNs);
+                if (planlanan >= bitis) return;
+                long simdi;
+                while ((simdi = System.nanoTime()) < planlanan) LockSupport.parkNanos(planlanan - simdi);
+
+                int tip = agirlikliSec(karisimKumulatif, r);
+                if (tip == IPTAL && rezervasyonlar.isEmpty()) tip = REZERVE;
+                boolean ok = islemYap(tip);
+                long son = System.nanoTime();
+                if (planlanan < olcumBaslangici) continue;
+                yanit[tip].kaydet(son - planlanan);
+                servis[tip].kaydet(son - simdi);
+                adet[tip]++;
+                if (ok) basarili[tip]++;
+            }
+        }
+
+        private boolean islemYap(int tip) {
+            switch (tip) {
+                case REZERVE: {
+                    Sefer s = seferler[sicaklikSirasi[zipf.ornek(r) - 1]];
+                    String ad = ADLAR[r.nextInt(ADLAR.length)] + " " + SOYADLAR[r.nextInt(SOYADLAR.length)];
+                    String tel = "5" + (100_000_000 + r.nextInt(900_000_000));
+                    // Yolcu seçtiği koltuk doluysa birkaç kez başka koltuk dener
+                    for (int deneme = 0; deneme < 3 && s.getBosKoltukSayisi() > 0; deneme++) {
+                        int no = 1 + r.nextInt(ayarlar.kapasite);
+                        Koltuk k = yurutucu == null ? sistem.koltukRezerveEt(s, no, ad, tel) : yurutucu.rezerveEt(s, no, ad, tel).join();
+                        if (k != null) {
+                            rezervasyonlar.add(k.getRezervasyonKimlik());
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+                case IPTAL: {
+                    int i = r.nextInt(rezervasyonlar.size());
+                    String kimlik = rezervasyonlar.get(i);
+                    rezervasyonlar.set(i, rezervasyonlar.get(rezervasyonlar.size() - 1));
+                    rezervasyonlar.remove(rezervasyonlar.size() - 1);
+                    return (yurutucu == null ? sistem.rezervasyonIptalEt(kimlik) : yurutucu.iptalEt(kimlik).join()) != null;
+                }
+                case ARA: {
+                    int[] g = guzergahlar.get(agirlikliSec(guzergahKumulatif, r));
+                    LocalDateTime gun = ilkGun.plusDays(r.nextInt(ayarlar.gunSayisi)).atStartOfDay();
+                    return !sistem.seferAra(SEHIRLER[g[0]], SEHIRLER[g[1]], gun, gun.plusDays(1).minusNanos(1), 1, null, 10)
+                            .getSeferler().isEmpty();
+                }
+                default: {
+                    if (yurutucu != null) return yurutucu.ozet().join().getGelir() >= 0; // parçaların toplamları
+                    RezervasyonIstatistikleri ist = sistem.getIstatistikler();
+                    return ist.getGenel().getGelir() >= 0 && !ist.getGuzergahBazli().isEmpty()
+                            && !ist.getGunBazli().isEmpty();
+                }
+            }
+        }
+    }
+
+    /* ---------- Rapor ---------- */
+
+    private void sonucYaz(PrintStream cikis, Isci[] isciler, long sureNs) {
+        double sureSn = sureNs / 1e9;
+        GecikmeHistogrami toplamYanit = new GecikmeHistogrami();
+        GecikmeHistogrami toplamServis = new GecikmeHistogrami();
+        long toplamAdet = 0;
+        cikis.println("=== SİMÜLASYON SONUCU ===");
+        cikis.println("Yanıt süresi planlanan varıştan, servis süresi işlemin başlangıcından ölçülür (µs).");
+        cikis.printf("%-8s %11s %11s %10s %10s %10s %10s %10s %10s%n",
+                "İşlem", "Adet", "Başarılı", "p50", "p99", "p99.9", "Maks", "Servis p50", "Servis p99");
+        for (int tip = 0; tip < 4; tip++) {
+            GecikmeHistogrami y = new GecikmeHistogrami();
+            GecikmeHistogrami s = new GecikmeHistogrami();
+            long adet = 0, basarili = 0;
+            for (Isci i : isciler) {
+                y.ekle(i.yanit[tip]);
+                s.ekle(i.servis[tip]);
+                adet += i.adet[tip];
+                basarili += i.basarili[tip];
+            }
+            toplamYanit.ekle(y);
+            toplamServis.ekle(s);
+            toplamAdet += adet;
+            satirYaz(cikis, ISLEM_ADLARI[tip], adet, Long.toString(basarili), y, s);
+        }
+        satirYaz(cikis, "TOPLAM", toplamAdet, "", toplamYanit, toplamServis);
+        cikis.printf(Locale.ROOT, "Gerçekleşen hız: %,.0f işlem/sn (hedef %,.0f) | Süre: %.1f sn%n",
+                toplamAdet / sureSn, ayarlar.hiz, sureSn);
+        RezervasyonIstatistikleri.Toplam genel = sistem.getIstatistikler().getGenel();
+        cikis.printf(Locale.ROOT, "Son durum: %,d rezervasyon | Doluluk: %.2f%% | Gelir: %,d TL%n",
+                genel.getRezervasyon(), genel.getDolulukOrani(), genel.getGelir());
+        if (yurutucu != null) {
+            ParcaliYurutucu.Ozet o = yurutucu.ozet().join();
+            cikis.printf(Locale.ROOT, "Parça toplamları: %,d rezervasyon | Gelir: %,d TL | %,d komut (%,d başarısız)%n",
+                    o.getRezervasyon(), o.getGelir(), o.getIslenen(), o.getBasarisiz());
+        }
+        RezervasyonMetrikleri m = sistem.getMetrikler();
+        cikis.printf(Locale.ROOT, "Çekişme: %,d dolu koltuk denemesi | %,d CAS tekrarı (ısınma dahil)%n",
+                m.getSeferCakismaToplami(), m.getCasTekrarToplami());
+    }
+
+    private static void satirYaz(PrintStream cikis, String ad, long adet, String basarili,
+                                 GecikmeHistogrami yanit, GecikmeHistogrami servis) {
+        cikis.printf(Locale.ROOT, "%-8s %,11d %11s %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n", ad, adet, basarili,
+                yanit.yuzdelik(50) / 1e3, yanit.yuzdelik(99) / 1e3, yanit.yuzdelik(99.9) / 1e3, yanit.enBuyuk() / 1e3,
+                servis.yuzdelik(50) / 1e3, servis.yuzdelik(99) / 1e3);
+    }
+
+    /**
+     * 1..n aralığında Zipf dağılımlı tam sayı üretir (Hörmann-Derflinger ret-ters çevirme yöntemi);
+     * tablo gerektirmez, milyonlarca sefer için de sabit bellek ve beklenen sabit sürede çalışır.
+     */
+    static final class ZipfOrnekleyici {
+        private final int n;
+        private final double us;
+        private final double hIntegralX1, hIntegralN, esik;
+
+        ZipfOrnekleyici(int n, double us) {
+            this.n = n;
+            this.us = us;
+            this.hIntegralX1 = hIntegral(1.5) - 1d;
+            this.hIntegralN = hIntegral(n + 0.5);
+            this.esik = 2d - hIntegralTers(hIntegral(2.5) - h(2));
+        }
+
+        int ornek(SplittableRandom r) {
+            if (us == 0) return 1 + r.nextInt(n);
+            while (true) {
+                double u = hIntegralN + r.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralTers(u);
+                int k = (int) (x + 0.5);
+                if (k < 1) k = 1;
+                else if (k > n) k = n;
+                if (k - x <= esik || u >= hIntegral(k + 0.5) - h(k)) return k;
+            }
+        }
+
+        private double h(double x) { return Math.exp(-us * Math.log(x)); }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return yardimci2((1d - us) * logX) * logX;
+        }
+
+        private double hIntegralTers(double x) {
+            double t = x * (1d - us);
+            if (t < -1d) t = -1d;
+            return Math.exp(yardimci1(t) * x);
+        }
+
+        /** log(1+x)/x, x sıfıra yakınken kararlı */
+        private static double yardimci1(double x) {
+            return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1d / 3 - 0.25 * x));
+        }
+
+        /** (exp(x)-1)/x, x sıfıra yakınken kararlı */
+        private static double yardimci2(double x) {
+            return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Satır tabanlı rezervasyon dosyalarını akış halinde içe aktarır.
+ *
+ * Satır biçimi: seferKimlik;koltukNo;yolcuAdi;telefon (ayraç ';' ya da ','). Boş satırlar, '#' ile başlayan
+ * satırlar ve "seferKimlik" başlık satırı atlanır. Aynı sefere ait ardışık satırlar gruplanıp
+ * Sefer.koltuklariRezerveEt ile tek seferde (tek CAS turu, tek günlük girişi) işlenir; grup bir koltuk
+ * çakışması yüzünden reddedilirse satırlar tek tek denenir. Gruplar sabit sayıda iş parçacığına dağıtılır,
+ * okuma önde gidip belleği doldurmasın diye bekleyen grup sayısı sınırlıdır.
+ */
+class TopluIceAktarici {
+    private static final int GRUP_BOYUTU = 256;
+
+    /** İçe aktarma sonucu */
+    static final class Sonuc {
+        private final long okunan, basarili, basarisiz, hatali, sureMs;
+
+        Sonuc(long okunan, long basarili, long basarisiz, long hatali, long sureMs) {
+            this.okunan = okunan;
+            this.basarili = basarili;
+            this.basarisiz = basarisiz;
+            this.hatali = hatali;
+            this.sureMs = sureMs;
+        }
+
+        public long getOkunan() { return okunan; }
+        public long getBasarili() { return basarili; }
+        public long getBasarisiz() { return basarisiz; }
+        public long getHatali() { return hatali; }
+        public long getSureMs() { return sureMs; }
+
+        @Override
+        public String toString() {
+            return String.format("Okunan: %d | Başarılı: %d | Başarısız (dolu/sefer yok): %d | Hatalı satır: %d | Süre: %d ms",
+                    okunan, basarili, basarisiz, hatali, sureMs);
+        }
+    }
+
+    private final Function<String, Sefer> seferBul;
+    private final int isParcacigiSayisi;
+    private final LongAdder basarili = new LongAdder();
+    private final LongAdder basarisiz = new LongAdder();
+
+    TopluIceAktarici(Function<String, Sefer> seferBul) {
+        this(seferBul, Runtime.getRuntime().availableProcessors());
+    }
+
+    TopluIceAktarici(Function<String, Sefer> seferBul, int isParcacigiSayisi) {
+        this.seferBul = seferBul;
+        this.isParcacigiSayisi = Math.max(1, isParcacigiSayisi);
+    }
+
+    Sonuc aktar(Path dosya) throws IOException {
+        long baslangic = System.nanoTime();
+        long okunan = 0, hatali = 0;
+        ExecutorService havuz = Executors.newFixedThreadPool(isParcacigiSayisi);
+        Semaphore bekleyenGruplar = new Semaphore(isParcacigiSayisi * 4);
+        try (BufferedReader okuyucu = new BufferedReader(
+                Files.newBufferedReader(dosya, StandardCharsets.UTF_8), 1 << 20)) {
+            String seferKimlik = null;
+            List<RezervasyonTalebi> grup = new ArrayList<>(GRUP_BOYUTU);
+            String satir;
+            while ((satir = okuyucu.readLine()) != null) {
+                satir = satir.trim();
+                if (satir.isEmpty() || satir.startsWith("#") || satir.startsWith("seferKimlik")) continue;
+                okunan++;
+                String[] alanlar = satir.split(satir.indexOf(';') >= 0 ? ";" : ",", -1);
+                int koltukNo;
+                try {
+                    if (alanlar.length < 3) throw new NumberFormatException();
+                    koltukNo = Integer.parseInt(alanlar[1].trim());
+                } catch (NumberFormatException e) {
+                    hatali++;
+                    continue;
+                }
+                String kimlik = alanlar[0].trim();
+                if (!kimlik.equals(seferKimlik) || grup.size() == GRUP_BOYUTU) {
+                    gonder(havuz, bekleyenGruplar, seferKimlik, grup);
+                    grup = new ArrayList<>(GRUP_BOYUTU);
+                    seferKimlik = kimlik;
+                }
+                String telefon = alanlar.length > 3 ? alanlar[3].trim() : "";
+                grup.add(new RezervasyonTalebi(koltukNo, alanlar[2].trim(), telefon.isEmpty() ? null : telefon));
+            }
+            gonder(havuz, bekleyenGruplar, seferKimlik, grup);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("İçe aktarma kesildi.", e);
+        } finally {
+            havuz.shutdown();
+            try {
+                havuz.awaitTermination(1, TimeUnit.HOURS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new Sonuc(okunan, basarili.sum(), basarisiz.sum(), hatali,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - baslangic));
+    }
+
+    private void gonder(ExecutorService havuz, Semaphore bekleyenGruplar, String seferKimlik,
+                        List<RezervasyonTalebi> grup) throws InterruptedException {
+        if (grup.isEmpty()) return;
+        bekleyenGruplar.acquire();
+        havuz.execute(() -> {
+            try {
+                grupIsle(seferKimlik, grup);
+            } finally {
+                bekleyenGruplar.release();
+            }
+        });
+    }
+
+    private void grupIsle(String seferKimlik, List<RezervasyonTalebi> grup) {
+        Sefer s = seferBul.apply(seferKimlik);
+        if (s == null) {
+            basarisiz.add(grup.size());
+            return;
+        }
+        if (s.koltuklariRezerveEt(grup) != null) {
+            basarili.add(grup.size());
+            return;
+        }
+        for (RezervasyonTalebi t : grup) {
+            if (s.koltukRezerveEt(t.getKoltukNumarasi(), t.getYolcuAdi(), t.getYolcuTelefonu()) != null) {
+                basarili.increment();
+            } else {
+                basarisiz.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Geçici koltuk tutmalarının süre dolumunu işleyen hiyerarşik zamanlama çarkı.
+ *
+ * Çark SEVIYE katmanlıdır. Her katmanda 64 yuva vardır. 0. katmanın bir yuvası bir tıktır. k. katman
+ * yuvası 64^k tık kapsar. Varsayılan 100 ms tıkla çark 64^4 tık (~19 gün) ileriyi tutar. Daha uzak
+ * süreler en üst katmana konur, sırası gelince yeniden yerleştirilir. Her tutma bir kez eklenir ve
+ * en fazla SEVIYE - 1 kez alt katmana iner. Tutma başına zamanlayıcı nesnesi yoktur, periyodik tam
+ * tarama da yapılmaz. Yuva listeleri, Koltuk.carkSonraki ile birbirine bağlanan tutma kayıtlarıdır.
+ *
+ * Rezervasyon iş parçacıkları yalnızca gelen tutmalar yığınına tek bir CAS ile ekleme yapar. Yuvalara
+ * yalnızca çarkın kendi iş parçacığı dokunur, kilit yoktur. Onaylanan ya da bırakılan tutmalar
+ * çarktan silinmez, yuvaları işlenirken atlanır. Yuvada art arda gelen aynı sefer tutmaları (aynı
+ * anda yapılan tutmalar yan yana düşer) Sefer.suresiDolanTutmalariBirak ile toplu bırakılır; aynı
+ * koltuk kelimesindeki bitler tek CAS ile boşalır.
+ *
+ * İş parçacığı ilk tutmada başlatılır; tutma kullanılmayan sistemlerde (ör. ölçümler) iş parçacığı oluşmaz.
+ */
+final class TutmaCarki implements AutoCloseable {
+    private static final int YUVA_BITLERI = 6;
+    private static final int YUVA = 1 << YUVA_BITLERI;
+    private static final int SEVIYE = 4;
+    private static final long EN_UZAK = (1L << (YUVA_BITLERI * SEVIYE)) - 1; // çarkın tutabildiği en uzak tık
+    private static final int PARTI = 256;
+    static final long VARSAYILAN_TIK_NS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final long tikNs;
+    private final long baslangicNs = System.nanoTime();
+    private final AtomicReference<Koltuk> gelenler = new AtomicReference<>(); // eklenen tutmalar (Treiber yığını)
+    private final Koltuk[][] yuvalar = new Koltuk[SEVIYE][YUVA]; // yalnızca çark iş parçacığı
+    private final Koltuk[] parti = new Koltuk[PARTI];             // aynı seferin süresi dolan tutmaları
+    private long tik;                                            // işlenen son tık (yalnızca çark iş parçacığı)
+    private volatile long suresiDolan;                           // tek yazan: çark iş parçacığı
+    private volatile Thread isParcacigi;
+    private volatile boolean kapali;
+
+    TutmaCarki() {
+        this(VARSAYILAN_TIK_NS);
+    }
+
+    TutmaCarki(long tikNs) {
+        if (tikNs <= 0) throw new IllegalArgumentException("Tık süresi pozitif olmalı.");
+        this.tikNs = tikNs;
+    }
+
+    /** Şimdiye kadar süresi dolarak bırakılan tutma sayısı */
+    long getSuresiDolan() { return suresiDolan; }
+
+    /** TUTULU kaydı çarka ekler; kilitsizdir, çağıran iş parçacığını bekletmez */
+    void ekle(Koltuk tutma) {
+        Koltuk bas;
+        do {
+            bas = gelenler.get();
+            tutma.carkSonraki = bas;
+        } while (!gelenler.compareAndSet(bas, tutma));
+        if (isParcacigi == null) baslat();
+    }
+
+    private synchronized void baslat() {
+        if (isParcacigi != null || kapali) return;
+        Thread t = new Thread(this::calis, "tutma-carki");
+        t.setDaemon(true);
+        isParcacigi = t;
+        t.start();
+    }
+
+    @Override
+    public void close() {
+        kapali = true;
+        Thread t;
+        synchronized (this) {
+            t = isParcacigi;
+        }
+        if (t == null) return;
+        LockSupport.unpark(t);
+        try {
+            t.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* ---------- Çark iş parçacığı ---------- */
+
+    private void calis() {
+        long sonraki = baslangicNs + tikNs;
+        while (!kapali) {
+            long bekle = sonraki - System.nanoTime();
+            if (bekle > 0) {
+                LockSupport.parkNanos(this, bekle);
+                continue;
+            }
+            try {
+                tikIsle();
+            } catch (RuntimeException e) {
+                System.err.println("Tutma çarkı hatası: " + e);
+            }
+            sonraki += tikNs; // geride kalındıysa (GC duraklaması) tıklar beklemeden art arda işlenir
+        }
+    }
+
+    private void tikIsle() {
+        tik++;
+        dagit(gelenler.getAndSet(null));
+        // Üst katmanlardan başlayarak, süresi bu tık aralığına giren yuvalar bir alt katmana dağıtılır
+        for (int s = SEVIYE - 1; s >= 1; s--) {
+            if ((tik & ((1L << (YUVA_BITLERI * s)) - 1)) != 0) continue;
+            int y = yuva(tik, s);
+            Koltuk liste = yuvalar[s][y];
+            yuvalar[s][y] = null;
+            dagit(liste);
+        }
+        int y = yuva(tik, 0);
+        Koltuk liste = yuvalar[0][y];
+        yuvalar[0][y] = null;
+        suresiDolanlariBirak(liste);
+    }
+
+    /** Listedeki hâlâ tutulan kayıtları süresine göre yuvalara yerleştirir; diğerlerini çarktan düşürür */
+    private void dagit(Koltuk liste) {
+        while (liste != null) {
+            Koltuk k = liste;
+            liste = k.carkSonraki;
+            k.carkSonraki = null;
+            if (k.isTutuluyor()) yerlestir(k);
+        }
+    }
+
+    private void yerlestir(Koltuk k) {
+        long hedef = hedefTik(k);
+        long fark = hedef - tik;
+        int s = 0;
+        if (fark <= 0) {
+            hedef = tik; // süresi zaten dolmuş: bu tıkta işlenir
+        } else {
+            if (fark > EN_UZAK) hedef = tik + EN_UZAK;
+            while (s < SEVIYE - 1 && hedef - tik >= 1L << (YUVA_BITLERI * (s + 1))) s++;
+        }
+        int y = yuva(hedef, s);
+        k.carkSonraki = yuvalar[s][y];
+        yuvalar[s][y] = k;
+    }
+
+    private void suresiDolanlariBirak(Koltuk liste) {
+        int n = 0;
+        long dolan = 0;
+        while (liste != null) {
+            Koltuk k = liste;
+            liste = k.carkSonraki;
+            k.carkSonraki = null;
+            if (!k.isTutuluyor()) continue;
+            if (hedefTik(k) > tik) {
+                yerlestir(k); // en üst katmana sığmayan uzak süreler
+                continue;
+            }
+            if (!k.suresiDoldu()) continue; // aynı anda onaylandı ya da bırakıldı
+            if (n == PARTI || (n > 0 && parti[0].getSefer() != k.getSefer())) n = partiBirak(n);
+            parti[n++] = k;
+            dolan++;
+        }
+        if (n > 0) partiBirak(n);
+        if (dolan > 0) suresiDolan += dolan;
+    }
+
+    private int partiBirak(int n) {
+        parti[0].getSefer().suresiDolanTutmalariBirak(parti, n);
+        Arrays.fill(parti, 0, n, null);
+        return 0;
+    }
+
+    /** Tutmanın süresinin dolduğu ilk tık (yukarı yuvarlanır; tutma asla erken bırakılmaz) */
+    private long hedefTik(Koltuk k) {
+        long fark = k.getTutmaBitisNs() - baslangicNs;
+        return fark <= 0 ? 0 : (fark + tikNs - 1) / tikNs;
+    }
+
+    private static int yuva(long tik, int seviye) {
+        return (int) (tik >>> (YUVA_BITLERI * seviye)) & (YUVA - 1);
+    }
+}
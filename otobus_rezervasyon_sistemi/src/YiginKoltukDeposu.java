@@ -0,0 +1,20 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Varsayılan, yığın (heap) içi koltuk deposu: doluluk bit kümesi ve sayaç.
+ */
+class YiginKoltukDeposu implements KoltukDeposu {
+    private final AtomicLongArray dolulukBitleri; // 1 = dolu
+    private final AtomicInteger rezerveSayisi = new AtomicInteger();
+
+    YiginKoltukDeposu(int kapasite) {
+        this.dolulukBitleri = new AtomicLongArray((kapasite + 63) >>> 6);
+    }
+
+    @Override public int kelimeSayisi() { return dolulukBitleri.length(); }
+    @Override public long kelime(int w) { return dolulukBitleri.get(w); }
+    @Override public boolean kelimeCas(int w, long beklenen, long yeni) { return dolulukBitleri.compareAndSet(w, beklenen, yeni); }
+    @Override public int rezerveSayisi() { return rezerveSayisi.get(); }
+    @Override public void rezerveSayisiEkle(int fark) { rezerveSayisi.addAndGet(fark); }
+}
@@ -0,0 +1,292 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Yolcu ikincil dizini: normalize edilmiş telefon numarası ve ad -> canlı rezervasyonlar.
+ *
+ * Telefonlar yalnızca rakamlara indirilir, ülke kodu (90) ve baştaki 0 atılır; "0533 000 11 11",
+ * "+90 533 0001111" ve "5330001111" aynı anahtara düşer. Adlar Türkçe kurallarla küçük harfe çevrilip
+ * Türkçe harfleri ASCII karşılıklarına indirilir (ı/İ -> i, ş -> s, ...; "YILMAZ" ve "yilmaz" "Yılmaz"ı bulur),
+ * boşluklar tekleştirilir. Telefonlar özet haritasında (tam eşleşme O(1)), adlar sıralı haritada (önek
+ * araması alt harita ile O(log n + sonuç)) tutulur. Anahtar başına değer tek bir Koltuk ya da birden fazla
+ * rezervasyon varsa bir kimlik kümesidir; çok rezervasyonlu bir numara (ör. firma telefonu) ya da sık
+ * görülen bir ad ekleme ve silmeyi yavaşlatmaz, aynı adın tekrarı sıralı haritaya yeni düğüm eklemez.
+ *
+ * Rezervasyon yolunda dizin güncellenmez: olay yalnızca değişen koltuğu, iş parçacığına göre seçilen bir
+ * şeridin bekleyenler yığınına tek bir CAS ile ekler (koltuk zaten bekliyorsa hiç eklemez). Haritaları
+ * dizinin kendi iş parçacığı birkaç milisaniyede bir, sorgular ise okumadan önce kilit altında günceller;
+ * böylece bir sorgu, başlamadan önce tamamlanmış tüm rezervasyon ve iptalleri görür. Güncelleme olay
+ * sırasına bakmaz, koltuğun o anki durumunu uygular: rezerve ve seferi mühürlenmemişse dizinde, değilse
+ * dizin dışında. Aynı koltuğun rezervasyon ve iptal olayları farklı şeritlerden hangi sırayla alınırsa
+ * alınsın sonuç aynıdır.
+ *
+ * İş parçacığı ilk olayda başlatılır.
+ */
+final class YolcuDizini implements RezervasyonDinleyicisi, AutoCloseable {
+    private static final long ARALIK_NS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final Comparator<Koltuk> KIMLIK_SIRASI = Comparator.comparing(Koltuk::getRezervasyonKimlik);
+    private static final AtomicIntegerFieldUpdater<Koltuk> BEKLIYOR =
+            AtomicIntegerFieldUpdater.newUpdater(Koltuk.class, "yolcuBekliyor");
+
+    private final AtomicReferenceArray<Koltuk> bekleyenler; // şerit -> değişen koltuklar (Treiber yığını, Koltuk.yolcuSonraki)
+    private final int seritMaskesi;
+    private final Map<String, Object> telefonla = new HashMap<>();  // telefon -> Koltuk | Set<Koltuk>; yalnızca this kilidiyle
+    private final TreeMap<String, Object> adla = new TreeMap<>();    // ad -> Koltuk | Set<Koltuk>; yalnızca this kilidiyle
+    private int boyut;                                               // dizindeki rezervasyon sayısı; yalnızca this kilidiyle
+    private volatile Thread isParcacigi;
+    private volatile boolean kapali;
+
+    YolcuDizini() {
+        int serit = Integer.highestOneBit(Math.min(16, Math.max(1, Runtime.getRuntime().availableProcessors())) * 2 - 1);
+        this.bekleyenler = new AtomicReferenceArray<>(serit);
+        this.seritMaskesi = serit - 1;
+    }
+
+    @Override
+    public void rezerveEdildi(Koltuk koltuk) {
+        degisti(koltuk);
+    }
+
+    @Override
+    public void iptalEdildi(Koltuk koltuk) {
+        degisti(koltuk);
+    }
+
+    @Override
+    public void seferKaldirildi(Sefer sefer, List<Koltuk> rezerveKoltuklar) {
+        for (Koltuk k : rezerveKoltuklar) degisti(k); // sefer mühürlü: uygulanınca dizinden çıkar
+    }
+
+    /** Telefon numarasına (herhangi bir yazımla) ait tüm canlı rezervasyonlar, rezervasyon kimliği sırasıyla */
+    public synchronized List<Koltuk> telefonla(String telefon) {
+        String tel = telefonNormalize(telefon);
+        if (tel.isEmpty()) return Collections.emptyList();
+        uygula();
+        List<Koltuk> sonuc = new ArrayList<>();
+        ekle(sonuc, telefonla.get(tel), Integer.MAX_VALUE);
+        sonuc.sort(KIMLIK_SIRASI);
+        return sonuc;
+    }
+
+    /**
+     * Normalize adı verilen önekle başlayan yolcuların rezervasyonları, en fazla limit. Ad sırasıyla;
+     * aynı addaki rezervasyonlar kimlik sırasıyla.
+     */
+    public synchronized List<Koltuk> adOnEkiyle(String onEk, int limit) {
+        String ad = adNormalize(onEk);
+        if (ad.isEmpty() || limit <= 0) return Collections.emptyList();
+        uygula();
+        List<Koltuk> sonuc = new ArrayList<>(Math.min(limit, 64));
+        for (Object deger : adla.subMap(ad, true, ad + Character.MAX_VALUE, false).values()) {
+            int bas = sonuc.size();
+            ekle(sonuc, deger, limit);
+            sonuc.subList(bas, sonuc.size()).sort(KIMLIK_SIRASI);
+            if (sonuc.size() == limit) break;
+        }
+        return sonuc;
+    }
+
+    /** Dizindeki rezervasyon sayısı (bekleyen olaylar uygulanarak) */
+    public synchronized int boyut() {
+        uygula();
+        return boyut;
+    }
+
+    @Override
+    public void close() {
+        kapali = true;
+        Thread t;
+        synchronized (this) {
+            t = isParcacigi;
+        }
+        if (t == null) return;
+        LockSupport.unpark(t);
+        try {
+            t.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* ---------- Olay yolu ---------- */
+
+    /** Koltuğu bekleyenlere ekler; koltuk zaten bekliyorsa yalnızca bayrağı okur */
+    private void degisti(Koltuk k) {
+        if (k.yolcuBekliyor != 0 || !BEKLIYOR.compareAndSet(k, 0, 1)) return;
+        int serit = (int) Thread.currentThread().getId() & seritMaskesi;
+        Koltuk bas;
+        do {
+            bas = bekleyenler.get(serit);
+            k.yolcuSonraki = bas;
+        } while (!bekleyenler.compareAndSet(serit, bas, k));
+        if (isParcacigi == null) baslat();
+    }
+
+    private synchronized void baslat() {
+        if (isParcacigi != null || kapali) return;
+        Thread t = new Thread(this::calis, "yolcu-dizini");
+        t.setDaemon(true);
+        isParcacigi = t;
+        t.start();
+    }
+
+    private void calis() {
+        while (!kapali) {
+            LockSupport.parkNanos(this, ARALIK_NS);
+            try {
+                synchronized (this) {
+                    uygula();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Yolcu dizini hatası: " + e);
+            }
+        }
+    }
+
+    /**
+     * Bekleyen koltukların güncel durumunu haritalara uygular (this kilidiyle). Bekleme bayrağı durum
+     * okunmadan önce silinir: bayrak silindikten sonraki bir değişiklik koltuğu yeniden ekler, önceki
+     * değişiklik ise burada okunan durumda görünür.
+     */
+    private void uygula() {
+        for (int s = 0; s < bekleyenler.length(); s++) {
+            Koltuk liste = bekleyenler.getAndSet(s, null);
+            while (liste != null) {
+                Koltuk k = liste;
+                liste = k.yolcuSonraki;
+                k.yolcuSonraki = null;
+                k.yolcuBekliyor = 0;
+                String tel = telefonNormalize(k.getYolcuTelefonu());
+                String ad = adNormalize(k.getYolcuAdi());
+                if (k.isRezerveEdildi() && !k.getSefer().isMuhurlu()) {
+                    if (koy(adla, ad, k)) boyut++;
+                    if (!tel.isEmpty()) koy(telefonla, tel, k);
+                } else {
+                    if (cikar(adla, ad, k)) boyut--;
+                    if (!tel.isEmpty()) cikar(telefonla, tel, k);
+                }
+            }
+        }
+    }
+
+    /** Koltuğu anahtarın değerine ekler; zaten varsa false */
+    @SuppressWarnings("unchecked")
+    private static boolean koy(Map<String, Object> harita, String anahtar, Koltuk k) {
+        Object eski = harita.putIfAbsent(anahtar, k);
+        if (eski == null) return true;
+        if (eski == k) return false;
+        if (eski instanceof Koltuk) {
+            Set<Koltuk> kume = Collections.newSetFromMap(new IdentityHashMap<>());
+            kume.add((Koltuk) eski);
+            kume.add(k);
+            harita.put(anahtar, kume);
+            return true;
+        }
+        return ((Set<Koltuk>) eski).add(k);
+    }
+
+    /** Koltuğu anahtarın değerinden çıkarır; değer boşalırsa anahtar silinir. Yoksa false */
+    @SuppressWarnings("unchecked")
+    private static boolean cikar(Map<String, Object> harita, String anahtar, Koltuk k) {
+        Object eski = harita.get(anahtar);
+        if (eski == k) {
+            harita.remove(anahtar);
+            return true;
+        }
+        if (!(eski instanceof Set)) return false;
+        Set<Koltuk> kume = (Set<Koltuk>) eski;
+        if (!kume.remove(k)) return false;
+        if (kume.size() == 1) harita.put(anahtar, kume.iterator().next());
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void ekle(List<Koltuk> sonuc, Object deger, int limit) {
+        if (deger instanceof Koltuk) {
+            if (sonuc.size() < limit) sonuc.add((Koltuk) deger);
+        } else if (deger != null) {
+            for (Koltuk k : (Set<Koltuk>) deger) {
+                if (sonuc.size() == limit) return;
+                sonuc.add(k);
+            }
+        }
+    }
+
+    /* ---------- Normalleştirme ---------- */
+
+    /**
+     * Telefonu karşılaştırma anahtarına çevirir: yalnızca rakamlar, ülke kodu (+90 / 0090 / 12 haneli 90...)
+     * ve baştaki 0 atılmış. null ya da rakamsız girişte boş metin.
+     */
+    static String telefonNormalize(String telefon) {
+        if (telefon == null) return "";
+        StringBuilder sb = new StringBuilder(telefon.length());
+        for (int i = 0; i < telefon.length(); i++) {
+            char c = telefon.charAt(i);
+            if (c >= '0' && c <= '9') sb.append(c);
+        }
+        int bas = 0;
+        if (sb.indexOf("0090") == 0) bas = 4;
+        else if (sb.indexOf("90") == 0 && (telefon.trim().startsWith("+") || sb.length() == 12)) bas = 2;
+        if (bas < sb.length() && sb.charAt(bas) == '0') bas++;
+        return sb.substring(bas);
+    }
+
+    /**
+     * Adı karşılaştırma anahtarına çevirir: küçük harf, Türkçe harfler ASCII'ye indirilmiş, tek boşluk;
+     * null ise boş metin. Zaten normalize olan ad kopyalanmadan döner. Sefer araması da güzergah ve durak
+     * adlarını bununla karşılaştırır (SeferArama, Sefer.durakIndeksi).
+     */
+    static String adNormalize(String ad) {
+        if (ad == null) return "";
+        StringBuilder sb = null;
+        int n = 0; // normalize edilmiş ön ekin uzunluğu (sb yokken ad ile aynı)
+        for (int i = 0; i < ad.length(); i++) {
+            char c = ad.charAt(i);
+            char d;
+            if (Character.isWhitespace(c)) {
+                if (n == 0 || (sb != null ? sb.charAt(n - 1) : ad.charAt(i - 1)) == ' ') {
+                    if (sb == null) sb = new StringBuilder(ad.length()).append(ad, 0, n);
+                    continue;
+                }
+                d = ' ';
+            } else {
+                d = harfIndir(c);
+            }
+            if (sb == null && d != c) sb = new StringBuilder(ad.length()).append(ad, 0, n);
+            if (sb != null) sb.append(d);
+            n++;
+        }
+        if (n > 0 && (sb != null ? sb.charAt(n - 1) : ad.charAt(n - 1)) == ' ') {
+            if (sb == null) return ad.substring(0, n - 1);
+            sb.setLength(n - 1);
+        }
+        return sb == null ? ad : sb.toString();
+    }
+
+    /** Tek harfin anahtar karşılığı: ASCII küçük harf; ı/İ/I -> i, ş -> s, ... */
+    private static char harfIndir(char c) {
+        if (c < 0x80) return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        switch (c) {
+            case 'ı': case 'İ': case 'î': case 'Î': return 'i';
+            case 'ç': case 'Ç': return 'c';
+            case 'ğ': case 'Ğ': return 'g';
+            case 'ö': case 'Ö': return 'o';
+            case 'ş': case 'Ş': return 's';
+            case 'ü': case 'Ü': case 'û': case 'Û': return 'u';
+            case 'â': case 'Â': return 'a';
+            default: return Character.toLowerCase(c);
+        }
+    }
+}
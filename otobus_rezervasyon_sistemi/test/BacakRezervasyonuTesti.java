@@ -0,0 +1,111 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Ara duraklı seferde bölüm (bacak) rezervasyonları: ardışık bölümler aynı koltukta birlikte satılabilir,
+ * çakışan bölüm ve tüm güzergah rezervasyonu reddedilir. Boş koltuk sayısı ve doluluk oranı koltuk
+ * taranmadan sayaçlarla hesaplanır; her an koltuk koltuk sayımla aynı olmalıdır.
+ */
+class BacakRezervasyonuTesti {
+    private static final List<String> DURAKLAR = List.of("İzmir", "Uşak", "Afyon", "Ankara"); // A, B, C, D
+
+    @Test
+    void ardisikBolumlerSatilirCakisanlarReddedilir() {
+        Sefer s = new Sefer("B1", DURAKLAR, LocalDateTime.now().plusDays(1), 4, 300);
+        Koltuk ab = s.bacakRezerveEt(1, 0, 1, "AB", "05550000001");
+        Koltuk bc = s.bacakRezerveEt(1, 1, 2, "BC", "05550000002");
+        assertNotNull(ab);
+        assertNotNull(bc);
+        assertNull(s.bacakRezerveEt(1, 0, 2, "AC", "05550000003"));
+        assertNull(s.bacakRezerveEt(1, 1, 3, "BD", "05550000004"));
+        assertNull(s.koltukRezerveEt(1, "Tam", "05550000005"));
+        assertNotNull(s.bacakRezerveEt(1, 2, 3, "CD", "05550000006")); // C -> D hâlâ boş
+        sayaclariDenetle(s);
+
+        assertTrue(ab.iptalEt());
+        assertNull(s.bacakRezerveEt(1, 0, 2, "AC", "05550000003")); // B -> C hâlâ satılı
+        assertNull(s.koltukRezerveEt(1, "Tam", "05550000005"));
+        assertTrue(s.bosMu(1, 0, 1));
+        sayaclariDenetle(s);
+
+        // Tek bir bacağı satılmış koltuk da tüm güzergah için dolu sayılır
+        Koltuk cd = s.bacakRezerveEt(2, 2, 3, "CD", "05550000007");
+        assertNotNull(cd);
+        assertNull(s.koltukRezerveEt(2, "Tam", "05550000005"));
+        assertEquals(2, s.getBosKoltukSayisi());
+        sayaclariDenetle(s);
+
+        // Tüm güzergah rezervasyonu olan koltukta hiçbir bölüm satılamaz
+        assertNotNull(s.koltukRezerveEt(3, "Tam", "05550000005"));
+        for (int binis = 0; binis < 3; binis++) assertNull(s.bacakRezerveEt(3, binis, binis + 1, "X", "05550000008"));
+        sayaclariDenetle(s);
+
+        assertTrue(cd.iptalEt());
+        assertNotNull(s.koltukRezerveEt(2, "Tam", "05550000005"));
+        for (Koltuk k : s.getRezerveKoltuklar()) if (k.getKoltukNumarasi() == 1) assertTrue(k.iptalEt());
+        assertNotNull(s.koltukRezerveEt(1, "Tam", "05550000005"));
+        assertEquals(1, s.getBosKoltukSayisi());
+        sayaclariDenetle(s);
+    }
+
+    @Test
+    void sayaclarEszamanliBolumSatisindaKoltukSayimiylaAynidir() throws Exception {
+        final int kapasite = 130, isParcacigi = 8, islem = 5_000;
+        Sefer s = new Sefer("B2", DURAKLAR, LocalDateTime.now().plusDays(1), kapasite, 300);
+        ExecutorService havuz = Executors.newFixedThreadPool(isParcacigi);
+        try {
+            List<Future<?>> sonuclar = new ArrayList<>();
+            for (int t = 0; t < isParcacigi; t++) {
+                long tohum = t;
+                sonuclar.add(havuz.submit(() -> {
+                    Random r = new Random(tohum);
+                    List<Koltuk> benim = new ArrayList<>();
+                    for (int n = 0; n < islem; n++) {
+                        int no = 1 + r.nextInt(kapasite);
+                        int secim = r.nextInt(4);
+                        Koltuk k = null;
+                        if (secim == 0) {
+                            k = s.koltukRezerveEt(no, "Tam", "05550000000");
+                        } else if (secim < 3) {
+                            int binis = r.nextInt(3);
+                            k = s.bacakRezerveEt(no, binis, binis + 1 + r.nextInt(3 - binis), "Bölüm", "05550000001");
+                        } else if (!benim.isEmpty()) {
+                            assertTrue(benim.remove(r.nextInt(benim.size())).iptalEt());
+                        }
+                        if (k != null) benim.add(k);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : sonuclar) f.get(1, TimeUnit.MINUTES);
+        } finally {
+            havuz.shutdownNow();
+        }
+        sayaclariDenetle(s);
+    }
+
+    /** Sayaçla hesaplanan boş koltuk sayısı ve doluluk oranı, koltuk koltuk sayımla aynı olmalı */
+    private static void sayaclariDenetle(Sefer s) {
+        int bos = 0;
+        for (int no = 1; no <= s.getKapasite(); no++) if (!s.doluMu(no)) bos++;
+        assertEquals(bos, s.getBosKoltukSayisi());
+        assertEquals(bos, s.bosKoltuklar(0, s.getDurakSayisi() - 1).length);
+
+        int bacak = s.getDurakSayisi() - 1;
+        long doluBacak = 0;
+        for (Sefer.BacakDurumu d : s.getBacakDurumlari()) doluBacak += d.getDoluKoltuk();
+        assertEquals(doluBacak * 100.0 / (s.getKapasite() * bacak), s.getDolulukOrani(), 1e-9);
+    }
+}
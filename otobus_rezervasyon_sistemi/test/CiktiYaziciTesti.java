@@ -0,0 +1,121 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Bilet fişi ve sefer listesi satırının birebir (altın) çıktısı. Ondalık ayırıcı varsayılan yerel ayardan
+ * alındığı için testler tr-TR ile çalışır; satır sonu platformunkidir. Bölüm rezervasyonu seferin dolu
+ * sayısına girer, doluluk oranına yalnızca satılan bölüm kadar katılır (1 koltuk x 1/3 bacak / 8 = %4,2).
+ */
+class CiktiYaziciTesti {
+    private static final LocalDateTime KALKIS = LocalDateTime.of(2026, 3, 7, 8, 5);
+    private Locale oncekiYerel;
+
+    @BeforeEach
+    void yerelAyarla() {
+        oncekiYerel = Locale.getDefault(Locale.Category.FORMAT);
+        Locale.setDefault(Locale.Category.FORMAT, Locale.forLanguageTag("tr-TR"));
+    }
+
+    @AfterEach
+    void yerelGeriAl() {
+        Locale.setDefault(Locale.Category.FORMAT, oncekiYerel);
+    }
+
+    @Test
+    void biletFisi() {
+        Sefer s = new Sefer("S1", "Ankara", "İzmir", KALKIS, 40, 350);
+        Koltuk k = s.koltukGeriYukle(7, "Ayşe Yılmaz", "05551234567", LocalDateTime.of(2026, 2, 28, 23, 59, 59, 999_000_000),
+                "01JNQ8Z4KX0000000000000007");
+        assertNotNull(k);
+        assertEquals(metin(
+                "",
+                "=====================================",
+                "           BİLET FİŞİ / TICKET       ",
+                "=====================================",
+                "Rezervasyon ID : 01JNQ8Z4KX0000000000000007",
+                "Yolcu          : Ayşe Yılmaz",
+                "Telefon        : 05551234567",
+                "Sefer ID       : S1",
+                "Güzergah       : Ankara → İzmir",
+                "Kalkış         : 07/03/2026 08:05",
+                "Koltuk No      : 07",
+                "Bilet Fiyatı   : 350 TL",
+                "Rezervasyon Zamanı: 28/02/2026 23:59",
+                "-------------------------------------",
+                "NOT: Rezervasyon ID'nizi saklayınız. İptal için bu ID gereklidir.",
+                "=====================================",
+                "",
+                ""), fis(s, k));
+    }
+
+    @Test
+    void bolumBiletFisiTelefonVeZamanOlmadan() {
+        Sefer s = new Sefer("S2", List.of("İzmir", "Uşak", "Afyon", "Ankara"), KALKIS, 120, 450);
+        Koltuk k = s.bacakGeriYukle(112, 1, 3, "Ali Veli", null, null, "01JNQ8Z4KX0000000000000070");
+        assertNotNull(k);
+        assertEquals(metin(
+                "",
+                "=====================================",
+                "           BİLET FİŞİ / TICKET       ",
+                "=====================================",
+                "Rezervasyon ID : 01JNQ8Z4KX0000000000000070",
+                "Yolcu          : Ali Veli",
+                "Telefon        : (yok)",
+                "Sefer ID       : S2",
+                "Güzergah       : Uşak → Ankara",
+                "Kalkış         : 07/03/2026 08:05",
+                "Koltuk No      : 112",
+                "Bilet Fiyatı   : 300 TL",
+                "Rezervasyon Zamanı: (bilgi yok)",
+                "-------------------------------------",
+                "NOT: Rezervasyon ID'nizi saklayınız. İptal için bu ID gereklidir.",
+                "=====================================",
+                "",
+                ""), fis(s, k));
+    }
+
+    @Test
+    void seferListesi() {
+        Sefer bos = new Sefer("S1", "Ankara", "İzmir", KALKIS, 40, 350);
+        Sefer ucte = new Sefer("S2", "İstanbul", "Bursa", LocalDateTime.of(2026, 12, 31, 23, 59), 3, 1200);
+        ucte.koltukGeriYukle(2, "Yolcu", "05550000000", KALKIS, "01JNQ8Z4KX0000000000000002");
+        Sefer dolu = new Sefer("S3", "Ankara", "Konya", LocalDateTime.of(2027, 1, 1, 0, 0), 2, 90);
+        dolu.koltukGeriYukle(1, "Yolcu", "05550000000", KALKIS, "01JNQ8Z4KX0000000000000001");
+        dolu.koltukGeriYukle(2, "Yolcu", "05550000000", KALKIS, "01JNQ8Z4KX0000000000000003");
+        Sefer bolum = new Sefer("S4", List.of("İzmir", "Uşak", "Afyon", "Ankara"), KALKIS.plusMinutes(30), 8, 450);
+        bolum.bacakGeriYukle(5, 0, 1, "Bölüm", null, null, "01JNQ8Z4KX0000000000000004");
+
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        StringWriter w = new StringWriter();
+        CiktiYazici c = CiktiYazici.yazici(w);
+        for (Sefer s : List.of(bos, ucte, dolu, bolum)) sistem.seferSatiriYaz(c, s);
+        c.flush();
+        assertEquals(metin(
+                "S1 | Ankara → İzmir | Kalkış: 07/03/2026 08:05 | Kap: 40 | Dolu: 0 | Doluluk:  0,0% | Fiyat: 350 TL",
+                "S2 | İstanbul → Bursa | Kalkış: 31/12/2026 23:59 | Kap: 3 | Dolu: 1 | Doluluk: 33,3% | Fiyat: 1200 TL",
+                "S3 | Ankara → Konya | Kalkış: 01/01/2027 00:00 | Kap: 2 | Dolu: 2 | Doluluk: 100,0% | Fiyat: 90 TL",
+                "S4 | İzmir → Ankara | Kalkış: 07/03/2026 08:35 | Kap: 8 | Dolu: 1 | Doluluk:  4,2% | Fiyat: 450 TL",
+                ""), w.toString());
+    }
+
+    private static String fis(Sefer s, Koltuk k) {
+        StringWriter w = new StringWriter();
+        CiktiYazici c = CiktiYazici.yazici(w);
+        new RezervasyonSistemi().fisYaz(c, s, k);
+        c.flush();
+        return w.toString();
+    }
+
+    /** Satırları platformun satır sonuyla birleştirir (son eleman "" ise çıktı satır sonuyla biter) */
+    private static String metin(String... satirlar) {
+        return String.join(System.lineSeparator(), satirlar);
+    }
+}
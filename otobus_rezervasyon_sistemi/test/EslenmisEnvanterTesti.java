@@ -0,0 +1,80 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Bellek eşlemeli envanterin sabit genişlikli alanlarına sığmayan değerler kesilip yazılmamalı; sefer ya da
+ * rezervasyon oluşturulurken reddedilmeli ve koltuk boş kalmalıdır. Sınıra kadar olan değerler (çok baytlı
+ * karakterler dahil) yeniden açılışta aynen okunmalıdır; rezervasyon zamanı saniye altı hassasiyetiyle.
+ */
+class EslenmisEnvanterTesti {
+    private static final LocalDateTime YARIN = LocalDateTime.now().plusDays(1).withNano(0);
+
+    @Test
+    void sigmayanDegerlerReddedilir(@TempDir Path dizin) throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        sistem.envanteriAc(dizin);
+        assertThrows(IllegalArgumentException.class,
+                () -> sistem.yeniSefer("S".repeat(59), "Ankara", "İzmir", YARIN, 10, 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> sistem.yeniSefer("E1", "Ş".repeat(48), "İzmir", YARIN, 10, 100));
+        assertNull(sistem.seferBul("E1"));
+
+        Sefer s = sistem.yeniSefer("E1", "Ankara", "İzmir", YARIN, 10, 100);
+        assertNotNull(s);
+        assertThrows(IllegalArgumentException.class, () -> sistem.koltukRezerveEt(s, 1, "Ğ".repeat(48), "0555"));
+        assertThrows(IllegalArgumentException.class, () -> sistem.koltukRezerveEt(s, 1, "Yolcu", "5".repeat(39)));
+        assertThrows(IllegalArgumentException.class, () -> sistem.topluRezerveEt(s, List.of(
+                new RezervasyonTalebi(2, "Yolcu", "0555"), new RezervasyonTalebi(3, "Ç".repeat(100), "0555"))));
+        Koltuk tutma = sistem.koltukTut(s, 4);
+        assertThrows(IllegalArgumentException.class,
+                () -> sistem.tutmaOnayla(tutma.getRezervasyonKimlik(), "Ö".repeat(48), "0555"));
+        assertNotNull(sistem.tutmaBirak(tutma.getRezervasyonKimlik()));
+        for (int no = 1; no <= 4; no++) assertFalse(s.doluMu(no), "koltuk " + no);
+        assertEquals(0, s.getRezerveSayisi());
+        sistem.kapat();
+    }
+
+    @Test
+    void sinirdakiDegerlerAynenOkunur(@TempDir Path dizin) throws Exception {
+        String ad = "Ü".repeat(47); // 94 bayt: alanın tamamı
+        String kimlik = "K".repeat(58);
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        sistem.envanteriAc(dizin);
+        Sefer s = sistem.yeniSefer(kimlik, "Ankara", "İzmir", YARIN, 10, 100);
+        String rezervasyon = sistem.koltukRezerveEt(s, 5, ad, "5".repeat(38)).getRezervasyonKimlik();
+        sistem.kapat();
+
+        RezervasyonSistemi yeniden = new RezervasyonSistemi();
+        yeniden.envanteriAc(dizin);
+        Koltuk k = yeniden.rezervasyonBul(rezervasyon);
+        assertNotNull(k);
+        assertEquals(kimlik, k.getSefer().getSeferKimlik());
+        assertEquals(ad, k.getYolcuAdi());
+        assertEquals("5".repeat(38), k.getYolcuTelefonu());
+        yeniden.kapat();
+    }
+
+    @Test
+    void rezervasyonZamaniNanosaniyesiyleOkunur(@TempDir Path dizin) throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        sistem.envanteriAc(dizin);
+        Sefer s = sistem.yeniSefer("Z1", "Ankara", "İzmir", YARIN, 10, 100);
+        LocalDateTime zaman = LocalDateTime.of(2026, 2, 28, 23, 59, 59, 123_456_789);
+        assertNotNull(s.koltukGeriYukle(3, "Yolcu", "0555", zaman, "01JNQ8Z4KX0000000000000003"));
+        sistem.kapat();
+
+        RezervasyonSistemi yeniden = new RezervasyonSistemi();
+        yeniden.envanteriAc(dizin);
+        assertEquals(zaman, yeniden.seferBul("Z1").getKoltuk(3).orElseThrow().getRezervasyonZamani());
+        yeniden.kapat();
+    }
+}
@@ -0,0 +1,144 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Otomatik koltuk seçimi (ilk boş, bitişik blok, tercih edilen koltuğa en yakın) bit kelimeleri üzerinde
+ * çalışır; sonuçları koltuk koltuk tarayan basit bir uygulamayla aynı olmalıdır. Kapasiteler kelime
+ * sınırının iki yanını kapsar (63, 64, 65) ve üç kelimeye yayılır (150). Doluluk desenleri kelime sınırını
+ * aşan boş serileri, yalnızca ilk ya da son koltuğun boş olduğu durumları ve bölümü satılmış (ara duraklı)
+ * koltukları içerir; istenen adet boş koltuk sayısını aşabilir.
+ */
+class KoltukSecimiTesti {
+    private static final List<String> DURAKLAR = List.of("İzmir", "Uşak", "Ankara");
+
+    @ParameterizedTest(name = "kapasite {0}")
+    @ValueSource(ints = {63, 64, 65, 150})
+    void secimlerKoltukKoltukTaramaylaAynidir(int kapasite) {
+        Random r = new Random(kapasite);
+        List<boolean[]> desenler = new ArrayList<>();
+        desenler.add(new boolean[kapasite]);                                // tamamen boş
+        desenler.add(seri(kapasite, 0, 0));                                 // tamamen dolu
+        desenler.add(seri(kapasite, 0, 1));                                 // yalnızca ilk koltuk boş
+        desenler.add(seri(kapasite, kapasite - 1, kapasite));               // yalnızca son koltuk boş
+        desenler.add(seri(kapasite, 58, Math.min(kapasite, 70)));           // 64. koltuk sınırını aşan seri
+        desenler.add(seri(kapasite, Math.max(0, kapasite - 9), kapasite));  // son kelimenin sonuna dayanan seri
+        boolean[] uclar = seri(kapasite, 0, 4);                             // iki uçta birer seri
+        for (int i = kapasite - 4; i < kapasite; i++) uclar[i] = false;
+        desenler.add(uclar);
+        boolean[] seyrek = new boolean[kapasite];                           // yan yana iki boş koltuk yok
+        for (int i = 0; i < kapasite; i += 2) seyrek[i] = true;
+        desenler.add(seyrek);
+        for (double doluluk : new double[]{0.2, 0.5, 0.8, 0.95}) {
+            for (int n = 0; n < 5; n++) {
+                boolean[] d = new boolean[kapasite];
+                for (int i = 0; i < kapasite; i++) d[i] = r.nextDouble() < doluluk;
+                desenler.add(d);
+            }
+        }
+
+        for (boolean[] dolu : desenler) {
+            Sefer s = sefer(kapasite, dolu, r);
+            boolean[] bos = new boolean[kapasite];
+            int bosSayisi = 0;
+            for (int no = 1; no <= kapasite; no++) if (bos[no - 1] = !s.doluMu(no)) bosSayisi++;
+            assertEquals(bosSayisi, s.getBosKoltukSayisi());
+            int[] tercihler = {1, 2, 63, 64, 65, 66, kapasite - 1, kapasite, 0, kapasite + 10, 1 + r.nextInt(kapasite)};
+            for (int adet = 1; adet <= Math.min(bosSayisi + 2, 12); adet++) {
+                String d = Arrays.toString(bosNumaralar(bos)) + " adet " + adet;
+                assertArrayEquals(ilkBoslar(bos, adet), s.bosKoltuklariSec(adet, Sefer.KoltukSecimi.ILK_BOS, 1), "ILK_BOS " + d);
+                assertArrayEquals(bitisik(bos, adet), s.bosKoltuklariSec(adet, Sefer.KoltukSecimi.BITISIK, 1), "BITISIK " + d);
+                for (int tercih : tercihler) {
+                    assertArrayEquals(enIyi(bos, adet, tercih), s.bosKoltuklariSec(adet, Sefer.KoltukSecimi.EN_IYI, tercih),
+                            "EN_IYI tercih " + tercih + " " + d);
+                }
+            }
+            assertEquals(0, s.bosKoltuklariSec(bosSayisi + 1, Sefer.KoltukSecimi.EN_IYI, 1).length);
+            assertEquals(0, s.bosKoltuklariSec(0, Sefer.KoltukSecimi.ILK_BOS, 1).length);
+        }
+    }
+
+    /** Ara duraklı sefer; dolu koltukların bir kısmı yalnızca bir bölüm için satılır (koltuk yine dolu sayılır) */
+    private static Sefer sefer(int kapasite, boolean[] dolu, Random r) {
+        Sefer s = new Sefer("SEC" + kapasite, DURAKLAR, LocalDateTime.now().plusDays(1), kapasite, 300);
+        for (int i = 0; i < kapasite; i++) {
+            if (!dolu[i]) continue;
+            if (r.nextInt(3) == 0) {
+                int binis = r.nextInt(2);
+                assertNotNull(s.bacakRezerveEt(i + 1, binis, binis + 1, "Bölüm", "05550000001"));
+            } else {
+                assertNotNull(s.koltukRezerveEt(i + 1, "Yolcu", "05550000000"));
+            }
+        }
+        return s;
+    }
+
+    /** [bas, bit) boş, geri kalanı dolu */
+    private static boolean[] seri(int kapasite, int bas, int bit) {
+        boolean[] dolu = new boolean[kapasite];
+        for (int i = 0; i < kapasite; i++) dolu[i] = i < bas || i >= bit;
+        return dolu;
+    }
+
+    /* ---------- Koltuk koltuk tarayan karşılaştırma uygulaması ---------- */
+
+    private static int[] bosNumaralar(boolean[] bos) {
+        List<Integer> sonuc = new ArrayList<>();
+        for (int i = 0; i < bos.length; i++) if (bos[i]) sonuc.add(i + 1);
+        return sonuc.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] ilkBoslar(boolean[] bos, int adet) {
+        int[] hepsi = bosNumaralar(bos);
+        return hepsi.length < adet ? new int[0] : Arrays.copyOf(hepsi, adet);
+    }
+
+    private static boolean blokBos(boolean[] bos, int bas, int adet) {
+        for (int i = bas; i < bas + adet; i++) if (!bos[i]) return false;
+        return true;
+    }
+
+    private static int[] blok(int bas, int adet) {
+        int[] sonuc = new int[adet];
+        for (int j = 0; j < adet; j++) sonuc[j] = bas + j + 1;
+        return sonuc;
+    }
+
+    private static int[] bitisik(boolean[] bos, int adet) {
+        for (int bas = 0; bas + adet <= bos.length; bas++) if (blokBos(bos, bas, adet)) return blok(bas, adet);
+        return new int[0];
+    }
+
+    /**
+     * Ortası tercih edilen koltuğa en yakın bitişik blok (eşitlikte öndeki); blok yoksa tercih edilen
+     * koltuğa en yakın tek tek boş koltuklar (eşitlikte öndeki)
+     */
+    private static int[] enIyi(boolean[] bos, int adet, int tercih) {
+        if (bosNumaralar(bos).length < adet) return new int[0];
+        int hedef = Math.min(Math.max(tercih, 1), bos.length) - 1;
+        int enIyi = -1, enIyiUzaklik = Integer.MAX_VALUE;
+        for (int bas = 0; bas + adet <= bos.length; bas++) {
+            int uzaklik = Math.abs(bas + (adet - 1) / 2 - hedef);
+            if (blokBos(bos, bas, adet) && uzaklik < enIyiUzaklik) {
+                enIyi = bas;
+                enIyiUzaklik = uzaklik;
+            }
+        }
+        if (enIyi >= 0) return blok(enIyi, adet);
+        Integer[] sirali = Arrays.stream(bosNumaralar(bos)).boxed().toArray(Integer[]::new);
+        Arrays.sort(sirali, Comparator.comparingInt((Integer no) -> Math.abs(no - 1 - hedef)).thenComparingInt(no -> no));
+        int[] sonuc = new int[adet];
+        for (int j = 0; j < adet; j++) sonuc[j] = sirali[j];
+        Arrays.sort(sonuc);
+        return sonuc;
+    }
+}
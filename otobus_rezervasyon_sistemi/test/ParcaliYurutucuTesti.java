@@ -0,0 +1,95 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Parçalı yürütme: seferler yürütücüden önce, yürütücü üzerinden ve yürütücüyü atlayarak doğrudan
+ * sistemde oluşturulur; birkaç istemci iş parçacığı seferlere yayılmış rezervasyon ve iptal gönderir.
+ * Sonunda her parçanın toplamları yalnızca kendi seferlerinin sayaçlarından oluşmalı (komut seferin
+ * sahibinde çalışmıştır) ve birleşik özet RezervasyonIstatistikleri'nin genel toplamıyla aynı olmalıdır.
+ */
+class ParcaliYurutucuTesti {
+    private static final int ISTEMCI = 4, ISLEM = 400;
+
+    @Test
+    void ozetIstatistiklerleVeSahipParcalarlaTutarlidir() throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        LocalDateTime kalkis = LocalDateTime.now().plusDays(1);
+        List<Sefer> seferler = new ArrayList<>();
+        for (int i = 0; i < 6; i++) seferler.add(sistem.yeniSefer("O" + i, "Ankara", "İzmir", kalkis.plusHours(i), 20 + i, 100 + 10 * i));
+
+        try (ParcaliYurutucu yurutucu = new ParcaliYurutucu(sistem, 4, 64)) {
+            for (int i = 0; i < 6; i++) {
+                seferler.add(yurutucu.seferEkle("Y" + i, "İstanbul", "Bursa", kalkis.plusHours(i), 16, 250).join());
+            }
+            // Yürütücüyü atlayarak eklenen seferler: ilk komutta o anki durumlarıyla sahiplenilmeli
+            for (int i = 0; i < 3; i++) {
+                Sefer s = sistem.yeniSefer("D" + i, "İzmir", "Ankara", kalkis.plusHours(i), 12, 300);
+                assertNotNull(sistem.koltukRezerveEt(s, 1, "Doğrudan", "05550000000"));
+                assertNotNull(sistem.koltukRezerveEt(s, 2, "Doğrudan", "05550000000"));
+                seferler.add(s);
+            }
+            for (int i = 0; i < 3; i++) assertNotNull(yurutucu.rezerveEt(seferler.get(12 + i), 3, "İlk", "05550000001").join());
+
+            ExecutorService havuz = Executors.newFixedThreadPool(ISTEMCI);
+            try {
+                List<Future<?>> isler = new ArrayList<>();
+                for (int t = 0; t < ISTEMCI; t++) {
+                    final int tohum = t;
+                    isler.add(havuz.submit(() -> {
+                        Random r = new Random(tohum);
+                        List<String> kimlikler = new ArrayList<>();
+                        for (int n = 0; n < ISLEM; n++) {
+                            if (!kimlikler.isEmpty() && r.nextInt(3) == 0) {
+                                yurutucu.iptalEt(kimlikler.remove(r.nextInt(kimlikler.size()))).join();
+                            } else {
+                                Sefer s = seferler.get(r.nextInt(seferler.size()));
+                                Koltuk k = yurutucu.rezerveEt(s, 1 + r.nextInt(s.getKapasite()), "Yolcu " + tohum, "0555").join();
+                                if (k != null) kimlikler.add(k.getRezervasyonKimlik());
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> f : isler) f.get();
+            } finally {
+                havuz.shutdownNow();
+            }
+
+            long islenen = 0;
+            for (int p = 0; p < yurutucu.getParcaSayisi(); p++) {
+                long seferSayisi = 0, kapasite = 0, rezervasyon = 0, gelir = 0;
+                for (Sefer s : seferler) {
+                    if (yurutucu.parcaIndeksi(s.getSeferKimlik()) != p) continue;
+                    seferSayisi++;
+                    kapasite += s.getKapasite();
+                    rezervasyon += s.getRezerveSayisi();
+                    gelir += s.getGelir();
+                }
+                ParcaliYurutucu.Ozet o = yurutucu.parcaOzeti(p).join();
+                assertEquals(seferSayisi, o.getSeferSayisi(), "parça " + p);
+                assertEquals(kapasite, o.getKapasite(), "parça " + p);
+                assertEquals(rezervasyon, o.getRezervasyon(), "parça " + p);
+                assertEquals(gelir, o.getGelir(), "parça " + p);
+                islenen += o.getIslenen();
+            }
+            assertEquals(3 + ISTEMCI * ISLEM, islenen);
+
+            ParcaliYurutucu.Ozet ozet = yurutucu.ozet().join();
+            RezervasyonIstatistikleri.Toplam genel = sistem.getIstatistikler().getGenel();
+            assertEquals(genel.getSeferSayisi(), ozet.getSeferSayisi());
+            assertEquals(genel.getKapasite(), ozet.getKapasite());
+            assertEquals(genel.getRezervasyon(), ozet.getRezervasyon());
+            assertEquals(genel.getGelir(), ozet.getGelir());
+        }
+        sistem.kapat();
+    }
+}
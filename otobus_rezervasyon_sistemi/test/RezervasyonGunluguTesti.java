@@ -0,0 +1,166 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Günlük, rezervasyon ve iptalleri gerçekleştikleri sırayla yazmalı: bir rezervasyon yayımlandığı anda
+ * başka bir iş parçacığınca iptal edilse bile İPTAL kaydı REZERVE kaydından önce gelmemelidir; yoksa
+ * yeniden oynatmada iptal edilen rezervasyon geri gelir. Yük sırasında anlık görüntüler de alınır;
+ * sistem kapatılıp açıldığında rezervasyonlar birebir aynı olmalıdır. Başarıyla dönen bir rezervasyon ya da
+ * iptal, çağrı döndüğü anda diskteki günlükte bulunmalıdır (write-ahead onayı).
+ */
+class RezervasyonGunluguTesti {
+    private static final int IS_PARCACIGI = 8;
+    private static final int ISLEM = 20_000; // iş parçacığı başına
+
+    @Test
+    void eszamanliIptallerYenidenOynatmadaGeriGelmez(@TempDir Path dizin) throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        sistem.kaliciligiBaslat(dizin);
+        LocalDateTime yarin = LocalDateTime.now().plusDays(1);
+        Sefer tek = sistem.yeniSefer("G1", "Ankara", "İzmir", yarin, 8, 300);
+        Sefer cok = sistem.yeniSefer("G2", List.of("Bursa", "Eskişehir", "Konya"), yarin, 8, 300);
+        assertNotNull(tek);
+        assertNotNull(cok);
+        Sefer[] seferler = {tek, cok};
+
+        ExecutorService havuz = Executors.newFixedThreadPool(IS_PARCACIGI + 1);
+        try {
+            List<Future<?>> sonuclar = new ArrayList<>();
+            for (int t = 0; t < IS_PARCACIGI; t++) {
+                long tohum = t;
+                sonuclar.add(havuz.submit(() -> {
+                    Random r = new Random(tohum);
+                    for (int n = 0; n < ISLEM; n++) {
+                        Sefer s = seferler[r.nextInt(2)];
+                        int no = 1 + r.nextInt(8);
+                        int islem = r.nextInt(3);
+                        if (islem == 0) {
+                            sistem.koltukRezerveEt(s, no, "Yolcu", "05550000000");
+                        } else if (islem == 1 && s.isCokDurakli()) {
+                            int binis = r.nextInt(2);
+                            sistem.bacakRezerveEt(s, no, binis, binis + 1, "Bölüm", "05550000001");
+                        } else if (no < 8) {
+                            sistem.topluRezerveEt(s, List.of(new RezervasyonTalebi(no, "Grup", "05550000002"),
+                                    new RezervasyonTalebi(no + 1, "Grup", "05550000002")));
+                        }
+                        // Yayımlanan kayıt, rezervasyonu yapan çağrı dönmeden görülüp iptal edilebilir
+                        List<Koltuk> rezerve = seferler[r.nextInt(2)].getRezerveKoltuklar();
+                        if (!rezerve.isEmpty() && r.nextBoolean()) {
+                            sistem.rezervasyonIptalEt(rezerve.get(r.nextInt(rezerve.size())).getRezervasyonKimlik());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            sonuclar.add(havuz.submit(() -> {
+                for (int i = 0; i < 5; i++) {
+                    Thread.sleep(5);
+                    sistem.anlikGoruntuAl();
+                }
+                return null;
+            }));
+            for (Future<?> f : sonuclar) f.get(2, TimeUnit.MINUTES);
+        } finally {
+            havuz.shutdownNow();
+        }
+        TreeMap<String, String> once = rezervasyonlar(sistem);
+        long gelir = sistem.getIstatistikler().getToplamGelir();
+        sistem.kapat();
+
+        RezervasyonSistemi yeniden = new RezervasyonSistemi();
+        yeniden.kaliciligiBaslat(dizin);
+        try {
+            assertEquals(once, rezervasyonlar(yeniden));
+            assertEquals(gelir, yeniden.getIstatistikler().getToplamGelir());
+        } finally {
+            yeniden.kapat();
+        }
+    }
+
+    @Test
+    void onaylananIslemDonmedenGunlukteKalicidir(@TempDir Path dizin) throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        sistem.kaliciligiBaslat(dizin);
+        try {
+            Sefer s = sistem.yeniSefer("K1", "Ankara", "İzmir", LocalDateTime.now().plusDays(1), 200, 300);
+            ExecutorService havuz = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> sonuclar = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    int ilk = 1 + 50 * t;
+                    sonuclar.add(havuz.submit(() -> {
+                        for (int no = ilk; no < ilk + 50; no++) {
+                            Koltuk k = sistem.koltukRezerveEt(s, no, "Yolcu", "05550000000");
+                            assertNotNull(k);
+                            assertTrue(gunluktekiler(dizin).contains(k.getRezervasyonKimlik()), "onaylandı ama diskte yok: " + no);
+                            if (no % 5 == 0) {
+                                assertNotNull(sistem.rezervasyonIptalEt(k.getRezervasyonKimlik()));
+                                assertFalse(gunluktekiler(dizin).contains(k.getRezervasyonKimlik()), "iptal diskte yok: " + no);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> f : sonuclar) f.get(2, TimeUnit.MINUTES);
+            } finally {
+                havuz.shutdownNow();
+            }
+        } finally {
+            sistem.kapat();
+        }
+    }
+
+    /** Diskteki anlık görüntü ve günlük bölümlerinden okunan, iptal edilmemiş rezervasyon kimlikleri */
+    private static Set<String> gunluktekiler(Path dizin) throws Exception {
+        Set<String> kimlikler = new HashSet<>();
+        RezervasyonGunlugu.Uygulayici u = new RezervasyonGunlugu.Uygulayici() {
+            @Override
+            public void seferOlusturuldu(String seferKimlik, String kalkisYeri, String varisYeri, LocalDateTime kalkisZamani,
+                                         int kapasite, int biletFiyati, int sira, List<String> araDuraklar) {
+            }
+
+            @Override
+            public void koltukRezerveEdildi(String seferKimlik, int koltukNumarasi, String yolcuAdi, String yolcuTelefonu,
+                                            LocalDateTime rezervasyonZamani, String rezervasyonKimlik, int binis, int inis) {
+                kimlikler.add(rezervasyonKimlik);
+            }
+
+            @Override
+            public void rezervasyonIptalEdildi(String seferKimlik, int koltukNumarasi, String rezervasyonKimlik) {
+                kimlikler.remove(rezervasyonKimlik);
+            }
+        };
+        RezervasyonGunlugu.bolumleriOku(dizin, AnlikGoruntu.oku(dizin, u), u);
+        return kimlikler;
+    }
+
+    /** kimlik -> "sefer/koltuk/biniş-iniş/yolcu/zaman" (zaman saniye altı kısmıyla) */
+    private static TreeMap<String, String> rezervasyonlar(RezervasyonSistemi sistem) {
+        TreeMap<String, String> sonuc = new TreeMap<>();
+        for (Sefer s : sistem.getSeferler()) {
+            for (Koltuk k : s.getRezerveKoltuklar()) {
+                sonuc.put(k.getRezervasyonKimlik(), s.getSeferKimlik() + "/" + k.getKoltukNumarasi() + "/"
+                        + k.getBinisDuragi() + "-" + k.getInisDuragi() + "/" + k.getYolcuAdi() + "/"
+                        + k.getRezervasyonZamani());
+            }
+        }
+        return sonuc;
+    }
+}
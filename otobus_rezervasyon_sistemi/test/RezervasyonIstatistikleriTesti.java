@@ -0,0 +1,206 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Artımlı gelir ve doluluk toplamları (RezervasyonIstatistikleri), her seferin getRezerveKoltuklar listesi
+ * ve arşivdeki seferler üzerinden baştan yapılan hesapla birebir aynı olmalı: genel, güzergah ve gün bazında
+ * sefer sayısı, kapasite, rezervasyon ve gelir. Özet rapor toplamları bu sayaçlardan okur; sefer bazlı
+ * bölüm yalnızca istendiğinde yazılır.
+ */
+class RezervasyonIstatistikleriTesti {
+    private static final LocalDateTime YARIN = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+    @Test
+    void karisikIslemlerdenSonraTamHesaplaAyni() throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        List<Sefer> seferler = seferleriOlustur(sistem);
+        List<String> kimlikler = new ArrayList<>();
+        Random r = new Random(7);
+        for (int n = 0; n < 5_000; n++) rastgeleIslem(sistem, seferler, kimlikler, r);
+        tamHesaplaKarsilastir(sistem);
+    }
+
+    @Test
+    void eszamanliIslemlerdenSonraTamHesaplaAyni() throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        List<Sefer> seferler = seferleriOlustur(sistem);
+        ExecutorService havuz = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> sonuclar = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long tohum = t;
+                sonuclar.add(havuz.submit(() -> {
+                    List<String> kimlikler = new ArrayList<>();
+                    Random r = new Random(tohum);
+                    for (int n = 0; n < 10_000; n++) rastgeleIslem(sistem, seferler, kimlikler, r);
+                    return null;
+                }));
+            }
+            for (Future<?> f : sonuclar) f.get(2, TimeUnit.MINUTES);
+        } finally {
+            havuz.shutdownNow();
+        }
+        tamHesaplaKarsilastir(sistem);
+    }
+
+    @Test
+    void arsivlenenSeferToplamlardaKalir() throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        List<Sefer> seferler = seferleriOlustur(sistem);
+        Sefer gecmis = sistem.yeniSefer("G1", List.of("İzmir", "Manisa", "Uşak"), LocalDateTime.now().minusHours(2), 12, 200);
+        seferler.add(gecmis);
+        List<String> kimlikler = new ArrayList<>();
+        Random r = new Random(11);
+        for (int n = 0; n < 1_000; n++) rastgeleIslem(sistem, seferler, kimlikler, r);
+        assertEquals(1, sistem.seferleriArsivle(LocalDateTime.now()));
+        assertEquals(1, sistem.getArsiv().getSeferSayisi());
+        tamHesaplaKarsilastir(sistem);
+    }
+
+    @Test
+    void raporToplamlariIstatistiklerdenOkurSeferleriYalnizcaIstenirseDolasir() throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        List<Sefer> seferler = seferleriOlustur(sistem);
+        seferler.add(sistem.yeniSefer("G1", "İzmir", "Uşak", LocalDateTime.now().minusHours(2), 12, 200));
+        List<String> kimlikler = new ArrayList<>();
+        Random r = new Random(13);
+        for (int n = 0; n < 1_000; n++) rastgeleIslem(sistem, seferler, kimlikler, r);
+        assertEquals(1, sistem.seferleriArsivle(LocalDateTime.now()));
+
+        RezervasyonIstatistikleri.Toplam genel = sistem.getIstatistikler().getGenel();
+        String ozet = rapor(sistem, false);
+        assertTrue(ozet.contains("Toplam Sefer Sayısı: 5" + System.lineSeparator()), ozet); // 4 canlı + 1 arşiv
+        assertTrue(ozet.contains("Toplam Gelir: " + genel.getGelir() + " TL"), ozet);
+        assertTrue(ozet.contains("Toplam Rezervasyon: " + genel.getRezervasyon() + System.lineSeparator()), ozet);
+        assertFalse(ozet.contains("Sefer Bazlı Detaylar"), ozet);
+
+        String detayli = rapor(sistem, true);
+        assertTrue(detayli.startsWith(ozet), detayli);
+        for (Sefer s : sistem.getSeferler()) assertTrue(detayli.contains(System.lineSeparator() + s.getSeferKimlik() + " | "), s.getSeferKimlik());
+        assertFalse(detayli.contains(System.lineSeparator() + "G1 | "), detayli);
+    }
+
+    private static String rapor(RezervasyonSistemi sistem, boolean seferDetayi) {
+        ByteArrayOutputStream b = new ByteArrayOutputStream();
+        sistem.raporYaz(new PrintStream(b, true, StandardCharsets.UTF_8), seferDetayi);
+        return b.toString(StandardCharsets.UTF_8);
+    }
+
+    /** İki güzergah, iki gün ve bir ara duraklı sefer: güzergah ve gün gruplarının her biri birden fazla sefer içerir */
+    private static List<Sefer> seferleriOlustur(RezervasyonSistemi sistem) throws Exception {
+        List<Sefer> seferler = new ArrayList<>();
+        seferler.add(sistem.yeniSefer("A1", "İstanbul", "Ankara", YARIN, 40, 500));
+        seferler.add(sistem.yeniSefer("A2", "İstanbul", "Ankara", YARIN.plusDays(1), 30, 450));
+        seferler.add(sistem.yeniSefer("B1", "Bursa", "Konya", YARIN.plusDays(1), 70, 380));
+        seferler.add(sistem.yeniSefer("C1", List.of("İzmir", "Manisa", "Uşak", "Afyon"), YARIN, 20, 301));
+        for (Sefer s : seferler) assertNotNull(s);
+        return seferler;
+    }
+
+    /** Tekli, grup, bölüm rezervasyonu, iptal ve tutma (onay ya da bırakma) arasından rastgele biri */
+    private static void rastgeleIslem(RezervasyonSistemi sistem, List<Sefer> seferler, List<String> kimlikler, Random r) {
+        Sefer s = seferler.get(r.nextInt(seferler.size()));
+        int no = 1 + r.nextInt(s.getKapasite());
+        switch (r.nextInt(6)) {
+            case 0: {
+                Koltuk k = sistem.koltukRezerveEt(s, no, "Yolcu", "05550000000");
+                if (k != null) kimlikler.add(k.getRezervasyonKimlik());
+                break;
+            }
+            case 1: {
+                int adet = Math.min(3, s.getKapasite() - no + 1);
+                List<RezervasyonTalebi> talepler = new ArrayList<>();
+                for (int j = 0; j < adet; j++) talepler.add(new RezervasyonTalebi(no + j, "Grup", "05550000001"));
+                List<Koltuk> grup = sistem.topluRezerveEt(s, talepler);
+                if (grup != null) for (Koltuk k : grup) kimlikler.add(k.getRezervasyonKimlik());
+                break;
+            }
+            case 2: {
+                if (!s.isCokDurakli()) break;
+                int binis = r.nextInt(s.getDurakSayisi() - 1);
+                int inis = binis + 1 + r.nextInt(s.getDurakSayisi() - 1 - binis);
+                Koltuk k = sistem.bacakRezerveEt(s, r.nextBoolean() ? 0 : no, binis, inis, "Bölüm", "05550000002");
+                if (k != null) kimlikler.add(k.getRezervasyonKimlik());
+                break;
+            }
+            case 3:
+            case 4:
+                if (!kimlikler.isEmpty()) sistem.rezervasyonIptalEt(kimlikler.remove(r.nextInt(kimlikler.size())));
+                break;
+            default: {
+                Koltuk tutma = sistem.koltukTut(s, no);
+                if (tutma == null) break;
+                if (r.nextBoolean()) {
+                    Koltuk k = sistem.tutmaOnayla(tutma.getRezervasyonKimlik(), "Tutma", "05550000003");
+                    if (k != null) kimlikler.add(k.getRezervasyonKimlik());
+                } else {
+                    sistem.tutmaBirak(tutma.getRezervasyonKimlik());
+                }
+            }
+        }
+    }
+
+    /** { sefer sayısı, kapasite, rezervasyon, gelir } */
+    private static void ekle(long[] t, long kapasite, long rezervasyon, long gelir) {
+        t[0]++;
+        t[1] += kapasite;
+        t[2] += rezervasyon;
+        t[3] += gelir;
+    }
+
+    private static void tamHesaplaKarsilastir(RezervasyonSistemi sistem) {
+        long[] genel = new long[4];
+        SortedMap<String, long[]> guzergah = new TreeMap<>();
+        SortedMap<LocalDate, long[]> gun = new TreeMap<>();
+        for (Sefer s : sistem.getSeferler()) {
+            List<Koltuk> rezerve = s.getRezerveKoltuklar();
+            long gelir = 0;
+            for (Koltuk k : rezerve) gelir += k.getUcret();
+            ekle(genel, s.getKapasite(), rezerve.size(), gelir);
+            ekle(guzergah.computeIfAbsent(s.getGuzergah(), x -> new long[4]), s.getKapasite(), rezerve.size(), gelir);
+            ekle(gun.computeIfAbsent(s.getKalkisZamani().toLocalDate(), x -> new long[4]), s.getKapasite(), rezerve.size(), gelir);
+        }
+        for (SeferArsivi.ArsivSeferi a : sistem.getArsiv().seferler()) {
+            ekle(genel, a.getKapasite(), a.getRezerveSayisi(), a.getGelir());
+            ekle(guzergah.computeIfAbsent(a.getKalkisYeri() + " → " + a.getVarisYeri(), x -> new long[4]),
+                    a.getKapasite(), a.getRezerveSayisi(), a.getGelir());
+            ekle(gun.computeIfAbsent(a.getKalkisZamani().toLocalDate(), x -> new long[4]),
+                    a.getKapasite(), a.getRezerveSayisi(), a.getGelir());
+        }
+        RezervasyonIstatistikleri ist = sistem.getIstatistikler();
+        karsilastir("genel", genel, ist.getGenel());
+        karsilastir(guzergah, ist.getGuzergahBazli());
+        karsilastir(gun, ist.getGunBazli());
+    }
+
+    private static <K> void karsilastir(SortedMap<K, long[]> beklenen, SortedMap<K, RezervasyonIstatistikleri.Toplam> gercek) {
+        assertEquals(beklenen.keySet(), gercek.keySet());
+        for (Map.Entry<K, long[]> e : beklenen.entrySet()) karsilastir(String.valueOf(e.getKey()), e.getValue(), gercek.get(e.getKey()));
+    }
+
+    private static void karsilastir(String grup, long[] beklenen, RezervasyonIstatistikleri.Toplam gercek) {
+        assertEquals(beklenen[0], gercek.getSeferSayisi(), grup + " sefer sayısı");
+        assertEquals(beklenen[1], gercek.getKapasite(), grup + " kapasite");
+        assertEquals(beklenen[2], gercek.getRezervasyon(), grup + " rezervasyon");
+        assertEquals(beklenen[3], gercek.getGelir(), grup + " gelir");
+    }
+}
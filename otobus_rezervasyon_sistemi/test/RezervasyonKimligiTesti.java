@@ -0,0 +1,129 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Kompakt kimlik: olustur ile yazılan her alan (sefer sırası, koltuk, düğüm, damga) coz/damga ile aynen
+ * geri okunmalı, kimliklerin metin sırası damga sırasını izlemeli, çözümleme harf duyarsız olmalı ve
+ * biçime sığmayan sefer sıraları UUID'ye düşerken sayılmalı.
+ */
+class RezervasyonKimligiTesti {
+    private static final long EN_BUYUK_DAMGA = (1L << 50) - 1;
+
+    @Test
+    void tumAlanlarGeriOkunur() {
+        int oncekiDugum = RezervasyonKimligi.getDugum();
+        try {
+            SplittableRandom r = new SplittableRandom(12);
+            long[][] durumlar = new long[1000][];
+            durumlar[0] = new long[]{0, 1, 1, 0};
+            durumlar[1] = new long[]{EN_BUYUK_DAMGA, RezervasyonKimligi.EN_BUYUK_SIRA,
+                    RezervasyonKimligi.EN_BUYUK_KOLTUK, RezervasyonKimligi.EN_BUYUK_DUGUM};
+            durumlar[2] = new long[]{1L << 14, 1 << 23, 1 << 15, 1 << 9}; // ust/alt sınırını geçen damga biti
+            durumlar[3] = new long[]{(1L << 14) - 1, 2, 2, 1};
+            for (int i = 4; i < durumlar.length; i++) {
+                durumlar[i] = new long[]{r.nextLong(EN_BUYUK_DAMGA + 1), 1 + r.nextInt(RezervasyonKimligi.EN_BUYUK_SIRA),
+                        1 + r.nextInt(RezervasyonKimligi.EN_BUYUK_KOLTUK), r.nextInt(RezervasyonKimligi.EN_BUYUK_DUGUM + 1)};
+            }
+            for (long[] d : durumlar) {
+                RezervasyonKimligi.dugumAyarla((int) d[3]);
+                String kimlik = RezervasyonKimligi.olustur(d[0], (int) d[1], (int) d[2]);
+                String mesaj = Arrays.toString(d) + " -> " + kimlik;
+                assertEquals(RezervasyonKimligi.UZUNLUK, kimlik.length(), mesaj);
+                long alt = RezervasyonKimligi.coz(kimlik);
+                assertNotEquals(-1, alt, mesaj);
+                assertEquals(d[1], RezervasyonKimligi.seferSirasi(alt), mesaj);
+                assertEquals(d[2], RezervasyonKimligi.koltukNumarasi(alt), mesaj);
+                assertEquals(d[3], RezervasyonKimligi.dugum(alt), mesaj);
+                assertEquals(d[0], RezervasyonKimligi.damga(kimlik), mesaj);
+            }
+        } finally {
+            RezervasyonKimligi.dugumAyarla(oncekiDugum);
+        }
+    }
+
+    @Test
+    void kimliklerDamgaSirasinaGoreSiralanir() {
+        SplittableRandom r = new SplittableRandom(7);
+        long[] damgalar = new long[2000];
+        for (int i = 0; i < damgalar.length; i++) damgalar[i] = r.nextLong(EN_BUYUK_DAMGA + 1);
+        damgalar[0] = EN_BUYUK_DAMGA;
+        damgalar[1] = 0;
+        Arrays.sort(damgalar);
+        String onceki = null;
+        for (int i = 0; i < damgalar.length; i++) {
+            // Sefer ve koltuk alanları sırayı bozmamalı: daha büyük damga her zaman daha büyük kimlik
+            String kimlik = RezervasyonKimligi.olustur(damgalar[i], 1 + r.nextInt(RezervasyonKimligi.EN_BUYUK_SIRA),
+                    1 + r.nextInt(RezervasyonKimligi.EN_BUYUK_KOLTUK));
+            if (onceki != null && damgalar[i] != damgalar[i - 1]) assertTrue(onceki.compareTo(kimlik) < 0, onceki + " < " + kimlik);
+            onceki = kimlik;
+        }
+
+        // Aynı milisaniyede art arda alınan kimlikler de (nesil alanı) kesin artan
+        Sefer s = new Sefer("S1", "Ankara", "İzmir", LocalDateTime.now().plusDays(1), 40, 300);
+        s.siraAta(RezervasyonKimligi.EN_BUYUK_SIRA);
+        onceki = s.rezervasyonKimligiUret(40);
+        for (int i = 0; i < 5000; i++) {
+            String kimlik = s.rezervasyonKimligiUret(1 + i % 40);
+            assertTrue(onceki.compareTo(kimlik) < 0, onceki + " < " + kimlik);
+            assertTrue(RezervasyonKimligi.damga(onceki) < RezervasyonKimligi.damga(kimlik));
+            onceki = kimlik;
+        }
+    }
+
+    @Test
+    void cozumlemeHarfDuyarsizdir() {
+        SplittableRandom r = new SplittableRandom(3);
+        for (int i = 0; i < 200; i++) {
+            String kimlik = RezervasyonKimligi.olustur(r.nextLong(EN_BUYUK_DAMGA + 1),
+                    1 + r.nextInt(RezervasyonKimligi.EN_BUYUK_SIRA), 1 + r.nextInt(RezervasyonKimligi.EN_BUYUK_KOLTUK));
+            String kucuk = kimlik.toLowerCase(Locale.ROOT);
+            assertEquals(RezervasyonKimligi.coz(kimlik), RezervasyonKimligi.coz(kucuk));
+            assertEquals(RezervasyonKimligi.damga(kimlik), RezervasyonKimligi.damga(kucuk));
+            assertTrue(RezervasyonKimligi.ayni(kucuk, kimlik));
+            assertEquals(kimlik, RezervasyonKimligi.anahtar(kucuk));
+        }
+        // Türkçe yerel ayarla küçültülmüş "I" ('ı') alfabede yok: kompakt kimlik sayılmaz
+        assertEquals(-1, RezervasyonKimligi.coz("0000000000000000ı001"));
+    }
+
+    @Test
+    void gecersizMetinlerKompaktSayilmaz() {
+        String gecerli = RezervasyonKimligi.olustur(123_456_789L, 42, 7);
+        assertEquals(-1, RezervasyonKimligi.coz(null));
+        assertEquals(-1, RezervasyonKimligi.coz(gecerli.substring(1)));
+        assertEquals(-1, RezervasyonKimligi.coz(gecerli + "0"));
+        assertEquals(-1, RezervasyonKimligi.coz("U" + gecerli.substring(1)));   // U Crockford alfabesinde yok
+        assertEquals(-1, RezervasyonKimligi.coz("00000000000000000000")); // sefer sırası ve koltuk 0
+        assertEquals(-1, RezervasyonKimligi.damga(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void sigmayanSeferSirasiUuidyeDuserVeSayilir() {
+        long once = RezervasyonKimligi.getUuidKimlikSayisi();
+        String enBuyuk = RezervasyonKimligi.olustur(EN_BUYUK_DAMGA, RezervasyonKimligi.EN_BUYUK_SIRA, 0xFFFF);
+        assertEquals(-1, RezervasyonKimligi.coz(enBuyuk)); // alt bitleri -1 olurdu: koltuk 65535 kodlanmaz
+        assertEquals(once + 1, RezervasyonKimligi.getUuidKimlikSayisi());
+        once++;
+        String tasan = RezervasyonKimligi.olustur(1, RezervasyonKimligi.EN_BUYUK_SIRA + 1, 1);
+        assertEquals(tasan, UUID.fromString(tasan).toString());
+        assertEquals(-1, RezervasyonKimligi.coz(tasan));
+        assertEquals(once + 1, RezervasyonKimligi.getUuidKimlikSayisi());
+
+        Sefer s = new Sefer("S1", "Ankara", "İzmir", LocalDateTime.now().plusDays(1), 4, 300);
+        s.siraAta(RezervasyonKimligi.EN_BUYUK_SIRA + 1);
+        assertEquals(-1, RezervasyonKimligi.coz(s.koltukRezerveEt(1, "Y", "05550000000").getRezervasyonKimlik()));
+        assertEquals(once + 2, RezervasyonKimligi.getUuidKimlikSayisi());
+
+        // Sisteme eklenmemiş (sırasız) sefer taşma sayılmaz
+        new Sefer("S2", "Ankara", "İzmir", LocalDateTime.now().plusDays(1), 4, 300).koltukRezerveEt(1, "Y", "05550000000");
+        assertEquals(once + 2, RezervasyonKimligi.getUuidKimlikSayisi());
+    }
+}
@@ -0,0 +1,97 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Rezervasyon listesi sayfa sayfa gezilirken sayfalar arasında rezervasyon, iptal ve yeni sefer eklenir.
+ * Hiçbir satır iki kez verilmemeli; baştan sona var olan (iptal edilmeyen) her rezervasyon tam bir kez
+ * verilmeli ve satırlar (sefer kimliği, sefer içi sıra) düzeninde artmalıdır.
+ */
+class RezervasyonListelemeTesti {
+    private static final List<String> DURAKLAR = List.of("İzmir", "Uşak", "Afyon", "Ankara");
+
+    @ParameterizedTest(name = "sayfa boyutu {0}")
+    @ValueSource(ints = {1, 3, 7, 50})
+    void sayfalarArasindakiDegisikliklerSatirKaydirmaz(int limit) throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        LocalDateTime kalkis = LocalDateTime.now().plusDays(1);
+        List<Sefer> seferler = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            seferler.add(i % 2 == 0
+                    ? sistem.yeniSefer("L" + (2 * i + 1), "Ankara", "İzmir", kalkis.plusHours(i), 40, 300)
+                    : sistem.yeniSefer("L" + (2 * i + 1), DURAKLAR, kalkis.plusHours(i), 30, 400));
+        }
+        Random r = new Random(limit);
+        for (int n = 0; n < 120; n++) rezerveEt(sistem, seferler.get(r.nextInt(seferler.size())), r, n);
+
+        // Başlangıçtaki rezervasyonların yarısı sonuna kadar korunur, geri kalanı sayfalar arasında iptal edilebilir
+        Set<String> korunan = new HashSet<>();
+        List<String> iptalEdilebilir = new ArrayList<>();
+        for (Sefer s : seferler) {
+            for (Koltuk k : s.getRezerveKoltuklar()) {
+                if (r.nextBoolean()) korunan.add(k.getRezervasyonKimlik());
+                else iptalEdilebilir.add(k.getRezervasyonKimlik());
+            }
+        }
+        assertTrue(korunan.size() > 20);
+
+        Set<String> gorulen = new HashSet<>();
+        String oncekiSefer = null;
+        long oncekiSira = -1;
+        RezervasyonSistemi.RezervasyonImleci imlec = null;
+        int sayfaSayisi = 0, ekSefer = 0;
+        do {
+            RezervasyonSistemi.RezervasyonSayfasi sayfa = sistem.rezervasyonlariListele(imlec, limit);
+            assertTrue(sayfa.getRezervasyonlar().size() <= limit);
+            for (Koltuk k : sayfa.getRezervasyonlar()) {
+                assertTrue(gorulen.add(k.getRezervasyonKimlik()), "iki kez verildi: " + k.getRezervasyonKimlik());
+                String sefer = k.getSefer().getSeferKimlik();
+                long sira = RezervasyonSistemi.RezervasyonImleci.siraAnahtari(k);
+                if (sefer.equals(oncekiSefer)) assertTrue(sira > oncekiSira, "sefer içi sıra bozuk: " + sefer);
+                else assertTrue(oncekiSefer == null || sefer.compareTo(oncekiSefer) > 0, "sefer sırası bozuk: " + sefer);
+                oncekiSefer = sefer;
+                oncekiSira = sira;
+            }
+            imlec = sayfa.getSonraki();
+            if (imlec != null) assertEquals(limit, sayfa.getRezervasyonlar().size());
+
+            // Sayfalar arasında: yeni rezervasyonlar, iptaller ve zaman zaman imlecin iki yanına düşen yeni seferler
+            for (int n = 0; n < 4; n++) rezerveEt(sistem, seferler.get(r.nextInt(seferler.size())), r, n);
+            for (int n = 0; n < 3 && !iptalEdilebilir.isEmpty(); n++) {
+                sistem.rezervasyonIptalEt(iptalEdilebilir.remove(r.nextInt(iptalEdilebilir.size())));
+            }
+            List<Koltuk> yeni = seferler.get(r.nextInt(seferler.size())).getRezerveKoltuklar();
+            Koltuk son = yeni.isEmpty() ? null : yeni.get(r.nextInt(yeni.size()));
+            if (son != null && !korunan.contains(son.getRezervasyonKimlik())) {
+                assertNotNull(sistem.rezervasyonIptalEt(son.getRezervasyonKimlik()));
+            }
+            if (++sayfaSayisi % 5 == 0) {
+                ekSefer++;
+                Sefer s = sistem.yeniSefer((ekSefer % 2 == 0 ? "L0" : "L9") + ekSefer, "Bursa", "Ankara", kalkis, 10, 200);
+                sistem.koltukRezerveEt(s, 1 + r.nextInt(10), "Ek " + ekSefer, "05553000000");
+                seferler.add(s);
+            }
+        } while (imlec != null);
+
+        for (String kimlik : korunan) assertTrue(gorulen.contains(kimlik), "atlandı: " + kimlik);
+    }
+
+    private static void rezerveEt(RezervasyonSistemi sistem, Sefer s, Random r, int n) {
+        int no = 1 + r.nextInt(s.getKapasite());
+        if (s.isCokDurakli() && r.nextBoolean()) {
+            int binis = r.nextInt(3);
+            sistem.bacakRezerveEt(s, no, binis, binis + 1 + r.nextInt(3 - binis), "Bölüm " + n, "05551000000");
+        } else {
+            sistem.koltukRezerveEt(s, no, "Yolcu " + n, "05550000000");
+        }
+    }
+}
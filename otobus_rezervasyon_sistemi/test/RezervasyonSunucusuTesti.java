@@ -0,0 +1,139 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * HTTP arayüzü loopback üzerinden uçtan uca: rezervasyon 201, aynı koltuğa ikinci rezervasyon 409, geçersiz
+ * koltuk 400, yanlış yöntem 405, bilinmeyen kaynak 404; iptal edilen rezervasyon artık bulunmaz ve koltuk
+ * yeniden satılabilir. Sefer listesi imleçle sayfa sayfa gezildiğinde her sefer bir kez ve sırayla gelir.
+ */
+class RezervasyonSunucusuTesti {
+    private static final Pattern REZERVASYON = Pattern.compile("\"rezervasyonKimlik\":\"([^\"]+)\"");
+    private static final Pattern SEFER = Pattern.compile("\"seferKimlik\":\"([^\"]+)\"");
+    private static final Pattern SONRAKI = Pattern.compile("\"sonraki\":(null|\"([^\"]*)\")");
+
+    private RezervasyonSistemi sistem;
+    private RezervasyonSunucusu sunucu;
+    private HttpClient istemci;
+
+    @BeforeEach
+    void baslat() throws Exception {
+        sistem = new RezervasyonSistemi();
+        LocalDateTime kalkis = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 1; i <= 7; i++) sistem.yeniSefer("H" + i, "Ankara", "İzmir", kalkis.plusHours(i), 10, 250);
+        sunucu = RezervasyonSunucusu.yerel(sistem, 0);
+        sunucu.baslat();
+        istemci = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void durdur() {
+        sunucu.close();
+    }
+
+    @Test
+    void rezervasyonVeIptalDurumKodlari() throws Exception {
+        HttpResponse<String> r = istek("POST", "/seferler/H1/rezervasyonlar", form("koltuk", "3", "ad", "Ayşe Yılmaz", "telefon", "05551234567"));
+        assertEquals(201, r.statusCode(), r.body());
+        String kimlik = bul(REZERVASYON, r.body());
+        assertTrue(r.body().contains("\"koltukNumarasi\":3"), r.body());
+
+        assertEquals(409, istek("POST", "/seferler/H1/rezervasyonlar", form("koltuk", "3", "ad", "Ali", "telefon", "0555")).statusCode());
+        assertEquals(400, istek("POST", "/seferler/H1/rezervasyonlar", form("koltuk", "abc", "ad", "Ali")).statusCode());
+        assertEquals(400, istek("POST", "/seferler/H1/rezervasyonlar", form("koltuk", "11", "ad", "Ali")).statusCode());
+        assertEquals(400, istek("POST", "/seferler/H1/rezervasyonlar", form("koltuk", "4")).statusCode());
+        assertEquals(405, istek("GET", "/seferler/H1/rezervasyonlar", null).statusCode());
+        assertEquals(405, istek("PUT", "/rezervasyonlar/" + kimlik, "").statusCode());
+        assertEquals(404, istek("GET", "/seferler/H1/yolcular", null).statusCode());
+        assertEquals(404, istek("GET", "/bilinmeyen", null).statusCode());
+        assertEquals(404, istek("POST", "/seferler/YOK/rezervasyonlar", form("koltuk", "1", "ad", "Ali")).statusCode());
+
+        r = istek("GET", "/rezervasyonlar/" + kimlik, null);
+        assertEquals(200, r.statusCode());
+        assertEquals(kimlik, bul(REZERVASYON, r.body()));
+        assertTrue(r.body().contains("\"yolcuAdi\":\"Ayşe Yılmaz\""), r.body());
+
+        r = istek("DELETE", "/rezervasyonlar/" + kimlik, null);
+        assertEquals(200, r.statusCode(), r.body());
+        assertEquals(kimlik, bul(REZERVASYON, r.body()));
+        assertEquals(404, istek("GET", "/rezervasyonlar/" + kimlik, null).statusCode());
+        assertEquals(404, istek("DELETE", "/rezervasyonlar/" + kimlik, null).statusCode());
+        assertFalse(sistem.seferBul("H1").doluMu(3));
+
+        assertEquals(201, istek("POST", "/seferler/H1/rezervasyonlar", form("koltuk", "3", "ad", "Ali", "telefon", "0555")).statusCode());
+        assertEquals(1, sistem.seferBul("H1").getRezerveSayisi());
+    }
+
+    @Test
+    void seferListesiImlecleSayfalanir() throws Exception {
+        List<String> gorulen = new ArrayList<>();
+        String imlec = null;
+        int sayfaSayisi = 0;
+        do {
+            HttpResponse<String> r = istek("GET", "/seferler?limit=3" + (imlec == null ? "" : "&imlec=" + kodla(imlec)), null);
+            assertEquals(200, r.statusCode(), r.body());
+            Matcher m = SEFER.matcher(r.body());
+            int adet = 0;
+            while (m.find()) {
+                gorulen.add(m.group(1));
+                adet++;
+            }
+            Matcher s = SONRAKI.matcher(r.body());
+            assertTrue(s.find(), r.body());
+            imlec = s.group(2);
+            assertEquals(imlec == null ? 1 : 3, adet, r.body());
+            sayfaSayisi++;
+        } while (imlec != null);
+        assertEquals(3, sayfaSayisi);
+        assertEquals(List.of("H1", "H2", "H3", "H4", "H5", "H6", "H7"), gorulen);
+
+        assertEquals(400, istek("GET", "/seferler?limit=0", null).statusCode());
+        assertEquals(405, istek("DELETE", "/seferler", null).statusCode());
+    }
+
+    private HttpResponse<String> istek(String yontem, String yol, String govde) throws Exception {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + sunucu.getPort() + yol));
+        if (govde == null) {
+            b.method(yontem, HttpRequest.BodyPublishers.noBody());
+        } else {
+            b.header("Content-Type", "application/x-www-form-urlencoded");
+            b.method(yontem, HttpRequest.BodyPublishers.ofString(govde, StandardCharsets.UTF_8));
+        }
+        return istemci.send(b.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    /** Ad/değer çiftlerinden form gövdesi */
+    private static String form(String... ciftler) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ciftler.length; i += 2) {
+            if (i > 0) sb.append('&');
+            sb.append(ciftler[i]).append('=').append(kodla(ciftler[i + 1]));
+        }
+        return sb.toString();
+    }
+
+    private static String kodla(String deger) {
+        return URLEncoder.encode(deger, StandardCharsets.UTF_8);
+    }
+
+    private static String bul(Pattern p, String govde) {
+        Matcher m = p.matcher(govde);
+        assertTrue(m.find(), govde);
+        return m.group(1);
+    }
+}
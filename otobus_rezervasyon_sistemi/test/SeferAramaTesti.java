@@ -0,0 +1,121 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Sefer araması: güzergah adları yolcu diziniyle aynı normalleştirmeyle eşleşmeli, tarih aralığının iki
+ * ucu da dahil olmalı, imleçle sayfalama hiçbir seferi atlamamalı ya da tekrar etmemeli ve boş koltuk
+ * filtresi ara duraklı seferde aranan bölüm için uygulanmalı.
+ */
+class SeferAramaTesti {
+    private static final LocalDateTime GUN = LocalDateTime.of(2030, 5, 1, 0, 0);
+
+    @Test
+    void buyukKucukHarfVeTurkceHarflerAyniGuzergahtir() {
+        SeferArama arama = new SeferArama();
+        arama.seferEklendi(new Sefer("S1", "İstanbul", "Şanlıurfa", GUN.plusHours(8), 10, 500));
+
+        for (String[] g : new String[][]{{"ISTANBUL", "SANLIURFA"}, {"istanbul", "şanlıurfa"},
+                {" İstanbul ", "ŞANLIURFA"}, {"Istanbul", "Sanliurfa"}}) {
+            List<Sefer> bulunan = arama.ara(g[0], g[1], GUN, GUN.plusDays(1), 0, null, 10).getSeferler();
+            assertEquals(1, bulunan.size(), g[0] + " -> " + g[1]);
+        }
+        assertEquals(YolcuDizini.adNormalize("İstanbul"), YolcuDizini.adNormalize("ISTANBUL"));
+    }
+
+    @Test
+    void araDuraklarAyniNormallestirmeyleBulunur() {
+        SeferArama arama = new SeferArama();
+        Sefer s = new Sefer("S1", List.of("İzmir", "Uşak", "Ankara"), GUN.plusHours(8), 4, 300);
+        arama.seferEklendi(s);
+        assertNotNull(s.bacakRezerveEt(1, 0, 1, "A", "05550000000"));
+
+        List<Sefer> bulunan = arama.ara("USAK", "ankara", GUN, GUN.plusDays(1), 4, null, 10).getSeferler();
+        assertEquals(List.of(s), bulunan); // Uşak -> Ankara bölümünde 4 koltuk da boş
+        assertEquals(1, s.durakIndeksi("USAK"));
+        assertTrue(arama.ara("izmir", "ANKARA", GUN, GUN.plusDays(1), 4, null, 10).getSeferler().isEmpty());
+    }
+
+    @Test
+    void tarihAraligininIkiUcuDaDahildir() {
+        SeferArama arama = new SeferArama();
+        LocalDateTime bas = GUN.plusHours(6), bit = GUN.plusHours(18);
+        for (Sefer s : List.of(
+                new Sefer("ONCE", "Ankara", "Konya", bas.minusMinutes(1), 10, 200),
+                new Sefer("BAS", "Ankara", "Konya", bas, 10, 200),
+                new Sefer("ORTA", "Ankara", "Konya", bas.plusHours(6), 10, 200),
+                new Sefer("BIT", "Ankara", "Konya", bit, 10, 200),
+                new Sefer("SONRA", "Ankara", "Konya", bit.plusMinutes(1), 10, 200),
+                new Sefer("TERS", "Konya", "Ankara", bas.plusHours(1), 10, 200))) {
+            arama.seferEklendi(s);
+        }
+        assertEquals(List.of("BAS", "ORTA", "BIT"), kimlikler(arama.ara("Ankara", "Konya", bas, bit, 0, null, 10)));
+        assertEquals(List.of("BAS"), kimlikler(arama.ara("Ankara", "Konya", bas, bas, 0, null, 10)));
+        assertTrue(arama.ara("Ankara", "Konya", bit, bas, 0, null, 10).getSeferler().isEmpty());
+        assertTrue(arama.ara("Ankara", "Sivas", bas, bit, 0, null, 10).getSeferler().isEmpty());
+    }
+
+    @Test
+    void imlecSeferleriAtlamadanVeTekrarlamadanSayfalar() {
+        SeferArama arama = new SeferArama();
+        List<String> beklenen = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            // Aynı kalkış zamanında birden fazla sefer: sıra kimlikle belirlenir
+            String kimlik = String.format("S%02d", i);
+            arama.seferEklendi(new Sefer(kimlik, "Bursa", "Adana", GUN.plusHours(i / 3), 10, 400));
+            beklenen.add(kimlik);
+        }
+        List<String> gorulen = new ArrayList<>();
+        SeferArama.Imlec imlec = null;
+        int sayfa = 0;
+        do {
+            SeferArama.Sayfa s = arama.ara("Bursa", "Adana", GUN, GUN.plusDays(1), 0, imlec, 5);
+            assertTrue(s.getSeferler().size() <= 5);
+            gorulen.addAll(kimlikler(s));
+            imlec = s.getSonraki();
+            sayfa++;
+        } while (imlec != null);
+        assertEquals(beklenen, gorulen);
+        assertEquals(5, sayfa);
+
+        // Aralığın sonundan sonrasını gösteren imleç boş sayfa döner
+        SeferArama.Imlec ileri = new SeferArama.Imlec(GUN.plusDays(2), "");
+        SeferArama.Sayfa bos = arama.ara("Bursa", "Adana", GUN, GUN.plusDays(1), 0, ileri, 5);
+        assertTrue(bos.getSeferler().isEmpty());
+        assertNull(bos.getSonraki());
+    }
+
+    @Test
+    void minBosKoltukFiltresiSayfalamaylaBirlikteUygulanir() {
+        SeferArama arama = new SeferArama();
+        List<String> beklenen = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Sefer s = new Sefer(String.format("S%02d", i), "Bursa", "Adana", GUN.plusHours(i), 4, 400);
+            for (int no = 1; no <= i % 4; no++) assertNotNull(s.koltukRezerveEt(no, "Y", "05550000000"));
+            arama.seferEklendi(s);
+            if (4 - i % 4 >= 3) beklenen.add(s.getSeferKimlik());
+        }
+        List<String> gorulen = new ArrayList<>();
+        SeferArama.Imlec imlec = null;
+        do {
+            SeferArama.Sayfa s = arama.ara("Bursa", "Adana", GUN, GUN.plusDays(1), 3, imlec, 2);
+            gorulen.addAll(kimlikler(s));
+            imlec = s.getSonraki();
+        } while (imlec != null);
+        assertEquals(beklenen, gorulen);
+        assertEquals(12, arama.ara("Bursa", "Adana", GUN, GUN.plusDays(1), 0, null, 20).getSeferler().size());
+        assertTrue(arama.ara("Bursa", "Adana", GUN, GUN.plusDays(1), 5, null, 20).getSeferler().isEmpty());
+    }
+
+    private static List<String> kimlikler(SeferArama.Sayfa sayfa) {
+        List<String> sonuc = new ArrayList<>();
+        for (Sefer s : sayfa.getSeferler()) sonuc.add(s.getSeferKimlik());
+        return sonuc;
+    }
+}
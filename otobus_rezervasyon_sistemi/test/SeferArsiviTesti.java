@@ -0,0 +1,193 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Arşiv, arşivlenen rezervasyonları aynen geri vermeli: kimlikle arama (büyük/küçük harf gözetmeden) ve
+ * seferi yeniden açma, arşivlemeden hemen önceki rezervasyonların aynısını (koltuk, bölüm, yolcu, saniye
+ * altı kısmıyla zaman) döner; sistem kapatılıp arşiv dosyası yeniden okunduğunda da. Arşivleme sürerken
+ * başarıyla dönen hiçbir rezervasyon ya da onay arşiv dışında kalmamalıdır.
+ */
+class SeferArsiviTesti {
+    private static final int IS_PARCACIGI = 6;
+
+    @Test
+    void aramaVeYenidenAcmaArsivlenenRezervasyonlariDoner(@TempDir Path dizin) throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        sistem.kaliciligiBaslat(dizin);
+        LocalDateTime gecmis = LocalDateTime.now().minusHours(3);
+        Sefer tek = sistem.yeniSefer("A1", "Ankara", "İzmir", gecmis, 70, 300);
+        Sefer cok = sistem.yeniSefer("A2", List.of("Bursa", "Eskişehir", "Ankara", "Kayseri"), gecmis.plusMinutes(5), 20, 400);
+        Sefer gelecek = sistem.yeniSefer("A3", "Ankara", "İzmir", LocalDateTime.now().plusDays(1), 10, 300);
+        Random r = new Random(4);
+        for (int n = 0; n < 300; n++) {
+            Sefer s = r.nextBoolean() ? tek : cok;
+            int no = 1 + r.nextInt(s.getKapasite());
+            int islem = r.nextInt(8);
+            if (islem < 4) {
+                sistem.koltukRezerveEt(s, no, "Yolcu " + n, "0555000" + n);
+            } else if (islem == 4 && s.isCokDurakli()) {
+                int binis = r.nextInt(3);
+                sistem.bacakRezerveEt(s, no, binis, binis + 1 + r.nextInt(3 - binis), "Bölüm " + n, "0555100" + n);
+            } else if (islem == 5) {
+                Koltuk t = sistem.koltukTut(s, no);
+                if (t != null && r.nextBoolean()) assertNotNull(sistem.tutmaOnayla(t.getRezervasyonKimlik(), "Onay " + n, "0555200" + n));
+            } else if (islem == 6) {
+                List<Koltuk> rezerve = s.getRezerveKoltuklar();
+                if (!rezerve.isEmpty()) sistem.rezervasyonIptalEt(rezerve.get(r.nextInt(rezerve.size())).getRezervasyonKimlik());
+            }
+        }
+        sistem.koltukRezerveEt(gelecek, 1, "Gelecek", "05559999999");
+        TreeMap<String, String> beklenen = rezervasyonlar(List.of(tek, cok));
+        assertTrue(beklenen.size() > 20);
+
+        assertEquals(2, sistem.seferleriArsivle(LocalDateTime.now()));
+        arsiviDenetle(sistem, beklenen);
+        assertNotNull(sistem.rezervasyonBul(gelecek.getRezerveKoltuklar().get(0).getRezervasyonKimlik()));
+        sistem.kapat();
+
+        RezervasyonSistemi yeniden = new RezervasyonSistemi();
+        yeniden.kaliciligiBaslat(dizin);
+        try {
+            assertEquals(2, yeniden.getArsiv().getSeferSayisi());
+            assertNull(yeniden.seferBul("A1"));
+            arsiviDenetle(yeniden, beklenen);
+        } finally {
+            yeniden.kapat();
+        }
+    }
+
+    @Test
+    void arsivlemeSurerkenYapilanRezervasyonlarDusmez() throws Exception {
+        for (int tur = 0; tur < 20; tur++) {
+            RezervasyonSistemi sistem = new RezervasyonSistemi();
+            Sefer s = sistem.yeniSefer("Y" + tur, "Ankara", "İzmir", LocalDateTime.now().minusHours(1), 150, 300);
+            Queue<Koltuk> basarili = new ConcurrentLinkedQueue<>();
+            AtomicBoolean dur = new AtomicBoolean();
+            CountDownLatch basladi = new CountDownLatch(IS_PARCACIGI);
+            ExecutorService havuz = Executors.newFixedThreadPool(IS_PARCACIGI);
+            try {
+                List<Future<?>> sonuclar = new ArrayList<>();
+                for (int t = 0; t < IS_PARCACIGI; t++) {
+                    long tohum = 31L * tur + t;
+                    sonuclar.add(havuz.submit(() -> {
+                        Random r = new Random(tohum);
+                        basladi.countDown();
+                        while (!dur.get()) {
+                            int no = 1 + r.nextInt(150);
+                            if (r.nextBoolean()) {
+                                Koltuk k = sistem.koltukRezerveEt(s, no, "Yolcu", "05550000000");
+                                if (k != null) basarili.add(k);
+                            } else {
+                                Koltuk t2 = sistem.koltukTut(s, no);
+                                if (t2 != null && t2.onayla("Onay", "05550000001")) basarili.add(t2);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                basladi.await();
+                Thread.sleep(1);
+                int arsivlenen = sistem.seferleriArsivle(LocalDateTime.now());
+                dur.set(true);
+                for (Future<?> f : sonuclar) f.get(1, TimeUnit.MINUTES);
+                if (arsivlenen == 0) assertEquals(1, sistem.seferleriArsivle(LocalDateTime.now())); // ertelendiyse
+            } finally {
+                havuz.shutdownNow();
+            }
+
+            Sefer acilan = sistem.getArsiv().seferAc(s.getSeferKimlik());
+            assertEquals(basarili.size(), acilan.getRezerveKoltuklar().size(), "tur " + tur);
+            for (Koltuk k : basarili) {
+                Koltuk a = sistem.getArsiv().rezervasyonBul(k.getRezervasyonKimlik());
+                assertNotNull(a, "tur " + tur + ": arşivde yok " + k.getRezervasyonKimlik());
+                assertEquals(k.getKoltukNumarasi(), a.getKoltukNumarasi());
+            }
+            assertEquals(0, s.getTutulanKoltukSayisi());
+            sistem.kapat();
+        }
+    }
+
+    /** Her rezervasyon kimlikle (küçük harfle de) bulunur; yeniden açılan seferler tam olarak aynı rezervasyonları taşır */
+    @Test
+    void envanterVeKalicilikleYenidenAcilistaArsivIkiKezSayilmaz(@TempDir Path dizin) throws Exception {
+        RezervasyonSistemi sistem = ac(dizin);
+        Sefer gecmis = sistem.yeniSefer("E1", "Ankara", "İzmir", LocalDateTime.now().minusHours(2), 30, 300);
+        Sefer gelecek = sistem.yeniSefer("E2", "Ankara", "İzmir", LocalDateTime.now().plusDays(1), 20, 250);
+        for (int no = 1; no <= 12; no++) assertNotNull(sistem.koltukRezerveEt(gecmis, no, "Yolcu " + no, "0555000" + no));
+        assertNotNull(sistem.rezervasyonIptalEt(gecmis.getRezerveKoltuklar().get(0).getRezervasyonKimlik()));
+        for (int no = 1; no <= 5; no++) assertNotNull(sistem.koltukRezerveEt(gelecek, no, "Yolcu " + no, "0555100" + no));
+        assertEquals(1, sistem.seferleriArsivle(LocalDateTime.now()));
+        String beklenen = toplam(sistem);
+        assertEquals("2 50 16 4550", beklenen);
+        sistem.kapat();
+
+        for (int acilis = 0; acilis < 2; acilis++) {
+            RezervasyonSistemi yeniden = ac(dizin);
+            try {
+                assertNull(yeniden.seferBul("E1"), "açılış " + acilis);
+                assertEquals(beklenen, toplam(yeniden), "açılış " + acilis);
+                assertEquals(0, yeniden.seferleriArsivle(LocalDateTime.now()));
+                assertEquals(beklenen, toplam(yeniden), "açılış " + acilis);
+                assertEquals(5, yeniden.seferBul("E2").getRezerveSayisi());
+            } finally {
+                yeniden.kapat();
+            }
+        }
+    }
+
+    /** Uygulamanın --envanter ve --veri ile açılış sırası */
+    private static RezervasyonSistemi ac(Path dizin) throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        sistem.envanteriAc(dizin.resolve("envanter"));
+        sistem.kaliciligiBaslat(dizin.resolve("veri"));
+        return sistem;
+    }
+
+    private static String toplam(RezervasyonSistemi sistem) {
+        RezervasyonIstatistikleri.Toplam t = sistem.getIstatistikler().getGenel();
+        return t.getSeferSayisi() + " " + t.getKapasite() + " " + t.getRezervasyon() + " " + t.getGelir();
+    }
+
+    private static void arsiviDenetle(RezervasyonSistemi sistem, TreeMap<String, String> beklenen) throws Exception {
+        SeferArsivi arsiv = sistem.getArsiv();
+        for (var e : beklenen.entrySet()) {
+            assertEquals(e.getValue(), satir(arsiv.rezervasyonBul(e.getKey())), e.getKey());
+            assertEquals(e.getValue(), satir(arsiv.rezervasyonBul(e.getKey().toLowerCase(Locale.ROOT))), e.getKey());
+            assertEquals(e.getValue(), satir(sistem.rezervasyonBul(e.getKey())), e.getKey());
+        }
+        assertEquals(beklenen, rezervasyonlar(List.of(arsiv.seferAc("A1"), arsiv.seferAc("A2"))));
+    }
+
+    /** kimlik -> "sefer/koltuk/biniş-iniş/yolcu/telefon/zaman" */
+    private static TreeMap<String, String> rezervasyonlar(List<Sefer> seferler) {
+        TreeMap<String, String> sonuc = new TreeMap<>();
+        for (Sefer s : seferler) for (Koltuk k : s.getRezerveKoltuklar()) sonuc.put(k.getRezervasyonKimlik(), satir(k));
+        return sonuc;
+    }
+
+    private static String satir(Koltuk k) {
+        if (k == null) return null;
+        return k.getSefer().getSeferKimlik() + "/" + k.getKoltukNumarasi() + "/" + k.getBinisDuragi() + "-" + k.getInisDuragi()
+                + "/" + k.getYolcuAdi() + "/" + k.getYolcuTelefonu() + "/" + k.getRezervasyonZamani();
+    }
+}
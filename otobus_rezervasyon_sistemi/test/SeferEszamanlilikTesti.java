@@ -0,0 +1,176 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tek bir sefere çok sayıda iş parçacığından aynı anda rezervasyon, grup rezervasyonu ve iptal yükler.
+ *
+ * Test her koltuğun kime ait olduğunu kendi tarafında (sahip dizisi) izler: başarılı rezervasyon sayacı
+ * 0'dan 1'e çıkarmalı, iptalden önce sahibi sayacı 1'den 0'a indirir. Bir koltuk iki kez satılırsa sayaç
+ * 2 olur. Yeniden satılan koltukta önceki (iptal edilen) rezervasyonun kimliği artık bulunmamalıdır;
+ * bulunursa iptal ile yeni rezervasyon iç içe geçmiştir. Yük bittiğinde bit kümesi, sayaç, kayıtlar,
+ * kimlik ve yolcu dizinleri ile toplamlar birbirini tutmalıdır.
+ *
+ * İşlem dizileri sabit tohumla üretilir; yalnızca iş parçacıklarının iç içe geçişi çalıştırmadan
+ * çalıştırmaya değişir.
+ */
+class SeferEszamanlilikTesti {
+    private static final int IS_PARCACIGI = 16;
+    private static final int ISLEM = 20_000; // iş parçacığı başına
+    private static final int FIYAT = 100;
+
+    @ParameterizedTest(name = "kapasite {0}")
+    @ValueSource(ints = {4, 150}) // 4: her koltukta yoğun yarış; 150: üç bit kelimesine yayılan koltuklar
+    void ayniSefereEszamanliRezervasyonVeIptal(int kapasite) throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        Sefer s = sistem.yeniSefer("STRES" + kapasite, "Ankara", "İzmir", LocalDateTime.now().plusDays(1), kapasite, FIYAT);
+        AtomicIntegerArray sahip = new AtomicIntegerArray(kapasite);
+        AtomicReferenceArray<String> sonIptal = new AtomicReferenceArray<>(kapasite); // koltukta en son iptal edilen kimlik
+        Queue<String> hatalar = new ConcurrentLinkedQueue<>();
+
+        calistir(IS_PARCACIGI, t -> {
+            Random r = new Random(31L * kapasite + t);
+            String telefon = telefon(t);
+            List<Koltuk> benim = new ArrayList<>();
+            for (int n = 0; n < ISLEM && hatalar.isEmpty(); n++) {
+                int islem = r.nextInt(10);
+                if (islem < 5) {
+                    Koltuk k = sistem.koltukRezerveEt(s, 1 + r.nextInt(kapasite), "Yolcu" + t, telefon);
+                    if (k != null) sahiplen(sistem, s, k, sahip, sonIptal, hatalar, benim);
+                } else if (islem < 7) {
+                    int adet = Math.min(kapasite, 2 + r.nextInt(2));
+                    int bas = 1 + r.nextInt(kapasite - adet + 1);
+                    List<RezervasyonTalebi> talepler = new ArrayList<>(adet);
+                    for (int j = 0; j < adet; j++) talepler.add(new RezervasyonTalebi(bas + j, "Yolcu" + t, telefon));
+                    List<Koltuk> grup = sistem.topluRezerveEt(s, talepler);
+                    if (grup != null) {
+                        if (grup.size() != adet) hatalar.add("Grup eksik rezerve edildi: " + grup.size() + "/" + adet);
+                        for (Koltuk k : grup) sahiplen(sistem, s, k, sahip, sonIptal, hatalar, benim);
+                    }
+                } else if (!benim.isEmpty()) {
+                    Koltuk k = benim.remove(r.nextInt(benim.size()));
+                    int i = k.getKoltukNumarasi() - 1;
+                    sonIptal.set(i, k.getRezervasyonKimlik());
+                    if (sahip.decrementAndGet(i) != 0) hatalar.add("Koltuk " + (i + 1) + " iptalden önce birden fazla sahipli");
+                    Koltuk iptal = sistem.rezervasyonIptalEt(k.getRezervasyonKimlik());
+                    if (iptal != k) hatalar.add("Sahibi rezervasyonu iptal edemedi: " + k.getRezervasyonKimlik());
+                }
+            }
+        });
+
+        assertTrue(hatalar.isEmpty(), () -> String.join("\n", hatalar));
+        tutarlilikKontrolu(sistem, s, sahip);
+    }
+
+    @Test
+    void ayniRezervasyonuYalnizcaBirIptalKazanir() throws Exception {
+        final int kapasite = 200;
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        Sefer s = sistem.yeniSefer("IPTAL", "Bursa", "Konya", LocalDateTime.now().plusDays(1), kapasite, FIYAT);
+        List<String> kimlikler = new ArrayList<>();
+        for (int no = 1; no <= kapasite; no++) kimlikler.add(sistem.koltukRezerveEt(s, no, "Yolcu", telefon(0)).getRezervasyonKimlik());
+        ConcurrentHashMap<String, AtomicInteger> kazanan = new ConcurrentHashMap<>();
+
+        calistir(IS_PARCACIGI, t -> {
+            List<String> sira = new ArrayList<>(kimlikler);
+            Collections.shuffle(sira, new Random(t));
+            for (String id : sira) {
+                if (sistem.rezervasyonIptalEt(id) != null) kazanan.computeIfAbsent(id, x -> new AtomicInteger()).incrementAndGet();
+            }
+        });
+
+        assertEquals(kapasite, kazanan.size());
+        for (AtomicInteger n : kazanan.values()) assertEquals(1, n.get());
+        tutarlilikKontrolu(sistem, s, new AtomicIntegerArray(kapasite));
+    }
+
+    /** Başarılı rezervasyonu testin sahiplik kaydına işler ve iptal/yeniden rezervasyon sırasını denetler */
+    private static void sahiplen(RezervasyonSistemi sistem, Sefer s, Koltuk k, AtomicIntegerArray sahip,
+                                 AtomicReferenceArray<String> sonIptal, Queue<String> hatalar, List<Koltuk> benim) {
+        int i = k.getKoltukNumarasi() - 1;
+        if (sahip.incrementAndGet(i) != 1) hatalar.add("Koltuk " + (i + 1) + " iki kez satıldı");
+        if (s.rezervasyonKaydi(k.getKoltukNumarasi()) != k) hatalar.add("Koltuk " + (i + 1) + " kaydı yeni rezervasyonu göstermiyor");
+        String onceki = sonIptal.get(i);
+        if (onceki != null && sistem.rezervasyonBul(onceki) != null) {
+            hatalar.add("Koltuk " + (i + 1) + " önceki rezervasyonun iptali bitmeden yeniden satıldı: " + onceki);
+        }
+        benim.add(k);
+    }
+
+    /** Bit kümesi, sayaç, kayıtlar, kimlik ve yolcu dizinleri ile toplamlar aynı rezervasyonları göstermeli */
+    private static void tutarlilikKontrolu(RezervasyonSistemi sistem, Sefer s, AtomicIntegerArray sahip) {
+        int[] dolu = s.getDoluKoltukNumaralari();
+        List<Koltuk> kayitlar = s.getRezerveKoltuklar();
+        assertEquals(dolu.length, s.getRezerveSayisi(), "sayaç bit kümesini tutmuyor");
+        assertEquals(dolu.length, kayitlar.size(), "kayıtlar bit kümesini tutmuyor");
+        assertTrue(Arrays.equals(dolu, kayitlar.stream().mapToInt(Koltuk::getKoltukNumarasi).toArray()));
+        for (int i = 0; i < s.getKapasite(); i++) {
+            assertEquals(s.doluMu(i + 1) ? 1 : 0, sahip.get(i), "koltuk " + (i + 1) + " sahipliği");
+        }
+        for (Koltuk k : kayitlar) {
+            assertTrue(k.isRezerveEdildi());
+            assertSame(k, sistem.rezervasyonBul(k.getRezervasyonKimlik()), "kimlik dizini");
+            assertSame(k, s.rezervasyonKimlikIleKoltukBul(k.getRezervasyonKimlik()).orElse(null), "sefer içi arama");
+            String kucuk = k.getRezervasyonKimlik().toLowerCase(Locale.ROOT); // kimlikler harf duyarsız
+            assertSame(k, sistem.rezervasyonBul(kucuk), "kimlik dizini (küçük harf)");
+            assertSame(k, s.rezervasyonKimlikIleKoltukBul(kucuk).orElse(null), "sefer içi arama (küçük harf)");
+        }
+        int yolcuKaydi = 0;
+        for (int t = 0; t < IS_PARCACIGI; t++) yolcuKaydi += sistem.yolcuTelefonla(telefon(t)).size();
+        assertEquals(kayitlar.size(), yolcuKaydi, "yolcu dizini");
+        assertEquals(kayitlar.size(), sistem.getIstatistikler().getToplamRezervasyon(), "toplam rezervasyon");
+        assertEquals((long) kayitlar.size() * FIYAT, sistem.getIstatistikler().getToplamGelir(), "toplam gelir");
+    }
+
+    /** İş parçacığı başına ayrı yolcu telefonu; yolcu dizini sayımı için */
+    private static String telefon(int isParcacigi) {
+        return String.format("0555 000 00 %02d", isParcacigi);
+    }
+
+    private interface Gorev {
+        void calistir(int isParcacigi) throws Exception;
+    }
+
+    /** Görevi n iş parçacığında aynı anda başlatır ve hepsinin bitmesini bekler; ilk hata yeniden fırlatılır */
+    private static void calistir(int n, Gorev gorev) throws Exception {
+        ExecutorService havuz = Executors.newFixedThreadPool(n);
+        CountDownLatch basla = new CountDownLatch(1);
+        try {
+            List<Future<?>> sonuclar = new ArrayList<>(n);
+            for (int t = 0; t < n; t++) {
+                int no = t;
+                sonuclar.add(havuz.submit(() -> {
+                    basla.await();
+                    gorev.calistir(no);
+                    return null;
+                }));
+            }
+            basla.countDown();
+            for (Future<?> f : sonuclar) f.get(2, TimeUnit.MINUTES);
+        } finally {
+            havuz.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Geçici tutmalar ve süre dolumu: çark çalışırken kısa süreli tutmalar alınır, bir kısmı onaylanır.
+ * Yük bittiğinde onaylanmayan her koltuk boşalmış, onaylanan her koltuk tam bir kez rezerve edilmiş ve
+ * tutulan sayacı 0 olmalıdır. Çark hiçbir tutmayı süresinden önce bırakmamalı, her katmandaki
+ * tutmaları da en geç birkaç tık gecikmeyle bırakmalıdır.
+ */
+class TutmaCarkiTesti {
+    private static final long BEKLEME_NS = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    void onaylanmayanTutmalarBosalirOnaylananlarBirKezRezerveKalir() throws Exception {
+        final int kapasite = 150, isParcacigi = 8, islem = 3000;
+        try (TutmaCarki carki = new TutmaCarki(TimeUnit.MICROSECONDS.toNanos(200))) {
+            Sefer s = sefer("TUT", kapasite, carki);
+            Queue<Koltuk> onaylanan = new ConcurrentLinkedQueue<>();
+            Queue<Koltuk> tumTutmalar = new ConcurrentLinkedQueue<>();
+
+            calistir(isParcacigi, t -> {
+                Random r = new Random(t);
+                for (int n = 0; n < islem; n++) {
+                    Koltuk k = s.koltukTut(1 + r.nextInt(kapasite), Duration.ofNanos(r.nextInt(3_000_000)));
+                    if (k == null) continue;
+                    tumTutmalar.add(k);
+                    if (r.nextInt(8) != 0) continue;
+                    // Onay, sürenin dolmasıyla yarışsın diye bazen süreye yakın yapılır
+                    LockSupport.parkNanos(r.nextInt(2_000_000));
+                    if (k.onayla("Yolcu" + t, "05550000000")) onaylanan.add(k);
+                }
+            });
+
+            bekle(() -> s.getTutulanKoltukSayisi() == 0);
+            assertEquals(0, s.getTutulanKoltukSayisi());
+            Koltuk[] sahip = new Koltuk[kapasite];
+            for (Koltuk k : onaylanan) {
+                int i = k.getKoltukNumarasi() - 1;
+                assertNull(sahip[i], "koltuk " + (i + 1) + " iki kez onaylandı");
+                sahip[i] = k;
+            }
+            for (int no = 1; no <= kapasite; no++) {
+                assertSame(sahip[no - 1], s.rezervasyonKaydi(no), "koltuk " + no + " kaydı");
+                assertEquals(sahip[no - 1] != null, s.doluMu(no), "koltuk " + no + " biti");
+                assertNull(s.tutmaKaydi(no), "koltuk " + no + " tutma kaydı");
+            }
+            for (Koltuk k : tumTutmalar) assertFalse(k.isTutuluyor());
+            assertEquals(onaylanan.size(), s.getRezerveSayisi());
+            assertEquals(kapasite - onaylanan.size(), s.getBosKoltukSayisi());
+            assertTrue(carki.getSuresiDolan() > 0 && carki.getSuresiDolan() <= tumTutmalar.size() - onaylanan.size());
+        }
+    }
+
+    @Test
+    void onayIleSureDolumuYarisindaKoltukYaRezerveYaBostur() throws Exception {
+        final int kapasite = 130;
+        try (TutmaCarki carki = new TutmaCarki(TimeUnit.MICROSECONDS.toNanos(20))) {
+            Sefer s = sefer("YARIS", kapasite, carki);
+            Random r = new Random(5);
+            for (int tur = 0; tur < 50; tur++) {
+                Koltuk[] tutma = new Koltuk[kapasite];
+                for (int no = 1; no <= kapasite; no++) {
+                    tutma[no - 1] = s.koltukTut(no, Duration.ofNanos(100_000 + r.nextInt(200_000)));
+                    assertNotNull(tutma[no - 1]);
+                }
+                boolean[] onay = new boolean[kapasite];
+                for (int no = 1; no <= kapasite; no++) onay[no - 1] = tutma[no - 1].onayla("Y", "05550000000");
+                bekle(() -> s.getTutulanKoltukSayisi() == 0);
+                for (int no = 1; no <= kapasite; no++) {
+                    Koltuk k = tutma[no - 1];
+                    assertEquals(onay[no - 1], k.isRezerveEdildi(), "tur " + tur + " koltuk " + no);
+                    assertEquals(onay[no - 1], s.doluMu(no), "tur " + tur + " koltuk " + no);
+                    assertSame(onay[no - 1] ? k : null, s.rezervasyonKaydi(no), "tur " + tur + " koltuk " + no);
+                    if (onay[no - 1]) assertTrue(k.iptalEt());
+                }
+                assertEquals(0, s.getRezerveSayisi());
+                assertEquals(kapasite, s.getBosKoltukSayisi());
+            }
+        }
+    }
+
+    @Test
+    void onaylanirkenIptalEdilenTutmaKoltuguBirakir() throws Exception {
+        try (TutmaCarki carki = new TutmaCarki(TimeUnit.MILLISECONDS.toNanos(1))) {
+            Sefer s = sefer("IPTAL", 4, carki);
+            ExecutorService havuz = Executors.newSingleThreadExecutor();
+            try {
+                for (int tur = 0; tur < 2000; tur++) {
+                    Koltuk k = s.koltukTut(1 + tur % 4, Duration.ofMinutes(1));
+                    assertNotNull(k, "tur " + tur);
+                    CountDownLatch basla = new CountDownLatch(1);
+                    Future<Boolean> iptal = havuz.submit(() -> {
+                        basla.countDown();
+                        long sinir = System.nanoTime() + BEKLEME_NS;
+                        while (!k.iptalEt()) if (System.nanoTime() > sinir) return false; // onay görünene kadar dener
+                        return true;
+                    });
+                    basla.await();
+                    assertTrue(k.onayla("Y", "05550000000"));
+                    assertTrue(iptal.get(10, TimeUnit.SECONDS));
+                    assertFalse(s.doluMu(k.getKoltukNumarasi()), "tur " + tur);
+                    assertNull(s.rezervasyonKaydi(k.getKoltukNumarasi()), "tur " + tur);
+                    assertEquals(0, s.getRezerveSayisi(), "tur " + tur);
+                    assertEquals(0, s.getTutulanKoltukSayisi(), "tur " + tur);
+                }
+            } finally {
+                havuz.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    void herKatmandakiTutmaSuresindeBirakilir() throws Exception {
+        // 5 µs tıkla katman sınırları: 64 tık = 0,32 ms, 64^2 = 20 ms, 64^3 = 1,3 s
+        final long tikNs = TimeUnit.MICROSECONDS.toNanos(5);
+        long[] sureler = {0, 50_000, 2_000_000, 60_000_000, 1_500_000_000L};
+        try (TutmaCarki carki = new TutmaCarki(tikNs)) {
+            Sefer s = sefer("KATMAN", sureler.length * 3, carki);
+            List<Koltuk> tutmalar = new ArrayList<>();
+            for (int i = 0; i < sureler.length * 3; i++) tutmalar.add(s.koltukTut(i + 1, Duration.ofNanos(sureler[i % sureler.length])));
+            long[] birakilma = new long[tutmalar.size()];
+            long sinir = System.nanoTime() + BEKLEME_NS;
+            int kalan = tutmalar.size();
+            while (kalan > 0 && System.nanoTime() < sinir) {
+                for (int i = 0; i < tutmalar.size(); i++) {
+                    if (birakilma[i] == 0 && !tutmalar.get(i).isTutuluyor()) {
+                        birakilma[i] = System.nanoTime();
+                        kalan--;
+                    }
+                }
+                Thread.onSpinWait();
+            }
+            assertEquals(0, kalan, "bırakılmayan tutma kaldı");
+            for (int i = 0; i < tutmalar.size(); i++) {
+                Koltuk k = tutmalar.get(i);
+                assertTrue(birakilma[i] - k.getTutmaBitisNs() >= 0, "koltuk " + (i + 1) + " süresinden önce bırakıldı");
+                assertTrue(birakilma[i] - k.getTutmaBitisNs() < TimeUnit.SECONDS.toNanos(2), "koltuk " + (i + 1) + " geç bırakıldı");
+                assertFalse(s.doluMu(i + 1));
+                assertFalse(k.onayla("Y", "05550000000"));
+            }
+            assertEquals(tutmalar.size(), carki.getSuresiDolan());
+            assertEquals(0, s.getTutulanKoltukSayisi());
+        }
+    }
+
+    @Test
+    void suresiDolanTutmalarTopluBirakilir() {
+        final int kapasite = 150;
+        try (TutmaCarki carki = new TutmaCarki()) {
+            Sefer s = sefer("TOPLU", kapasite, carki);
+            List<Koltuk> dolan = new ArrayList<>();
+            List<Koltuk> kalan = new ArrayList<>();
+            for (int no = 1; no <= kapasite; no++) {
+                Koltuk k = s.koltukTut(no, Duration.ofHours(1));
+                (no % 3 == 0 || (no >= 60 && no <= 70) ? kalan : dolan).add(k); // kelime sınırında iki taraf da var
+            }
+            Collections.shuffle(dolan, new Random(9)); // kayıtlar koltuk sırasında olmak zorunda değil
+            Koltuk[] parti = new Koltuk[dolan.size()];
+            int n = 0;
+            for (Koltuk k : dolan) {
+                assertTrue(k.suresiDoldu());
+                parti[n++] = k;
+            }
+            s.suresiDolanTutmalariBirak(parti, n);
+
+            assertEquals(kalan.size(), s.getTutulanKoltukSayisi());
+            assertEquals(kapasite - kalan.size(), s.getBosKoltukSayisi());
+            for (Koltuk k : dolan) {
+                assertFalse(s.doluMu(k.getKoltukNumarasi()));
+                assertNull(s.tutmaKaydi(k.getKoltukNumarasi()));
+            }
+            for (Koltuk k : kalan) {
+                assertTrue(s.doluMu(k.getKoltukNumarasi()));
+                assertSame(k, s.tutmaKaydi(k.getKoltukNumarasi()));
+                assertTrue(k.onayla("Y", "05550000000"));
+            }
+            assertEquals(0, s.getTutulanKoltukSayisi());
+            assertEquals(kalan.size(), s.getRezerveSayisi());
+            for (Koltuk k : dolan) assertNotNull(s.koltukRezerveEt(k.getKoltukNumarasi(), "Z", "05550000001"));
+            assertEquals(0, s.getBosKoltukSayisi());
+        }
+    }
+
+    @Test
+    void tutmaBirakmaMetriklereIslenir() throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        Sefer s = sistem.yeniSefer("BIRAK", "Ankara", "İzmir", LocalDateTime.now().plusDays(1), 4, 100);
+        Koltuk k = sistem.koltukTut(s, 2);
+        assertNotNull(k);
+        assertSame(k, sistem.tutmaBirak(k.getRezervasyonKimlik()));
+        assertNull(sistem.tutmaBirak(k.getRezervasyonKimlik()));
+        assertFalse(s.doluMu(2));
+
+        RezervasyonMetrikleri m = sistem.getMetrikler();
+        assertEquals(2, m.islemSayisi("birak"));
+        assertEquals(1, m.basarisizSayisi("birak"));
+        assertTrue(m.metinDokumu().contains("otobus_islem_toplam{islem=\"birak\",sonuc=\"basarili\"} 1\n"));
+        sistem.kapat();
+    }
+
+    private static Sefer sefer(String kimlik, int kapasite, TutmaCarki carki) {
+        Sefer s = new Sefer(kimlik, "Ankara", "İzmir", LocalDateTime.now().plusDays(1), kapasite, 100);
+        s.tutmaCarkiBagla(carki);
+        return s;
+    }
+
+    private interface Kosul {
+        boolean saglandi();
+    }
+
+    private static void bekle(Kosul kosul) {
+        long sinir = System.nanoTime() + BEKLEME_NS;
+        while (!kosul.saglandi() && System.nanoTime() < sinir) LockSupport.parkNanos(100_000);
+    }
+
+    private interface Gorev {
+        void calistir(int isParcacigi) throws Exception;
+    }
+
+    /** Görevi n iş parçacığında aynı anda başlatır ve hepsinin bitmesini bekler; ilk hata yeniden fırlatılır */
+    private static void calistir(int n, Gorev gorev) throws Exception {
+        ExecutorService havuz = Executors.newFixedThreadPool(n);
+        CountDownLatch basla = new CountDownLatch(1);
+        try {
+            List<Future<?>> sonuclar = new ArrayList<>(n);
+            for (int t = 0; t < n; t++) {
+                int no = t;
+                sonuclar.add(havuz.submit(() -> {
+                    basla.await();
+                    gorev.calistir(no);
+                    return null;
+                }));
+            }
+            basla.countDown();
+            for (Future<?> f : sonuclar) f.get(2, TimeUnit.MINUTES);
+        } finally {
+            havuz.shutdownNow();
+        }
+    }
+}
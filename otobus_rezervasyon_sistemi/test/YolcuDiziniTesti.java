@@ -0,0 +1,136 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Yolcu dizini: telefonun farklı yazımları ve adın Türkçe büyük/küçük harfli biçimleri aynı anahtara
+ * düşmeli; iptal edilen ve arşivlenen rezervasyonlar dizinden çıkmalıdır. Dizin şeritler üzerinden
+ * gecikmeli güncellendiği halde bir sorgu, başlamadan önce (hangi iş parçacığında olursa olsun)
+ * tamamlanmış her rezervasyon ve iptali görmelidir.
+ */
+class YolcuDiziniTesti {
+    private static final int IS_PARCACIGI = 4, ISLEM = 300;
+
+    @Test
+    void telefonYazimlariAyniAnahtaraDuser() {
+        for (String t : List.of("0533 000 11 11", "05330001111", "+90 533 000 11 11", "+905330001111",
+                "0090 533 000 1111", "(0533) 000-11-11", "905330001111", "5330001111")) {
+            assertEquals("5330001111", YolcuDizini.telefonNormalize(t), t);
+        }
+        assertEquals("", YolcuDizini.telefonNormalize(null));
+        assertEquals("", YolcuDizini.telefonNormalize("yok"));
+    }
+
+    @Test
+    void adlarTurkceKurallarlaKatlanir() {
+        assertEquals("ayse yilmaz", YolcuDizini.adNormalize("  AYŞE   YILMAZ "));
+        assertEquals("ayse yilmaz", YolcuDizini.adNormalize("Ayşe Yılmaz"));
+        assertEquals("igne igde", YolcuDizini.adNormalize("İĞNE ığde"));
+        assertEquals("cagri ozturk uysal", YolcuDizini.adNormalize("Çağrı\tÖZTÜRK Uysal"));
+        assertEquals("irmak isik", YolcuDizini.adNormalize("IRMAK Işık"));
+        String normal = "ali veli";
+        assertSame(normal, YolcuDizini.adNormalize(normal));
+        assertEquals("", YolcuDizini.adNormalize(null));
+    }
+
+    @Test
+    void iptalVeArsivlemeDizindenCikarir() throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        Sefer gecmis = sistem.yeniSefer("Y1", "Ankara", "İzmir", LocalDateTime.now().minusHours(2), 10, 300);
+        Sefer gelecek = sistem.yeniSefer("Y2", "Ankara", "İzmir", LocalDateTime.now().plusDays(1), 10, 300);
+        Koltuk a = sistem.koltukRezerveEt(gecmis, 1, "Ayşe Yılmaz", "0533 000 11 11");
+        Koltuk b = sistem.koltukRezerveEt(gecmis, 2, "AYŞE YILMAZ", "+90 533 000 11 11");
+        Koltuk c = sistem.koltukRezerveEt(gelecek, 3, "ayse yilmaz", "0090 533 000 1111");
+        assertNotNull(a);
+        assertNotNull(b);
+        assertNotNull(c);
+        assertEquals(kimlikler(a, b, c), kimlikler(sistem.yolcuTelefonla("5330001111")));
+        assertEquals(kimlikler(a, b, c), kimlikler(sistem.yolcuAdla("Ayşe Y", 10)));
+
+        assertNotNull(sistem.rezervasyonIptalEt(b.getRezervasyonKimlik()));
+        assertEquals(kimlikler(a, c), kimlikler(sistem.yolcuTelefonla("05330001111")));
+        assertEquals(kimlikler(a, c), kimlikler(sistem.yolcuAdla("ayse", 10)));
+
+        assertEquals(1, sistem.seferleriArsivle(LocalDateTime.now()));
+        assertEquals(kimlikler(c), kimlikler(sistem.yolcuTelefonla("05330001111")));
+        assertEquals(kimlikler(c), kimlikler(sistem.yolcuAdla("AYŞE", 10)));
+        sistem.kapat();
+    }
+
+    @Test
+    void sorguOncedenTamamlananIslemleriGorur() throws Exception {
+        RezervasyonSistemi sistem = new RezervasyonSistemi();
+        Sefer s = sistem.yeniSefer("Y3", "Ankara", "İzmir", LocalDateTime.now().plusDays(1), 200, 300);
+        ExecutorService havuz = Executors.newFixedThreadPool(IS_PARCACIGI);
+        try {
+            // Her iş parçacığının kendi telefonu var; işlem havuzda yapılır, hemen ardından test iş parçacığında sorgulanır
+            List<TreeSet<String>> canli = new ArrayList<>();
+            for (int t = 0; t < IS_PARCACIGI; t++) canli.add(new TreeSet<>());
+            Random r = new Random(19);
+            for (int n = 0; n < ISLEM; n++) {
+                int t = r.nextInt(IS_PARCACIGI);
+                TreeSet<String> kume = canli.get(t);
+                String telefon = "0555 000 00 0" + t;
+                boolean iptal = !kume.isEmpty() && r.nextInt(3) == 0;
+                String iptalEdilen = iptal ? kume.first() : null;
+                Future<Koltuk> f = havuz.submit(() -> iptal
+                        ? sistem.rezervasyonIptalEt(iptalEdilen)
+                        : sistem.otomatikRezerveEt(s, 1, "Yolcu " + t, telefon, Sefer.KoltukSecimi.ILK_BOS, 1).get(0));
+                Koltuk k = f.get();
+                assertNotNull(k, "işlem " + n);
+                if (iptal) kume.remove(iptalEdilen);
+                else kume.add(k.getRezervasyonKimlik());
+                assertEquals(kume, kimlikler(sistem.yolcuTelefonla(telefon)), "işlem " + n);
+            }
+
+            // Eşzamanlı: her iş parçacığı kendi işleminden hemen sonra kendi telefonunu sorgular
+            List<Future<?>> isler = new ArrayList<>();
+            for (int t = 0; t < IS_PARCACIGI; t++) {
+                final int no = t;
+                final TreeSet<String> kume = canli.get(t);
+                isler.add(havuz.submit(() -> {
+                    Random rr = new Random(no);
+                    String telefon = "+90 555 000 00 0" + no;
+                    for (int n = 0; n < ISLEM; n++) {
+                        if (!kume.isEmpty() && rr.nextBoolean()) {
+                            assertNotNull(sistem.rezervasyonIptalEt(kume.pollFirst()));
+                        } else {
+                            List<Koltuk> k = sistem.otomatikRezerveEt(s, 1, "Yolcu " + no, telefon, Sefer.KoltukSecimi.ILK_BOS, 1);
+                            if (k != null) kume.add(k.get(0).getRezervasyonKimlik());
+                        }
+                        assertEquals(kume, kimlikler(sistem.yolcuTelefonla(telefon)), "iş parçacığı " + no + ", işlem " + n);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : isler) f.get();
+            int toplam = 0;
+            for (TreeSet<String> kume : canli) toplam += kume.size();
+            assertEquals(s.getRezerveSayisi(), toplam);
+        } finally {
+            havuz.shutdownNow();
+        }
+        sistem.kapat();
+    }
+
+    private static TreeSet<String> kimlikler(Koltuk... koltuklar) {
+        return kimlikler(List.of(koltuklar));
+    }
+
+    private static TreeSet<String> kimlikler(List<Koltuk> koltuklar) {
+        TreeSet<String> sonuc = new TreeSet<>();
+        for (Koltuk k : koltuklar) assertTrue(sonuc.add(k.getRezervasyonKimlik()), "iki kez: " + k.getRezervasyonKimlik());
+        return sonuc;
+    }
+}